@@ -2,21 +2,38 @@ package model;
 
 import java.util.Date;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import model.despacho.Asignacion;
 import model.exceptions.JSONFormatException;
 import model.exceptions.DataNotFoundException;
+import model.grafo.CriterioCosto;
+import model.grafo.Trayecto;
+import model.persistencia.GestorPersistencia;
 
 public class Controller {
 
     private final SGMMS sgmms;
     private final JSONHandler jsonHandler;
+    private GestorPersistencia persistencia;
 
     public Controller() {
         sgmms = new SGMMS();
         this.jsonHandler = new JSONHandler();
     }
 
+    /**
+     * Crea un controlador sobre un sistema ya construido, por ejemplo un {@link SGMMSParticionado}.
+     *
+     * @param sgmms El sistema que administrará el controlador.
+     */
+    public Controller(SGMMS sgmms) {
+        this.sgmms = sgmms;
+        this.jsonHandler = new JSONHandler();
+    }
+
     /**
      * Registra una nueva ruta en el sistema.
      *
@@ -25,9 +42,11 @@ public class Controller {
      * @param tiempoEstimado Tiempo estimado en minutos
      * @param puntoInicio Punto de inicio de la ruta
      * @param puntoFin Punto final de la ruta
+     * @throws IllegalArgumentException Si ya existe una ruta con el mismo ID
      */
     public void registrarRuta(String id, double distancia, int tiempoEstimado, String puntoInicio, String puntoFin) {
-        Ruta nuevaRuta = new Ruta(id, distancia, tiempoEstimado, puntoInicio, puntoFin);
+        Diccionario diccionario = sgmms.getDiccionario();
+        Ruta nuevaRuta = new Ruta(id, distancia, tiempoEstimado, diccionario.canonica(puntoInicio), diccionario.canonica(puntoFin));
         sgmms.registrarRuta(nuevaRuta);
     }
 
@@ -40,7 +59,7 @@ public class Controller {
      * @param fechaHora Fecha y hora del incidente
      * @param descripcion Descripción del incidente
      * @param estado Estado del incidente
-     * @throws IllegalArgumentException Si el tipo de incidente no es válido
+     * @throws IllegalArgumentException Si el tipo de incidente no es válido o el ID ya existe
      */
     public void registrarIncidente(String id, String tipoTexto, String ubicacion, Date fechaHora, String descripcion, String estado) {
         // Convertir el tipo en texto al enum IncidentType
@@ -52,7 +71,9 @@ public class Controller {
         }
 
         // Crear e insertar el incidente
-        Incidente nuevoIncidente = new Incidente(id, tipo, ubicacion, fechaHora, descripcion, estado);
+        Diccionario diccionario = sgmms.getDiccionario();
+        Incidente nuevoIncidente = new Incidente(id, tipo, diccionario.canonica(ubicacion), fechaHora, descripcion,
+                diccionario.canonica(estado));
         sgmms.registrarIncidente(nuevoIncidente);
     }
 
@@ -63,6 +84,7 @@ public class Controller {
      * @param nombre Nombre del pasajero
      * @param contacto Información de contacto del pasajero
      * @param idRuta ID de la ruta asignada
+     * @throws IllegalArgumentException Si la ruta no existe o ya existe una persona con el mismo ID
      */
     public void registrarPasajero(String id, String nombre, String contacto, String idRuta) {
         Ruta rutaAsignada = buscarRuta(idRuta);
@@ -82,9 +104,12 @@ public class Controller {
      * @param contacto Información de contacto del conductor
      * @param vehiculoAsignado Vehículo asignado al conductor
      * @param estado Estado actual del conductor (e.g., disponible, en ruta)
+     * @throws IllegalArgumentException Si ya existe una persona con el mismo ID
      */
     public void registrarConductor(String id, String nombre, String contacto, String vehiculoAsignado, String estado) {
-        Conductor nuevoConductor = new Conductor(id, nombre, contacto, vehiculoAsignado, estado);
+        Diccionario diccionario = sgmms.getDiccionario();
+        Conductor nuevoConductor = new Conductor(id, nombre, contacto, diccionario.canonica(vehiculoAsignado),
+                diccionario.canonica(estado));
         sgmms.registrarPersona(nuevoConductor);
     }
 
@@ -95,12 +120,11 @@ public class Controller {
      * @return La ruta encontrada o null si no existe
      */
     private Ruta buscarRuta(String idRuta) {
-        for (Ruta ruta : sgmms.getListaRutas()) {
-            if (ruta.getId().equals(idRuta)) {
-                return ruta;
-            }
+        try {
+            return sgmms.buscarRuta(idRuta);
+        } catch (DataNotFoundException e) {
+            return null;
         }
-        return null;
     }
 
     /**
@@ -109,9 +133,30 @@ public class Controller {
      * @return Reporte de rutas ordenadas por distancia
      */
     public String consultarRutasOrdenadasPorDistancia() {
-        sgmms.ordenarRutasPorDistancia();
         StringBuilder sb = new StringBuilder("Rutas ordenadas por distancia:\n");
-        for (Ruta ruta : sgmms.getListaRutas()) {
+        for (Ruta ruta : sgmms.rutasPorDistancia()) {
+            sb.append("ID: ").append(ruta.getId())
+                    .append(" | Distancia: ").append(ruta.getDistancia()).append(" km")
+                    .append(" | Tiempo: ").append(ruta.getTiempoEstimado()).append(" min\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Consulta las rutas cuya distancia está dentro de un rango y devuelve un reporte como cadena.
+     *
+     * @param minima Distancia mínima en kilómetros
+     * @param maxima Distancia máxima en kilómetros
+     * @return Reporte de rutas del rango, ordenadas por distancia
+     * @throws IllegalArgumentException Si la distancia mínima es mayor que la máxima
+     */
+    public String consultarRutasPorRangoDeDistancia(double minima, double maxima) {
+        List<Ruta> rutas = sgmms.rutasEntreDistancias(minima, maxima);
+        if (rutas.isEmpty()) {
+            return "No hay rutas entre " + minima + " y " + maxima + " km.";
+        }
+        StringBuilder sb = new StringBuilder("Rutas entre " + minima + " y " + maxima + " km:\n");
+        for (Ruta ruta : rutas) {
             sb.append("ID: ").append(ruta.getId())
                     .append(" | Distancia: ").append(ruta.getDistancia()).append(" km")
                     .append(" | Tiempo: ").append(ruta.getTiempoEstimado()).append(" min\n");
@@ -125,9 +170,8 @@ public class Controller {
      * @return Reporte de incidentes ordenados por fecha
      */
     public String consultarIncidentesOrdenadosPorFecha() {
-        sgmms.ordenarIncidentesPorFecha();
         StringBuilder sb = new StringBuilder("Incidentes ordenados por fecha:\n");
-        for (Incidente inc : sgmms.getListaIncidentes()) {
+        for (Incidente inc : sgmms.incidentesPorFecha()) {
             sb.append("ID: ").append(inc.getId())
                     .append(" | Tipo: ").append(inc.getTipo())
                     .append(" | Fecha: ").append(inc.getFechaHora())
@@ -143,7 +187,7 @@ public class Controller {
      */
     public String obtenerPersonasComoTexto() {
         StringBuilder sb = new StringBuilder();
-        for (Persona persona : sgmms.getListaPersonas()) {
+        for (Persona persona : sgmms.personasRegistradas()) {
             sb.append("ID: ").append(persona.getId())
                     .append(" - Nombre: ").append(persona.getNombre()).append("\n");
         }
@@ -181,16 +225,67 @@ public class Controller {
         jsonHandler.escribirArchivo(filePath, datos);
     }
 
+    /**
+     * Recupera los datos guardados en un directorio de persistencia (último punto de control más las operaciones
+     * posteriores de la bitácora) y anota desde ahora cada modificación, guardando un punto de control nuevo
+     * cada cierto intervalo. Debe invocarse antes de registrar datos.
+     *
+     * @param directorio                 El directorio de la persistencia; se crea si no existe.
+     * @param segundosEntrePuntosControl El intervalo en segundos entre puntos de control.
+     * @return Un resumen de la recuperación.
+     * @throws IOException           Si los archivos de la persistencia no se pueden leer o abrir.
+     * @throws IllegalStateException Si la persistencia ya está activa.
+     */
+    public String activarPersistencia(String directorio, long segundosEntrePuntosControl) throws IOException {
+        if (persistencia != null) {
+            throw new IllegalStateException("La persistencia ya está activa.");
+        }
+        persistencia = GestorPersistencia.abrir(sgmms, Paths.get(directorio), true);
+        persistencia.programarPuntosControl(segundosEntrePuntosControl, TimeUnit.SECONDS);
+        return "Datos recuperados desde " + directorio + ": " + persistencia.getOperacionesReproducidas()
+                + " operaciones reproducidas después del punto de control.";
+    }
+
+    /**
+     * Describe la falla del último punto de control periódico, si la hubo.
+     *
+     * @return El mensaje de la falla, o una cadena vacía si la persistencia no está activa o el último punto
+     * de control se guardó bien.
+     */
+    public String obtenerErrorPersistencia() {
+        GestorPersistencia actual = persistencia;
+        Exception error = actual == null ? null : actual.getUltimoError();
+        return error == null ? "" : "No se pudo guardar el punto de control: " + error.getMessage();
+    }
+
+    /**
+     * Guarda un punto de control final y deja de anotar las modificaciones. No hace nada si la persistencia
+     * no está activa.
+     *
+     * @throws IOException Si el punto de control o el cierre de la bitácora fallan.
+     */
+    public void cerrarPersistencia() throws IOException {
+        if (persistencia != null) {
+            GestorPersistencia actual = persistencia;
+            persistencia = null;
+            actual.close();
+        }
+    }
+
     /**
      * Importa datos desde un archivo JSON y los carga al sistema.
      *
      * @param filePath La ruta del archivo JSON desde donde se cargarán los datos.
      * @throws IOException          Si ocurre un error de lectura.
-     * @throws JSONFormatException Si el formato del archivo JSON es inválido.
+     * @throws JSONFormatException Si el formato del archivo JSON es inválido o contiene IDs repetidos.
      */
     public void importarDatosDesdeJson(String filePath) throws IOException, JSONFormatException {
         SGMMSData datos = jsonHandler.parseJSON(jsonHandler.leerArchivo(filePath), SGMMSData.class);
-        sgmms.importar(datos);
+        try {
+            sgmms.importar(datos);
+        } catch (IllegalArgumentException e) {
+            throw new JSONFormatException("Datos inválidos: " + e.getMessage());
+        }
     }
 
     /**
@@ -202,22 +297,20 @@ public class Controller {
      *         con el ID proporcionado, retorna un mensaje indicando que el incidente no fue encontrado.
      */
     public String buscarIncidentePorId(String id) {
-        // Iterar sobre la lista de incidentes
-        for (int i = 0; i < sgmms.getListaIncidentes().size(); i++) {
-            Incidente incidente = sgmms.getListaIncidentes().get(i);
-
-            // Si el ID coincide, devolvemos una descripción formateada
-            if (incidente.getId().equals(id)) {
-                return "ID: " + incidente.getId() + "\n" +
-                        "Tipo: " + incidente.getTipo() + "\n" +
-                        "Ubicación: " + incidente.getUbicacion() + "\n" +
-                        "Fecha: " + incidente.getFechaHora() + "\n" +
-                        "Descripción: " + incidente.getDescripcion() + "\n" +
-                        "Estado: " + incidente.getEstado();
-            }
+        try {
+            Incidente incidente = sgmms.buscarIncidente(id);
+
+            // Si se encuentra, devolvemos una descripción formateada
+            return "ID: " + incidente.getId() + "\n" +
+                    "Tipo: " + incidente.getTipo() + "\n" +
+                    "Ubicación: " + incidente.getUbicacion() + "\n" +
+                    "Fecha: " + incidente.getFechaHora() + "\n" +
+                    "Descripción: " + incidente.getDescripcion() + "\n" +
+                    "Estado: " + incidente.getEstado();
+        } catch (DataNotFoundException e) {
+            // Si no se encuentra el incidente, devolver un mensaje genérico
+            return "El incidente con ID " + id + " no se encontró.";
         }
-        // Si no se encuentra el incidente, devolver un mensaje genérico
-        return "El incidente con ID " + id + " no se encontró.";
     }
     /**
      * Busca conductores registrados cuyo nombre coincida parcial o totalmente
@@ -249,16 +342,15 @@ public class Controller {
      *         retorna un mensaje indicando que no hay incidentes registrados.
      */
     public String obtenerIdsDeIncidentes() {
-        ListaEnlazadaSimple<Incidente> incidentes = sgmms.getListaIncidentes(); // Obtener la lista personalizada
+        List<Incidente> incidentes = sgmms.incidentesRegistrados();
 
         if (incidentes.isEmpty()) {
             return "No hay incidentes registrados.";
         }
 
-        // Convertir ListaEnlazadaSimple a una String con IDs de incidentes
+        // Convertir la lista a una String con IDs de incidentes
         StringBuilder ids = new StringBuilder("IDs de incidentes disponibles:\n");
-        for (int i = 0; i < incidentes.size(); i++) {
-            Incidente incidente = incidentes.get(i); // Usar métodos de ListaEnlazadaSimple
+        for (Incidente incidente : incidentes) {
             ids.append("- ").append(incidente.getId()).append("\n");
         }
         return ids.toString();
@@ -272,7 +364,18 @@ public class Controller {
      *         indicando que no hay rutas disponibles.
      */
     public String mostrarMejorRuta() {
-        Ruta mejorRuta = sgmms.determinarMejorRuta(); // Llama a determinarMejorRuta()
+        return mostrarMejorRuta(false);
+    }
+
+    /**
+     * Muestra la mejor ruta disponible, opcionalmente penalizando las rutas con incidentes activos
+     * en su punto de inicio o de fin.
+     *
+     * @param considerarIncidentes {@code true} para penalizar las rutas afectadas por incidentes activos.
+     * @return La mejor ruta en formato de texto, o un mensaje si no hay rutas.
+     */
+    public String mostrarMejorRuta(boolean considerarIncidentes) {
+        Ruta mejorRuta = considerarIncidentes ? sgmms.determinarMejorRutaConIncidentes() : sgmms.determinarMejorRuta();
         if (mejorRuta != null) {
             // Formatea la información de la ruta en un reporte sencillo
             return "Mejor Ruta Encontrada:\n" +
@@ -286,6 +389,101 @@ public class Controller {
         }
     }
 
+    /**
+     * Consulta el trayecto de menor costo entre dos puntos, que puede combinar varias rutas.
+     *
+     * @param origen        Punto de partida.
+     * @param destino       Punto de llegada.
+     * @param criterioTexto Criterio de costo como texto (DISTANCIA, TIEMPO o COMBINADO).
+     * @return El trayecto en formato de texto, o un mensaje si no existe un trayecto entre los puntos.
+     * @throws IllegalArgumentException Si el criterio no es válido.
+     */
+    public String consultarTrayecto(String origen, String destino, String criterioTexto) {
+        CriterioCosto criterio;
+        try {
+            criterio = CriterioCosto.valueOf(criterioTexto.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("El criterio '" + criterioTexto + "' no es válido. Criterios permitidos: DISTANCIA, TIEMPO, COMBINADO.");
+        }
+
+        try {
+            Trayecto trayecto = sgmms.planificarTrayecto(origen, destino, criterio);
+            StringBuilder sb = new StringBuilder("Trayecto de ").append(origen).append(" a ").append(destino).append(":\n");
+            for (Ruta tramo : trayecto.getTramos()) {
+                sb.append("Ruta ").append(tramo.getId())
+                        .append(": ").append(tramo.getPuntoInicio()).append(" -> ").append(tramo.getPuntoFin())
+                        .append(" | Distancia: ").append(tramo.getDistancia()).append(" km")
+                        .append(" | Tiempo: ").append(tramo.getTiempoEstimado()).append(" min\n");
+            }
+            sb.append("Total: ").append(trayecto.getDistanciaTotal()).append(" km, ")
+                    .append(trayecto.getTiempoTotal()).append(" min");
+            return sb.toString();
+        } catch (DataNotFoundException e) {
+            return "Error: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Consulta los pasajeros asignados a una ruta.
+     *
+     * @param idRuta ID de la ruta.
+     * @return Los pasajeros de la ruta en formato de texto, o un mensaje si no tiene pasajeros.
+     */
+    public String consultarPasajerosDeRuta(String idRuta) {
+        List<Pasajero> pasajeros = sgmms.pasajerosDeRuta(idRuta);
+        if (pasajeros.isEmpty()) {
+            return "La ruta con ID \"" + idRuta + "\" no tiene pasajeros asignados.";
+        }
+        StringBuilder sb = new StringBuilder("Pasajeros de la ruta ").append(idRuta)
+                .append(" (").append(pasajeros.size()).append("):\n");
+        for (Pasajero pasajero : pasajeros) {
+            sb.append("ID: ").append(pasajero.getId())
+                    .append(" - Nombre: ").append(pasajero.getNombre()).append("\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Muestra un resumen de las rutas registradas: cantidad y distancias y tiempos mínimos, máximos y promedio.
+     *
+     * @return El resumen en formato de texto, o un mensaje si no hay rutas.
+     */
+    public String consultarEstadisticasRutas() {
+        EstadisticasRutas estadisticas = sgmms.estadisticasRutas();
+        if (estadisticas.getCantidad() == 0) {
+            return "No hay rutas disponibles en el sistema.";
+        }
+        return "Rutas registradas: " + estadisticas.getCantidad() + "\n" +
+                "Distancia: mínima " + estadisticas.getDistanciaMinima() + " km | máxima "
+                + estadisticas.getDistanciaMaxima() + " km | promedio "
+                + String.format("%.2f", estadisticas.getDistanciaPromedio()) + " km\n" +
+                "Tiempo estimado: mínimo " + estadisticas.getTiempoMinimo() + " min | máximo "
+                + estadisticas.getTiempoMaximo() + " min | promedio "
+                + String.format("%.2f", estadisticas.getTiempoPromedio()) + " min\n";
+    }
+
+    /**
+     * Muestra las mejores rutas disponibles como alternativas para el despacho.
+     *
+     * @param cantidad Cantidad máxima de rutas a mostrar.
+     * @return Las mejores rutas en formato de texto, o un mensaje si no hay rutas.
+     * @throws IllegalArgumentException Si la cantidad es negativa.
+     */
+    public String mostrarMejoresRutas(int cantidad) {
+        List<Ruta> rutas = sgmms.mejoresRutas(cantidad);
+        if (rutas.isEmpty()) {
+            return "No hay rutas disponibles en el sistema.";
+        }
+        StringBuilder sb = new StringBuilder("Mejores rutas encontradas:\n");
+        int posicion = 1;
+        for (Ruta ruta : rutas) {
+            sb.append(posicion++).append(". ID: ").append(ruta.getId())
+                    .append(" | Distancia: ").append(ruta.getDistancia()).append(" km")
+                    .append(" | Tiempo estimado: ").append(ruta.getTiempoEstimado()).append(" minutos\n");
+        }
+        return sb.toString();
+    }
+
     /**
      * Actualiza el estado de un incidente específico basado en su ID.
      *
@@ -297,25 +495,49 @@ public class Controller {
      */
     public String actualizarEstadoIncidente(String id, String nuevoEstado) {
         try {
-            // Buscar el incidente por el ID
-            Incidente incidente = sgmms.buscarIncidente(id);
-
-            if (incidente != null) {
-                // Actualizar el estado del incidente
-                incidente.setEstado(nuevoEstado);
+            // Buscar el incidente por el ID y actualizar su estado junto con los índices
+            sgmms.actualizarEstadoIncidente(id, nuevoEstado);
 
-                // Confirmar la actualización
-                return "Estado del incidente con ID \"" + id + "\" actualizado a \"" + nuevoEstado + "\".";
-            } else {
-                // Si el incidente no existe
-                return "Incidente con ID \"" + id + "\" no encontrado.";
-            }
+            // Confirmar la actualización
+            return "Estado del incidente con ID \"" + id + "\" actualizado a \"" + nuevoEstado + "\".";
         } catch (DataNotFoundException e) {
             // Manejar el caso donde no se encuentra el incidente
             return "Error: No se pudo encontrar el incidente con ID \"" + id + "\". " + e.getMessage();
         }
     }
 
+    /**
+     * Consulta los incidentes que tienen un tipo y un estado determinados.
+     *
+     * @param tipoTexto Tipo de incidente como texto, o {@code null} para aceptar cualquier tipo.
+     * @param estado    Estado buscado (por ejemplo, "pendiente"), o {@code null} para aceptar cualquier estado.
+     * @return Una cadena de texto con los incidentes encontrados, o un mensaje indicando que no hay coincidencias.
+     * @throws IllegalArgumentException Si el tipo de incidente no es válido.
+     */
+    public String consultarIncidentesPorTipoYEstado(String tipoTexto, String estado) {
+        IncidentType tipo = null;
+        if (tipoTexto != null) {
+            try {
+                tipo = IncidentType.valueOf(tipoTexto.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("El tipo de incidente '" + tipoTexto + "' no es válido. Tipos permitidos: ROBO, ACCIDENTE, INCENDIO, OTRO.");
+            }
+        }
+
+        List<Incidente> incidentes = sgmms.consultarIncidentes(tipo, estado);
+        if (incidentes.isEmpty()) {
+            return "No hay incidentes que coincidan con la consulta.";
+        }
+        StringBuilder sb = new StringBuilder("Incidentes encontrados:\n");
+        for (Incidente inc : incidentes) {
+            sb.append("ID: ").append(inc.getId())
+                    .append(" | Tipo: ").append(inc.getTipo())
+                    .append(" | Ubicación: ").append(inc.getUbicacion())
+                    .append(" | Estado: ").append(inc.getEstado()).append("\n");
+        }
+        return sb.toString();
+    }
+
     /**
      * Actualiza el estado de un conductor específico basado en su ID.
      *
@@ -327,24 +549,40 @@ public class Controller {
      */
     public String actualizarEstadoConductor(String id, String nuevoEstado) {
         try {
-            // Buscar al conductor por el ID
-            Conductor conductor = sgmms.buscarConductor(id); // Método existente en tu sistema
-
-            if (conductor != null) {
-                // Actualizar el estado del conductor
-                conductor.setEstado(nuevoEstado);
-
-                // Confirmar la actualización
-                return "Estado del conductor con ID \"" + id + "\" actualizado a \"" + nuevoEstado + "\".";
-            } else {
-                // Si el conductor no existe
-                return "Conductor con ID \"" + id + "\" no encontrado.";
-            }
+            // Buscar al conductor por el ID y actualizar su estado junto con el grupo del despachador
+            sgmms.actualizarEstadoConductor(id, nuevoEstado);
+
+            // Confirmar la actualización
+            return "Estado del conductor con ID \"" + id + "\" actualizado a \"" + nuevoEstado + "\".";
         } catch (DataNotFoundException e) {
             // Manejar el caso donde no se encuentra el conductor
             return "Error: No se pudo encontrar el conductor con ID \"" + id + "\". " + e.getMessage();
         }
     }
+
+    /**
+     * Asigna conductores disponibles a los incidentes pendientes más graves y antiguos.
+     *
+     * @param maximo Cantidad máxima de asignaciones a realizar.
+     * @return Las asignaciones realizadas en formato de texto, o un mensaje si no se pudo asignar ninguna.
+     * @throws IllegalArgumentException Si la cantidad máxima es negativa.
+     */
+    public String despacharIncidentes(int maximo) {
+        List<Asignacion> asignaciones = sgmms.despacharIncidentes(maximo);
+        if (asignaciones.isEmpty()) {
+            return "No hay conductores disponibles o incidentes pendientes para asignar.";
+        }
+        StringBuilder sb = new StringBuilder("Asignaciones realizadas:\n");
+        for (Asignacion asignacion : asignaciones) {
+            sb.append("Conductor ").append(asignacion.getConductor().getId())
+                    .append(" (").append(asignacion.getConductor().getNombre()).append(")")
+                    .append(" -> Incidente ").append(asignacion.getIncidente().getId())
+                    .append(" | Tipo: ").append(asignacion.getIncidente().getTipo())
+                    .append(" | Ubicación: ").append(asignacion.getIncidente().getUbicacion()).append("\n");
+        }
+        return sb.toString();
+    }
+
     /**
      * Consulta todas las rutas registradas en el sistema y las devuelve en formato de texto.
      *
@@ -352,7 +590,7 @@ public class Controller {
      *         y tiempo estimado). Si no hay rutas registradas, retorna una cadena vacía.
      */
     public String consultarRutasComoTexto() {
-        ListaEnlazadaSimple<Ruta> listaRutas = sgmms.getListaRutas();
+        List<Ruta> listaRutas = sgmms.rutasRegistradas();
 
         // Si no hay rutas, retornar texto vacío
         if (listaRutas.isEmpty()) {
@@ -378,7 +616,7 @@ public class Controller {
      */
     public String obtenerIdsDeConductores() {
         // Acceder a la lista de conductores desde SGMMS
-        ListaEnlazadaSimple<Conductor> listaConductores = sgmms.getListaConductores();
+        List<Conductor> listaConductores = sgmms.conductoresRegistrados();
 
         // Verificar si la lista está vacía
         if (listaConductores.isEmpty()) {
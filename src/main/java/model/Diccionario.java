@@ -0,0 +1,83 @@
+package model;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Diccionario de valores de texto repetidos, como ubicaciones, puntos de ruta, estados y vehículos.
+ * <p>
+ * Para cada valor distinto guarda una única instancia canónica, y {@link #canonica(String)} devuelve esa
+ * instancia en lugar de la copia recibida. Así, los miles de entidades que repiten un mismo valor comparten
+ * un solo objeto, las copias que crea cada importación se pueden liberar, y {@link String#equals(Object)}
+ * entre valores canónicos se resuelve con la comparación de identidad con la que empieza.
+ * <p>
+ * Para que los textos libres no hagan crecer el diccionario sin límite, a partir de la capacidad máxima
+ * los valores nuevos se devuelven sin guardarlos. Es seguro para uso concurrente.
+ */
+public class Diccionario {
+
+    /**
+     * Cantidad máxima de valores por defecto.
+     */
+    public static final int CAPACIDAD_POR_DEFECTO = 1 << 16;
+
+    private final ConcurrentHashMap<String, String> valores = new ConcurrentHashMap<>();
+    private final int capacidadMaxima;
+
+    /**
+     * Crea un diccionario con la capacidad por defecto que ya contiene los valores dados.
+     *
+     * @param iniciales Valores que serán canónicos desde el principio, por ejemplo constantes de estado.
+     */
+    public Diccionario(String... iniciales) {
+        this(CAPACIDAD_POR_DEFECTO, iniciales);
+    }
+
+    /**
+     * Crea un diccionario con la capacidad indicada que ya contiene los valores dados.
+     *
+     * @param capacidadMaxima Cantidad máxima de valores distintos que guarda el diccionario.
+     * @param iniciales       Valores que serán canónicos desde el principio.
+     * @throws IllegalArgumentException Si la capacidad es negativa.
+     */
+    public Diccionario(int capacidadMaxima, String... iniciales) {
+        if (capacidadMaxima < 0) {
+            throw new IllegalArgumentException("La capacidad máxima no puede ser negativa.");
+        }
+        this.capacidadMaxima = capacidadMaxima;
+        for (String valor : iniciales) {
+            canonica(valor);
+        }
+    }
+
+    /**
+     * Devuelve la instancia canónica de un valor, guardando el valor recibido como canónico si es la primera
+     * vez que aparece y todavía hay lugar.
+     *
+     * @param valor El valor, que puede ser {@code null}.
+     * @return Una instancia igual al valor, compartida por todas las llamadas con valores iguales; el mismo
+     * valor si es {@code null} o si el diccionario está lleno y no lo contenía.
+     */
+    public String canonica(String valor) {
+        if (valor == null) {
+            return null;
+        }
+        String existente = valores.get(valor);
+        if (existente != null) {
+            return existente;
+        }
+        if (valores.size() >= capacidadMaxima) {
+            return valor;
+        }
+        existente = valores.putIfAbsent(valor, valor);
+        return existente != null ? existente : valor;
+    }
+
+    /**
+     * Devuelve la cantidad de valores distintos guardados.
+     *
+     * @return La cantidad de valores.
+     */
+    public int size() {
+        return valores.size();
+    }
+}
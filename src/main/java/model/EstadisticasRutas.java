@@ -0,0 +1,137 @@
+package model;
+
+import java.util.List;
+
+/**
+ * Resumen de las distancias y los tiempos estimados de un conjunto de rutas: cantidad, mínimos, máximos y
+ * promedios. Es inmutable.
+ */
+public final class EstadisticasRutas {
+
+    private static final EstadisticasRutas VACIAS = new EstadisticasRutas(0, Double.NaN, Double.NaN, 0, 0, 0, 0);
+
+    private final int cantidad;
+    private final double distanciaMinima;
+    private final double distanciaMaxima;
+    private final double distanciaTotal;
+    private final int tiempoMinimo;
+    private final int tiempoMaximo;
+    private final long tiempoTotal;
+
+    /**
+     * Crea el resumen de un conjunto no vacío de rutas.
+     *
+     * @param cantidad        La cantidad de rutas.
+     * @param distanciaMinima La menor distancia.
+     * @param distanciaMaxima La mayor distancia.
+     * @param distanciaTotal  La suma de las distancias.
+     * @param tiempoMinimo    El menor tiempo estimado.
+     * @param tiempoMaximo    El mayor tiempo estimado.
+     * @param tiempoTotal     La suma de los tiempos estimados.
+     */
+    public EstadisticasRutas(int cantidad, double distanciaMinima, double distanciaMaxima, double distanciaTotal,
+                             int tiempoMinimo, int tiempoMaximo, long tiempoTotal) {
+        this.cantidad = cantidad;
+        this.distanciaMinima = distanciaMinima;
+        this.distanciaMaxima = distanciaMaxima;
+        this.distanciaTotal = distanciaTotal;
+        this.tiempoMinimo = tiempoMinimo;
+        this.tiempoMaximo = tiempoMaximo;
+        this.tiempoTotal = tiempoTotal;
+    }
+
+    /**
+     * Devuelve el resumen de un conjunto sin rutas: cantidad 0 y extremos y promedios indefinidos.
+     *
+     * @return El resumen vacío.
+     */
+    public static EstadisticasRutas vacias() {
+        return VACIAS;
+    }
+
+    /**
+     * Une los resúmenes de varios conjuntos disjuntos de rutas, por ejemplo los de las particiones de un
+     * {@link SGMMSParticionado}.
+     *
+     * @param partes Los resúmenes a unir.
+     * @return El resumen del conjunto completo.
+     */
+    public static EstadisticasRutas combinar(List<EstadisticasRutas> partes) {
+        EstadisticasRutas total = VACIAS;
+        for (EstadisticasRutas parte : partes) {
+            if (parte.cantidad == 0) {
+                continue;
+            }
+            if (total.cantidad == 0) {
+                total = parte;
+                continue;
+            }
+            total = new EstadisticasRutas(total.cantidad + parte.cantidad,
+                    Math.min(total.distanciaMinima, parte.distanciaMinima),
+                    Math.max(total.distanciaMaxima, parte.distanciaMaxima),
+                    total.distanciaTotal + parte.distanciaTotal,
+                    Math.min(total.tiempoMinimo, parte.tiempoMinimo),
+                    Math.max(total.tiempoMaximo, parte.tiempoMaximo),
+                    total.tiempoTotal + parte.tiempoTotal);
+        }
+        return total;
+    }
+
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Obtiene la menor distancia.
+     *
+     * @return La menor distancia en kilómetros, o {@link Double#NaN} si no hay rutas.
+     */
+    public double getDistanciaMinima() {
+        return distanciaMinima;
+    }
+
+    /**
+     * Obtiene la mayor distancia.
+     *
+     * @return La mayor distancia en kilómetros, o {@link Double#NaN} si no hay rutas.
+     */
+    public double getDistanciaMaxima() {
+        return distanciaMaxima;
+    }
+
+    /**
+     * Obtiene la distancia promedio.
+     *
+     * @return La distancia promedio en kilómetros, o {@link Double#NaN} si no hay rutas.
+     */
+    public double getDistanciaPromedio() {
+        return cantidad == 0 ? Double.NaN : distanciaTotal / cantidad;
+    }
+
+    /**
+     * Obtiene el menor tiempo estimado.
+     *
+     * @return El menor tiempo en minutos, o 0 si no hay rutas.
+     */
+    public int getTiempoMinimo() {
+        return tiempoMinimo;
+    }
+
+    /**
+     * Obtiene el mayor tiempo estimado.
+     *
+     * @return El mayor tiempo en minutos, o 0 si no hay rutas.
+     */
+    public int getTiempoMaximo() {
+        return tiempoMaximo;
+    }
+
+    /**
+     * Obtiene el tiempo estimado promedio.
+     *
+     * @return El tiempo promedio en minutos, o {@link Double#NaN} si no hay rutas.
+     */
+    public double getTiempoPromedio() {
+        return cantidad == 0 ? Double.NaN : (double) tiempoTotal / cantidad;
+    }
+}
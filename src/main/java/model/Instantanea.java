@@ -0,0 +1,210 @@
+package model;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Vista inmutable del contenido de un {@link SGMMS} en un momento dado.
+ * <p>
+ * Una instantánea se obtiene en O(1) con {@link SGMMS#instantanea()} y conserva las rutas, los incidentes y las
+ * personas que había en ese momento, en el mismo orden, aunque después se registren o eliminen entidades.
+ * Recorrerla no toma ningún bloqueo, por lo que los reportes y las exportaciones largas no detienen a los
+ * registros.
+ * <p>
+ * Los incidentes y las personas de la instantánea son copias: el sistema guarda una copia nueva cada vez que
+ * cambia el estado de un incidente o de un conductor o la ruta de un pasajero, y publica el cambio en una
+ * instantánea nueva. Así, una instantánea conserva también los campos que cambian en el lugar tal como
+ * estaban, y un despacho se ve completo (incidente "en proceso" y conductor "en ruta") o no se ve. Las rutas
+ * no cambian después de registradas y se comparten con el sistema. Las copias no están enlazadas a los
+ * índices del sistema: modificarlas no cambia el sistema.
+ */
+public final class Instantanea {
+
+    private static final Instantanea VACIA = new Instantanea(0, Collections.emptyList(), Collections.emptyList(),
+            Collections.emptyList());
+
+    private final long version;
+    private final Collection<Ruta> rutas;
+    private final Collection<Incidente> incidentes;
+    private final Collection<Persona> personas;
+
+    private Instantanea(long version, Collection<Ruta> rutas, Collection<Incidente> incidentes,
+                        Collection<Persona> personas) {
+        this.version = version;
+        this.rutas = rutas;
+        this.incidentes = incidentes;
+        this.personas = personas;
+    }
+
+    /**
+     * Devuelve la instantánea de un sistema sin entidades.
+     */
+    static Instantanea vacia() {
+        return VACIA;
+    }
+
+    /**
+     * Une las instantáneas de varias instancias en una sola, en O(cantidad de instantáneas): las colecciones
+     * resultantes recorren las de cada instantánea una detrás de otra. Cada parte es consistente por sí misma,
+     * pero las partes pueden haberse tomado en momentos algo distintos.
+     */
+    static Instantanea combinar(List<Instantanea> partes) {
+        long version = 0;
+        for (Instantanea parte : partes) {
+            version += parte.version;
+        }
+        return new Instantanea(version, concatenar(partes, Instantanea::getRutas),
+                concatenar(partes, Instantanea::getIncidentes), concatenar(partes, Instantanea::getPersonas));
+    }
+
+    private static <T> Collection<T> concatenar(List<Instantanea> partes, Function<Instantanea, Collection<T>> coleccion) {
+        List<Collection<T>> colecciones = new ArrayList<>(partes.size());
+        int cantidad = 0;
+        for (Instantanea parte : partes) {
+            Collection<T> actual = coleccion.apply(parte);
+            colecciones.add(actual);
+            cantidad += actual.size();
+        }
+        return new Concatenacion<>(colecciones, cantidad);
+    }
+
+    /**
+     * Copia un incidente con su estado actual, para guardarlo en las instantáneas.
+     */
+    static Incidente copiar(Incidente incidente) {
+        return new Incidente(incidente.getId(), incidente.getTipo(), incidente.getUbicacion(),
+                incidente.getFechaHora(), incidente.getDescripcion(), incidente.getEstado());
+    }
+
+    /**
+     * Copia una persona con su estado o su ruta asignada actuales, para guardarla en las instantáneas.
+     */
+    static Persona copiar(Persona persona) {
+        if (persona instanceof Conductor) {
+            Conductor conductor = (Conductor) persona;
+            return new Conductor(conductor.getId(), conductor.getNombre(), conductor.getContacto(),
+                    conductor.getVehiculoAsignado(), conductor.getEstado());
+        }
+        if (persona instanceof Pasajero) {
+            Pasajero pasajero = (Pasajero) persona;
+            Pasajero copia = new Pasajero(pasajero.getId(), pasajero.getNombre(), pasajero.getContacto());
+            copia.setRutaAsignada(pasajero.getRutaAsignada());
+            return copia;
+        }
+        return persona;
+    }
+
+    /**
+     * Devuelve una instantánea nueva con otras rutas y el resto sin cambios.
+     */
+    Instantanea conRutas(Collection<Ruta> nuevas) {
+        return new Instantanea(version + 1, nuevas, incidentes, personas);
+    }
+
+    /**
+     * Devuelve una instantánea nueva con otros incidentes y el resto sin cambios.
+     */
+    Instantanea conIncidentes(Collection<Incidente> nuevos) {
+        return new Instantanea(version + 1, rutas, nuevos, personas);
+    }
+
+    /**
+     * Devuelve una instantánea nueva con otras personas y el resto sin cambios.
+     */
+    Instantanea conPersonas(Collection<Persona> nuevas) {
+        return new Instantanea(version + 1, rutas, incidentes, nuevas);
+    }
+
+    /**
+     * Devuelve una instantánea nueva con todas las colecciones reemplazadas.
+     */
+    Instantanea conTodo(Collection<Ruta> nuevasRutas, Collection<Incidente> nuevosIncidentes,
+                        Collection<Persona> nuevasPersonas) {
+        return new Instantanea(version + 1, nuevasRutas, nuevosIncidentes, nuevasPersonas);
+    }
+
+    /**
+     * Obtiene el número de versión de la instantánea, que crece con cada cambio publicado por el sistema.
+     *
+     * @return El número de versión.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Obtiene las rutas del momento de la instantánea.
+     *
+     * @return Una colección no modificable de rutas, en el orden de la lista de rutas.
+     */
+    public Collection<Ruta> getRutas() {
+        return rutas;
+    }
+
+    /**
+     * Obtiene los incidentes del momento de la instantánea.
+     *
+     * @return Una colección no modificable de incidentes, en el orden de la lista de incidentes.
+     */
+    public Collection<Incidente> getIncidentes() {
+        return incidentes;
+    }
+
+    /**
+     * Obtiene las personas del momento de la instantánea.
+     *
+     * @return Una colección no modificable de personas, en orden de registro.
+     */
+    public Collection<Persona> getPersonas() {
+        return personas;
+    }
+
+    /**
+     * Colección no modificable que recorre varias colecciones inmutables una detrás de otra.
+     */
+    private static final class Concatenacion<T> extends AbstractCollection<T> {
+
+        private final List<Collection<T>> partes;
+        private final int cantidad;
+
+        private Concatenacion(List<Collection<T>> partes, int cantidad) {
+            this.partes = partes;
+            this.cantidad = cantidad;
+        }
+
+        @Override
+        public int size() {
+            return cantidad;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            Iterator<Collection<T>> parte = partes.iterator();
+            return new Iterator<T>() {
+                private Iterator<T> actual = Collections.emptyIterator();
+
+                @Override
+                public boolean hasNext() {
+                    while (!actual.hasNext() && parte.hasNext()) {
+                        actual = parte.next().iterator();
+                    }
+                    return actual.hasNext();
+                }
+
+                @Override
+                public T next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return actual.next();
+                }
+            };
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.JsonSyntaxException;
 import model.exceptions.JSONFormatException;
 
+import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
@@ -32,14 +33,15 @@ public class JSONHandler {
      * @throws IOException Si ocurre un error durante la lectura del archivo.
      */
     public String leerArchivo(String ruta) throws IOException {
-        FileReader reader = new FileReader(ruta);
-        StringBuilder sb = new StringBuilder();
-        int c;
-        while ((c = reader.read()) != -1) {
-            sb.append((char) c);
+        try (BufferedReader reader = new BufferedReader(new FileReader(ruta))) {
+            StringBuilder sb = new StringBuilder();
+            char[] bloque = new char[8192];
+            int leidos;
+            while ((leidos = reader.read(bloque)) != -1) {
+                sb.append(bloque, 0, leidos);
+            }
+            return sb.toString();
         }
-        reader.close();
-        return sb.toString();
     }
 
     /**
@@ -0,0 +1,149 @@
+package model;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Interfaz común de las listas genéricas usadas por el sistema.
+ * Permite que {@link SGMMS} trabaje con distintas implementaciones (por ejemplo,
+ * {@link ListaEnlazadaSimple} o {@link ListaDesenrollada}) sin depender de su estructura interna.
+ *
+ * @param <T> El tipo de datos que almacenará la lista.
+ */
+public interface Lista<T> extends Iterable<T> {
+
+    /**
+     * Agrega un elemento al final de la lista.
+     *
+     * @param data El elemento a agregar.
+     */
+    void addLast(T data);
+
+    /**
+     * Agrega al final de la lista, en orden, todos los elementos de un arreglo.
+     *
+     * @param datos Los elementos a agregar.
+     */
+    default void addAll(T[] datos) {
+        for (T data : datos) {
+            addLast(data);
+        }
+    }
+
+    /**
+     * Agrega al final de la lista, en orden, todos los elementos de una colección iterable.
+     *
+     * @param datos Los elementos a agregar.
+     */
+    default void addAll(Iterable<? extends T> datos) {
+        for (T data : datos) {
+            addLast(data);
+        }
+    }
+
+    /**
+     * Elimina el primer elemento igual al dato dado.
+     *
+     * @param data El dato a eliminar.
+     * @return {@code true} si se eliminó el dato, {@code false} si no se encontró.
+     */
+    boolean remove(T data);
+
+    /**
+     * Elimina, en un solo recorrido, todos los elementos que cumplen el criterio dado.
+     *
+     * @param criterio Condición que deben cumplir los elementos a eliminar.
+     * @return La cantidad de elementos eliminados.
+     */
+    default int removeIf(Predicate<? super T> criterio) {
+        int eliminados = 0;
+        Iterator<T> iterador = iterator();
+        while (iterador.hasNext()) {
+            if (criterio.test(iterador.next())) {
+                iterador.remove();
+                eliminados++;
+            }
+        }
+        return eliminados;
+    }
+
+    /**
+     * Conserva, en un solo recorrido, solo los elementos que cumplen el criterio dado.
+     *
+     * @param criterio Condición que deben cumplir los elementos a conservar.
+     * @return La cantidad de elementos eliminados.
+     */
+    default int retainAll(Predicate<? super T> criterio) {
+        return removeIf(criterio.negate());
+    }
+
+    /**
+     * Devuelve el dato en la posición indicada.
+     *
+     * @param index El índice del elemento a obtener (comienza en 0).
+     * @return El dato en la posición indicada.
+     * @throws IndexOutOfBoundsException Si el índice no es válido.
+     */
+    T get(int index);
+
+    /**
+     * Ordena los elementos de la lista de forma estable utilizando un Comparator.
+     *
+     * @param comparator El comparador que define el orden de los elementos.
+     */
+    void ordenar(Comparator<T> comparator);
+
+    /**
+     * Ordena los elementos de la lista de forma estable, repartiendo el trabajo entre varios hilos
+     * cuando el tamaño de la lista lo justifica.
+     *
+     * @param comparator El comparador que define el orden de los elementos.
+     */
+    void ordenarParalelo(Comparator<T> comparator);
+
+    /**
+     * Devuelve el tamaño de la lista.
+     *
+     * @return El número de elementos en la lista.
+     */
+    int size();
+
+    /**
+     * Verifica si la lista está vacía.
+     *
+     * @return {@code true} si la lista está vacía, {@code false} en caso contrario.
+     */
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Iterador para recorrer los elementos de la lista. Su método {@link Iterator#remove()}
+     * elimina el último elemento devuelto sin volver a recorrer la lista.
+     *
+     * @return Un iterador para los elementos almacenados en la lista.
+     */
+    @Override
+    Iterator<T> iterator();
+
+    /**
+     * Devuelve un flujo secuencial sobre los elementos de la lista.
+     *
+     * @return Un {@link Stream} con los elementos en el orden de la lista.
+     */
+    default Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Devuelve un flujo paralelo sobre los elementos de la lista.
+     *
+     * @return Un {@link Stream} paralelo con los elementos en el orden de la lista.
+     */
+    default Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+}
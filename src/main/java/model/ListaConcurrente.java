@@ -0,0 +1,390 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Predicate;
+
+/**
+ * Clase que implementa una lista enlazada genérica segura para uso concurrente.
+ * <p>
+ * Las inserciones al final no usan bloqueos: enlazan el nodo nuevo con una operación CAS sobre
+ * la cola, por lo que varios hilos pueden registrar elementos a la vez sin esperarse. Los recorridos
+ * (iteradores, {@link #get(int)}, flujos) tampoco bloquean y son débilmente consistentes: nunca fallan
+ * por modificaciones concurrentes y reflejan los cambios hechos hasta algún momento del recorrido.
+ * Las eliminaciones y los ordenamientos, que son poco frecuentes, se serializan entre sí con un
+ * monitor, pero no detienen a quienes insertan o leen.
+ *
+ * @param <T> El tipo de datos que almacenará la lista.
+ */
+public class ListaConcurrente<T> implements Lista<T> {
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Node, Node> NEXT =
+            AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "next");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ListaConcurrente, Node> TAIL =
+            AtomicReferenceFieldUpdater.newUpdater(ListaConcurrente.class, Node.class, "tail");
+
+    /**
+     * Nodo centinela que precede al primer elemento; nunca se elimina.
+     */
+    private final Node<T> head;
+    private volatile Node<T> tail;
+    private final AtomicInteger size;
+    /**
+     * Cantidad de elementos eliminados desde la creación de la lista. Cambia con cada eliminación,
+     * que es lo único que desplaza las posiciones de los elementos, y así invalida {@link #ultimaPosicion}.
+     */
+    private volatile int eliminaciones;
+    /**
+     * Último nodo devuelto por {@link #get(int)}, con su índice. Permite que los recorridos secuenciales
+     * por posición continúen desde donde quedaron en lugar de volver a la cabeza.
+     */
+    private volatile Posicion<T> ultimaPosicion;
+
+    /**
+     * Constructor que inicializa una lista concurrente vacía.
+     */
+    public ListaConcurrente() {
+        head = new Node<>(null);
+        tail = head;
+        size = new AtomicInteger();
+    }
+
+    /**
+     * Agrega un elemento al final de la lista sin bloquear a otros hilos.
+     *
+     * @param data El elemento a agregar.
+     */
+    @Override
+    public void addLast(T data) {
+        Node<T> nuevo = new Node<>(data);
+        enlazar(nuevo, nuevo);
+        size.incrementAndGet();
+    }
+
+    /**
+     * Agrega al final de la lista, en orden, todos los elementos de un arreglo. La cadena nueva se
+     * arma aparte y se publica con una sola operación CAS, por lo que los lectores la ven completa
+     * o no la ven.
+     *
+     * @param datos Los elementos a agregar.
+     */
+    @Override
+    public void addAll(T[] datos) {
+        if (datos.length == 0) {
+            return;
+        }
+        Node<T> primero = new Node<>(datos[0]);
+        Node<T> ultimo = primero;
+        for (int i = 1; i < datos.length; i++) {
+            ultimo.next = new Node<>(datos[i]);
+            ultimo = ultimo.next;
+        }
+        enlazar(primero, ultimo);
+        size.addAndGet(datos.length);
+    }
+
+    /**
+     * Enlaza al final de la cadena un tramo ya armado, sin bloquear a otros hilos.
+     *
+     * @param primero El primer nodo del tramo.
+     * @param ultimo  El último nodo del tramo.
+     */
+    @SuppressWarnings("unchecked")
+    private void enlazar(Node<T> primero, Node<T> ultimo) {
+        while (true) {
+            Node<T> cola = tail;
+            Node<T> siguiente = cola.next;
+            if (siguiente == null) {
+                if (NEXT.compareAndSet(cola, null, primero)) {
+                    // Si falla, otro hilo ya avanzó la cola por nosotros
+                    TAIL.compareAndSet(this, cola, ultimo);
+                    return;
+                }
+            } else {
+                // La cola quedó atrasada: se ayuda a avanzarla antes de reintentar
+                TAIL.compareAndSet(this, cola, siguiente);
+            }
+        }
+    }
+
+    /**
+     * Elimina el primer elemento igual al dato dado.
+     *
+     * @param data El dato a eliminar.
+     * @return {@code true} si se eliminó el dato, {@code false} si no se encontró.
+     */
+    @Override
+    public synchronized boolean remove(T data) {
+        Node<T> anterior = head;
+        for (Node<T> nodo = head.next; nodo != null; nodo = nodo.next) {
+            if (!nodo.eliminado && nodo.data.equals(data)) {
+                marcar(nodo);
+                desenlazar(anterior, nodo);
+                return true;
+            }
+            if (!desenlazar(anterior, nodo)) {
+                anterior = nodo;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Elimina, en un solo recorrido, todos los elementos que cumplen el criterio dado.
+     *
+     * @param criterio Condición que deben cumplir los elementos a eliminar.
+     * @return La cantidad de elementos eliminados.
+     */
+    @Override
+    public synchronized int removeIf(Predicate<? super T> criterio) {
+        int eliminados = 0;
+        Node<T> anterior = head;
+        for (Node<T> nodo = head.next; nodo != null; nodo = nodo.next) {
+            if (!nodo.eliminado && criterio.test(nodo.data)) {
+                marcar(nodo);
+                eliminados++;
+            }
+            if (!desenlazar(anterior, nodo)) {
+                anterior = nodo;
+            }
+        }
+        return eliminados;
+    }
+
+    /**
+     * Marca un nodo como eliminado. Desde ese momento los recorridos lo saltan.
+     *
+     * @param nodo El nodo a marcar.
+     */
+    private synchronized void marcar(Node<T> nodo) {
+        if (!nodo.eliminado) {
+            nodo.eliminado = true;
+            size.decrementAndGet();
+            eliminaciones++;
+        }
+    }
+
+    /**
+     * Retira físicamente un nodo marcado como eliminado, siempre que no sea el último de la cadena:
+     * el último se conserva para que una inserción concurrente que ya lo leyó como cola no se pierda.
+     *
+     * @param anterior El nodo que precede al nodo dado.
+     * @param nodo     El nodo a retirar.
+     * @return {@code true} si el nodo se retiró de la cadena.
+     */
+    private boolean desenlazar(Node<T> anterior, Node<T> nodo) {
+        Node<T> siguiente = nodo.next;
+        if (!nodo.eliminado || siguiente == null) {
+            return false;
+        }
+        anterior.next = siguiente;
+        return true;
+    }
+
+    /**
+     * Devuelve el dato en la posición indicada, contando solo los elementos no eliminados.
+     * Como en {@link ListaEnlazadaSimple#get(int)}, los accesos con índices crecientes continúan desde el
+     * último nodo visitado, de modo que un recorrido {@code for (i = 0; i < size(); i++) get(i)} es lineal
+     * mientras nadie elimine elementos; cada eliminación obliga a volver a empezar desde la cabeza.
+     *
+     * @param index El índice del elemento a obtener (comienza en 0).
+     * @return El dato en la posición indicada.
+     * @throws IndexOutOfBoundsException Si el índice no es válido.
+     */
+    @Override
+    public T get(int index) {
+        if (index >= 0) {
+            // La versión se lee antes de recorrer: si una eliminación se cruza con el recorrido, la
+            // posición guardada queda con una versión vieja y no se vuelve a usar
+            int version = eliminaciones;
+            Posicion<T> ultima = ultimaPosicion;
+            Node<T> nodo = head.next;
+            int i = 0;
+            if (ultima != null && ultima.version == version && ultima.indice <= index) {
+                nodo = ultima.nodo;
+                i = ultima.indice;
+            }
+            for (; nodo != null; nodo = nodo.next) {
+                if (!nodo.eliminado) {
+                    if (i == index) {
+                        ultimaPosicion = new Posicion<>(nodo, index, version);
+                        return nodo.data;
+                    }
+                    i++;
+                }
+            }
+        }
+        throw new IndexOutOfBoundsException("Índice: " + index);
+    }
+
+    /**
+     * Ordena de forma estable los elementos presentes al iniciar el ordenamiento. Los datos se
+     * reescriben sobre los mismos nodos, de modo que los elementos agregados mientras tanto quedan
+     * al final y un lector concurrente puede observar un orden intermedio.
+     *
+     * @param comparator El comparador que define el orden de los elementos.
+     */
+    @Override
+    public synchronized void ordenar(Comparator<T> comparator) {
+        ArrayList<Node<T>> nodos = nodosVivos();
+        T[] datos = datosDe(nodos);
+        Arrays.sort(datos, comparator);
+        reescribir(nodos, datos);
+    }
+
+    /**
+     * Igual que {@link #ordenar(Comparator)}, pero ordena con
+     * {@link Arrays#parallelSort(Object[], Comparator)} a partir de {@link ListaEnlazadaSimple#UMBRAL_PARALELO}
+     * elementos.
+     *
+     * @param comparator El comparador que define el orden de los elementos.
+     */
+    @Override
+    public synchronized void ordenarParalelo(Comparator<T> comparator) {
+        ArrayList<Node<T>> nodos = nodosVivos();
+        T[] datos = datosDe(nodos);
+        if (datos.length < ListaEnlazadaSimple.UMBRAL_PARALELO) {
+            Arrays.sort(datos, comparator);
+        } else {
+            Arrays.parallelSort(datos, comparator);
+        }
+        reescribir(nodos, datos);
+    }
+
+    private ArrayList<Node<T>> nodosVivos() {
+        ArrayList<Node<T>> nodos = new ArrayList<>(size.get());
+        for (Node<T> nodo = head.next; nodo != null; nodo = nodo.next) {
+            if (!nodo.eliminado) {
+                nodos.add(nodo);
+            }
+        }
+        return nodos;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T[] datosDe(ArrayList<Node<T>> nodos) {
+        Object[] datos = new Object[nodos.size()];
+        for (int i = 0; i < datos.length; i++) {
+            datos[i] = nodos.get(i).data;
+        }
+        return (T[]) datos;
+    }
+
+    private void reescribir(ArrayList<Node<T>> nodos, T[] datos) {
+        for (int i = 0; i < datos.length; i++) {
+            nodos.get(i).data = datos[i];
+        }
+    }
+
+    /**
+     * Devuelve el tamaño de la lista en el momento de la llamada.
+     *
+     * @return El número de elementos en la lista.
+     */
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Iterador débilmente consistente: no lanza {@code ConcurrentModificationException} y puede
+     * reflejar o no las modificaciones hechas durante el recorrido.
+     *
+     * @return Un iterador para los elementos almacenados en la lista.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+
+            private Node<T> actual;
+            private Node<T> siguiente = avanzar(head);
+
+            @Override
+            public boolean hasNext() {
+                return siguiente != null;
+            }
+
+            @Override
+            public T next() {
+                if (siguiente == null) {
+                    throw new NoSuchElementException();
+                }
+                actual = siguiente;
+                siguiente = avanzar(siguiente);
+                return actual.data;
+            }
+
+            @Override
+            public void remove() {
+                if (actual == null) {
+                    throw new IllegalStateException();
+                }
+                // El nodo se retira físicamente en la próxima llamada a remove(T) que pase por él
+                marcar(actual);
+                actual = null;
+            }
+        };
+    }
+
+    /**
+     * Devuelve el primer nodo no eliminado que sigue al nodo dado.
+     */
+    private Node<T> avanzar(Node<T> nodo) {
+        Node<T> siguiente = nodo.next;
+        while (siguiente != null && siguiente.eliminado) {
+            siguiente = siguiente.next;
+        }
+        return siguiente;
+    }
+
+    /**
+     * Devuelve un {@link Spliterator} débilmente consistente que divide la lista por lotes.
+     *
+     * @return Un spliterator ORDERED, NONNULL y CONCURRENT sobre los elementos de la lista.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.CONCURRENT);
+    }
+
+    /**
+     * Nodo visitado por {@link #get(int)}, con su índice y la cantidad de eliminaciones de ese momento.
+     * Es inmutable para que los hilos que comparten la lista lo puedan publicar sin bloqueos.
+     */
+    private static final class Posicion<E> {
+        private final Node<E> nodo;
+        private final int indice;
+        private final int version;
+
+        private Posicion(Node<E> nodo, int indice, int version) {
+            this.nodo = nodo;
+            this.indice = indice;
+            this.version = version;
+        }
+    }
+
+    /**
+     * Clase interna que representa un nodo en la lista.
+     *
+     * @param <E> El tipo de datos almacenado en el nodo.
+     */
+    private static class Node<E> {
+        volatile E data;
+        volatile Node<E> next;
+        volatile boolean eliminado;
+
+        Node(E data) {
+            this.data = data;
+        }
+    }
+}
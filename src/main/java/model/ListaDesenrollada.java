@@ -0,0 +1,472 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Clase que implementa una lista desenrollada (unrolled list) genérica.
+ * En lugar de un nodo por elemento, los elementos se guardan en bloques con un arreglo de tamaño fijo,
+ * de modo que los recorridos y ordenamientos leen memoria contigua y cada elemento no paga
+ * el encabezado de un objeto nodo propio.
+ *
+ * @param <T> El tipo de datos que almacenará la lista.
+ */
+public class ListaDesenrollada<T> implements Lista<T> {
+
+    /**
+     * Cantidad máxima de elementos que guarda cada bloque.
+     */
+    static final int CAPACIDAD_BLOQUE = 64;
+
+    /**
+     * Cantidad mínima de elementos que debe tener un tramo para que su {@link Spliterator} acepte dividirse.
+     */
+    private static final int TAMANO_MINIMO_DIVISION = 1 << 10;
+
+    private Bloque head;
+    private Bloque tail;
+    private int size;
+
+    /**
+     * Último bloque visitado por {@link #get(int)} y el índice de su primer elemento. Permite que
+     * los recorridos secuenciales por posición continúen desde donde quedaron.
+     */
+    private Bloque ultimoBloque;
+    private int inicioUltimoBloque;
+
+    /**
+     * Constructor que inicializa una lista desenrollada vacía.
+     */
+    public ListaDesenrollada() {
+        head = null;
+        tail = null;
+        size = 0;
+    }
+
+    /**
+     * Agrega un elemento al final de la lista en tiempo constante.
+     *
+     * @param data El elemento a agregar.
+     */
+    @Override
+    public void addLast(T data) {
+        if (tail == null || tail.cantidad == CAPACIDAD_BLOQUE) {
+            Bloque nuevo = new Bloque();
+            if (head == null) {
+                head = nuevo;
+            } else {
+                tail.next = nuevo;
+            }
+            tail = nuevo;
+        }
+        tail.elementos[tail.cantidad++] = data;
+        size++;
+    }
+
+    /**
+     * Agrega al final de la lista, en orden, todos los elementos de un arreglo, copiándolos por
+     * tramos directamente a los bloques.
+     *
+     * @param datos Los elementos a agregar.
+     */
+    @Override
+    public void addAll(T[] datos) {
+        int posicion = 0;
+        while (posicion < datos.length) {
+            if (tail == null || tail.cantidad == CAPACIDAD_BLOQUE) {
+                Bloque nuevo = new Bloque();
+                if (head == null) {
+                    head = nuevo;
+                } else {
+                    tail.next = nuevo;
+                }
+                tail = nuevo;
+            }
+            int cantidad = Math.min(CAPACIDAD_BLOQUE - tail.cantidad, datos.length - posicion);
+            System.arraycopy(datos, posicion, tail.elementos, tail.cantidad, cantidad);
+            tail.cantidad += cantidad;
+            posicion += cantidad;
+        }
+        size += datos.length;
+    }
+
+    /**
+     * Elimina, en un solo recorrido, todos los elementos que cumplen el criterio dado. Los
+     * sobrevivientes se compactan hacia el inicio, de modo que los bloques quedan llenos y los
+     * bloques sobrantes se liberan.
+     *
+     * @param criterio Condición que deben cumplir los elementos a eliminar.
+     * @return La cantidad de elementos eliminados.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public int removeIf(Predicate<? super T> criterio) {
+        Bloque destino = head;
+        int posicionDestino = 0;
+        int eliminados = 0;
+        for (Bloque bloque = head; bloque != null; bloque = bloque.next) {
+            for (int i = 0; i < bloque.cantidad; i++) {
+                Object elemento = bloque.elementos[i];
+                if (criterio.test((T) elemento)) {
+                    eliminados++;
+                    continue;
+                }
+                if (posicionDestino == CAPACIDAD_BLOQUE) {
+                    destino.cantidad = CAPACIDAD_BLOQUE;
+                    destino = destino.next;
+                    posicionDestino = 0;
+                }
+                destino.elementos[posicionDestino++] = elemento;
+            }
+        }
+
+        // Aunque no se haya eliminado nada, los sobrevivientes pueden haberse corrido hacia bloques
+        // anteriores que no estaban llenos, así que la cola siempre se vuelve a fijar
+        size -= eliminados;
+        ultimoBloque = null;
+        if (size == 0) {
+            head = null;
+            tail = null;
+            return eliminados;
+        }
+        Arrays.fill(destino.elementos, posicionDestino, CAPACIDAD_BLOQUE, null);
+        destino.cantidad = posicionDestino;
+        destino.next = null;
+        tail = destino;
+        return eliminados;
+    }
+
+    /**
+     * Elimina el primer elemento igual al dato dado.
+     *
+     * @param data El dato a eliminar.
+     * @return {@code true} si se eliminó el dato, {@code false} si no se encontró.
+     */
+    @Override
+    public boolean remove(T data) {
+        Bloque anterior = null;
+        for (Bloque bloque = head; bloque != null; bloque = bloque.next) {
+            for (int i = 0; i < bloque.cantidad; i++) {
+                if (bloque.elementos[i].equals(data)) {
+                    eliminarEn(anterior, bloque, i);
+                    return true;
+                }
+            }
+            anterior = bloque;
+        }
+        return false;
+    }
+
+    /**
+     * Retira el elemento en la posición dada de un bloque, corriendo los siguientes una casilla.
+     * Si el bloque queda vacío se desenlaza; si queda con poco contenido se une con el siguiente
+     * para que los bloques no se fragmenten.
+     *
+     * @param anterior El bloque que precede al bloque dado, o {@code null} si es la cabeza.
+     * @param bloque   El bloque que contiene el elemento.
+     * @param posicion La posición del elemento dentro del bloque.
+     */
+    private void eliminarEn(Bloque anterior, Bloque bloque, int posicion) {
+        System.arraycopy(bloque.elementos, posicion + 1, bloque.elementos, posicion, bloque.cantidad - posicion - 1);
+        bloque.elementos[--bloque.cantidad] = null;
+        size--;
+        ultimoBloque = null;
+
+        if (bloque.cantidad == 0) {
+            if (anterior == null) {
+                head = bloque.next;
+            } else {
+                anterior.next = bloque.next;
+            }
+            if (bloque == tail) {
+                tail = anterior;
+            }
+        } else if (bloque.next != null && bloque.cantidad + bloque.next.cantidad <= CAPACIDAD_BLOQUE / 2) {
+            Bloque siguiente = bloque.next;
+            System.arraycopy(siguiente.elementos, 0, bloque.elementos, bloque.cantidad, siguiente.cantidad);
+            bloque.cantidad += siguiente.cantidad;
+            bloque.next = siguiente.next;
+            if (siguiente == tail) {
+                tail = bloque;
+            }
+        }
+    }
+
+    /**
+     * Devuelve el dato en la posición indicada. Se salta bloques completos, por lo que el costo es
+     * proporcional al número de bloques y no al de elementos; los accesos con índices crecientes
+     * continúan desde el último bloque visitado.
+     *
+     * @param index El índice del elemento a obtener (comienza en 0).
+     * @return El dato en la posición indicada.
+     * @throws IndexOutOfBoundsException Si el índice no es válido.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice: " + index);
+        }
+        if (index >= size - tail.cantidad) {
+            return (T) tail.elementos[index - (size - tail.cantidad)];
+        }
+        Bloque bloque = head;
+        int inicio = 0;
+        if (ultimoBloque != null && inicioUltimoBloque <= index) {
+            bloque = ultimoBloque;
+            inicio = inicioUltimoBloque;
+        }
+        while (index >= inicio + bloque.cantidad) {
+            inicio += bloque.cantidad;
+            bloque = bloque.next;
+        }
+        ultimoBloque = bloque;
+        inicioUltimoBloque = inicio;
+        return (T) bloque.elementos[index - inicio];
+    }
+
+    /**
+     * Ordena los elementos de la lista utilizando un Comparator.
+     * Los elementos se copian a un arreglo contiguo, se ordenan con el ordenamiento estable de
+     * {@link Arrays#sort(Object[], Comparator)} y se devuelven a bloques llenos.
+     *
+     * @param comparator El comparador que define el orden de los elementos.
+     */
+    @Override
+    public void ordenar(Comparator<T> comparator) {
+        if (size <= 1) {
+            return;
+        }
+        T[] elementos = aArreglo();
+        Arrays.sort(elementos, comparator);
+        reconstruir(elementos);
+    }
+
+    /**
+     * Ordena los elementos de la lista con {@link Arrays#parallelSort(Object[], Comparator)}, que es
+     * estable y reparte el trabajo en el {@code ForkJoinPool} común. Por debajo de
+     * {@link ListaEnlazadaSimple#UMBRAL_PARALELO} elementos se ordena de forma secuencial.
+     *
+     * @param comparator El comparador que define el orden de los elementos.
+     */
+    @Override
+    public void ordenarParalelo(Comparator<T> comparator) {
+        if (size < ListaEnlazadaSimple.UMBRAL_PARALELO) {
+            ordenar(comparator);
+            return;
+        }
+        T[] elementos = aArreglo();
+        Arrays.parallelSort(elementos, comparator);
+        reconstruir(elementos);
+    }
+
+    /**
+     * Copia los elementos de la lista, en orden, a un arreglo nuevo.
+     *
+     * @return Un arreglo con los elementos de la lista.
+     */
+    @SuppressWarnings("unchecked")
+    private T[] aArreglo() {
+        Object[] elementos = new Object[size];
+        int posicion = 0;
+        for (Bloque bloque = head; bloque != null; bloque = bloque.next) {
+            System.arraycopy(bloque.elementos, 0, elementos, posicion, bloque.cantidad);
+            posicion += bloque.cantidad;
+        }
+        return (T[]) elementos;
+    }
+
+    /**
+     * Reemplaza el contenido de la lista por los elementos dados, reutilizando los bloques existentes
+     * y dejándolos llenos.
+     *
+     * @param elementos Los elementos, en el orden que tendrá la lista.
+     */
+    private void reconstruir(Object[] elementos) {
+        Bloque bloque = head;
+        int posicion = 0;
+        while (posicion < elementos.length) {
+            int cantidad = Math.min(CAPACIDAD_BLOQUE, elementos.length - posicion);
+            System.arraycopy(elementos, posicion, bloque.elementos, 0, cantidad);
+            if (bloque.cantidad > cantidad) {
+                Arrays.fill(bloque.elementos, cantidad, bloque.cantidad, null);
+            }
+            bloque.cantidad = cantidad;
+            posicion += cantidad;
+            if (posicion < elementos.length) {
+                bloque = bloque.next;
+            }
+        }
+        bloque.next = null;
+        tail = bloque;
+        ultimoBloque = null;
+    }
+
+    /**
+     * Devuelve el tamaño de la lista.
+     *
+     * @return El número de elementos en la lista.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Iterador para recorrer los elementos de la lista bloque por bloque.
+     *
+     * @return Un iterador para los elementos almacenados en la lista.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+
+            private Bloque anterior;
+            private Bloque bloque = head;
+            private int posicion;
+            private boolean puedeEliminar;
+
+            @Override
+            public boolean hasNext() {
+                avanzarBloque();
+                return bloque != null;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                puedeEliminar = true;
+                return (T) bloque.elementos[posicion++];
+            }
+
+            @Override
+            public void remove() {
+                if (!puedeEliminar) {
+                    throw new IllegalStateException();
+                }
+                puedeEliminar = false;
+                posicion--;
+                Bloque siguiente = bloque.next;
+                eliminarEn(anterior, bloque, posicion);
+                if (bloque.cantidad == 0) {
+                    // El bloque se desenlazó: se continúa desde el siguiente con el mismo anterior
+                    bloque = siguiente;
+                    posicion = 0;
+                }
+            }
+
+            private void avanzarBloque() {
+                while (bloque != null && posicion >= bloque.cantidad) {
+                    anterior = bloque;
+                    bloque = bloque.next;
+                    posicion = 0;
+                }
+            }
+        };
+    }
+
+    /**
+     * Devuelve un {@link Spliterator} que conoce el tamaño exacto de la lista y se divide por
+     * bloques en mitades aproximadamente iguales.
+     *
+     * @return Un spliterator ORDERED, SIZED y SUBSIZED sobre los elementos de la lista.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new Divisor(head, 0, size);
+    }
+
+    /**
+     * Spliterator sobre un tramo de bloques. Al dividirse entrega los bloques completos que cubren
+     * la primera mitad de su tramo.
+     */
+    private class Divisor implements Spliterator<T> {
+
+        private Bloque bloque;
+        private int posicion;
+        private int restantes;
+
+        Divisor(Bloque bloque, int posicion, int restantes) {
+            this.bloque = bloque;
+            this.posicion = posicion;
+            this.restantes = restantes;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super T> accion) {
+            if (restantes <= 0) {
+                return false;
+            }
+            while (posicion >= bloque.cantidad) {
+                bloque = bloque.next;
+                posicion = 0;
+            }
+            restantes--;
+            accion.accept((T) bloque.elementos[posicion++]);
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super T> accion) {
+            while (restantes > 0) {
+                int hasta = Math.min(bloque.cantidad, posicion + restantes);
+                for (int i = posicion; i < hasta; i++) {
+                    accion.accept((T) bloque.elementos[i]);
+                }
+                restantes -= hasta - posicion;
+                posicion = hasta;
+                if (restantes > 0) {
+                    bloque = bloque.next;
+                    posicion = 0;
+                }
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (restantes < TAMANO_MINIMO_DIVISION) {
+                return null;
+            }
+            Bloque inicio = bloque;
+            int posicionInicio = posicion;
+            int tomados = bloque.cantidad - posicion;
+            bloque = bloque.next;
+            while (tomados + bloque.cantidad <= restantes / 2) {
+                tomados += bloque.cantidad;
+                bloque = bloque.next;
+            }
+            posicion = 0;
+            restantes -= tomados;
+            return new Divisor(inicio, posicionInicio, tomados);
+        }
+
+        @Override
+        public long estimateSize() {
+            return restantes;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
+    }
+
+    /**
+     * Clase interna que representa un bloque de la lista con hasta {@link #CAPACIDAD_BLOQUE} elementos.
+     */
+    private static class Bloque {
+        final Object[] elementos = new Object[CAPACIDAD_BLOQUE];
+        int cantidad;
+        Bloque next;
+    }
+}
@@ -3,6 +3,11 @@ package model;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * Clase que implementa una lista enlazada simple genérica.
@@ -10,48 +15,144 @@ import java.util.NoSuchElementException;
  *
  * @param <T> El tipo de datos que almacenará la lista.
  */
-public class ListaEnlazadaSimple<T> implements Iterable<T> {
+public class ListaEnlazadaSimple<T> implements Lista<T> {
+
+    /**
+     * Tamaño mínimo a partir del cual {@link #ordenarParalelo(Comparator)} reparte el trabajo
+     * entre varios hilos. El punto de cruce depende de la cantidad de núcleos de la máquina, así que el
+     * valor por defecto (32768) se puede cambiar con la propiedad de sistema {@value #PROPIEDAD_UMBRAL_PARALELO};
+     * {@code model.benchmark.OrdenamientoBenchmark} mide ambos modos para elegirlo.
+     */
+    public static final int UMBRAL_PARALELO;
+
+    /**
+     * Propiedad de sistema que fija {@link #UMBRAL_PARALELO}.
+     */
+    public static final String PROPIEDAD_UMBRAL_PARALELO = "model.umbralParalelo";
+
+    static {
+        int umbral = Integer.getInteger(PROPIEDAD_UMBRAL_PARALELO, 1 << 15);
+        if (umbral < 2) {
+            throw new IllegalArgumentException("La propiedad " + PROPIEDAD_UMBRAL_PARALELO + " debe ser al menos 2.");
+        }
+        UMBRAL_PARALELO = umbral;
+    }
+
+    /**
+     * Cantidad mínima de elementos que debe tener un tramo para que su {@link Spliterator} acepte dividirse.
+     */
+    private static final int TAMANO_MINIMO_DIVISION = 1 << 10;
 
     private Node<T> head;
+    private Node<T> tail;
     private int size;
 
+    /**
+     * Último nodo visitado por {@link #get(int)} y su índice. Permite que los recorridos
+     * secuenciales por posición continúen desde donde quedaron en lugar de volver a la cabeza.
+     */
+    private Node<T> ultimoNodo;
+    private int ultimoIndice;
+
     /**
      * Constructor que inicializa una lista enlazada simple vacía.
      */
     public ListaEnlazadaSimple() {
         head = null;
+        tail = null;
         size = 0;
     }
 
     /**
-     * Agrega un elemento al final de la lista.
+     * Agrega un elemento al final de la lista en tiempo constante.
      *
      * @param data El elemento a agregar.
      */
+    @Override
     public void addLast(T data) {
+        Node<T> nuevo = new Node<>(data);
         if (head == null) {
-            head = new Node<>(data);
+            head = nuevo;
         } else {
-            Node<T> current = head;
-            while (current.next != null) {
-                current = current.next;
-            }
-            current.next = new Node<>(data);
+            tail.next = nuevo;
         }
+        tail = nuevo;
         size++;
     }
 
+    /**
+     * Agrega al final de la lista, en orden, todos los elementos de un arreglo. La cadena nueva se
+     * arma aparte y se enlaza a la cola una sola vez.
+     *
+     * @param datos Los elementos a agregar.
+     */
+    @Override
+    public void addAll(T[] datos) {
+        if (datos.length == 0) {
+            return;
+        }
+        Node<T> primero = new Node<>(datos[0]);
+        Node<T> ultimo = primero;
+        for (int i = 1; i < datos.length; i++) {
+            ultimo.next = new Node<>(datos[i]);
+            ultimo = ultimo.next;
+        }
+        if (head == null) {
+            head = primero;
+        } else {
+            tail.next = primero;
+        }
+        tail = ultimo;
+        size += datos.length;
+    }
+
+    /**
+     * Elimina, en un solo recorrido, todos los elementos que cumplen el criterio dado,
+     * reenlazando cada nodo sobreviviente con el siguiente que también sobrevive.
+     *
+     * @param criterio Condición que deben cumplir los elementos a eliminar.
+     * @return La cantidad de elementos eliminados.
+     */
+    @Override
+    public int removeIf(Predicate<? super T> criterio) {
+        int eliminados = 0;
+        Node<T> ultimoConservado = null;
+        for (Node<T> current = head; current != null; current = current.next) {
+            if (criterio.test(current.data)) {
+                eliminados++;
+            } else {
+                if (ultimoConservado == null) {
+                    head = current;
+                } else {
+                    ultimoConservado.next = current;
+                }
+                ultimoConservado = current;
+            }
+        }
+        if (eliminados > 0) {
+            if (ultimoConservado == null) {
+                head = null;
+            } else {
+                ultimoConservado.next = null;
+            }
+            tail = ultimoConservado;
+            size -= eliminados;
+            ultimoNodo = null;
+        }
+        return eliminados;
+    }
+
     /**
      * Elimina el primer nodo que contiene el dato dado.
      *
      * @param data El dato a eliminar.
      * @return {@code true} si se eliminó el dato, {@code false} si no se encontró.
      */
+    @Override
     public boolean remove(T data) {
         if (head == null) return false;
         if (head.data.equals(data)) {
-            head = head.next;
-            size--;
+            desenlazar(null, head);
             return true;
         }
         Node<T> current = head;
@@ -61,62 +162,232 @@ public class ListaEnlazadaSimple<T> implements Iterable<T> {
         if (current.next == null) {
             return false;
         } else {
-            current.next = current.next.next;
-            size--;
+            desenlazar(current, current.next);
             return true;
         }
     }
 
+    /**
+     * Retira un nodo de la cadena manteniendo la cola y la caché de posición coherentes.
+     *
+     * @param anterior El nodo que precede al nodo a retirar, o {@code null} si es la cabeza.
+     * @param nodo     El nodo a retirar.
+     */
+    private void desenlazar(Node<T> anterior, Node<T> nodo) {
+        if (anterior == null) {
+            head = nodo.next;
+        } else {
+            anterior.next = nodo.next;
+        }
+        if (nodo == tail) {
+            tail = anterior;
+        }
+        size--;
+        ultimoNodo = null;
+    }
+
     /**
      * Devuelve el dato en la posición indicada.
+     * Los accesos con índices crecientes reutilizan el último nodo visitado, de modo que un
+     * recorrido {@code for (i = 0; i < size(); i++) get(i)} es lineal. Aun así, para recorrer
+     * la lista se prefiere {@link #cursor()} o un ciclo for-each.
      *
      * @param index El índice del elemento a obtener (comienza en 0).
      * @return El dato en la posición indicada.
      * @throws IndexOutOfBoundsException Si el índice no es válido.
      */
+    @Override
     public T get(int index) {
         if (index < 0 || index >= size) {
             throw new IndexOutOfBoundsException("Índice: " + index);
         }
+        if (index == size - 1) {
+            return tail.data;
+        }
         Node<T> current = head;
-        for (int i = 0; i < index; i++) {
+        int i = 0;
+        if (ultimoNodo != null && ultimoIndice <= index) {
+            current = ultimoNodo;
+            i = ultimoIndice;
+        }
+        for (; i < index; i++) {
             current = current.next;
         }
+        ultimoNodo = current;
+        ultimoIndice = index;
         return current.data;
     }
 
     /**
      * Ordena los elementos de la lista utilizando un Comparator.
+     * Se usa un merge sort ascendente (bottom-up) que reenlaza los nodos existentes, por lo que
+     * el costo es O(n log n), no se reservan nodos nuevos y el orden es estable: los elementos
+     * que el comparador considera iguales conservan su orden relativo.
      *
      * @param comparator El comparador que define el orden de los elementos.
      */
+    @Override
     public void ordenar(Comparator<T> comparator) {
         if (size <= 1 || head == null) {
             // No hacer nada si la lista está vacía o tiene un solo elemento
             return;
         }
 
-        boolean huboIntercambios;
-        do {
-            Node<T> current = head;
-            Node<T> next = head.next;
-            huboIntercambios = false;
+        Node<T> lista = head;
+        for (int ancho = 1; ; ancho *= 2) {
+            Node<T> p = lista;
+            Node<T> cola = null;
+            int fusiones = 0;
+            lista = null;
 
-            while (next != null) {
-                // Usar el comparador para determinar si intercambiar elementos
-                if (comparator.compare(current.data, next.data) > 0) {
-                    // Intercambiamos los datos de los nodos
-                    T temp = current.data;
-                    current.data = next.data;
-                    next.data = temp;
+            while (p != null) {
+                fusiones++;
 
-                    huboIntercambios = true;
+                // Se separa un tramo de "ancho" nodos que empieza en p; q queda al inicio del siguiente tramo
+                Node<T> q = p;
+                int tamanoP = 0;
+                while (tamanoP < ancho && q != null) {
+                    tamanoP++;
+                    q = q.next;
                 }
+                int tamanoQ = ancho;
+
+                // Fusión de los dos tramos; ante empate se toma primero de p para que sea estable
+                while (tamanoP > 0 || (tamanoQ > 0 && q != null)) {
+                    Node<T> elegido;
+                    if (tamanoP == 0) {
+                        elegido = q;
+                        q = q.next;
+                        tamanoQ--;
+                    } else if (tamanoQ == 0 || q == null || comparator.compare(p.data, q.data) <= 0) {
+                        elegido = p;
+                        p = p.next;
+                        tamanoP--;
+                    } else {
+                        elegido = q;
+                        q = q.next;
+                        tamanoQ--;
+                    }
+
+                    if (cola == null) {
+                        lista = elegido;
+                    } else {
+                        cola.next = elegido;
+                    }
+                    cola = elegido;
+                }
+                p = q;
+            }
+            cola.next = null;
 
-                current = next;
-                next = next.next;
+            if (fusiones <= 1) {
+                head = lista;
+                tail = cola;
+                ultimoNodo = null;
+                return;
             }
-        } while (huboIntercambios);
+        }
+    }
+
+    /**
+     * Ordena los elementos de la lista repartiendo el trabajo en el {@link ForkJoinPool} común.
+     * Si la lista tiene menos de {@link #UMBRAL_PARALELO} elementos se ordena de forma secuencial,
+     * porque por debajo de ese tamaño el costo de repartir la cadena supera la ganancia.
+     * El resultado es el mismo que el de {@link #ordenar(Comparator)}, incluida la estabilidad.
+     *
+     * @param comparator El comparador que define el orden de los elementos.
+     */
+    @Override
+    public void ordenarParalelo(Comparator<T> comparator) {
+        if (size < UMBRAL_PARALELO) {
+            ordenar(comparator);
+            return;
+        }
+        head = ForkJoinPool.commonPool().invoke(new OrdenamientoParalelo<>(head, size, comparator));
+        Node<T> current = head;
+        while (current.next != null) {
+            current = current.next;
+        }
+        tail = current;
+        ultimoNodo = null;
+    }
+
+    /**
+     * Tarea que ordena un tramo de la cadena: lo corta por la mitad, ordena ambas mitades en
+     * paralelo y las fusiona reenlazando los nodos.
+     *
+     * @param <E> El tipo de datos almacenado en los nodos.
+     */
+    private static class OrdenamientoParalelo<E> extends RecursiveTask<Node<E>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Node<E> cabeza;
+        private final int longitud;
+        private final Comparator<E> comparator;
+
+        OrdenamientoParalelo(Node<E> cabeza, int longitud, Comparator<E> comparator) {
+            this.cabeza = cabeza;
+            this.longitud = longitud;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected Node<E> compute() {
+            if (longitud < UMBRAL_PARALELO) {
+                ListaEnlazadaSimple<E> tramo = new ListaEnlazadaSimple<>();
+                tramo.head = cabeza;
+                tramo.size = longitud;
+                tramo.ordenar(comparator);
+                return tramo.head;
+            }
+
+            int mitad = longitud / 2;
+            Node<E> finIzquierda = cabeza;
+            for (int i = 1; i < mitad; i++) {
+                finIzquierda = finIzquierda.next;
+            }
+            Node<E> inicioDerecha = finIzquierda.next;
+            finIzquierda.next = null;
+
+            OrdenamientoParalelo<E> izquierda = new OrdenamientoParalelo<>(cabeza, mitad, comparator);
+            izquierda.fork();
+            Node<E> derecha = new OrdenamientoParalelo<>(inicioDerecha, longitud - mitad, comparator).compute();
+            return fusionar(izquierda.join(), derecha, comparator);
+        }
+    }
+
+    /**
+     * Fusiona dos cadenas ya ordenadas reenlazando sus nodos. Ante empate se toma primero
+     * el nodo de la cadena izquierda, lo que mantiene la estabilidad.
+     *
+     * @return La cabeza de la cadena fusionada.
+     */
+    private static <E> Node<E> fusionar(Node<E> izquierda, Node<E> derecha, Comparator<E> comparator) {
+        if (izquierda == null) return derecha;
+        if (derecha == null) return izquierda;
+
+        Node<E> cabeza;
+        if (comparator.compare(izquierda.data, derecha.data) <= 0) {
+            cabeza = izquierda;
+            izquierda = izquierda.next;
+        } else {
+            cabeza = derecha;
+            derecha = derecha.next;
+        }
+        Node<E> cola = cabeza;
+        while (izquierda != null && derecha != null) {
+            if (comparator.compare(izquierda.data, derecha.data) <= 0) {
+                cola.next = izquierda;
+                izquierda = izquierda.next;
+            } else {
+                cola.next = derecha;
+                derecha = derecha.next;
+            }
+            cola = cola.next;
+        }
+        cola.next = (izquierda != null) ? izquierda : derecha;
+        return cabeza;
     }
 
     /**
@@ -124,6 +395,7 @@ public class ListaEnlazadaSimple<T> implements Iterable<T> {
      *
      * @return El número de elementos en la lista.
      */
+    @Override
     public int size() {
         return size;
     }
@@ -133,6 +405,7 @@ public class ListaEnlazadaSimple<T> implements Iterable<T> {
      *
      * @return {@code true} si la lista está vacía, {@code false} en caso contrario.
      */
+    @Override
     public boolean isEmpty() {
         return size == 0;
     }
@@ -144,25 +417,147 @@ public class ListaEnlazadaSimple<T> implements Iterable<T> {
      */
     @Override
     public Iterator<T> iterator() {
-        return new Iterator<T>() {
+        return cursor();
+    }
+
+    /**
+     * Devuelve un {@link Spliterator} que conoce el tamaño exacto de la lista y se divide en mitades
+     * equilibradas, lo que permite procesarla en paralelo de forma eficiente.
+     *
+     * @return Un spliterator ORDERED, SIZED y SUBSIZED sobre los elementos de la lista.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new Divisor<>(head, size);
+    }
+
+    /**
+     * Spliterator sobre un tramo de la cadena. Al dividirse recorre la mitad de su tramo y
+     * entrega esa primera mitad, de modo que ambas partes quedan con el mismo número de elementos.
+     *
+     * @param <E> El tipo de datos almacenado en los nodos.
+     */
+    private static class Divisor<E> implements Spliterator<E> {
+
+        private Node<E> actual;
+        private int restantes;
+
+        Divisor(Node<E> actual, int restantes) {
+            this.actual = actual;
+            this.restantes = restantes;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> accion) {
+            if (restantes <= 0) {
+                return false;
+            }
+            E data = actual.data;
+            actual = actual.next;
+            restantes--;
+            accion.accept(data);
+            return true;
+        }
 
-            private Node<T> current = head;
+        @Override
+        public void forEachRemaining(Consumer<? super E> accion) {
+            Node<E> nodo = actual;
+            for (int i = restantes; i > 0; i--) {
+                accion.accept(nodo.data);
+                nodo = nodo.next;
+            }
+            actual = nodo;
+            restantes = 0;
+        }
 
-            @Override
-            public boolean hasNext() {
-                return current != null;
+        @Override
+        public Spliterator<E> trySplit() {
+            if (restantes < TAMANO_MINIMO_DIVISION) {
+                return null;
             }
+            int mitad = restantes / 2;
+            Node<E> inicio = actual;
+            for (int i = 0; i < mitad; i++) {
+                actual = actual.next;
+            }
+            restantes -= mitad;
+            return new Divisor<>(inicio, mitad);
+        }
 
-            @Override
-            public T next() {
-                if (!hasNext()) {
-                    throw new NoSuchElementException();
-                }
-                T data = current.data;
-                current = current.next;
-                return data;
+        @Override
+        public long estimateSize() {
+            return restantes;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
+    }
+
+    /**
+     * Devuelve un cursor posicionado antes del primer elemento de la lista.
+     *
+     * @return Un cursor que recorre la lista en orden y conoce su posición actual.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Iterador posicional sobre la lista. Además de recorrerla en tiempo lineal,
+     * informa el índice del siguiente elemento y permite eliminar el último elemento
+     * devuelto sin volver a recorrer la cadena.
+     */
+    public class Cursor implements Iterator<T> {
+
+        private Node<T> anterior;
+        private Node<T> actual;
+        private Node<T> siguiente = head;
+        private int indice;
+
+        @Override
+        public boolean hasNext() {
+            return siguiente != null;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (actual != null) {
+                anterior = actual;
+            }
+            actual = siguiente;
+            siguiente = siguiente.next;
+            indice++;
+            return actual.data;
+        }
+
+        /**
+         * Devuelve el índice del elemento que retornaría la siguiente llamada a {@link #next()}.
+         *
+         * @return El índice del siguiente elemento, o {@code size()} si el cursor llegó al final.
+         */
+        public int nextIndex() {
+            return indice;
+        }
+
+        /**
+         * Elimina de la lista el último elemento devuelto por {@link #next()} en tiempo constante.
+         *
+         * @throws IllegalStateException Si no se ha llamado a {@code next()} o el elemento ya fue eliminado.
+         */
+        @Override
+        public void remove() {
+            if (actual == null) {
+                throw new IllegalStateException();
             }
-        };
+            desenlazar(anterior, actual);
+            actual = null;
+            indice--;
+        }
     }
 
     /**
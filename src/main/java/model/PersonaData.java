@@ -32,6 +32,11 @@ public class PersonaData {
      */
     private String estado;
 
+    /**
+     * Identificador de la ruta asignada a la persona. Este campo únicamente aplica para los pasajeros.
+     */
+    private String rutaAsignada;
+
     /**
      * Obtiene el identificador único de la persona.
      *
@@ -121,4 +126,22 @@ public class PersonaData {
     public void setEstado(String estado) {
         this.estado = estado;
     }
+
+    /**
+     * Obtiene el identificador de la ruta asignada a la persona (aplica solo para pasajeros).
+     *
+     * @return El identificador de la ruta o {@code null} si no tiene una asignada.
+     */
+    public String getRutaAsignada() {
+        return rutaAsignada;
+    }
+
+    /**
+     * Establece el identificador de la ruta asignada a la persona (aplica solo para pasajeros).
+     *
+     * @param rutaAsignada El identificador de la ruta asignada.
+     */
+    public void setRutaAsignada(String rutaAsignada) {
+        this.rutaAsignada = rutaAsignada;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,144 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Almacén único de las personas del sistema con vistas separadas por tipo.
+ * Cada persona se registra una sola vez; el almacén la ubica por identificador y, según su tipo, en la
+ * partición de conductores o de pasajeros. Las tres estructuras se actualizan juntas en cada alta y baja,
+ * así que no pueden quedar desfasadas, y las consultas de un tipo recorren solo su partición.
+ * Todas las operaciones cuestan O(1), salvo {@link #eliminarSi(Predicate)}, que recorre las personas una vez.
+ */
+public class RegistroPersonas {
+
+    private final Map<String, Persona> personas = new LinkedHashMap<>();
+    private final Map<String, Conductor> conductores = new LinkedHashMap<>();
+    private final Map<String, Pasajero> pasajeros = new LinkedHashMap<>();
+
+    /**
+     * Registra una persona si no existe otra con el mismo identificador.
+     *
+     * @param persona La persona a registrar.
+     * @return {@code true} si se registró; {@code false} si el identificador ya estaba en uso.
+     */
+    public synchronized boolean agregar(Persona persona) {
+        if (personas.putIfAbsent(persona.getId(), persona) != null) {
+            return false;
+        }
+        if (persona instanceof Conductor) {
+            conductores.put(persona.getId(), (Conductor) persona);
+        } else if (persona instanceof Pasajero) {
+            pasajeros.put(persona.getId(), (Pasajero) persona);
+        }
+        return true;
+    }
+
+    /**
+     * Elimina la persona con el identificador dado.
+     *
+     * @param id El identificador de la persona.
+     * @return La persona eliminada, o {@code null} si no existía.
+     */
+    public synchronized Persona eliminar(String id) {
+        Persona persona = personas.remove(id);
+        if (persona != null) {
+            conductores.remove(id);
+            pasajeros.remove(id);
+        }
+        return persona;
+    }
+
+    /**
+     * Elimina, en un solo recorrido, todas las personas que cumplen un criterio.
+     *
+     * @param criterio Condición que deben cumplir las personas a eliminar.
+     * @return Las personas eliminadas, en orden de registro.
+     */
+    public synchronized List<Persona> eliminarSi(Predicate<? super Persona> criterio) {
+        List<Persona> eliminadas = new ArrayList<>();
+        Iterator<Persona> it = personas.values().iterator();
+        while (it.hasNext()) {
+            Persona persona = it.next();
+            if (criterio.test(persona)) {
+                it.remove();
+                conductores.remove(persona.getId());
+                pasajeros.remove(persona.getId());
+                eliminadas.add(persona);
+            }
+        }
+        return eliminadas;
+    }
+
+    /**
+     * Busca una persona por su identificador.
+     *
+     * @param id El identificador de la persona.
+     * @return La persona, o {@code null} si no existe.
+     */
+    public synchronized Persona buscar(String id) {
+        return personas.get(id);
+    }
+
+    /**
+     * Busca un conductor por su identificador.
+     *
+     * @param id El identificador del conductor.
+     * @return El conductor, o {@code null} si no existe o la persona no es un conductor.
+     */
+    public synchronized Conductor buscarConductor(String id) {
+        return conductores.get(id);
+    }
+
+    /**
+     * Busca un pasajero por su identificador.
+     *
+     * @param id El identificador del pasajero.
+     * @return El pasajero, o {@code null} si no existe o la persona no es un pasajero.
+     */
+    public synchronized Pasajero buscarPasajero(String id) {
+        return pasajeros.get(id);
+    }
+
+    /**
+     * Devuelve una vista no modificable de todas las personas, en orden de registro.
+     *
+     * @return Las personas registradas.
+     */
+    public Collection<Persona> personas() {
+        return Collections.unmodifiableCollection(personas.values());
+    }
+
+    /**
+     * Devuelve una vista no modificable de los conductores, en orden de registro.
+     *
+     * @return Los conductores registrados.
+     */
+    public Collection<Conductor> conductores() {
+        return Collections.unmodifiableCollection(conductores.values());
+    }
+
+    /**
+     * Devuelve una vista no modificable de los pasajeros, en orden de registro.
+     *
+     * @return Los pasajeros registrados.
+     */
+    public Collection<Pasajero> pasajeros() {
+        return Collections.unmodifiableCollection(pasajeros.values());
+    }
+
+    /**
+     * Devuelve la cantidad de personas registradas.
+     *
+     * @return El número de personas.
+     */
+    public synchronized int size() {
+        return personas.size();
+    }
+}
@@ -27,24 +27,32 @@ public class Reporte {
      * @return Una cadena de texto que contiene el reporte completo.
      */
     public String generarReporte(SGMMS sgmms) {
+        return generarReporte(sgmms.instantanea());
+    }
+
+    /**
+     * Genera el mismo reporte que {@link #generarReporte(SGMMS)} a partir de una instantánea del sistema.
+     * Recorrer la instantánea no bloquea los registros que se hagan mientras tanto.
+     *
+     * @param instantanea La instantánea de la que se extrae la información.
+     * @return Una cadena de texto que contiene el reporte completo.
+     */
+    public String generarReporte(Instantanea instantanea) {
         StringBuilder reporte = new StringBuilder();
         reporte.append("Reporte de Rutas:\n");
-        for (int i = 0; i < sgmms.getListaRutas().size(); i++) {
-            Ruta r = sgmms.getListaRutas().get(i);
+        for (Ruta r : instantanea.getRutas()) {
             reporte.append("ID: ").append(r.getId())
                     .append(" | Distancia: ").append(r.getDistancia())
                     .append(" km | Tiempo: ").append(r.getTiempoEstimado()).append(" min\n");
         }
         reporte.append("\nReporte de Incidentes:\n");
-        for (int i = 0; i < sgmms.getListaIncidentes().size(); i++) {
-            Incidente inc = sgmms.getListaIncidentes().get(i);
+        for (Incidente inc : instantanea.getIncidentes()) {
             reporte.append("ID: ").append(inc.getId())
                     .append(" | Tipo: ").append(inc.getTipo())
                     .append(" | Fecha: ").append(inc.getFechaHora()).append("\n");
         }
         reporte.append("\nReporte de Personas:\n");
-        for (int i = 0; i < sgmms.getListaPersonas().size(); i++) {
-            Persona p = sgmms.getListaPersonas().get(i);
+        for (Persona p : instantanea.getPersonas()) {
             reporte.append("ID: ").append(p.getId())
                     .append(" | Nombre: ").append(p.getNombre()).append("\n");
         }
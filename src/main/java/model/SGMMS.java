@@ -1,84 +1,297 @@
 package model;
 
 import model.comparators.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.LinkedList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import model.despacho.Asignacion;
+import model.despacho.Despachador;
 import model.exceptions.DataNotFoundException;
+import model.grafo.CriterioCosto;
+import model.grafo.GrafoRutas;
+import model.grafo.Trayecto;
+import model.indices.IndiceDistancias;
+import model.indices.IndiceIncidentes;
+import model.indices.IndicePasajerosPorRuta;
+import model.indices.IndiceTemporal;
+import model.indices.IndiceTrigramas;
+import model.indices.IndiceUbicaciones;
+import model.indices.MonticuloIndexado;
+import model.indices.TablaRutas;
+import model.persistencia.Bitacora;
+import model.persistencia.Operacion;
+import model.persistente.ColeccionVersionada;
 
 /**
  * Sistema de Gestión de Movilidad y Seguridad (SGMMS).
  * Esta clase administra rutas, incidentes, personas (pasajeros y conductores) y operaciones relacionadas
  * con registros, búsquedas, ordenamientos, exportación e importación de datos.
+ * <p>
+ * Es segura para uso concurrente: cada colección de entidades (rutas, incidentes y personas) tiene su
+ * propio {@link StampedLock}. Las consultas cortas se ejecutan primero sin bloquear y solo toman el
+ * bloqueo de lectura si una escritura se cruzó con ellas, por lo que las búsquedas no compiten entre sí
+ * ni con los registros de otras colecciones. Las operaciones que usan varias colecciones toman los
+ * bloqueos siempre en el orden rutas, incidentes, personas.
+ * <p>
+ * Cada escritura publica además una {@link Instantanea} nueva; los reportes y las exportaciones recorren
+ * instantáneas, así que no toman bloqueos ni ven el sistema a medio modificar. Los cambios de estado de
+ * incidentes y conductores y los cambios de ruta de los pasajeros también publican una instantánea nueva,
+ * con una copia de la entidad modificada.
+ * <p>
+ * Si se le asigna una {@link Bitacora}, cada modificación se anota en ella dentro del mismo bloqueo que la
+ * aplica, así que el orden de la bitácora coincide con el orden en que se aplicaron los cambios de cada colección.
+ * <p>
+ * Los métodos públicos {@code final} solo usan otros métodos públicos, así que funcionan igual en las
+ * subclases; los demás leen el estado de esta instancia y una subclase que lo reemplace, como
+ * {@link SGMMSParticionado}, debe sobrescribirlos todos.
  */
 
 public class SGMMS {
 
+    /**
+     * Fracción de las rutas que puede revisar {@link #mejoresRutasConIncidentes(int)} en orden de puntaje antes
+     * de pasar a recorrer la tabla completa: revisar una ruta en el montículo cuesta unas decenas de veces más
+     * que procesar una fila de la tabla.
+     */
+    private static final int FRACCION_BUSQUEDA_EN_ORDEN = 64;
+
     /**
      * Lista de rutas registradas en el sistema.
      */
-    private ListaEnlazadaSimple<Ruta> listaRutas;
+    private Lista<Ruta> listaRutas;
     /**
      * Lista de incidentes registrados en el sistema.
      */
-    private ListaEnlazadaSimple<Incidente> listaIncidentes;
+    private Lista<Incidente> listaIncidentes;
+    /**
+     * Personas registradas en el sistema, con particiones de conductores y pasajeros.
+     */
+    private RegistroPersonas personas;
+    /**
+     * Índice de rutas por identificador, mantenido junto con {@link #listaRutas}.
+     */
+    private Map<String, Ruta> indiceRutas;
+    /**
+     * Índice de incidentes por identificador, mantenido junto con {@link #listaIncidentes}.
+     */
+    private Map<String, Incidente> indiceIncidentes;
+    /**
+     * Índice de trigramas sobre los nombres de los conductores, usado en las búsquedas por nombre.
+     */
+    private final IndiceTrigramas<Conductor> indiceNombresConductores = new IndiceTrigramas<>();
+    /**
+     * Índices de incidentes por tipo y por estado, usados en las consultas filtradas.
+     */
+    private final IndiceIncidentes indiceTipoEstado = new IndiceIncidentes();
+    /**
+     * Índice de incidentes ordenado por fecha, usado en los listados y las consultas por rango de fechas.
+     */
+    private final IndiceTemporal indiceFechas = new IndiceTemporal();
+    /**
+     * Montículo de rutas ordenado por puntaje, usado para obtener la mejor ruta y sus alternativas.
+     */
+    private final MonticuloIndexado<Ruta> rutasPorPuntaje = new MonticuloIndexado<>();
+    /**
+     * Vista de rutas ordenada por distancia, mantenida sin alterar el orden de registro de {@link #listaRutas}.
+     */
+    private final IndiceDistancias rutasPorDistancia = new IndiceDistancias();
+    /**
+     * Copia por columnas de las métricas de las rutas, usada en los cálculos que recorren todas las rutas.
+     */
+    private final TablaRutas tablaRutas = new TablaRutas();
+    /**
+     * Red de rutas unidas por sus puntos de inicio y fin, usada para planificar trayectos de varios tramos.
+     */
+    private final GrafoRutas grafoRutas = new GrafoRutas();
+    /**
+     * Conteo de incidentes activos por ubicación, usado para penalizar rutas que pasan por ellas.
+     */
+    private final IndiceUbicaciones incidentesActivosPorUbicacion;
+    /**
+     * Índice inverso de cada ruta a los pasajeros que la tienen asignada.
+     */
+    private final IndicePasajerosPorRuta pasajerosPorRuta = new IndicePasajerosPorRuta();
+    /**
+     * Motor de despacho de conductores disponibles a incidentes pendientes. Cambia el estado de los
+     * incidentes a través de {@link #aplicarEstadoIncidente(Incidente, String)} para mantener los índices.
+     */
+    private final Despachador despachador = new Despachador(this::aplicarEstadoIncidente);
+    /**
+     * Penalización que suma al puntaje de una ruta cada incidente activo en uno de sus extremos, por tipo.
+     */
+    private final Map<IncidentType, Double> penalizaciones = new EnumMap<>(IncidentType.class);
     /**
-     * Lista de personas registradas en el sistema (pasajeros y conductores).
+     * Implementación de lista usada para almacenar las entidades del sistema.
      */
-    private ListaEnlazadaSimple<Persona> listaPersonas;
+    private final TipoLista tipoLista;
     /**
-     * Lista específica de conductores registrados.
+     * Bloqueo de las rutas y de sus índices. Es el primero en el orden de adquisición.
      */
-    private ListaEnlazadaSimple<Conductor> listaConductores = new ListaEnlazadaSimple<>();
+    private final StampedLock bloqueoRutas = new StampedLock();
+    /**
+     * Bloqueo de los incidentes, de sus índices y de las penalizaciones. Se toma después del de rutas.
+     */
+    private final StampedLock bloqueoIncidentes = new StampedLock();
+    /**
+     * Bloqueo de las personas y de sus índices. Es el último en el orden de adquisición.
+     */
+    private final StampedLock bloqueoPersonas = new StampedLock();
+    /**
+     * Versiones inmutables de las rutas, en el orden de {@link #listaRutas}. Se modifican con el bloqueo de rutas.
+     */
+    private final ColeccionVersionada<Ruta> rutasVersionadas = new ColeccionVersionada<>(Ruta::getId);
+    /**
+     * Versiones inmutables de los incidentes, en el orden de {@link #listaIncidentes}, con copias de los
+     * incidentes para que los cambios de estado no alteren las versiones ya publicadas. Se modifican con el
+     * bloqueo de incidentes.
+     */
+    private final ColeccionVersionada<Incidente> incidentesVersionados =
+            new ColeccionVersionada<>(Incidente::getId, Instantanea::copiar);
+    /**
+     * Versiones inmutables de las personas, en orden de registro, con copias de las personas por la misma
+     * razón. Se modifican con el bloqueo de personas.
+     */
+    private final ColeccionVersionada<Persona> personasVersionadas =
+            new ColeccionVersionada<>(Persona::getId, Instantanea::copiar);
+    /**
+     * Última instantánea publicada. Cada escritura la reemplaza por otra que cambia solo su colección.
+     */
+    private final AtomicReference<Instantanea> instantanea = new AtomicReference<>(Instantanea.vacia());
+    /**
+     * Bitácora en la que se anotan las modificaciones, o {@code null} si el sistema no las registra.
+     */
+    private volatile Bitacora bitacora;
+    /**
+     * Instancias canónicas de los puntos de ruta, ubicaciones, estados y vehículos.
+     */
+    private final Diccionario diccionario;
 
     /**
-     * Constructor que inicializa las listas de rutas, incidentes y personas.
+     * Constructor que inicializa las listas de rutas, incidentes y personas como listas enlazadas simples.
      */
 
     public SGMMS() {
+        this(TipoLista.ENLAZADA);
+    }
+
+    /**
+     * Constructor que inicializa las listas de rutas e incidentes con la implementación indicada.
+     * Las personas se guardan siempre en un {@link RegistroPersonas}.
+     *
+     * @param tipoLista Implementación de lista que se usará para almacenar rutas e incidentes.
+     */
 
-        listaRutas = new ListaEnlazadaSimple<>();
-        listaIncidentes = new ListaEnlazadaSimple<>();
-        listaPersonas = new ListaEnlazadaSimple<>();
+    public SGMMS(TipoLista tipoLista) {
+        this(tipoLista, new IndiceUbicaciones(), nuevoDiccionario());
     }
 
     /**
-     * Obtiene la lista de conductores registrados.
+     * Constructor que usa un índice de incidentes activos por ubicación compartido con otras instancias,
+     * para que la penalización de las rutas considere también los incidentes registrados en ellas.
+     * Lo usa {@link SGMMSParticionado} para que todas sus particiones penalicen con los mismos incidentes
+     * y compartan un mismo diccionario de valores.
      *
-     * @return Lista enlazada de conductores.
+     * @param tipoLista   Implementación de lista que se usará para almacenar rutas e incidentes.
+     * @param ubicaciones El índice de incidentes activos por ubicación.
+     * @param diccionario El diccionario de valores repetidos.
      */
+    SGMMS(TipoLista tipoLista, IndiceUbicaciones ubicaciones, Diccionario diccionario) {
+        this.tipoLista = tipoLista;
+        this.incidentesActivosPorUbicacion = ubicaciones;
+        this.diccionario = diccionario;
+        listaRutas = tipoLista.crear();
+        listaIncidentes = tipoLista.crear();
+        personas = new RegistroPersonas();
+        indiceRutas = new ConcurrentHashMap<>();
+        indiceIncidentes = new ConcurrentHashMap<>();
+        // Penalizaciones por defecto, en las mismas unidades que distancia + tiempo estimado
+        penalizaciones.put(IncidentType.ACCIDENTE, 30.0);
+        penalizaciones.put(IncidentType.INCENDIO, 60.0);
+        penalizaciones.put(IncidentType.ROBO, 15.0);
+        penalizaciones.put(IncidentType.OTRO, 5.0);
+    }
 
-    public ListaEnlazadaSimple<Conductor> getListaConductores() {
-        return listaConductores;
+    /**
+     * Crea un diccionario que ya contiene los estados que asigna el despachador, para que los estados
+     * importados o registrados compartan la instancia de esas constantes.
+     */
+    static Diccionario nuevoDiccionario() {
+        return new Diccionario(Despachador.CONDUCTOR_DISPONIBLE, Despachador.CONDUCTOR_EN_RUTA,
+                Despachador.INCIDENTE_PENDIENTE, Despachador.INCIDENTE_EN_PROCESO);
     }
 
     /**
-     * Busca conductores cuyo nombre contenga una palabra clave.
+     * Obtiene el diccionario con el que el sistema comparte los valores repetidos de sus entidades.
+     * Quien construye entidades para registrarlas puede pasar sus campos de texto por él.
      *
-     * @param nombre La palabra clave a buscar (ignora mayúsculas y minúsculas).
-     * @return Lista de conductores cuyo nombre coincida con la palabra clave.
+     * @return El diccionario del sistema.
      */
+    Diccionario getDiccionario() {
+        return diccionario;
+    }
 
-    public List<Conductor> buscarConductoresPorNombre(String nombre) {
-        // Crear una lista para almacenar los conductores encontrados
-        List<Conductor> conductoresEncontrados = new LinkedList<>();
+    /**
+     * Obtiene la lista de conductores registrados.
+     * La vista refleja el almacén actual y no está protegida por los bloqueos del sistema; para recorrerla
+     * mientras otros hilos registran personas use {@link #conductoresRegistrados()}.
+     *
+     * @return Lista de conductores.
+     */
 
-        // Iterar por cada persona en la lista de personas
-        for (int i = 0; i < listaPersonas.size(); i++) {
-            Persona persona = listaPersonas.get(i); // Obtenemos una persona
+    public Collection<Conductor> getListaConductores() {
+        return personas.conductores();
+    }
 
-            // Verificar si la persona es un conductor
-            if (persona instanceof Conductor) {
-                Conductor conductor = (Conductor) persona; // Convertimos a Conductor
+    /**
+     * Devuelve una copia de los conductores registrados, tomada de la instantánea actual sin bloquear.
+     *
+     * @return Los conductores en orden de registro.
+     */
 
-                // Verificar si el nombre contiene la palabra clave (ignorando mayúsculas y minúsculas)
-                if (conductor.getNombre().toLowerCase().contains(nombre.toLowerCase())) {
-                    conductoresEncontrados.add(conductor); // Agregar a la lista de conductores encontrados
-                }
+    public final List<Conductor> conductoresRegistrados() {
+        List<Conductor> conductores = new ArrayList<>();
+        for (Persona persona : instantanea().getPersonas()) {
+            if (persona instanceof Conductor) {
+                conductores.add((Conductor) persona);
             }
         }
+        return conductores;
+    }
+
+    /**
+     * Busca conductores cuyo nombre contenga una palabra clave.
+     * La búsqueda usa el índice de trigramas, por lo que solo revisa los conductores candidatos.
+     *
+     * @param nombre La palabra clave a buscar (ignora mayúsculas y minúsculas).
+     * @return Lista de conductores cuyo nombre coincida con la palabra clave, en orden de registro.
+     */
 
-        // Retornar la lista con los conductores encontrados
-        return conductoresEncontrados;
+    public List<Conductor> buscarConductoresPorNombre(String nombre) {
+        return leerOptimista(bloqueoPersonas, () -> indiceNombresConductores.buscar(nombre));
+    }
+
+    /**
+     * Busca una página de los conductores cuyo nombre contenga una palabra clave.
+     *
+     * @param nombre La palabra clave a buscar (ignora mayúsculas y minúsculas).
+     * @param desde  Cantidad de resultados a omitir desde el inicio.
+     * @param limite Cantidad máxima de resultados a devolver.
+     * @return Los conductores de la página pedida, en orden de registro.
+     */
+
+    public List<Conductor> buscarConductoresPorNombre(String nombre, int desde, int limite) {
+        return leerOptimista(bloqueoPersonas, () -> indiceNombresConductores.buscar(nombre, desde, limite));
     }
 
     /**
@@ -90,60 +303,588 @@ public class SGMMS {
      */
 
     public Conductor buscarConductor(String id) throws DataNotFoundException {
-        // Iterar sobre la lista de conductores
-        for (Conductor conductor : listaConductores) {
-            if (conductor.getId().equals(id)) {
-                return conductor; // Retornar el conductor si se encuentra el ID
-            }
+        Conductor conductor = leerOptimista(bloqueoPersonas, () -> personas.buscarConductor(id));
+        if (conductor != null) {
+            return conductor;
         }
-        // Lanzar la excepción si no se encuentra el conductor en la lista
+        // Lanzar la excepción si no se encuentra el conductor
         throw new DataNotFoundException("Conductor con ID '" + id + "' no encontrado.");
     }
+
+    /**
+     * Busca una ruta específica por su identificador único.
+     *
+     * @param id El identificador único de la ruta que se desea buscar.
+     * @return La ruta encontrada con el identificador proporcionado.
+     * @throws DataNotFoundException Si no existe una ruta con el identificador especificado.
+     */
+
+    public Ruta buscarRuta(String id) throws DataNotFoundException {
+        Ruta ruta = leerOptimista(bloqueoRutas, () -> indiceRutas.get(id));
+        if (ruta == null) {
+            throw new DataNotFoundException("Ruta con ID '" + id + "' no encontrada.");
+        }
+        return ruta;
+    }
+
     /**
      * Registra una nueva ruta en el sistema.
      *
      * @param r La ruta a registrar.
+     * @throws IllegalArgumentException Si ya existe una ruta con el mismo identificador.
      */
 
     public void registrarRuta(Ruta r) {
-        listaRutas.addLast(r);
+        long lsn;
+        long sello = bloqueoRutas.writeLock();
+        try {
+            if (indiceRutas.putIfAbsent(r.getId(), r) != null) {
+                throw new IllegalArgumentException("Ya existe una ruta con ID '" + r.getId() + "'.");
+            }
+            listaRutas.addLast(r);
+            rutasPorPuntaje.agregar(r.getId(), r, puntaje(r));
+            rutasPorDistancia.agregar(r);
+            tablaRutas.agregar(r);
+            grafoRutas.agregar(r);
+            rutasVersionadas.agregar(r);
+            lsn = publicarYAnotar(this::publicarRutas, Operacion.registrarRuta(r));
+        } finally {
+            bloqueoRutas.unlockWrite(sello);
+        }
+        confirmar(lsn);
+    }
+
+    /**
+     * Elimina una ruta del sistema según su identificador único. Los pasajeros asignados a ella quedan sin
+     * ruta, para que una ruta registrada después con el mismo identificador no los herede. Al reproducir
+     * la bitácora, la eliminación vuelve a dejarlos sin ruta, así que no se anota por separado.
+     *
+     * @param id El identificador de la ruta.
+     * @return {@code true} si se eliminó correctamente; {@code false} si no existía.
+     */
+
+    public boolean eliminarRuta(String id) {
+        boolean eliminada;
+        long lsn;
+        long sello = bloqueoRutas.writeLock();
+        // Se toma antes de anotar: mientras se anota no se puede esperar otro bloqueo (ver publicarYAnotar)
+        long selloPersonas = bloqueoPersonas.writeLock();
+        try {
+            Ruta ruta = indiceRutas.remove(id);
+            if (ruta == null) {
+                return false;
+            }
+            rutasPorPuntaje.eliminar(id);
+            rutasPorDistancia.eliminar(ruta);
+            tablaRutas.eliminar(id);
+            grafoRutas.eliminar(ruta);
+            eliminada = listaRutas.remove(ruta);
+            // Los pasajeros se publican sin ruta antes que la eliminación, para que ninguna instantánea
+            // muestre pasajeros asignados a una ruta que ya no está
+            lsn = publicarYAnotar(() -> {
+                desasignarRutaBloqueada(id);
+                rutasVersionadas.eliminar(id);
+                publicarRutas();
+            }, Operacion.eliminarRuta(id));
+        } finally {
+            bloqueoPersonas.unlockWrite(selloPersonas);
+            bloqueoRutas.unlockWrite(sello);
+        }
+        confirmar(lsn);
+        return eliminada;
     }
 
     /**
      * Registra un nuevo incidente en el sistema.
      *
      * @param i El incidente a registrar.
+     * @throws IllegalArgumentException Si ya existe un incidente con el mismo identificador.
      */
 
     public void registrarIncidente(Incidente i) {
-        listaIncidentes.addLast(i);
+        long lsn;
+        long sello = bloqueoIncidentes.writeLock();
+        try {
+            if (indiceIncidentes.putIfAbsent(i.getId(), i) != null) {
+                throw new IllegalArgumentException("Ya existe un incidente con ID '" + i.getId() + "'.");
+            }
+            listaIncidentes.addLast(i);
+            indiceTipoEstado.agregar(i);
+            indiceFechas.agregar(i);
+            incidentesActivosPorUbicacion.agregar(i);
+            despachador.registrarIncidente(i);
+            incidentesVersionados.agregar(i);
+            lsn = publicarYAnotar(this::publicarIncidentes, Operacion.registrarIncidente(i));
+        } finally {
+            bloqueoIncidentes.unlockWrite(sello);
+        }
+        confirmar(lsn);
+    }
+
+    /**
+     * Actualiza el estado de un incidente manteniendo al día los índices por estado.
+     *
+     * @param id          El identificador único del incidente.
+     * @param nuevoEstado El nuevo estado del incidente.
+     * @return El incidente actualizado.
+     * @throws DataNotFoundException Si no existe un incidente con el identificador especificado.
+     */
+
+    public Incidente actualizarEstadoIncidente(String id, String nuevoEstado) throws DataNotFoundException {
+        Incidente incidente;
+        long lsn;
+        long sello = bloqueoIncidentes.writeLock();
+        try {
+            incidente = indiceIncidentes.get(id);
+            if (incidente == null) {
+                throw new DataNotFoundException("Incidente con ID '" + id + "' no encontrado.");
+            }
+            despachador.cambiarEstadoIncidente(incidente, diccionario.canonica(nuevoEstado));
+            lsn = publicarYAnotar(this::publicarIncidentes, Operacion.actualizarEstadoIncidente(id, nuevoEstado));
+        } finally {
+            bloqueoIncidentes.unlockWrite(sello);
+        }
+        confirmar(lsn);
+        return incidente;
+    }
+
+    /**
+     * Cambia el estado de un incidente junto con los índices que dependen de él y con su copia versionada,
+     * que se publica después. Quien lo invoca debe tener el bloqueo de escritura de los incidentes.
+     *
+     * @param incidente   El incidente a actualizar.
+     * @param nuevoEstado El nuevo estado del incidente.
+     */
+    private void aplicarEstadoIncidente(Incidente incidente, String nuevoEstado) {
+        String estadoAnterior = incidente.getEstado();
+        indiceTipoEstado.cambiarEstado(incidente, nuevoEstado);
+        incidentesActivosPorUbicacion.cambioDeEstado(incidente, estadoAnterior);
+        incidentesVersionados.actualizar(incidente);
+    }
+
+    /**
+     * Actualiza el estado de un conductor manteniendo al día el grupo de conductores disponibles del despachador.
+     *
+     * @param id          El identificador único del conductor.
+     * @param nuevoEstado El nuevo estado del conductor (por ejemplo, "disponible" o "en ruta").
+     * @return El conductor actualizado.
+     * @throws DataNotFoundException Si no existe un conductor con el identificador especificado.
+     */
+
+    public Conductor actualizarEstadoConductor(String id, String nuevoEstado) throws DataNotFoundException {
+        Conductor conductor;
+        long lsn;
+        long sello = bloqueoPersonas.writeLock();
+        try {
+            conductor = personas.buscarConductor(id);
+            if (conductor == null) {
+                throw new DataNotFoundException("Conductor con ID '" + id + "' no encontrado.");
+            }
+            despachador.cambiarEstadoConductor(conductor, diccionario.canonica(nuevoEstado));
+            personasVersionadas.actualizar(conductor);
+            lsn = publicarYAnotar(this::publicarPersonas, Operacion.actualizarEstadoConductor(id, nuevoEstado));
+        } finally {
+            bloqueoPersonas.unlockWrite(sello);
+        }
+        confirmar(lsn);
+        return conductor;
+    }
+
+    /**
+     * Asigna en un lote conductores disponibles a los incidentes pendientes más graves y antiguos.
+     * Cada conductor asignado pasa a "en ruta" y cada incidente a "en proceso".
+     *
+     * @param maximo La cantidad máxima de asignaciones.
+     * @return Las asignaciones hechas, en orden de prioridad de los incidentes.
+     * @throws IllegalArgumentException Si el máximo es negativo.
+     */
+
+    public List<Asignacion> despacharIncidentes(int maximo) {
+        List<Asignacion> asignaciones;
+        long lsn = 0;
+        long selloIncidentes = bloqueoIncidentes.writeLock();
+        long selloPersonas = bloqueoPersonas.writeLock();
+        try {
+            asignaciones = despachador.asignar(maximo);
+            if (!asignaciones.isEmpty()) {
+                for (Asignacion asignacion : asignaciones) {
+                    personasVersionadas.actualizar(asignacion.getConductor());
+                }
+                // Incidentes y conductores se publican juntos: ninguna instantánea ve el lote a medias
+                lsn = publicarYAnotar(this::publicarIncidentesYPersonas, operacionesDe(asignaciones));
+            }
+        } finally {
+            bloqueoPersonas.unlockWrite(selloPersonas);
+            bloqueoIncidentes.unlockWrite(selloIncidentes);
+        }
+        confirmar(lsn);
+        return asignaciones;
+    }
+
+    /**
+     * Devuelve los cambios de estado de un lote de asignaciones como operaciones de la bitácora, como si se
+     * hubieran hecho uno por uno.
+     */
+    private static Operacion[] operacionesDe(List<Asignacion> asignaciones) {
+        Operacion[] operaciones = new Operacion[2 * asignaciones.size()];
+        int i = 0;
+        for (Asignacion asignacion : asignaciones) {
+            Incidente incidente = asignacion.getIncidente();
+            Conductor conductor = asignacion.getConductor();
+            operaciones[i++] = Operacion.actualizarEstadoIncidente(incidente.getId(), incidente.getEstado());
+            operaciones[i++] = Operacion.actualizarEstadoConductor(conductor.getId(), conductor.getEstado());
+        }
+        return operaciones;
+    }
+
+    /**
+     * Devuelve, sin asignarlos, los incidentes pendientes más prioritarios según la cola del despachador,
+     * en O(k log n).
+     *
+     * @param cantidad La cantidad máxima de incidentes.
+     * @return Los incidentes en orden de atención.
+     */
+    List<Incidente> incidentesPendientesPrioritarios(int cantidad) {
+        long sello = bloqueoIncidentes.readLock();
+        try {
+            return despachador.primerosPendientes(cantidad);
+        } finally {
+            bloqueoIncidentes.unlockRead(sello);
+        }
+    }
+
+    /**
+     * Devuelve, sin asignarlos, los primeros conductores del grupo de disponibles del despachador, en O(k).
+     *
+     * @param cantidad La cantidad máxima de conductores.
+     * @return Los conductores disponibles.
+     */
+    List<Conductor> conductoresDisponibles(int cantidad) {
+        long sello = bloqueoPersonas.readLock();
+        try {
+            return despachador.primerosDisponibles(cantidad);
+        } finally {
+            bloqueoPersonas.unlockRead(sello);
+        }
+    }
+
+    /**
+     * Asigna a un incidente, que puede estar en otra instancia que sus candidatos, el primer conductor que
+     * siga registrado y disponible. Con el bloqueo de escritura de los incidentes de la instancia del
+     * incidente y el de las personas de la del conductor, vuelve a comprobar ambos estados y los cambia
+     * juntos: si el cambio del incidente falla, el conductor vuelve a su estado anterior. Los candidatos descartados
+     * se consumen del iterador. Los bloqueos se toman en el mismo orden que en las demás operaciones, primero
+     * incidentes y después personas, así que no hay interbloqueos entre instancias.
+     * <p>
+     * Las operaciones se anotan en la bitácora pero no se confirman; quien lo invoca debe hacerlo.
+     *
+     * @param deIncidente La instancia que contiene el incidente.
+     * @param idIncidente El identificador del incidente.
+     * @param candidatos  Los conductores candidatos, en orden de preferencia.
+     * @param instanciaDe Devuelve la instancia que contiene a cada conductor.
+     * @param fecha       La fecha de la asignación.
+     * @return La asignación hecha, o {@code null} si el incidente ya no está pendiente o se acabaron los
+     * candidatos.
+     */
+    static Asignacion asignarSiSiguenLibres(SGMMS deIncidente, String idIncidente, Iterator<Conductor> candidatos,
+                                            Function<String, SGMMS> instanciaDe, Date fecha) {
+        long sello = deIncidente.bloqueoIncidentes.writeLock();
+        try {
+            Incidente incidente = deIncidente.indiceIncidentes.get(idIncidente);
+            if (incidente == null || !Despachador.esPendiente(incidente.getEstado())) {
+                return null;
+            }
+            while (candidatos.hasNext()) {
+                Conductor candidato = candidatos.next();
+                Conductor conductor = instanciaDe.apply(candidato.getId()).asignarSiSigueDisponible(candidato.getId(), deIncidente, incidente);
+                if (conductor != null) {
+                    return new Asignacion(conductor, incidente, fecha);
+                }
+            }
+            return null;
+        } finally {
+            deIncidente.bloqueoIncidentes.unlockWrite(sello);
+        }
+    }
+
+    /**
+     * Pasa el conductor a "en ruta" y el incidente a "en proceso" si el conductor sigue registrado en esta
+     * instancia y disponible. Quien lo invoca debe tener el bloqueo de escritura de los incidentes de
+     * {@code deIncidente}, que puede ser otra instancia.
+     *
+     * @return El conductor asignado, o {@code null} si ya no estaba disponible.
+     */
+    private Conductor asignarSiSigueDisponible(String idConductor, SGMMS deIncidente, Incidente incidente) {
+        long sello = bloqueoPersonas.writeLock();
+        try {
+            Conductor conductor = personas.buscarConductor(idConductor);
+            if (conductor == null || !Despachador.esDisponible(conductor.getEstado())) {
+                return null;
+            }
+            String estadoConductor = conductor.getEstado();
+            despachador.cambiarEstadoConductor(conductor, Despachador.CONDUCTOR_EN_RUTA);
+            try {
+                deIncidente.despachador.cambiarEstadoIncidente(incidente, Despachador.INCIDENTE_EN_PROCESO);
+            } catch (RuntimeException e) {
+                despachador.cambiarEstadoConductor(conductor, estadoConductor);
+                throw e;
+            }
+            personasVersionadas.actualizar(conductor);
+            // Las instancias de una fachada comparten la bitácora, así que ambos cambios se anotan juntos
+            publicarYAnotar(() -> {
+                if (deIncidente == this) {
+                    publicarIncidentesYPersonas();
+                } else {
+                    deIncidente.publicarIncidentes();
+                    publicarPersonas();
+                }
+            }, Operacion.actualizarEstadoIncidente(incidente.getId(), incidente.getEstado()),
+                    Operacion.actualizarEstadoConductor(conductor.getId(), conductor.getEstado()));
+            return conductor;
+        } finally {
+            bloqueoPersonas.unlockWrite(sello);
+        }
+    }
+
+    /**
+     * Consulta los incidentes de un tipo y un estado usando los índices secundarios, sin recorrer
+     * la lista de incidentes. El costo es proporcional a la cantidad de coincidencias.
+     *
+     * @param tipo   El tipo de incidente buscado, o {@code null} para aceptar cualquier tipo.
+     * @param estado El estado buscado, o {@code null} para aceptar cualquier estado.
+     * @return Los incidentes que cumplen ambos filtros, en orden de registro.
+     */
+
+    public List<Incidente> consultarIncidentes(IncidentType tipo, String estado) {
+        return leerOptimista(bloqueoIncidentes, () -> indiceTipoEstado.consultar(tipo, estado));
+    }
+
+    /**
+     * Cuenta los incidentes de un tipo y un estado usando los índices secundarios.
+     *
+     * @param tipo   El tipo de incidente buscado, o {@code null} para aceptar cualquier tipo.
+     * @param estado El estado buscado, o {@code null} para aceptar cualquier estado.
+     * @return La cantidad de incidentes que cumplen ambos filtros.
+     */
+
+    public int contarIncidentes(IncidentType tipo, String estado) {
+        return leerOptimista(bloqueoIncidentes, () -> indiceTipoEstado.contar(tipo, estado));
     }
 
     /**
      * Registra una nueva persona en el sistema.
      *
      * @param p La persona a registrar (puede ser pasajero o conductor).
+     * @throws IllegalArgumentException Si ya existe una persona con el mismo identificador.
      */
 
     public void registrarPersona(Persona p) {
-        listaPersonas.addLast(p);
+        long lsn;
+        long sello = bloqueoPersonas.writeLock();
+        try {
+            if (!personas.agregar(p)) {
+                throw new IllegalArgumentException("Ya existe una persona con ID '" + p.getId() + "'.");
+            }
+            indexarPersona(p);
+            personasVersionadas.agregar(p);
+            lsn = publicarYAnotar(this::publicarPersonas, Operacion.registrarPersona(p));
+        } finally {
+            bloqueoPersonas.unlockWrite(sello);
+        }
+        confirmar(lsn);
+    }
+
+    /**
+     * Agrega una persona ya registrada a los índices que dependen de su tipo.
+     *
+     * @param p La persona a indexar.
+     */
+    private void indexarPersona(Persona p) {
+        if (p instanceof Conductor) {
+            indiceNombresConductores.agregar((Conductor) p, p.getNombre());
+            despachador.registrarConductor((Conductor) p);
+        } else if (p instanceof Pasajero) {
+            pasajerosPorRuta.agregar((Pasajero) p);
+        }
+    }
+
+    /**
+     * Retira una persona ya eliminada de los índices que dependen de su tipo.
+     *
+     * @param p La persona a retirar.
+     */
+    private void desindexarPersona(Persona p) {
+        if (p instanceof Conductor) {
+            indiceNombresConductores.eliminar((Conductor) p);
+            despachador.eliminarConductor((Conductor) p);
+        } else if (p instanceof Pasajero) {
+            pasajerosPorRuta.eliminar((Pasajero) p);
+        }
     }
 
     /**
      * Elimina a una persona específica del sistema según su identificador único.
+     * La persona se retira del almacén y de su partición en tiempo constante.
      *
      * @param id El identificador de la persona.
      * @return {@code true} si se eliminó correctamente; {@code false} en caso contrario.
      */
 
     public boolean eliminarPersona(String id) {
-        for (int i = 0; i < listaPersonas.size(); i++) {
-            Persona current = listaPersonas.get(i);
-            if (current.getId().equals(id)) {
-                return listaPersonas.remove(current);
+        long lsn;
+        long sello = bloqueoPersonas.writeLock();
+        try {
+            Persona persona = personas.eliminar(id);
+            if (persona == null) {
+                return false;
+            }
+            desindexarPersona(persona);
+            personasVersionadas.eliminar(id);
+            lsn = publicarYAnotar(this::publicarPersonas, Operacion.eliminarPersona(id));
+        } finally {
+            bloqueoPersonas.unlockWrite(sello);
+        }
+        confirmar(lsn);
+        return true;
+    }
+
+    /**
+     * Elimina del sistema, en un solo recorrido, todas las personas que cumplen un criterio.
+     * Sirve para depuraciones masivas sin buscar y eliminar las personas una por una.
+     *
+     * @param criterio Condición que deben cumplir las personas a eliminar.
+     * @return La cantidad de personas eliminadas.
+     */
+
+    public int eliminarPersonas(Predicate<Persona> criterio) {
+        List<Persona> eliminadas;
+        long lsn = 0;
+        long sello = bloqueoPersonas.writeLock();
+        try {
+            eliminadas = personas.eliminarSi(criterio);
+            Operacion[] operaciones = new Operacion[eliminadas.size()];
+            for (int i = 0; i < operaciones.length; i++) {
+                Persona persona = eliminadas.get(i);
+                desindexarPersona(persona);
+                personasVersionadas.eliminar(persona.getId());
+                // El criterio no se puede anotar, así que cada baja queda como una eliminación individual
+                operaciones[i] = Operacion.eliminarPersona(persona.getId());
+            }
+            if (!eliminadas.isEmpty()) {
+                lsn = publicarYAnotar(this::publicarPersonas, operaciones);
+            }
+        } finally {
+            bloqueoPersonas.unlockWrite(sello);
+        }
+        confirmar(lsn);
+        return eliminadas.size();
+    }
+
+    /**
+     * Asigna una nueva ruta a un pasajero registrado, manteniendo al día el índice de pasajeros por ruta.
+     *
+     * @param idPasajero El identificador del pasajero.
+     * @param idRuta     El identificador de la nueva ruta.
+     * @throws DataNotFoundException Si no existe el pasajero o la ruta.
+     */
+
+    public void reasignarPasajero(String idPasajero, String idRuta) throws DataNotFoundException {
+        // La ruta no debe eliminarse mientras se asigna, por eso se mantiene el bloqueo de lectura de las rutas
+        long selloRutas = bloqueoRutas.readLock();
+        try {
+            Ruta ruta = indiceRutas.get(idRuta);
+            if (ruta == null) {
+                throw new DataNotFoundException("Ruta con ID '" + idRuta + "' no encontrada.");
+            }
+            reasignarPasajero(idPasajero, ruta);
+        } finally {
+            bloqueoRutas.unlockRead(selloRutas);
+        }
+    }
+
+    /**
+     * Asigna a un pasajero registrado una ruta ya buscada, que puede pertenecer a otra instancia.
+     *
+     * @param idPasajero El identificador del pasajero.
+     * @param ruta       La nueva ruta.
+     * @throws DataNotFoundException Si no existe el pasajero.
+     */
+    void reasignarPasajero(String idPasajero, Ruta ruta) throws DataNotFoundException {
+        long lsn;
+        long sello = bloqueoPersonas.writeLock();
+        try {
+            Pasajero pasajero = personas.buscarPasajero(idPasajero);
+            if (pasajero == null) {
+                throw new DataNotFoundException("Pasajero con ID '" + idPasajero + "' no encontrado.");
             }
+            pasajerosPorRuta.reasignar(pasajero, ruta);
+            personasVersionadas.actualizar(pasajero);
+            lsn = publicarYAnotar(this::publicarPersonas, Operacion.reasignarPasajero(idPasajero, ruta.getId()));
+        } finally {
+            bloqueoPersonas.unlockWrite(sello);
+        }
+        confirmar(lsn);
+    }
+
+    /**
+     * Deja sin ruta a los pasajeros asignados a una ruta eliminada. Quien lo invoca debe impedir que se
+     * registre o se asigne una ruta con ese identificador mientras tanto.
+     *
+     * @param idRuta El identificador de la ruta eliminada.
+     */
+    void desasignarRuta(String idRuta) {
+        long sello = bloqueoPersonas.writeLock();
+        try {
+            desasignarRutaBloqueada(idRuta);
+        } finally {
+            bloqueoPersonas.unlockWrite(sello);
         }
-        return false;
+    }
+
+    /**
+     * Igual que {@link #desasignarRuta(String)}, cuando quien lo invoca ya tiene el bloqueo de escritura de
+     * las personas.
+     */
+    private void desasignarRutaBloqueada(String idRuta) {
+        List<Pasajero> desasignados = pasajerosPorRuta.desasignar(idRuta);
+        if (!desasignados.isEmpty()) {
+            for (Pasajero pasajero : desasignados) {
+                personasVersionadas.actualizar(pasajero);
+            }
+            publicarPersonas();
+        }
+    }
+
+    /**
+     * Cuenta los pasajeros asignados a una ruta en tiempo constante.
+     *
+     * @param idRuta El identificador de la ruta.
+     * @return La cantidad de pasajeros de la ruta; 0 si no tiene o no existe.
+     */
+
+    public int contarPasajerosEnRuta(String idRuta) {
+        return leerOptimista(bloqueoPersonas, () -> pasajerosPorRuta.cantidad(idRuta));
+    }
+
+    /**
+     * Devuelve los pasajeros asignados a una ruta, por ejemplo para avisarles si la ruta se cierra.
+     *
+     * @param idRuta El identificador de la ruta.
+     * @return Los pasajeros de la ruta en orden de registro; vacía si no tiene.
+     */
+
+    public List<Pasajero> pasajerosDeRuta(String idRuta) {
+        return leerOptimista(bloqueoPersonas, () -> pasajerosPorRuta.pasajeros(idRuta));
+    }
+
+    /**
+     * Devuelve la cantidad de pasajeros de cada ruta que tiene al menos uno, para repartir la carga entre rutas.
+     *
+     * @return Un mapa del identificador de ruta a su cantidad de pasajeros.
+     */
+
+    public Map<String, Integer> cargaPorRuta() {
+        return leerOptimista(bloqueoPersonas, pasajerosPorRuta::cargas);
     }
 
     /**
@@ -154,22 +895,98 @@ public class SGMMS {
      * @throws DataNotFoundException Si no se encuentra un incidente con el identificador especificado.
      */
     public Incidente buscarIncidente(String id) throws DataNotFoundException {
-        for (int i = 0; i < listaIncidentes.size(); i++) {
-            Incidente inc = listaIncidentes.get(i);
-            if (inc.getId().equals(id)) {
-                return inc; // Retornar el incidente si se encuentra el ID
-            }
+        Incidente inc = leerOptimista(bloqueoIncidentes, () -> indiceIncidentes.get(id));
+        if (inc != null) {
+            return inc; // Retornar el incidente si se encuentra el ID
         }
-        // Lanzar la excepción si no se encuentra el incidente en la lista
+        // Lanzar la excepción si no se encuentra el incidente
         throw new DataNotFoundException("Incidente con ID '" + id + "' no encontrado.");
     }
 
+    /**
+     * Devuelve los incidentes del más reciente al más antiguo usando el índice por fecha,
+     * sin reordenar la lista de incidentes.
+     *
+     * @return Los incidentes ordenados por fecha descendente.
+     */
+
+    public List<Incidente> incidentesPorFecha() {
+        return leerOptimista(bloqueoIncidentes, indiceFechas::ordenados);
+    }
+
+    /**
+     * Devuelve los incidentes ocurridos entre dos fechas, ambas inclusive.
+     *
+     * @param desde Fecha inicial del rango.
+     * @param hasta Fecha final del rango.
+     * @return Los incidentes del rango, del más reciente al más antiguo.
+     * @throws IllegalArgumentException Si {@code desde} es posterior a {@code hasta}.
+     */
+
+    public List<Incidente> incidentesEntre(Date desde, Date hasta) {
+        return leerOptimista(bloqueoIncidentes, () -> indiceFechas.entre(desde, hasta));
+    }
+
+    /**
+     * Devuelve los incidentes ocurridos en una fecha dada o después de ella.
+     *
+     * @param desde Fecha a partir de la cual se buscan incidentes (inclusive).
+     * @return Los incidentes encontrados, del más reciente al más antiguo.
+     */
+
+    public List<Incidente> incidentesDesde(Date desde) {
+        return leerOptimista(bloqueoIncidentes, () -> indiceFechas.desde(desde));
+    }
+
+    /**
+     * Devuelve los incidentes más recientes.
+     *
+     * @param cantidad Número máximo de incidentes a devolver.
+     * @return Los incidentes más recientes, del más reciente al más antiguo.
+     * @throws IllegalArgumentException Si la cantidad es negativa.
+     */
+
+    public List<Incidente> ultimosIncidentes(int cantidad) {
+        return leerOptimista(bloqueoIncidentes, () -> indiceFechas.ultimos(cantidad));
+    }
+
     /**
      * Ordena los incidentes registrados según su fecha.
      */
 
     public void ordenarIncidentesPorFecha() {
-        listaIncidentes.ordenar(new IncidentDateComparator());
+        long sello = bloqueoIncidentes.writeLock();
+        try {
+            listaIncidentes.ordenar(new IncidentDateComparator());
+            incidentesVersionados.reemplazarTodo(listaIncidentes);
+            publicarIncidentes();
+        } finally {
+            bloqueoIncidentes.unlockWrite(sello);
+        }
+    }
+
+    /**
+     * Devuelve las rutas de la más corta a la más larga usando la vista ordenada,
+     * sin reordenar la lista de rutas.
+     *
+     * @return Las rutas ordenadas por distancia.
+     */
+
+    public List<Ruta> rutasPorDistancia() {
+        return leerOptimista(bloqueoRutas, rutasPorDistancia::ordenadas);
+    }
+
+    /**
+     * Devuelve las rutas cuya distancia está entre dos valores, ambos inclusive.
+     *
+     * @param minima Distancia mínima en kilómetros.
+     * @param maxima Distancia máxima en kilómetros.
+     * @return Las rutas del rango, de la más corta a la más larga.
+     * @throws IllegalArgumentException Si la distancia mínima es mayor que la máxima.
+     */
+
+    public List<Ruta> rutasEntreDistancias(double minima, double maxima) {
+        return leerOptimista(bloqueoRutas, () -> rutasPorDistancia.entre(minima, maxima));
     }
 
     /**
@@ -177,7 +994,14 @@ public class SGMMS {
      */
 
     public void ordenarRutasPorDistancia() {
-        listaRutas.ordenar(new RouteDistanceComparator());
+        long sello = bloqueoRutas.writeLock();
+        try {
+            listaRutas.ordenar(new RouteDistanceComparator());
+            rutasVersionadas.reemplazarTodo(listaRutas);
+            publicarRutas();
+        } finally {
+            bloqueoRutas.unlockWrite(sello);
+        }
     }
 
 
@@ -189,150 +1013,691 @@ public class SGMMS {
      */
 
     public Ruta determinarMejorRuta() {
-        if (listaRutas.isEmpty()) return null;
-
-        Ruta best = listaRutas.get(0);
-        for (int i = 1; i < listaRutas.size(); i++) {
-            Ruta current = listaRutas.get(i);
-            if ((current.getDistancia() + current.getTiempoEstimado()) <
-                    (best.getDistancia() + best.getTiempoEstimado())) {
-                best = current;
+        // Ante empate el montículo conserva la ruta registrada primero
+        return leerOptimista(bloqueoRutas, rutasPorPuntaje::minimo);
+    }
+
+    /**
+     * Devuelve las mejores rutas según su puntaje, de la mejor a la peor, sin recorrer todas las rutas.
+     *
+     * @param k La cantidad máxima de rutas a devolver.
+     * @return Las {@code k} mejores rutas, o todas si hay menos.
+     * @throws IllegalArgumentException Si {@code k} es negativo.
+     */
+
+    public List<Ruta> mejoresRutas(int k) {
+        return leerOptimista(bloqueoRutas, () -> rutasPorPuntaje.menores(k));
+    }
+
+    /**
+     * Planifica el trayecto de menor costo entre dos puntos, encadenando rutas cuyo punto de fin
+     * coincide con el punto de inicio de la siguiente.
+     *
+     * @param origen   El punto de partida.
+     * @param destino  El punto de llegada.
+     * @param criterio El criterio con el que se mide el costo de cada ruta.
+     * @return El trayecto de menor costo.
+     * @throws DataNotFoundException Si no existe ningún trayecto entre los dos puntos.
+     */
+
+    public Trayecto planificarTrayecto(String origen, String destino, CriterioCosto criterio) throws DataNotFoundException {
+        // La búsqueda puede ser larga, así que se hace directamente con el bloqueo de lectura
+        Trayecto trayecto = leer(bloqueoRutas, () -> grafoRutas.caminoMasCorto(origen, destino, criterio));
+        if (trayecto == null) {
+            throw new DataNotFoundException("No existe un trayecto de '" + origen + "' a '" + destino + "'.");
+        }
+        return trayecto;
+    }
+
+    /**
+     * Activa el preprocesamiento de la red de rutas con jerarquías de contracción para un criterio de costo,
+     * pensado para redes grandes con muchas consultas de trayectos. La jerarquía se construye en segundo plano
+     * y se reconstruye cuando cambian las rutas; mientras tanto, los trayectos se calculan con Dijkstra.
+     *
+     * @param criterio El criterio de costo para el que se preprocesa la red.
+     */
+
+    public void activarJerarquiaRutas(CriterioCosto criterio) {
+        grafoRutas.activarJerarquia(criterio);
+    }
+
+    /**
+     * Determina la mejor ruta considerando los incidentes activos: al puntaje de cada ruta se suma la
+     * penalización de los incidentes no resueltos cuya ubicación coincide con su punto de inicio o de fin.
+     * Las rutas se revisan en orden de puntaje y la búsqueda se detiene cuando ninguna restante puede ganar.
+     *
+     * @return La mejor ruta considerando incidentes o {@code null} si no hay rutas disponibles.
+     */
+
+    public final Ruta determinarMejorRutaConIncidentes() {
+        List<Ruta> mejores = mejoresRutasConIncidentes(1);
+        return mejores.isEmpty() ? null : mejores.get(0);
+    }
+
+    /**
+     * Devuelve las mejores rutas considerando los incidentes activos en sus extremos, de la mejor a la peor.
+     *
+     * @param k La cantidad máxima de rutas a devolver.
+     * @return Las {@code k} mejores rutas según el puntaje penalizado, o todas si hay menos.
+     * @throws IllegalArgumentException Si {@code k} es negativo.
+     */
+
+    public List<Ruta> mejoresRutasConIncidentes(int k) {
+        return leerOptimista(bloqueoRutas, bloqueoIncidentes, () -> {
+            // Con pocos incidentes la búsqueda en orden de puntaje revisa unas pocas rutas; si los incidentes
+            // penalizan a casi todas, recorrer las columnas de la tabla completa resulta más barato
+            List<Ruta> mejores = rutasPorPuntaje.menores(k, this::penalizacion,
+                    Math.max(k, tablaRutas.size() / FRACCION_BUSQUEDA_EN_ORDEN));
+            if (mejores != null) {
+                return mejores;
             }
+            return tablaRutas.menores(k, punto -> incidentesActivosPorUbicacion.penalizacion(punto, penalizaciones));
+        });
+    }
+
+    /**
+     * Calcula la cantidad de rutas y los mínimos, máximos y promedios de sus distancias y tiempos estimados,
+     * en un recorrido de las columnas de la tabla de rutas.
+     *
+     * @return El resumen de las rutas registradas.
+     */
+
+    public EstadisticasRutas estadisticasRutas() {
+        return leerOptimista(bloqueoRutas, tablaRutas::estadisticas);
+    }
+
+    /**
+     * Configura la penalización que suma cada incidente activo de un tipo al puntaje de las rutas que
+     * comienzan o terminan en su ubicación.
+     *
+     * @param tipo         El tipo de incidente.
+     * @param penalizacion La penalización, en las mismas unidades que el puntaje de las rutas.
+     * @throws IllegalArgumentException Si la penalización es negativa.
+     */
+
+    public void configurarPenalizacion(IncidentType tipo, double penalizacion) {
+        if (penalizacion < 0) {
+            throw new IllegalArgumentException("La penalización no puede ser negativa.");
         }
-        return best;
+        long sello = bloqueoIncidentes.writeLock();
+        try {
+            penalizaciones.put(tipo, penalizacion);
+        } finally {
+            bloqueoIncidentes.unlockWrite(sello);
+        }
+    }
+
+    /**
+     * Calcula la penalización de una ruta por los incidentes activos en sus extremos.
+     * Si la ruta comienza y termina en el mismo punto, ese punto se cuenta una sola vez.
+     */
+    private double penalizacion(Ruta ruta) {
+        String inicio = ruta.getPuntoInicio();
+        String fin = ruta.getPuntoFin();
+        double total = incidentesActivosPorUbicacion.penalizacion(inicio, penalizaciones);
+        if (fin != null && (inicio == null || !fin.trim().equalsIgnoreCase(inicio.trim()))) {
+            total += incidentesActivosPorUbicacion.penalizacion(fin, penalizaciones);
+        }
+        return total;
+    }
+
+    /**
+     * Calcula el puntaje de una ruta sumando la penalización de los incidentes activos en sus extremos.
+     *
+     * @param ruta La ruta a evaluar.
+     * @return El puntaje penalizado; es el orden de {@link #mejoresRutasConIncidentes(int)}.
+     */
+    double puntajeConIncidentes(Ruta ruta) {
+        return leerOptimista(bloqueoIncidentes, () -> puntaje(ruta) + penalizacion(ruta));
+    }
+
+    /**
+     * Calcula el puntaje de una ruta como la suma de su distancia y su tiempo estimado.
+     *
+     * @param ruta La ruta a evaluar.
+     * @return El puntaje de la ruta; un valor menor indica una mejor ruta.
+     */
+    static double puntaje(Ruta ruta) {
+        return ruta.getDistancia() + ruta.getTiempoEstimado();
     }
 
     /**
      * Obtiene la lista de rutas registradas.
+     * La lista no está protegida por los bloqueos del sistema; para recorrerla mientras otros hilos
+     * registran rutas use {@link #rutasRegistradas()}.
      *
-     * @return Lista enlazada de rutas.
+     * @return Lista de rutas.
      */
 
-    public ListaEnlazadaSimple<Ruta> getListaRutas() {
+    public Lista<Ruta> getListaRutas() {
         return listaRutas;
     }
 
+    /**
+     * Devuelve una copia de las rutas registradas, tomada de la instantánea actual sin bloquear.
+     *
+     * @return Las rutas en el orden de la lista de rutas.
+     */
+
+    public final List<Ruta> rutasRegistradas() {
+        return new ArrayList<>(instantanea().getRutas());
+    }
+
     /**
      * Obtiene la lista de incidentes registrados.
+     * La lista no está protegida por los bloqueos del sistema; para recorrerla mientras otros hilos
+     * registran incidentes use {@link #incidentesRegistrados()}.
      *
-     * @return Lista enlazada de incidentes.
+     * @return Lista de incidentes.
      */
 
-    public ListaEnlazadaSimple<Incidente> getListaIncidentes() {
+    public Lista<Incidente> getListaIncidentes() {
         return listaIncidentes;
     }
 
     /**
-     * Obtiene la lista de personas registradas.
+     * Devuelve una copia de los incidentes registrados, tomada de la instantánea actual sin bloquear.
+     *
+     * @return Los incidentes en el orden de la lista de incidentes.
+     */
+
+    public final List<Incidente> incidentesRegistrados() {
+        return new ArrayList<>(instantanea().getIncidentes());
+    }
+
+    /**
+     * Obtiene las personas registradas, en orden de registro.
+     * La vista no está protegida por los bloqueos del sistema; para recorrerla mientras otros hilos
+     * registran personas use {@link #personasRegistradas()}.
+     *
+     * @return Una vista no modificable de las personas.
+     */
+
+    public Collection<Persona> getListaPersonas() {
+        return personas.personas();
+    }
+
+    /**
+     * Devuelve una copia de las personas registradas, tomada de la instantánea actual sin bloquear.
+     *
+     * @return Las personas en orden de registro.
+     */
+
+    public final List<Persona> personasRegistradas() {
+        return new ArrayList<>(instantanea().getPersonas());
+    }
+
+    /**
+     * Devuelve una vista inmutable del contenido actual del sistema en O(1), sin bloquear.
+     * La vista no cambia aunque después se registren o eliminen entidades; ver {@link Instantanea}.
+     *
+     * @return La instantánea actual.
+     */
+
+    public Instantanea instantanea() {
+        return instantanea.get();
+    }
+
+    /**
+     * Obtiene los pasajeros registrados, en orden de registro.
      *
-     * @return Lista enlazada de personas.
+     * @return Una vista no modificable de los pasajeros.
      */
 
-    public ListaEnlazadaSimple<Persona> getListaPersonas() {
-        return listaPersonas;
+    public Collection<Pasajero> getListaPasajeros() {
+        return personas.pasajeros();
     }
 
     /**
      * Exporta los datos actuales del sistema a un objeto SGMMSData.
+     * Los datos se toman de la instantánea actual, así que la exportación no bloquea a los registros.
      *
      * @return Objeto SGMMSData que contiene los datos actuales del sistema.
      */
 
-    public SGMMSData exportar() {
+    public final SGMMSData exportar() {
+        return exportar(instantanea());
+    }
+
+    /**
+     * Exporta a un objeto SGMMSData el contenido de una instantánea tomada antes.
+     *
+     * @param instantanea La instantánea a exportar.
+     * @return Objeto SGMMSData con las entidades de la instantánea.
+     */
+
+    public final SGMMSData exportar(Instantanea instantanea) {
         SGMMSData datos = new SGMMSData();
 
         // Exportar rutas
-        Ruta[] rutasArray = new Ruta[listaRutas.size()];
-        for (int i = 0; i < listaRutas.size(); i++) {
-            rutasArray[i] = listaRutas.get(i);
-        }
-        datos.setRutas(rutasArray);
+        datos.setRutas(instantanea.getRutas().toArray(new Ruta[0]));
 
         // Exportar incidentes
-        Incidente[] incidentesArray = new Incidente[listaIncidentes.size()];
-        for (int i = 0; i < listaIncidentes.size(); i++) {
-            incidentesArray[i] = listaIncidentes.get(i);
-        }
-        datos.setIncidentes(incidentesArray);
+        datos.setIncidentes(instantanea.getIncidentes().toArray(new Incidente[0]));
 
         // Exportar pasajeros
-        ListaEnlazadaSimple<PersonaData> pasajeros = new ListaEnlazadaSimple<>();
-        ListaEnlazadaSimple<PersonaData> conductores = new ListaEnlazadaSimple<>();
+        List<PersonaData> pasajeros = new ArrayList<>();
+        List<PersonaData> conductores = new ArrayList<>();
 
-        for (int i = 0; i < listaPersonas.size(); i++) {
-            Persona p = listaPersonas.get(i);
-            if (p instanceof Pasajero) {
-                Pasajero pasajero = (Pasajero) p;
+        for (Persona persona : instantanea.getPersonas()) {
+            if (persona instanceof Pasajero) {
                 PersonaData pasajeroData = new PersonaData();
-                pasajeroData.setId(pasajero.getId());
-                pasajeroData.setNombre(pasajero.getNombre());
-                pasajeroData.setContacto(pasajero.getContacto());
-                pasajeros.addLast(pasajeroData);
-            } else if (p instanceof Conductor) {
-                Conductor conductor = (Conductor) p;
+                pasajeroData.setId(persona.getId());
+                pasajeroData.setNombre(persona.getNombre());
+                pasajeroData.setContacto(persona.getContacto());
+                Ruta rutaAsignada = ((Pasajero) persona).getRutaAsignada();
+                if (rutaAsignada != null) {
+                    pasajeroData.setRutaAsignada(rutaAsignada.getId());
+                }
+                pasajeros.add(pasajeroData);
+            } else if (persona instanceof Conductor) {
+                Conductor conductor = (Conductor) persona;
                 PersonaData conductorData = new PersonaData();
                 conductorData.setId(conductor.getId());
                 conductorData.setNombre(conductor.getNombre());
                 conductorData.setContacto(conductor.getContacto());
                 conductorData.setVehiculoAsignado(conductor.getVehiculoAsignado());
                 conductorData.setEstado(conductor.getEstado());
-                conductores.addLast(conductorData);
+                conductores.add(conductorData);
             }
         }
-
+        datos.setPasajeros(pasajeros.toArray(new PersonaData[0]));
+        datos.setConductores(conductores.toArray(new PersonaData[0]));
 
         return datos;
     }
 
     /**
      * Importa los datos del sistema desde un objeto SGMMSData.
+     * Las listas e índices nuevos se construyen aparte, sin bloquear, y solo reemplazan a los actuales si los
+     * datos no contienen identificadores repetidos. El reemplazo se hace con los bloqueos de escritura de las
+     * tres colecciones, por lo que ninguna consulta ve el sistema a medio importar. Si hay bitácora, la
+     * importación se anota antes del reemplazo: si la bitácora la rechaza, el sistema no cambia.
      *
      * @param datos Objeto SGMMSData con los datos a cargar.
+     * @throws IllegalArgumentException Si los datos contienen identificadores repetidos o son demasiado grandes
+     *                                  para anotarlos en la bitácora.
      */
 
     public void importar(SGMMSData datos) {
-        // Limpiar las listas actuales antes de importar
-        listaRutas = new ListaEnlazadaSimple<>();
-        listaIncidentes = new ListaEnlazadaSimple<>();
-        listaPersonas = new ListaEnlazadaSimple<>();
-        listaConductores = new ListaEnlazadaSimple<>();
+        Lista<Ruta> rutas = tipoLista.crear();
+        Lista<Incidente> incidentes = tipoLista.crear();
+        RegistroPersonas registro = new RegistroPersonas();
+        Map<String, Ruta> rutasPorId = new ConcurrentHashMap<>();
+        Map<String, Incidente> incidentesPorId = new ConcurrentHashMap<>();
 
-        // Importar rutas
+        // Importar rutas, con sus puntos pasados por el diccionario
         if (datos.getRutas() != null) {
-            for (Ruta r : datos.getRutas()) {
-                listaRutas.addLast(r);
+            Ruta[] importadas = new Ruta[datos.getRutas().length];
+            for (int i = 0; i < importadas.length; i++) {
+                Ruta ruta = canonica(datos.getRutas()[i]);
+                indexar(rutasPorId, ruta.getId(), ruta, "ruta");
+                importadas[i] = ruta;
             }
+            rutas.addAll(importadas);
         }
 
-        // Importar incidentes
+        // Importar incidentes, con su ubicación y su estado pasados por el diccionario
         if (datos.getIncidentes() != null) {
-            for (Incidente i : datos.getIncidentes()) {
-                listaIncidentes.addLast(i);
+            Incidente[] importados = new Incidente[datos.getIncidentes().length];
+            for (int i = 0; i < importados.length; i++) {
+                Incidente incidente = canonico(datos.getIncidentes()[i]);
+                indexar(incidentesPorId, incidente.getId(), incidente, "incidente");
+                importados[i] = incidente;
             }
+            incidentes.addAll(importados);
         }
 
         // Importar pasajeros (Personas generales)
         if (datos.getPasajeros() != null) {
             for (PersonaData pd : datos.getPasajeros()) {
                 Pasajero pasajero = new Pasajero(pd.getId(), pd.getNombre(), pd.getContacto());
-                listaPersonas.addLast(pasajero);
+                if (pd.getRutaAsignada() != null) {
+                    pasajero.setRutaAsignada(rutasPorId.get(pd.getRutaAsignada()));
+                }
+                registrarImportada(registro, pasajero);
             }
         }
 
         // Importar conductores
         if (datos.getConductores() != null) {
             for (PersonaData pd : datos.getConductores()) {
-                Conductor conductor = new Conductor(
+                registrarImportada(registro, new Conductor(
                         pd.getId(),
                         pd.getNombre(),
                         pd.getContacto(),
-                        pd.getVehiculoAsignado(),
-                        pd.getEstado()
-                );
-                listaConductores.addLast(conductor);
-                listaPersonas.addLast(conductor); // También agregarlo a la lista general de personas
+                        diccionario.canonica(pd.getVehiculoAsignado()),
+                        diccionario.canonica(pd.getEstado())
+                ));
+            }
+        }
+
+        // Reemplazar el estado actual solo cuando todo se cargó sin errores
+        long lsn;
+        long selloRutas = bloqueoRutas.writeLock();
+        long selloIncidentes = bloqueoIncidentes.writeLock();
+        long selloPersonas = bloqueoPersonas.writeLock();
+        try {
+            lsn = anotarReemplazo(Operacion.importar(datos),
+                    () -> reemplazar(rutas, incidentes, registro, rutasPorId, incidentesPorId));
+        } finally {
+            bloqueoPersonas.unlockWrite(selloPersonas);
+            bloqueoIncidentes.unlockWrite(selloIncidentes);
+            bloqueoRutas.unlockWrite(selloRutas);
+        }
+        confirmar(lsn);
+    }
+
+    /**
+     * Devuelve la ruta con sus puntos canónicos: la misma si ya los tenía, o una copia si no.
+     */
+    private Ruta canonica(Ruta ruta) {
+        String inicio = diccionario.canonica(ruta.getPuntoInicio());
+        String fin = diccionario.canonica(ruta.getPuntoFin());
+        if (inicio == ruta.getPuntoInicio() && fin == ruta.getPuntoFin()) {
+            return ruta;
+        }
+        return new Ruta(ruta.getId(), ruta.getDistancia(), ruta.getTiempoEstimado(), inicio, fin);
+    }
+
+    /**
+     * Devuelve el incidente con su ubicación y su estado canónicos: el mismo si ya los tenía, o una copia si no.
+     */
+    private Incidente canonico(Incidente incidente) {
+        String ubicacion = diccionario.canonica(incidente.getUbicacion());
+        String estado = diccionario.canonica(incidente.getEstado());
+        if (ubicacion == incidente.getUbicacion() && estado == incidente.getEstado()) {
+            return incidente;
+        }
+        return new Incidente(incidente.getId(), incidente.getTipo(), ubicacion, incidente.getFechaHora(),
+                incidente.getDescripcion(), estado);
+    }
+
+    /**
+     * Reemplaza las colecciones del sistema por las importadas y reconstruye todos los índices.
+     * Quien lo invoca debe tener los bloqueos de escritura de las tres colecciones.
+     */
+    private void reemplazar(Lista<Ruta> rutas, Lista<Incidente> incidentes, RegistroPersonas registro,
+                            Map<String, Ruta> rutasPorId, Map<String, Incidente> incidentesPorId) {
+        Lista<Incidente> anteriores = listaIncidentes;
+        listaRutas = rutas;
+        listaIncidentes = incidentes;
+        personas = registro;
+        indiceRutas = rutasPorId;
+        indiceIncidentes = incidentesPorId;
+        rutasPorPuntaje.limpiar();
+        rutasPorDistancia.limpiar();
+        tablaRutas.limpiar();
+        grafoRutas.limpiar();
+        for (Ruta ruta : rutas) {
+            rutasPorPuntaje.agregar(ruta.getId(), ruta, puntaje(ruta));
+            rutasPorDistancia.agregar(ruta);
+            tablaRutas.agregar(ruta);
+            grafoRutas.agregar(ruta);
+        }
+        indiceTipoEstado.limpiar();
+        indiceFechas.limpiar();
+        // El índice por ubicación puede estar compartido, así que solo se retiran los incidentes propios
+        for (Incidente anterior : anteriores) {
+            incidentesActivosPorUbicacion.eliminar(anterior);
+        }
+        despachador.limpiar();
+        for (Incidente incidente : incidentes) {
+            indiceTipoEstado.agregar(incidente);
+            indiceFechas.agregar(incidente);
+            incidentesActivosPorUbicacion.agregar(incidente);
+            despachador.registrarIncidente(incidente);
+        }
+        pasajerosPorRuta.limpiar();
+        indiceNombresConductores.limpiar();
+        for (Persona persona : registro.personas()) {
+            indexarPersona(persona);
+        }
+        rutasVersionadas.reemplazarTodo(rutas);
+        incidentesVersionados.reemplazarTodo(incidentes);
+        personasVersionadas.reemplazarTodo(registro.personas());
+        Collection<Ruta> vistaRutas = rutasVersionadas.vista();
+        Collection<Incidente> vistaIncidentes = incidentesVersionados.vista();
+        Collection<Persona> vistaPersonas = personasVersionadas.vista();
+        instantanea.updateAndGet(actual -> actual.conTodo(vistaRutas, vistaIncidentes, vistaPersonas));
+    }
+
+    /**
+     * Asigna la bitácora en la que se anotarán las modificaciones posteriores del sistema. El contenido
+     * actual no se anota: quien asigna la bitácora debe haberlo guardado antes, por ejemplo con {@link #exportar()}.
+     *
+     * @param bitacora La bitácora, o {@code null} para dejar de anotar las modificaciones.
+     */
+    public void setBitacora(Bitacora bitacora) {
+        this.bitacora = bitacora;
+    }
+
+    /**
+     * Obtiene la bitácora en la que se anotan las modificaciones.
+     *
+     * @return La bitácora, o {@code null} si el sistema no anota las modificaciones.
+     */
+    public final Bitacora getBitacora() {
+        return bitacora;
+    }
+
+    /**
+     * Publica una modificación ya aplicada y la anota en la bitácora, si hay una, con el bloqueo de anotación
+     * de la bitácora: un punto de control no puede leer el último LSN y la instantánea entre la publicación y
+     * la anotación, así que su corte incluye las dos o ninguna. Se invoca con el bloqueo de escritura de las
+     * colecciones modificadas, para que la bitácora conserve el orden en que se aplicaron los cambios.
+     * <p>
+     * Quien lo invoca debe tener ya todos los bloqueos de escritura que necesita y {@code publicar} no debe
+     * tomar otros: un punto de control en espera detiene las anotaciones nuevas, y si una anotación en curso
+     * esperara un bloqueo de otra se bloquearían entre sí.
+     *
+     * @param publicar    Publica las instantáneas de las colecciones modificadas.
+     * @param operaciones Las modificaciones aplicadas, en orden.
+     * @return El LSN de la última operación, o 0 si el sistema no tiene bitácora.
+     */
+    long publicarYAnotar(Runnable publicar, Operacion... operaciones) {
+        Bitacora actual = bitacora;
+        if (actual == null) {
+            publicar.run();
+            return 0;
+        }
+        Lock anotacion = actual.bloqueoAnotacion();
+        anotacion.lock();
+        try {
+            publicar.run();
+            if (bitacora != actual) {
+                // La instancia dejó de anotar mientras esperaba el bloqueo, por ejemplo porque una importación
+                // la reemplazó: la modificación no debe quedar en la bitácora después de esa importación
+                return 0;
+            }
+            long lsn = 0;
+            for (Operacion operacion : operaciones) {
+                lsn = actual.agregar(operacion);
+            }
+            return lsn;
+        } finally {
+            anotacion.unlock();
+        }
+    }
+
+    /**
+     * Anota una operación que reemplaza todo el contenido del sistema y después la aplica, con el bloqueo de
+     * corte de la bitácora: ninguna otra anotación ni punto de control se cruza con ella. Si la bitácora
+     * rechaza la operación, no se aplica.
+     *
+     * @param operacion La operación que reemplaza el contenido.
+     * @param aplicar   Reemplaza el contenido y publica las instantáneas; no debe tomar otros bloqueos.
+     * @return El LSN de la operación, o 0 si el sistema no tiene bitácora.
+     */
+    long anotarReemplazo(Operacion operacion, Runnable aplicar) {
+        Bitacora actual = bitacora;
+        if (actual == null) {
+            aplicar.run();
+            return 0;
+        }
+        Lock corte = actual.bloqueoCorte();
+        corte.lock();
+        try {
+            long lsn = actual.agregar(operacion);
+            aplicar.run();
+            return lsn;
+        } finally {
+            corte.unlock();
+        }
+    }
+
+    /**
+     * Espera, si la bitácora es síncrona, a que la operación anotada sea durable. Se invoca después de
+     * liberar los bloqueos, para que la espera del disco no detenga a las demás operaciones y la bitácora
+     * pueda agruparlas en una misma escritura.
+     *
+     * @param lsn El LSN devuelto por {@link #publicarYAnotar(Runnable, Operacion...)}; con 0 no espera.
+     */
+    void confirmar(long lsn) {
+        Bitacora actual = bitacora;
+        if (lsn > 0 && actual != null) {
+            actual.confirmar(lsn);
+        }
+    }
+
+    /**
+     * Publica una instantánea con la versión actual de las rutas. Quien lo invoca debe tener el bloqueo
+     * de escritura de las rutas, así que solo compite con las publicaciones de otras colecciones.
+     */
+    private void publicarRutas() {
+        Collection<Ruta> vista = rutasVersionadas.vista();
+        instantanea.updateAndGet(actual -> actual.conRutas(vista));
+    }
+
+    /**
+     * Publica una instantánea con la versión actual de los incidentes. Quien lo invoca debe tener el bloqueo
+     * de escritura de los incidentes.
+     */
+    private void publicarIncidentes() {
+        Collection<Incidente> vista = incidentesVersionados.vista();
+        instantanea.updateAndGet(actual -> actual.conIncidentes(vista));
+    }
+
+    /**
+     * Publica una instantánea con la versión actual de las personas. Quien lo invoca debe tener el bloqueo
+     * de escritura de las personas.
+     */
+    private void publicarPersonas() {
+        Collection<Persona> vista = personasVersionadas.vista();
+        instantanea.updateAndGet(actual -> actual.conPersonas(vista));
+    }
+
+    /**
+     * Publica en una sola instantánea las versiones actuales de los incidentes y de las personas. Quien lo
+     * invoca debe tener los bloqueos de escritura de ambas colecciones.
+     */
+    private void publicarIncidentesYPersonas() {
+        Collection<Incidente> incidentes = incidentesVersionados.vista();
+        Collection<Persona> personas = personasVersionadas.vista();
+        instantanea.updateAndGet(actual -> actual.conIncidentes(incidentes).conPersonas(personas));
+    }
+
+    /**
+     * Agrega una entidad a un índice por identificador, rechazando identificadores repetidos.
+     *
+     * @param indice  El índice en el que se agrega la entidad.
+     * @param id      El identificador de la entidad.
+     * @param entidad La entidad a indexar.
+     * @param tipo    Nombre del tipo de entidad, usado en el mensaje de error.
+     * @throws IllegalArgumentException Si el identificador ya estaba en el índice.
+     */
+    private static <E> void indexar(Map<String, E> indice, String id, E entidad, String tipo) {
+        if (indice.putIfAbsent(id, entidad) != null) {
+            throw new IllegalArgumentException("ID de " + tipo + " repetido: '" + id + "'.");
+        }
+    }
+
+    /**
+     * Registra una persona importada en el almacén que se está construyendo, rechazando identificadores repetidos.
+     *
+     * @param registro El almacén en construcción.
+     * @param persona  La persona importada.
+     * @throws IllegalArgumentException Si el identificador ya estaba registrado.
+     */
+    private static void registrarImportada(RegistroPersonas registro, Persona persona) {
+        if (!registro.agregar(persona)) {
+            throw new IllegalArgumentException("ID de persona repetido: '" + persona.getId() + "'.");
+        }
+    }
+
+
+    /**
+     * Ejecuta una consulta sin bloquear y valida al final que ninguna escritura sobre la colección ocurrió
+     * mientras tanto. Si alguna ocurrió, o si la consulta falló por ver datos a medio modificar, la repite
+     * con el bloqueo de lectura. La consulta no debe modificar nada, porque puede ejecutarse dos veces.
+     *
+     * @param bloqueo  El bloqueo de la colección consultada.
+     * @param consulta La consulta a ejecutar.
+     * @return El resultado de la consulta.
+     */
+    private static <R> R leerOptimista(StampedLock bloqueo, Supplier<R> consulta) {
+        long sello = bloqueo.tryOptimisticRead();
+        if (sello != 0) {
+            try {
+                R resultado = consulta.get();
+                if (bloqueo.validate(sello)) {
+                    return resultado;
+                }
+            } catch (RuntimeException e) {
+                if (bloqueo.validate(sello)) {
+                    throw e;
+                }
+                // La excepción vino de datos a medio modificar: se repite con el bloqueo de lectura
             }
         }
+        return leer(bloqueo, consulta);
     }
 
-}
\ No newline at end of file
+    /**
+     * Igual que {@link #leerOptimista(StampedLock, Supplier)} para una consulta sobre dos colecciones.
+     * Los bloqueos se pasan en el orden fijo de adquisición.
+     *
+     * @param primero  El bloqueo que se adquiere primero.
+     * @param segundo  El bloqueo que se adquiere después.
+     * @param consulta La consulta a ejecutar.
+     * @return El resultado de la consulta.
+     */
+    private static <R> R leerOptimista(StampedLock primero, StampedLock segundo, Supplier<R> consulta) {
+        long selloPrimero = primero.tryOptimisticRead();
+        long selloSegundo = segundo.tryOptimisticRead();
+        if (selloPrimero != 0 && selloSegundo != 0) {
+            try {
+                R resultado = consulta.get();
+                if (primero.validate(selloPrimero) && segundo.validate(selloSegundo)) {
+                    return resultado;
+                }
+            } catch (RuntimeException e) {
+                if (primero.validate(selloPrimero) && segundo.validate(selloSegundo)) {
+                    throw e;
+                }
+            }
+        }
+        selloPrimero = primero.readLock();
+        try {
+            return leer(segundo, consulta);
+        } finally {
+            primero.unlockRead(selloPrimero);
+        }
+    }
+
+    /**
+     * Ejecuta una consulta con el bloqueo de lectura de una colección.
+     *
+     * @param bloqueo  El bloqueo de la colección consultada.
+     * @param consulta La consulta a ejecutar.
+     * @return El resultado de la consulta.
+     */
+    private static <R> R leer(StampedLock bloqueo, Supplier<R> consulta) {
+        long sello = bloqueo.readLock();
+        try {
+            return consulta.get();
+        } finally {
+            bloqueo.unlockRead(sello);
+        }
+    }
+}
@@ -0,0 +1,770 @@
+package model;
+
+import model.comparators.RouteDistanceComparator;
+import model.despacho.Asignacion;
+import model.despacho.Despachador;
+import model.exceptions.DataNotFoundException;
+import model.grafo.CriterioCosto;
+import model.grafo.GrafoRutas;
+import model.grafo.Trayecto;
+import model.indices.IndiceUbicaciones;
+import model.persistencia.Bitacora;
+import model.persistencia.Operacion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Fachada de {@link SGMMS} que reparte las rutas, los incidentes y las personas entre varias particiones
+ * según el hash de su identificador.
+ * <p>
+ * Cada partición es un {@link SGMMS} completo con sus propios bloqueos e índices. Las operaciones sobre una
+ * entidad (registrar, buscar, eliminar, cambiar de estado) van solo a la partición de su identificador,
+ * así que las escrituras sobre particiones distintas no compiten entre sí. Los recorridos, ordenamientos y
+ * reportes se ejecutan en paralelo en todas las particiones y sus resultados se mezclan respetando el
+ * orden de la consulta. Como es una subclase de {@link SGMMS}, se puede usar en lugar de este, por ejemplo
+ * desde un {@link Controller}.
+ * <p>
+ * Lo que relaciona entidades de particiones distintas se resuelve a nivel de la fachada:
+ * <ul>
+ *     <li>Los trayectos se planifican sobre un único grafo con las rutas de todas las particiones.</li>
+ *     <li>Las particiones comparten el índice de incidentes activos por ubicación, por lo que la
+ *     penalización de una ruta considera los incidentes de cualquier partición.</li>
+ *     <li>El despacho elige los incidentes pendientes más prioritarios y los conductores disponibles de
+ *     todas las particiones.</li>
+ * </ul>
+ * Los listados que en {@link SGMMS} siguen el orden de registro aquí lo siguen dentro de cada partición,
+ * una partición detrás de otra.
+ * <p>
+ * El estado heredado de {@link SGMMS} queda vacío y sin usar: cada método público no {@code final} de
+ * {@link SGMMS} debe sobrescribirse aquí, incluidos los que se agreguen en el futuro, o se ejecutaría sobre
+ * ese estado vacío. Las pruebas de esta clase lo comprueban.
+ */
+public class SGMMSParticionado extends SGMMS {
+
+    /**
+     * Orden de {@link SGMMS#incidentesPorFecha()}: del más reciente al más antiguo, sin fecha al final y,
+     * a igual fecha, por identificador descendente.
+     */
+    private static final Comparator<Incidente> MAS_RECIENTES = Comparator
+            .comparingLong((Incidente i) -> i.getFechaHora() == null ? Long.MIN_VALUE : i.getFechaHora().getTime())
+            .thenComparing(Incidente::getId)
+            .reversed();
+
+    /**
+     * Orden de {@link SGMMS#rutasPorDistancia()}: por distancia y, a igual distancia, por identificador.
+     */
+    private static final Comparator<Ruta> POR_DISTANCIA = new RouteDistanceComparator().thenComparing(Ruta::getId);
+
+    private final int cantidadParticiones;
+    private final TipoLista tipoLista;
+    /**
+     * Particiones vigentes. {@link #importar(SGMMSData)} las reemplaza todas juntas por otras nuevas.
+     */
+    private volatile Particiones particiones;
+    /**
+     * Monitores que serializan, por partición, el alta o baja de una ruta junto con su arista en el grafo.
+     */
+    private final Object[] cerrojosRutas;
+    /**
+     * Monitor que serializa los despachos, que eligen incidentes y conductores de varias particiones.
+     */
+    private final Object despacho = new Object();
+    /**
+     * Penalizaciones configuradas, para aplicarlas también a las particiones creadas al importar.
+     */
+    private final Map<IncidentType, Double> penalizacionesConfiguradas = new EnumMap<>(IncidentType.class);
+    /**
+     * Criterio con el que se activó la jerarquía de contracción del grafo, o {@code null} si no se activó.
+     */
+    private volatile CriterioCosto criterioJerarquia;
+
+    /**
+     * Crea una fachada con la cantidad de particiones indicada, que guardan rutas e incidentes en listas
+     * enlazadas simples.
+     *
+     * @param cantidadParticiones La cantidad de particiones.
+     * @throws IllegalArgumentException Si la cantidad de particiones es menor que 1.
+     */
+    public SGMMSParticionado(int cantidadParticiones) {
+        this(cantidadParticiones, TipoLista.ENLAZADA);
+    }
+
+    /**
+     * Crea una fachada con la cantidad de particiones y la implementación de lista indicadas.
+     *
+     * @param cantidadParticiones La cantidad de particiones.
+     * @param tipoLista           Implementación de lista que usará cada partición para rutas e incidentes.
+     * @throws IllegalArgumentException Si la cantidad de particiones es menor que 1.
+     */
+    public SGMMSParticionado(int cantidadParticiones, TipoLista tipoLista) {
+        super(tipoLista);
+        if (cantidadParticiones < 1) {
+            throw new IllegalArgumentException("La cantidad de particiones debe ser al menos 1.");
+        }
+        this.cantidadParticiones = cantidadParticiones;
+        this.tipoLista = tipoLista;
+        this.cerrojosRutas = new Object[cantidadParticiones];
+        for (int i = 0; i < cantidadParticiones; i++) {
+            cerrojosRutas[i] = new Object();
+        }
+        this.particiones = new Particiones(cantidadParticiones, tipoLista, getDiccionario());
+    }
+
+    /**
+     * Devuelve la cantidad de particiones de la fachada.
+     *
+     * @return La cantidad de particiones.
+     */
+    public int getCantidadParticiones() {
+        return cantidadParticiones;
+    }
+
+    @Override
+    public Ruta buscarRuta(String id) throws DataNotFoundException {
+        return particiones.de(id).buscarRuta(id);
+    }
+
+    @Override
+    public void registrarRuta(Ruta r) {
+        Particiones actuales = particiones;
+        int indice = actuales.indice(r.getId());
+        synchronized (cerrojosRutas[indice]) {
+            actuales.sgmms[indice].registrarRuta(r);
+            actuales.grafo.agregar(r);
+        }
+    }
+
+    @Override
+    public boolean eliminarRuta(String id) {
+        Particiones actuales = particiones;
+        int indice = actuales.indice(id);
+        synchronized (cerrojosRutas[indice]) {
+            SGMMS particion = actuales.sgmms[indice];
+            Ruta ruta;
+            try {
+                ruta = particion.buscarRuta(id);
+            } catch (DataNotFoundException e) {
+                return false;
+            }
+            actuales.grafo.eliminar(ruta);
+            // Los pasajeros de las otras particiones se desasignan antes de que la partición de la ruta anote
+            // la eliminación, que desasigna a los suyos: un punto de control que se cruce con ellas ve la
+            // eliminación completa o solo desasignaciones que la reproducción de la eliminación repite
+            for (SGMMS otra : actuales.sgmms) {
+                if (otra != particion) {
+                    otra.desasignarRuta(id);
+                }
+            }
+            return particion.eliminarRuta(id);
+        }
+    }
+
+    @Override
+    public List<Ruta> rutasPorDistancia() {
+        return mezclar(enTodas(SGMMS::rutasPorDistancia), POR_DISTANCIA, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Ruta> rutasEntreDistancias(double minima, double maxima) {
+        return mezclar(enTodas(s -> s.rutasEntreDistancias(minima, maxima)), POR_DISTANCIA, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void ordenarRutasPorDistancia() {
+        enTodas(s -> {
+            s.ordenarRutasPorDistancia();
+            return null;
+        });
+    }
+
+    @Override
+    public Ruta determinarMejorRuta() {
+        Ruta mejor = null;
+        for (Ruta candidata : enTodas(SGMMS::determinarMejorRuta)) {
+            if (candidata != null && (mejor == null || puntaje(candidata) < puntaje(mejor))) {
+                mejor = candidata;
+            }
+        }
+        return mejor;
+    }
+
+    @Override
+    public List<Ruta> mejoresRutas(int k) {
+        return mezclar(enTodas(s -> s.mejoresRutas(k)), Comparator.comparingDouble(SGMMS::puntaje), k);
+    }
+
+    @Override
+    public List<Ruta> mejoresRutasConIncidentes(int k) {
+        // Cada partición devuelve sus k mejores; se mezclan por el puntaje penalizado de cada una
+        List<List<Puntuada>> candidatas = enTodas(s -> {
+            List<Puntuada> puntuadas = new ArrayList<>();
+            for (Ruta ruta : s.mejoresRutasConIncidentes(k)) {
+                puntuadas.add(new Puntuada(ruta, s.puntajeConIncidentes(ruta)));
+            }
+            return puntuadas;
+        });
+        List<Ruta> mejores = new ArrayList<>();
+        for (Puntuada puntuada : mezclar(candidatas, Comparator.comparingDouble((Puntuada p) -> p.puntaje), k)) {
+            mejores.add(puntuada.ruta);
+        }
+        return mejores;
+    }
+
+    @Override
+    public EstadisticasRutas estadisticasRutas() {
+        return EstadisticasRutas.combinar(enTodas(SGMMS::estadisticasRutas));
+    }
+
+    @Override
+    public void configurarPenalizacion(IncidentType tipo, double penalizacion) {
+        if (penalizacion < 0) {
+            throw new IllegalArgumentException("La penalización no puede ser negativa.");
+        }
+        synchronized (penalizacionesConfiguradas) {
+            penalizacionesConfiguradas.put(tipo, penalizacion);
+            for (SGMMS particion : particiones.sgmms) {
+                particion.configurarPenalizacion(tipo, penalizacion);
+            }
+        }
+    }
+
+    @Override
+    public Trayecto planificarTrayecto(String origen, String destino, CriterioCosto criterio) throws DataNotFoundException {
+        Trayecto trayecto = particiones.grafo.caminoMasCorto(origen, destino, criterio);
+        if (trayecto == null) {
+            throw new DataNotFoundException("No existe un trayecto de '" + origen + "' a '" + destino + "'.");
+        }
+        return trayecto;
+    }
+
+    @Override
+    public void activarJerarquiaRutas(CriterioCosto criterio) {
+        criterioJerarquia = criterio;
+        particiones.grafo.activarJerarquia(criterio);
+    }
+
+    /**
+     * Obtiene una copia de las rutas de todas las particiones, una partición detrás de otra.
+     *
+     * @return Una lista nueva con las rutas.
+     */
+    @Override
+    public Lista<Ruta> getListaRutas() {
+        Lista<Ruta> rutas = tipoLista.crear();
+        for (Ruta ruta : instantanea().getRutas()) {
+            rutas.addLast(ruta);
+        }
+        return rutas;
+    }
+
+    @Override
+    public Incidente buscarIncidente(String id) throws DataNotFoundException {
+        return particiones.de(id).buscarIncidente(id);
+    }
+
+    @Override
+    public void registrarIncidente(Incidente i) {
+        particiones.de(i.getId()).registrarIncidente(i);
+    }
+
+    @Override
+    public Incidente actualizarEstadoIncidente(String id, String nuevoEstado) throws DataNotFoundException {
+        return particiones.de(id).actualizarEstadoIncidente(id, nuevoEstado);
+    }
+
+    @Override
+    public List<Incidente> consultarIncidentes(IncidentType tipo, String estado) {
+        return concatenar(enTodas(s -> s.consultarIncidentes(tipo, estado)));
+    }
+
+    @Override
+    public int contarIncidentes(IncidentType tipo, String estado) {
+        int total = 0;
+        for (int cantidad : enTodas(s -> s.contarIncidentes(tipo, estado))) {
+            total += cantidad;
+        }
+        return total;
+    }
+
+    @Override
+    public List<Incidente> incidentesPorFecha() {
+        return mezclar(enTodas(SGMMS::incidentesPorFecha), MAS_RECIENTES, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Incidente> incidentesEntre(Date desde, Date hasta) {
+        return mezclar(enTodas(s -> s.incidentesEntre(desde, hasta)), MAS_RECIENTES, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Incidente> incidentesDesde(Date desde) {
+        return mezclar(enTodas(s -> s.incidentesDesde(desde)), MAS_RECIENTES, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Incidente> ultimosIncidentes(int cantidad) {
+        return mezclar(enTodas(s -> s.ultimosIncidentes(cantidad)), MAS_RECIENTES, cantidad);
+    }
+
+    @Override
+    public void ordenarIncidentesPorFecha() {
+        enTodas(s -> {
+            s.ordenarIncidentesPorFecha();
+            return null;
+        });
+    }
+
+    /**
+     * Obtiene una copia de los incidentes de todas las particiones, una partición detrás de otra. Como en
+     * {@link SGMMS#getListaIncidentes()}, los incidentes son los del sistema, no las copias de las instantáneas.
+     *
+     * @return Una lista nueva con los incidentes.
+     */
+    @Override
+    public Lista<Incidente> getListaIncidentes() {
+        Lista<Incidente> incidentes = tipoLista.crear();
+        for (SGMMS particion : particiones.sgmms) {
+            for (Incidente incidente : particion.getListaIncidentes()) {
+                incidentes.addLast(incidente);
+            }
+        }
+        return incidentes;
+    }
+
+    @Override
+    public void registrarPersona(Persona p) {
+        particiones.de(p.getId()).registrarPersona(p);
+    }
+
+    @Override
+    public boolean eliminarPersona(String id) {
+        return particiones.de(id).eliminarPersona(id);
+    }
+
+    /**
+     * Elimina de todas las particiones, en paralelo, las personas que cumplen un criterio.
+     *
+     * @param criterio Condición que deben cumplir las personas a eliminar; se evalúa desde varios hilos.
+     * @return La cantidad de personas eliminadas.
+     */
+    @Override
+    public int eliminarPersonas(Predicate<Persona> criterio) {
+        int total = 0;
+        for (int eliminadas : enTodas(s -> s.eliminarPersonas(criterio))) {
+            total += eliminadas;
+        }
+        return total;
+    }
+
+    @Override
+    public Conductor buscarConductor(String id) throws DataNotFoundException {
+        return particiones.de(id).buscarConductor(id);
+    }
+
+    @Override
+    public Conductor actualizarEstadoConductor(String id, String nuevoEstado) throws DataNotFoundException {
+        return particiones.de(id).actualizarEstadoConductor(id, nuevoEstado);
+    }
+
+    @Override
+    public List<Conductor> buscarConductoresPorNombre(String nombre) {
+        return concatenar(enTodas(s -> s.buscarConductoresPorNombre(nombre)));
+    }
+
+    @Override
+    public List<Conductor> buscarConductoresPorNombre(String nombre, int desde, int limite) {
+        int omitir = Math.max(0, desde);
+        int tope = (int) Math.min(Integer.MAX_VALUE, (long) omitir + Math.max(0, limite));
+        List<Conductor> todos = concatenar(enTodas(s -> s.buscarConductoresPorNombre(nombre, 0, tope)));
+        if (omitir >= todos.size()) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(todos.subList(omitir, Math.min(todos.size(), tope)));
+    }
+
+    @Override
+    public void reasignarPasajero(String idPasajero, String idRuta) throws DataNotFoundException {
+        Particiones actuales = particiones;
+        int indiceRuta = actuales.indice(idRuta);
+        // Se evita que la ruta se elimine mientras se asigna, igual que en SGMMS
+        synchronized (cerrojosRutas[indiceRuta]) {
+            Ruta ruta = actuales.sgmms[indiceRuta].buscarRuta(idRuta);
+            actuales.de(idPasajero).reasignarPasajero(idPasajero, ruta);
+        }
+    }
+
+    @Override
+    public int contarPasajerosEnRuta(String idRuta) {
+        int total = 0;
+        for (int cantidad : enTodas(s -> s.contarPasajerosEnRuta(idRuta))) {
+            total += cantidad;
+        }
+        return total;
+    }
+
+    @Override
+    public List<Pasajero> pasajerosDeRuta(String idRuta) {
+        return concatenar(enTodas(s -> s.pasajerosDeRuta(idRuta)));
+    }
+
+    @Override
+    public Map<String, Integer> cargaPorRuta() {
+        Map<String, Integer> cargas = new LinkedHashMap<>();
+        for (Map<String, Integer> parcial : enTodas(SGMMS::cargaPorRuta)) {
+            parcial.forEach((ruta, cantidad) -> cargas.merge(ruta, cantidad, Integer::sum));
+        }
+        return Collections.unmodifiableMap(cargas);
+    }
+
+    /**
+     * Obtiene una copia de los conductores de todas las particiones. Como en las demás listas, los conductores
+     * son los del sistema, no las copias de las instantáneas.
+     *
+     * @return Una colección no modificable con los conductores.
+     */
+    @Override
+    public Collection<Conductor> getListaConductores() {
+        return Collections.unmodifiableList(concatenar(enTodas(s -> new ArrayList<>(s.getListaConductores()))));
+    }
+
+    /**
+     * Obtiene una copia de las personas de todas las particiones.
+     *
+     * @return Una colección no modificable con las personas.
+     */
+    @Override
+    public Collection<Persona> getListaPersonas() {
+        return Collections.unmodifiableList(concatenar(enTodas(s -> new ArrayList<>(s.getListaPersonas()))));
+    }
+
+    /**
+     * Obtiene una copia de los pasajeros de todas las particiones.
+     *
+     * @return Una colección no modificable con los pasajeros.
+     */
+    @Override
+    public Collection<Pasajero> getListaPasajeros() {
+        return Collections.unmodifiableList(concatenar(enTodas(s -> new ArrayList<>(s.getListaPasajeros()))));
+    }
+
+    /**
+     * Asigna conductores disponibles de cualquier partición a los incidentes pendientes más graves y antiguos
+     * de todas las particiones. Cada partición aporta los {@code maximo} primeros de la cola de su despachador
+     * y los primeros conductores de su grupo de disponibles, sin recorrer sus colecciones; los incidentes se
+     * mezclan por prioridad. Cada asignación vuelve a comprobar, con los bloqueos de ambas particiones, que el
+     * incidente siga pendiente y el conductor disponible, y cambia los dos estados juntos.
+     *
+     * @param maximo La cantidad máxima de asignaciones.
+     * @return Las asignaciones hechas, en orden de prioridad de los incidentes.
+     * @throws IllegalArgumentException Si el máximo es negativo.
+     */
+    @Override
+    public List<Asignacion> despacharIncidentes(int maximo) {
+        if (maximo < 0) {
+            throw new IllegalArgumentException("La cantidad máxima no puede ser negativa.");
+        }
+        synchronized (despacho) {
+            Particiones actuales = particiones;
+            List<Incidente> incidentes = mezclar(enTodas(s -> s.incidentesPendientesPrioritarios(maximo)), Despachador.PRIORIDAD, maximo);
+            List<Asignacion> asignaciones = new ArrayList<>(incidentes.size());
+            if (incidentes.isEmpty()) {
+                return asignaciones;
+            }
+            Iterator<Conductor> candidatos = concatenar(enTodas(s -> s.conductoresDisponibles(incidentes.size()))).iterator();
+            Date ahora = new Date();
+            for (Incidente incidente : incidentes) {
+                if (!candidatos.hasNext()) {
+                    break;
+                }
+                Asignacion asignacion = SGMMS.asignarSiSiguenLibres(actuales.de(incidente.getId()), incidente.getId(),
+                        candidatos, actuales::de, ahora);
+                if (asignacion != null) {
+                    asignaciones.add(asignacion);
+                }
+            }
+            Bitacora actual = getBitacora();
+            if (actual != null && !asignaciones.isEmpty()) {
+                // Las particiones comparten la bitácora: se espera una sola vez por todo el lote
+                confirmar(actual.getUltimoLsn());
+            }
+            return asignaciones;
+        }
+    }
+
+    /**
+     * Devuelve la unión de las instantáneas de todas las particiones, en O(cantidad de particiones).
+     * Cada partición aporta una vista consistente de sí misma; las de particiones distintas pueden
+     * corresponder a momentos algo distintos.
+     *
+     * @return La instantánea combinada.
+     */
+    @Override
+    public Instantanea instantanea() {
+        SGMMS[] actuales = particiones.sgmms;
+        List<Instantanea> partes = new ArrayList<>(actuales.length);
+        for (SGMMS particion : actuales) {
+            partes.add(particion.instantanea());
+        }
+        return Instantanea.combinar(partes);
+    }
+
+    /**
+     * Importa los datos repartiéndolos entre particiones nuevas, que se cargan en paralelo y reemplazan a las
+     * actuales de una sola vez. Si los datos tienen identificadores repetidos, las particiones actuales no cambian.
+     * Las escrituras que se hagan mientras dura la importación pueden perderse, como las hechas antes de ella;
+     * las particiones reemplazadas dejan de anotar en la bitácora en el mismo momento en que se anota la
+     * importación, así que una escritura perdida tampoco se reproduce al recuperar.
+     * Si hay bitácora, la importación se anota una sola vez con todos los datos, no una vez por partición, y
+     * antes de reemplazar las particiones: si la bitácora la rechaza, las particiones actuales no cambian.
+     *
+     * @param datos Objeto SGMMSData con los datos a cargar.
+     * @throws IllegalArgumentException Si los datos contienen identificadores repetidos o son demasiado grandes
+     *                                  para anotarlos en la bitácora.
+     */
+    @Override
+    public void importar(SGMMSData datos) {
+        Particiones nuevas = new Particiones(cantidadParticiones, tipoLista, getDiccionario());
+        SGMMSData[] partes = repartir(datos, nuevas);
+        IntStream.range(0, cantidadParticiones).parallel().forEach(i -> nuevas.sgmms[i].importar(partes[i]));
+        asignarRutasDeOtrasParticiones(datos, nuevas);
+        long lsn;
+        for (SGMMS particion : nuevas.sgmms) {
+            for (Ruta ruta : particion.rutasRegistradas()) {
+                nuevas.grafo.agregar(ruta);
+            }
+        }
+        synchronized (penalizacionesConfiguradas) {
+            for (Map.Entry<IncidentType, Double> penalizacion : penalizacionesConfiguradas.entrySet()) {
+                for (SGMMS particion : nuevas.sgmms) {
+                    particion.configurarPenalizacion(penalizacion.getKey(), penalizacion.getValue());
+                }
+            }
+            CriterioCosto criterio = criterioJerarquia;
+            if (criterio != null) {
+                nuevas.grafo.activarJerarquia(criterio);
+            }
+            // Las particiones nuevas importaron sin bitácora: la importación se anota una sola vez, completa
+            Bitacora actual = getBitacora();
+            for (SGMMS particion : nuevas.sgmms) {
+                particion.setBitacora(actual);
+            }
+            SGMMS[] anteriores = particiones.sgmms;
+            lsn = anotarReemplazo(Operacion.importar(datos), () -> {
+                for (SGMMS particion : anteriores) {
+                    particion.setBitacora(null);
+                }
+                particiones = nuevas;
+            });
+        }
+        confirmar(lsn);
+    }
+
+    /**
+     * Asigna la bitácora a la fachada y a todas sus particiones, que anotan cada una sus propias
+     * modificaciones en ella.
+     *
+     * @param bitacora La bitácora, o {@code null} para dejar de anotar las modificaciones.
+     */
+    @Override
+    public void setBitacora(Bitacora bitacora) {
+        synchronized (penalizacionesConfiguradas) {
+            super.setBitacora(bitacora);
+            for (SGMMS particion : particiones.sgmms) {
+                particion.setBitacora(bitacora);
+            }
+        }
+    }
+
+    /**
+     * Asigna su ruta a los pasajeros importados cuya ruta quedó en otra partición, que la importación de su
+     * propia partición no pudo encontrar.
+     */
+    private static void asignarRutasDeOtrasParticiones(SGMMSData datos, Particiones destino) {
+        if (datos.getPasajeros() == null || datos.getRutas() == null) {
+            return;
+        }
+        Set<String> rutas = new HashSet<>();
+        for (Ruta ruta : datos.getRutas()) {
+            rutas.add(ruta.getId());
+        }
+        for (PersonaData pasajero : datos.getPasajeros()) {
+            String idRuta = pasajero.getRutaAsignada();
+            if (idRuta != null && rutas.contains(idRuta) && destino.indice(idRuta) != destino.indice(pasajero.getId())) {
+                try {
+                    // La ruta se busca en su partición porque la importación puede haberla reemplazado por una
+                    // copia con valores canónicos
+                    destino.de(pasajero.getId()).reasignarPasajero(pasajero.getId(), destino.de(idRuta).buscarRuta(idRuta));
+                } catch (DataNotFoundException e) {
+                    // Las particiones acaban de importar al pasajero y a la ruta, así que no pueden faltar
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reparte las entidades de los datos importados según la partición de su identificador.
+     */
+    private static SGMMSData[] repartir(SGMMSData datos, Particiones destino) {
+        int n = destino.sgmms.length;
+        List<List<Ruta>> rutas = listas(n);
+        List<List<Incidente>> incidentes = listas(n);
+        List<List<PersonaData>> pasajeros = listas(n);
+        List<List<PersonaData>> conductores = listas(n);
+        if (datos.getRutas() != null) {
+            for (Ruta ruta : datos.getRutas()) {
+                rutas.get(destino.indice(ruta.getId())).add(ruta);
+            }
+        }
+        if (datos.getIncidentes() != null) {
+            for (Incidente incidente : datos.getIncidentes()) {
+                incidentes.get(destino.indice(incidente.getId())).add(incidente);
+            }
+        }
+        if (datos.getPasajeros() != null) {
+            for (PersonaData pasajero : datos.getPasajeros()) {
+                pasajeros.get(destino.indice(pasajero.getId())).add(pasajero);
+            }
+        }
+        if (datos.getConductores() != null) {
+            for (PersonaData conductor : datos.getConductores()) {
+                conductores.get(destino.indice(conductor.getId())).add(conductor);
+            }
+        }
+        SGMMSData[] partes = new SGMMSData[n];
+        for (int i = 0; i < n; i++) {
+            partes[i] = new SGMMSData();
+            partes[i].setRutas(rutas.get(i).toArray(new Ruta[0]));
+            partes[i].setIncidentes(incidentes.get(i).toArray(new Incidente[0]));
+            partes[i].setPasajeros(pasajeros.get(i).toArray(new PersonaData[0]));
+            partes[i].setConductores(conductores.get(i).toArray(new PersonaData[0]));
+        }
+        return partes;
+    }
+
+    private static <T> List<List<T>> listas(int cantidad) {
+        List<List<T>> listas = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            listas.add(new ArrayList<>());
+        }
+        return listas;
+    }
+
+    /**
+     * Ejecuta una consulta en todas las particiones en paralelo.
+     *
+     * @return Los resultados de cada partición, en el orden de las particiones.
+     */
+    private <R> List<R> enTodas(Function<SGMMS, R> consulta) {
+        SGMMS[] actuales = particiones.sgmms;
+        if (actuales.length == 1) {
+            return Collections.singletonList(consulta.apply(actuales[0]));
+        }
+        return Arrays.stream(actuales).parallel().map(consulta).collect(Collectors.toList());
+    }
+
+    private static <T> List<T> concatenar(List<? extends List<? extends T>> listas) {
+        int total = 0;
+        for (List<? extends T> lista : listas) {
+            total += lista.size();
+        }
+        List<T> resultado = new ArrayList<>(total);
+        for (List<? extends T> lista : listas) {
+            resultado.addAll(lista);
+        }
+        return resultado;
+    }
+
+    /**
+     * Mezcla listas ya ordenadas en una sola lista ordenada, con un montículo de una posición por lista.
+     * A igual orden, se toma primero el elemento de la lista anterior.
+     *
+     * @param listas Las listas a mezclar, cada una ordenada según {@code orden}.
+     * @param orden  El orden de las listas.
+     * @param limite La cantidad máxima de elementos del resultado.
+     * @return Los primeros {@code limite} elementos de la mezcla.
+     */
+    private static <T> List<T> mezclar(List<List<T>> listas, Comparator<? super T> orden, int limite) {
+        PriorityQueue<int[]> frente = new PriorityQueue<>((a, b) -> {
+            int comparacion = orden.compare(listas.get(a[0]).get(a[1]), listas.get(b[0]).get(b[1]));
+            return comparacion != 0 ? comparacion : Integer.compare(a[0], b[0]);
+        });
+        int total = 0;
+        for (int i = 0; i < listas.size(); i++) {
+            total += listas.get(i).size();
+            if (!listas.get(i).isEmpty()) {
+                frente.add(new int[]{i, 0});
+            }
+        }
+        List<T> resultado = new ArrayList<>(Math.min(total, Math.max(0, limite)));
+        while (resultado.size() < limite && !frente.isEmpty()) {
+            int[] posicion = frente.poll();
+            List<T> lista = listas.get(posicion[0]);
+            resultado.add(lista.get(posicion[1]));
+            if (++posicion[1] < lista.size()) {
+                frente.add(posicion);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Ruta con su puntaje penalizado, calculado una vez por la partición que la contiene.
+     */
+    private static final class Puntuada {
+        private final Ruta ruta;
+        private final double puntaje;
+
+        private Puntuada(Ruta ruta, double puntaje) {
+            this.ruta = ruta;
+            this.puntaje = puntaje;
+        }
+    }
+
+    /**
+     * Conjunto de particiones vigente, con el grafo de todas sus rutas y el índice de incidentes activos
+     * por ubicación que comparten.
+     */
+    private static final class Particiones {
+        private final SGMMS[] sgmms;
+        private final GrafoRutas grafo = new GrafoRutas();
+
+        private Particiones(int cantidad, TipoLista tipoLista, Diccionario diccionario) {
+            IndiceUbicaciones ubicaciones = new IndiceUbicaciones();
+            sgmms = new SGMMS[cantidad];
+            for (int i = 0; i < cantidad; i++) {
+                sgmms[i] = new SGMMS(tipoLista, ubicaciones, diccionario);
+            }
+        }
+
+        /**
+         * Partición de un identificador; mezcla los bits altos del hash para repartir mejor los
+         * identificadores con prefijos comunes.
+         */
+        private int indice(String id) {
+            int hash = id.hashCode();
+            return Math.floorMod(hash ^ (hash >>> 16), sgmms.length);
+        }
+
+        private SGMMS de(String id) {
+            return sgmms[indice(id)];
+        }
+    }
+}
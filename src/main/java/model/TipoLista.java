@@ -0,0 +1,45 @@
+package model;
+
+/**
+ * Enumeración que representa las implementaciones de {@link Lista} que puede usar {@link SGMMS}
+ * para almacenar sus entidades.
+ */
+public enum TipoLista {
+    /**
+     * Lista enlazada simple, con un nodo por elemento.
+     */
+    ENLAZADA {
+        @Override
+        public <T> Lista<T> crear() {
+            return new ListaEnlazadaSimple<>();
+        }
+    },
+
+    /**
+     * Lista desenrollada, con los elementos agrupados en bloques contiguos.
+     */
+    DESENROLLADA {
+        @Override
+        public <T> Lista<T> crear() {
+            return new ListaDesenrollada<>();
+        }
+    },
+
+    /**
+     * Lista concurrente, que admite inserciones simultáneas desde varios hilos sin bloqueos.
+     */
+    CONCURRENTE {
+        @Override
+        public <T> Lista<T> crear() {
+            return new ListaConcurrente<>();
+        }
+    };
+
+    /**
+     * Crea una lista vacía de este tipo.
+     *
+     * @param <T> El tipo de datos que almacenará la lista.
+     * @return Una nueva lista vacía.
+     */
+    public abstract <T> Lista<T> crear();
+}
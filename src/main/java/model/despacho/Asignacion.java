@@ -0,0 +1,67 @@
+package model.despacho;
+
+import model.Conductor;
+import model.Incidente;
+
+import java.util.Date;
+
+/**
+ * Clase que representa la asignación de un conductor a un incidente hecha por el {@link Despachador}.
+ */
+public class Asignacion {
+
+    /**
+     * Conductor asignado al incidente.
+     */
+    private final Conductor conductor;
+
+    /**
+     * Incidente atendido por el conductor.
+     */
+    private final Incidente incidente;
+
+    /**
+     * Fecha y hora en que se hizo la asignación.
+     */
+    private final Date fechaHora;
+
+    /**
+     * Constructor para inicializar una asignación con toda su información.
+     *
+     * @param conductor Conductor asignado al incidente.
+     * @param incidente Incidente atendido por el conductor.
+     * @param fechaHora Fecha y hora de la asignación.
+     */
+    public Asignacion(Conductor conductor, Incidente incidente, Date fechaHora) {
+        this.conductor = conductor;
+        this.incidente = incidente;
+        this.fechaHora = fechaHora;
+    }
+
+    /**
+     * Obtiene el conductor asignado.
+     *
+     * @return El conductor asignado al incidente.
+     */
+    public Conductor getConductor() {
+        return conductor;
+    }
+
+    /**
+     * Obtiene el incidente atendido.
+     *
+     * @return El incidente de la asignación.
+     */
+    public Incidente getIncidente() {
+        return incidente;
+    }
+
+    /**
+     * Obtiene la fecha y hora en que se hizo la asignación.
+     *
+     * @return La fecha y hora de la asignación.
+     */
+    public Date getFechaHora() {
+        return fechaHora;
+    }
+}
@@ -0,0 +1,315 @@
+package model.despacho;
+
+import model.Conductor;
+import model.IncidentType;
+import model.Incidente;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Motor de despacho que asigna conductores disponibles a incidentes pendientes.
+ * <p>
+ * Los conductores se guardan en grupos según su estado, de modo que tomar el siguiente conductor
+ * disponible cuesta O(1) y se respeta el orden en que quedaron disponibles. Los incidentes pendientes
+ * esperan en una cola de prioridad ordenada por gravedad del tipo (incendio, accidente, robo, otro) y,
+ * a igual gravedad, por antigüedad. Cada asignación cambia el conductor a "en ruta" y el incidente a
+ * "en proceso" dentro del mismo bloqueo, así que nadie observa uno sin el otro.
+ * <p>
+ * Los cambios de estado de incidentes y conductores registrados deben hacerse a través de este
+ * despachador para que los grupos y la cola se mantengan al día.
+ */
+public class Despachador {
+
+    /**
+     * Estado de un conductor que puede recibir asignaciones.
+     */
+    public static final String CONDUCTOR_DISPONIBLE = "disponible";
+    /**
+     * Estado de un conductor que está atendiendo una asignación.
+     */
+    public static final String CONDUCTOR_EN_RUTA = "en ruta";
+    /**
+     * Estado de un incidente que espera ser atendido.
+     */
+    public static final String INCIDENTE_PENDIENTE = "pendiente";
+    /**
+     * Estado de un incidente que ya tiene un conductor asignado.
+     */
+    public static final String INCIDENTE_EN_PROCESO = "en proceso";
+
+    /**
+     * Orden de atención de los incidentes: primero los más graves y, a igual gravedad, los más antiguos.
+     */
+    public static final Comparator<Incidente> PRIORIDAD = Comparator
+            .comparingInt((Incidente i) -> gravedad(i.getTipo()))
+            .thenComparing(Incidente::getFechaHora, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final Map<String, Set<Conductor>> conductoresPorEstado = new HashMap<>();
+    private final PriorityQueue<Incidente> cola = new PriorityQueue<>(PRIORIDAD);
+    private final Set<Incidente> enCola = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<Incidente> pendientes = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final BiConsumer<Incidente, String> aplicarEstadoIncidente;
+
+    /**
+     * Constructor que crea un despachador vacío que cambia el estado de los incidentes con {@link Incidente#setEstado(String)}.
+     */
+    public Despachador() {
+        this(Incidente::setEstado);
+    }
+
+    /**
+     * Constructor que crea un despachador vacío.
+     *
+     * @param aplicarEstadoIncidente Acción que cambia el estado de un incidente; permite al sistema
+     *                               actualizar sus propios índices junto con el incidente.
+     */
+    public Despachador(BiConsumer<Incidente, String> aplicarEstadoIncidente) {
+        this.aplicarEstadoIncidente = aplicarEstadoIncidente;
+    }
+
+    /**
+     * Agrega un conductor al grupo correspondiente a su estado.
+     *
+     * @param conductor El conductor a registrar.
+     */
+    public synchronized void registrarConductor(Conductor conductor) {
+        conductoresPorEstado.computeIfAbsent(clave(conductor.getEstado()), e -> new LinkedHashSet<>()).add(conductor);
+    }
+
+    /**
+     * Retira un conductor del despachador.
+     *
+     * @param conductor El conductor a retirar.
+     * @return {@code true} si el conductor estaba registrado.
+     */
+    public synchronized boolean eliminarConductor(Conductor conductor) {
+        Set<Conductor> grupo = conductoresPorEstado.get(clave(conductor.getEstado()));
+        return grupo != null && grupo.remove(conductor);
+    }
+
+    /**
+     * Cambia el estado de un conductor y lo mueve al grupo del nuevo estado.
+     *
+     * @param conductor   El conductor a actualizar.
+     * @param nuevoEstado El nuevo estado del conductor.
+     */
+    public synchronized void cambiarEstadoConductor(Conductor conductor, String nuevoEstado) {
+        boolean registrado = eliminarConductor(conductor);
+        conductor.setEstado(nuevoEstado);
+        if (registrado) {
+            registrarConductor(conductor);
+        }
+    }
+
+    /**
+     * Registra un incidente; si está pendiente, entra en la cola de espera.
+     *
+     * @param incidente El incidente a registrar.
+     */
+    public synchronized void registrarIncidente(Incidente incidente) {
+        if (esPendiente(incidente.getEstado())) {
+            pendientes.add(incidente);
+            encolar(incidente);
+        }
+    }
+
+    /**
+     * Cambia el estado de un incidente y actualiza la cola: un incidente que deja de estar pendiente se
+     * descarta al llegar al frente, y uno que vuelve a estar pendiente se encola otra vez.
+     *
+     * @param incidente   El incidente a actualizar.
+     * @param nuevoEstado El nuevo estado del incidente.
+     */
+    public synchronized void cambiarEstadoIncidente(Incidente incidente, String nuevoEstado) {
+        aplicarEstadoIncidente.accept(incidente, nuevoEstado);
+        if (esPendiente(nuevoEstado)) {
+            pendientes.add(incidente);
+            encolar(incidente);
+        } else {
+            pendientes.remove(incidente);
+        }
+    }
+
+    /**
+     * Asigna, en un solo lote, conductores disponibles a los incidentes pendientes de mayor prioridad.
+     * Cada conductor pasa a "en ruta" y cada incidente a "en proceso".
+     *
+     * @param maximo La cantidad máxima de asignaciones del lote.
+     * @return Las asignaciones hechas, en orden de prioridad de los incidentes.
+     * @throws IllegalArgumentException Si el máximo es negativo.
+     */
+    public synchronized List<Asignacion> asignar(int maximo) {
+        if (maximo < 0) {
+            throw new IllegalArgumentException("La cantidad máxima no puede ser negativa.");
+        }
+        List<Asignacion> asignaciones = new ArrayList<>(Math.min(maximo, pendientes.size()));
+        Set<Conductor> disponibles = conductoresPorEstado.get(CONDUCTOR_DISPONIBLE);
+        if (disponibles == null) {
+            return asignaciones;
+        }
+        Set<Conductor> enRuta = conductoresPorEstado.computeIfAbsent(CONDUCTOR_EN_RUTA, e -> new LinkedHashSet<>());
+        Date ahora = new Date();
+        Iterator<Conductor> siguiente = disponibles.iterator();
+        while (asignaciones.size() < maximo && siguiente.hasNext()) {
+            Incidente incidente = siguientePendiente();
+            if (incidente == null) {
+                break;
+            }
+            Conductor conductor = siguiente.next();
+            siguiente.remove();
+            conductor.setEstado(CONDUCTOR_EN_RUTA);
+            enRuta.add(conductor);
+            pendientes.remove(incidente);
+            aplicarEstadoIncidente.accept(incidente, INCIDENTE_EN_PROCESO);
+            asignaciones.add(new Asignacion(conductor, incidente, ahora));
+        }
+        return asignaciones;
+    }
+
+    /**
+     * Devuelve, sin asignarlos, los incidentes pendientes de mayor prioridad en orden de atención. Los saca de
+     * la cola descartando los que ya no están pendientes y los vuelve a encolar, así que cuesta O(k log n).
+     *
+     * @param cantidad La cantidad máxima de incidentes a devolver.
+     * @return Los incidentes pendientes más prioritarios.
+     * @throws IllegalArgumentException Si la cantidad es negativa.
+     */
+    public synchronized List<Incidente> primerosPendientes(int cantidad) {
+        if (cantidad < 0) {
+            throw new IllegalArgumentException("La cantidad no puede ser negativa.");
+        }
+        List<Incidente> primeros = new ArrayList<>(Math.min(cantidad, pendientes.size()));
+        while (primeros.size() < cantidad) {
+            Incidente incidente = siguientePendiente();
+            if (incidente == null) {
+                break;
+            }
+            primeros.add(incidente);
+        }
+        for (Incidente incidente : primeros) {
+            encolar(incidente);
+        }
+        return primeros;
+    }
+
+    /**
+     * Devuelve, sin asignarlos, los primeros conductores disponibles en el orden en que quedaron disponibles,
+     * en O(k).
+     *
+     * @param cantidad La cantidad máxima de conductores a devolver.
+     * @return Los conductores disponibles.
+     * @throws IllegalArgumentException Si la cantidad es negativa.
+     */
+    public synchronized List<Conductor> primerosDisponibles(int cantidad) {
+        if (cantidad < 0) {
+            throw new IllegalArgumentException("La cantidad no puede ser negativa.");
+        }
+        List<Conductor> primeros = new ArrayList<>();
+        Set<Conductor> disponibles = conductoresPorEstado.get(CONDUCTOR_DISPONIBLE);
+        if (disponibles != null) {
+            Iterator<Conductor> siguiente = disponibles.iterator();
+            while (primeros.size() < cantidad && siguiente.hasNext()) {
+                primeros.add(siguiente.next());
+            }
+        }
+        return primeros;
+    }
+
+    /**
+     * Indica si un estado de incidente es "pendiente", sin distinguir mayúsculas ni espacios en los extremos.
+     *
+     * @param estado El estado del incidente.
+     * @return {@code true} si el incidente espera ser atendido.
+     */
+    public static boolean esPendiente(String estado) {
+        return estado != null && INCIDENTE_PENDIENTE.equals(clave(estado));
+    }
+
+    /**
+     * Indica si un estado de conductor es "disponible", sin distinguir mayúsculas ni espacios en los extremos.
+     *
+     * @param estado El estado del conductor.
+     * @return {@code true} si el conductor puede recibir asignaciones.
+     */
+    public static boolean esDisponible(String estado) {
+        return estado != null && CONDUCTOR_DISPONIBLE.equals(clave(estado));
+    }
+
+    /**
+     * Devuelve la cantidad de conductores disponibles.
+     *
+     * @return El tamaño del grupo de conductores disponibles.
+     */
+    public synchronized int conductoresDisponibles() {
+        Set<Conductor> disponibles = conductoresPorEstado.get(CONDUCTOR_DISPONIBLE);
+        return disponibles == null ? 0 : disponibles.size();
+    }
+
+    /**
+     * Devuelve la cantidad de incidentes pendientes de asignación.
+     *
+     * @return La cantidad de incidentes pendientes.
+     */
+    public synchronized int incidentesPendientes() {
+        return pendientes.size();
+    }
+
+    /**
+     * Elimina todos los conductores e incidentes del despachador.
+     */
+    public synchronized void limpiar() {
+        conductoresPorEstado.clear();
+        cola.clear();
+        enCola.clear();
+        pendientes.clear();
+    }
+
+    /**
+     * Saca de la cola el incidente pendiente de mayor prioridad, descartando los que ya no están pendientes.
+     */
+    private Incidente siguientePendiente() {
+        while (!cola.isEmpty()) {
+            Incidente incidente = cola.poll();
+            enCola.remove(incidente);
+            if (pendientes.contains(incidente)) {
+                return incidente;
+            }
+        }
+        return null;
+    }
+
+    private void encolar(Incidente incidente) {
+        if (enCola.add(incidente)) {
+            cola.add(incidente);
+        }
+    }
+
+    /**
+     * Gravedad de un tipo de incidente; un valor menor se atiende antes.
+     */
+    private static int gravedad(IncidentType tipo) {
+        return switch (tipo) {
+            case INCENDIO -> 0;
+            case ACCIDENTE -> 1;
+            case ROBO -> 2;
+            case OTRO -> 3;
+        };
+    }
+
+    private static String clave(String estado) {
+        return estado == null ? "" : estado.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,48 @@
+package model.grafo;
+
+import model.Ruta;
+
+/**
+ * Enumeración de los criterios con los que se mide el costo de recorrer una ruta
+ * al buscar trayectos en la red de rutas.
+ */
+public enum CriterioCosto {
+    /**
+     * El costo es la distancia de la ruta en kilómetros.
+     */
+    DISTANCIA {
+        @Override
+        public double costo(Ruta ruta) {
+            return ruta.getDistancia();
+        }
+    },
+
+    /**
+     * El costo es el tiempo estimado de la ruta en minutos.
+     */
+    TIEMPO {
+        @Override
+        public double costo(Ruta ruta) {
+            return ruta.getTiempoEstimado();
+        }
+    },
+
+    /**
+     * El costo es la suma de la distancia y el tiempo estimado, el mismo puntaje que usa
+     * {@link model.SGMMS#determinarMejorRuta()}.
+     */
+    COMBINADO {
+        @Override
+        public double costo(Ruta ruta) {
+            return ruta.getDistancia() + ruta.getTiempoEstimado();
+        }
+    };
+
+    /**
+     * Calcula el costo de recorrer una ruta según este criterio.
+     *
+     * @param ruta La ruta a evaluar.
+     * @return El costo de la ruta; se asume que no es negativo.
+     */
+    public abstract double costo(Ruta ruta);
+}
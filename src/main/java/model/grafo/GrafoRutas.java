@@ -0,0 +1,342 @@
+package model.grafo;
+
+import model.Ruta;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Grafo dirigido de la red de rutas.
+ * Cada {@link Ruta} es una arista que va de su punto de inicio a su punto de fin, y los trayectos de
+ * varios tramos se calculan con el algoritmo de Dijkstra según un {@link CriterioCosto}.
+ * <p>
+ * Un Dijkstra completo desde un origen produce el árbol de caminos mínimos hacia todos los puntos, así
+ * que esos árboles se guardan en una caché LRU por origen y criterio: las consultas repetidas desde el
+ * mismo origen solo reconstruyen el camino. Cualquier alta o baja de rutas invalida la caché.
+ * <p>
+ * Para redes grandes se puede activar además una {@link JerarquiaContraccion} por criterio. Mientras
+ * la jerarquía está vigente, las consultas de ese criterio la usan; cuando las rutas cambian, se descarta
+ * y se reconstruye en un hilo de fondo, y entretanto las consultas vuelven a usar Dijkstra.
+ * <p>
+ * No se usa A* porque los puntos de la red son nombres sin coordenadas, de modo que no hay una
+ * heurística admisible mejor que cero, que equivale a Dijkstra.
+ */
+public class GrafoRutas {
+
+    /**
+     * Cantidad máxima de árboles de caminos mínimos que se conservan en la caché.
+     */
+    public static final int CAPACIDAD_CACHE = 64;
+
+    private final Map<String, List<Ruta>> salientes = new HashMap<>();
+    private int cantidadRutas;
+    /**
+     * Versión de la red; cambia con cada alta o baja de rutas y con cada jerarquía activada.
+     */
+    private long version;
+    private final Set<CriterioCosto> criteriosJerarquia = EnumSet.noneOf(CriterioCosto.class);
+    private final Map<CriterioCosto, JerarquiaContraccion> jerarquias = new EnumMap<>(CriterioCosto.class);
+    private boolean reconstruccionPendiente;
+    private ExecutorService reconstructor;
+    private final Map<ClaveArbol, ArbolCaminos> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ClaveArbol, ArbolCaminos> eldest) {
+            return size() > CAPACIDAD_CACHE;
+        }
+    };
+
+    /**
+     * Agrega una ruta como arista del grafo. Las rutas sin punto de inicio o de fin se ignoran.
+     *
+     * @param ruta La ruta a agregar.
+     */
+    public synchronized void agregar(Ruta ruta) {
+        if (ruta.getPuntoInicio() == null || ruta.getPuntoFin() == null) {
+            return;
+        }
+        salientes.computeIfAbsent(ruta.getPuntoInicio(), p -> new ArrayList<>()).add(ruta);
+        cantidadRutas++;
+        invalidar();
+    }
+
+    /**
+     * Elimina una ruta del grafo.
+     *
+     * @param ruta La ruta a eliminar.
+     * @return {@code true} si la ruta estaba en el grafo.
+     */
+    public synchronized boolean eliminar(Ruta ruta) {
+        List<Ruta> aristas = salientes.get(ruta.getPuntoInicio());
+        if (aristas == null || !aristas.remove(ruta)) {
+            return false;
+        }
+        if (aristas.isEmpty()) {
+            salientes.remove(ruta.getPuntoInicio());
+        }
+        cantidadRutas--;
+        invalidar();
+        return true;
+    }
+
+    /**
+     * Calcula el trayecto de menor costo entre dos puntos.
+     *
+     * @param origen   El punto de partida.
+     * @param destino  El punto de llegada.
+     * @param criterio El criterio con el que se mide el costo de cada ruta.
+     * @return El trayecto de menor costo, un trayecto vacío si el origen y el destino coinciden,
+     *         o {@code null} si el destino no es alcanzable desde el origen.
+     */
+    public Trayecto caminoMasCorto(String origen, String destino, CriterioCosto criterio) {
+        JerarquiaContraccion jerarquia;
+        synchronized (this) {
+            jerarquia = jerarquias.get(criterio);
+            if (jerarquia == null) {
+                return caminoConDijkstra(origen, destino, criterio);
+            }
+        }
+        // La jerarquía es inmutable, así que se consulta sin retener el monitor del grafo
+        return jerarquia.caminoMasCorto(origen, destino);
+    }
+
+    private Trayecto caminoConDijkstra(String origen, String destino, CriterioCosto criterio) {
+        ArbolCaminos arbol = cache.computeIfAbsent(new ClaveArbol(origen, criterio), this::dijkstra);
+        Double costo = arbol.costos.get(destino);
+        if (costo == null) {
+            return null;
+        }
+        List<Ruta> tramos = new ArrayList<>();
+        for (Ruta tramo = arbol.previa.get(destino); tramo != null; tramo = arbol.previa.get(tramo.getPuntoInicio())) {
+            tramos.add(tramo);
+        }
+        Collections.reverse(tramos);
+        return new Trayecto(origen, destino, tramos, costo);
+    }
+
+    /**
+     * Devuelve la cantidad de rutas que forman el grafo.
+     *
+     * @return El número de aristas.
+     */
+    public synchronized int cantidadRutas() {
+        return cantidadRutas;
+    }
+
+    /**
+     * Elimina todas las rutas del grafo y vacía la caché.
+     */
+    public synchronized void limpiar() {
+        salientes.clear();
+        cantidadRutas = 0;
+        invalidar();
+    }
+
+    /**
+     * Activa el preprocesamiento con jerarquías de contracción para un criterio de costo. La jerarquía se
+     * construye en un hilo de fondo y, desde ese momento, se reconstruye cada vez que cambian las rutas.
+     * Hasta que esté lista, las consultas de ese criterio se resuelven con Dijkstra.
+     *
+     * @param criterio El criterio para el que se construye la jerarquía.
+     */
+    public synchronized void activarJerarquia(CriterioCosto criterio) {
+        if (criteriosJerarquia.add(criterio)) {
+            version++; // Obliga a una reconstrucción en curso a repetirse incluyendo el nuevo criterio
+            programarReconstruccion();
+        }
+    }
+
+    /**
+     * Desactiva las jerarquías de contracción para un criterio de costo; sus consultas vuelven a usar Dijkstra.
+     *
+     * @param criterio El criterio a desactivar.
+     */
+    public synchronized void desactivarJerarquia(CriterioCosto criterio) {
+        criteriosJerarquia.remove(criterio);
+        jerarquias.remove(criterio);
+    }
+
+    /**
+     * Indica si las consultas de un criterio se están resolviendo con una jerarquía de contracción vigente.
+     *
+     * @param criterio El criterio a consultar.
+     * @return {@code true} si la jerarquía del criterio está construida y refleja las rutas actuales.
+     */
+    public synchronized boolean jerarquiaVigente(CriterioCosto criterio) {
+        return jerarquias.containsKey(criterio);
+    }
+
+    /**
+     * Espera a que terminen las reconstrucciones de jerarquías pendientes.
+     *
+     * @throws InterruptedException Si el hilo se interrumpe mientras espera.
+     */
+    public synchronized void esperarJerarquias() throws InterruptedException {
+        while (reconstruccionPendiente) {
+            wait();
+        }
+    }
+
+    /**
+     * Descarta los resultados que dependen de las rutas actuales y programa la reconstrucción de las jerarquías.
+     */
+    private void invalidar() {
+        version++;
+        cache.clear();
+        jerarquias.clear();
+        programarReconstruccion();
+    }
+
+    /**
+     * Encola una reconstrucción de las jerarquías activas, salvo que ya haya una pendiente: varios cambios
+     * seguidos se resuelven con una sola reconstrucción.
+     */
+    private void programarReconstruccion() {
+        if (criteriosJerarquia.isEmpty() || reconstruccionPendiente) {
+            return;
+        }
+        if (reconstructor == null) {
+            reconstructor = Executors.newSingleThreadExecutor(tarea -> {
+                Thread hilo = new Thread(tarea, "reconstruccion-jerarquias");
+                hilo.setDaemon(true);
+                return hilo;
+            });
+        }
+        reconstruccionPendiente = true;
+        reconstructor.execute(this::reconstruir);
+    }
+
+    /**
+     * Construye las jerarquías activas a partir de una copia de las rutas, sin bloquear las consultas ni
+     * los cambios. Si las rutas cambiaron durante la construcción, el resultado se descarta y se repite.
+     */
+    private void reconstruir() {
+        List<Ruta> rutas = new ArrayList<>();
+        Set<CriterioCosto> criterios;
+        long versionInicial;
+        synchronized (this) {
+            for (List<Ruta> aristas : salientes.values()) {
+                rutas.addAll(aristas);
+            }
+            criterios = EnumSet.copyOf(criteriosJerarquia);
+            versionInicial = version;
+        }
+
+        Map<CriterioCosto, JerarquiaContraccion> nuevas = new EnumMap<>(CriterioCosto.class);
+        try {
+            for (CriterioCosto criterio : criterios) {
+                nuevas.put(criterio, new JerarquiaContraccion(rutas, criterio));
+            }
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                reconstruccionPendiente = false;
+                notifyAll();
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            if (versionInicial != version) {
+                reconstructor.execute(this::reconstruir);
+                return;
+            }
+            for (Map.Entry<CriterioCosto, JerarquiaContraccion> entrada : nuevas.entrySet()) {
+                if (criteriosJerarquia.contains(entrada.getKey())) {
+                    jerarquias.put(entrada.getKey(), entrada.getValue());
+                }
+            }
+            reconstruccionPendiente = false;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Ejecuta Dijkstra desde un origen y devuelve el árbol de caminos mínimos hacia todos los puntos alcanzables.
+     */
+    private ArbolCaminos dijkstra(ClaveArbol clave) {
+        ArbolCaminos arbol = new ArbolCaminos();
+        PriorityQueue<Etiqueta> pendientes = new PriorityQueue<>();
+        arbol.costos.put(clave.origen, 0.0);
+        pendientes.add(new Etiqueta(clave.origen, 0.0));
+
+        while (!pendientes.isEmpty()) {
+            Etiqueta actual = pendientes.poll();
+            if (actual.costo > arbol.costos.get(actual.punto)) {
+                continue; // Etiqueta obsoleta: el punto ya se alcanzó con un costo menor
+            }
+            for (Ruta ruta : salientes.getOrDefault(actual.punto, Collections.emptyList())) {
+                double nuevoCosto = actual.costo + clave.criterio.costo(ruta);
+                Double costoConocido = arbol.costos.get(ruta.getPuntoFin());
+                if (costoConocido == null || nuevoCosto < costoConocido) {
+                    arbol.costos.put(ruta.getPuntoFin(), nuevoCosto);
+                    arbol.previa.put(ruta.getPuntoFin(), ruta);
+                    pendientes.add(new Etiqueta(ruta.getPuntoFin(), nuevoCosto));
+                }
+            }
+        }
+        return arbol;
+    }
+
+    /**
+     * Árbol de caminos mínimos desde un origen: costo mínimo y última ruta usada para llegar a cada punto.
+     */
+    private static final class ArbolCaminos {
+        private final Map<String, Double> costos = new HashMap<>();
+        private final Map<String, Ruta> previa = new HashMap<>();
+    }
+
+    /**
+     * Punto pendiente de visitar en Dijkstra junto con el costo con el que se alcanzó.
+     */
+    private static final class Etiqueta implements Comparable<Etiqueta> {
+        private final String punto;
+        private final double costo;
+
+        Etiqueta(String punto, double costo) {
+            this.punto = punto;
+            this.costo = costo;
+        }
+
+        @Override
+        public int compareTo(Etiqueta otra) {
+            return Double.compare(costo, otra.costo);
+        }
+    }
+
+    /**
+     * Clave de la caché de árboles: origen y criterio de costo.
+     */
+    private static final class ClaveArbol {
+        private final String origen;
+        private final CriterioCosto criterio;
+
+        ClaveArbol(String origen, CriterioCosto criterio) {
+            this.origen = origen;
+            this.criterio = criterio;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof ClaveArbol)) {
+                return false;
+            }
+            ClaveArbol otra = (ClaveArbol) o;
+            return origen.equals(otra.origen) && criterio == otra.criterio;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(origen, criterio);
+        }
+    }
+}
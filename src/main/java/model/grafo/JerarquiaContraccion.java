@@ -0,0 +1,375 @@
+package model.grafo;
+
+import model.Ruta;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Jerarquía de contracción sobre la red de rutas, para responder muchas consultas punto a punto
+ * sin recorrer todo el grafo.
+ * <p>
+ * En el preprocesamiento los puntos se contraen uno por uno, del menos al más importante: al retirar
+ * un punto se agregan atajos entre sus vecinos cuando el único camino mínimo entre ellos pasaba por él.
+ * Una consulta es luego un Dijkstra bidireccional que solo sube en la jerarquía, desde el origen
+ * hacia adelante y desde el destino hacia atrás, y que visita unos pocos cientos de puntos aunque la red
+ * tenga decenas de miles de rutas. Los atajos recuerdan las dos aristas que reemplazan, así que el
+ * trayecto se reconstruye con las rutas originales.
+ * <p>
+ * La jerarquía es inmutable: refleja las rutas con las que se construyó y se reemplaza por una nueva
+ * cuando la red cambia (ver {@link GrafoRutas#activarJerarquia(CriterioCosto)}).
+ */
+public class JerarquiaContraccion {
+
+    /**
+     * Cantidad máxima de puntos que visita cada búsqueda de caminos testigo durante la contracción.
+     * Si se agota sin encontrar un testigo, se agrega el atajo: la jerarquía sigue siendo correcta,
+     * solo un poco más grande.
+     */
+    private static final int LIMITE_TESTIGO = 128;
+
+    private final CriterioCosto criterio;
+    private final Map<String, Integer> indices = new HashMap<>();
+    /**
+     * Aristas hacia puntos de mayor nivel, usadas por la búsqueda hacia adelante.
+     */
+    private final Arista[][] subida;
+    /**
+     * Aristas que llegan desde puntos de mayor nivel, usadas por la búsqueda hacia atrás.
+     */
+    private final Arista[][] bajada;
+    private int atajos;
+
+    /**
+     * Construye la jerarquía de contracción para un conjunto de rutas.
+     *
+     * @param rutas    Las rutas que forman la red; las que no tienen punto de inicio o de fin se ignoran.
+     * @param criterio El criterio con el que se mide el costo de cada ruta.
+     */
+    public JerarquiaContraccion(Collection<Ruta> rutas, CriterioCosto criterio) {
+        this.criterio = criterio;
+        List<Map<Integer, Arista>> salida = new ArrayList<>();
+        List<Map<Integer, Arista>> entrada = new ArrayList<>();
+        for (Ruta ruta : rutas) {
+            if (ruta.getPuntoInicio() == null || ruta.getPuntoFin() == null) {
+                continue;
+            }
+            int origen = indice(ruta.getPuntoInicio(), salida, entrada);
+            int destino = indice(ruta.getPuntoFin(), salida, entrada);
+            if (origen != destino) {
+                enlazar(new Arista(origen, destino, criterio.costo(ruta), ruta, null, null), salida, entrada);
+            }
+        }
+
+        int n = indices.size();
+        subida = new Arista[n][];
+        bajada = new Arista[n][];
+        contraer(salida, entrada);
+    }
+
+    /**
+     * Calcula el trayecto de menor costo entre dos puntos.
+     *
+     * @param origen  El punto de partida.
+     * @param destino El punto de llegada.
+     * @return El trayecto de menor costo, un trayecto vacío si el origen y el destino coinciden,
+     *         o {@code null} si el destino no es alcanzable desde el origen.
+     */
+    public Trayecto caminoMasCorto(String origen, String destino) {
+        if (origen.equals(destino)) {
+            return new Trayecto(origen, destino, new ArrayList<>(), 0.0);
+        }
+        Integer s = indices.get(origen);
+        Integer t = indices.get(destino);
+        if (s == null || t == null) {
+            return null;
+        }
+
+        int n = subida.length;
+        double[] costoAdelante = new double[n];
+        double[] costoAtras = new double[n];
+        Arista[] previaAdelante = new Arista[n];
+        Arista[] previaAtras = new Arista[n];
+        Arrays.fill(costoAdelante, Double.POSITIVE_INFINITY);
+        Arrays.fill(costoAtras, Double.POSITIVE_INFINITY);
+        PriorityQueue<Etiqueta> adelante = new PriorityQueue<>();
+        PriorityQueue<Etiqueta> atras = new PriorityQueue<>();
+        costoAdelante[s] = 0;
+        costoAtras[t] = 0;
+        adelante.add(new Etiqueta(s, 0));
+        atras.add(new Etiqueta(t, 0));
+
+        double mejor = Double.POSITIVE_INFINITY;
+        int encuentro = -1;
+        while (!adelante.isEmpty() || !atras.isEmpty()) {
+            double minimoAdelante = adelante.isEmpty() ? Double.POSITIVE_INFINITY : adelante.peek().costo;
+            double minimoAtras = atras.isEmpty() ? Double.POSITIVE_INFINITY : atras.peek().costo;
+            if (Math.min(minimoAdelante, minimoAtras) >= mejor) {
+                break;
+            }
+            boolean haciaAdelante = minimoAdelante <= minimoAtras;
+            Etiqueta actual = haciaAdelante ? adelante.poll() : atras.poll();
+            int u = actual.punto;
+            double[] costos = haciaAdelante ? costoAdelante : costoAtras;
+            if (actual.costo > costos[u]) {
+                continue;
+            }
+            double total = costoAdelante[u] + costoAtras[u];
+            if (total < mejor) {
+                mejor = total;
+                encuentro = u;
+            }
+            Arista[] previas = haciaAdelante ? previaAdelante : previaAtras;
+            PriorityQueue<Etiqueta> cola = haciaAdelante ? adelante : atras;
+            for (Arista arista : haciaAdelante ? subida[u] : bajada[u]) {
+                int v = haciaAdelante ? arista.destino : arista.origen;
+                double nuevoCosto = actual.costo + arista.costo;
+                if (nuevoCosto < costos[v]) {
+                    costos[v] = nuevoCosto;
+                    previas[v] = arista;
+                    cola.add(new Etiqueta(v, nuevoCosto));
+                }
+            }
+        }
+        if (encuentro < 0) {
+            return null;
+        }
+
+        List<Arista> camino = new ArrayList<>();
+        for (int v = encuentro; v != s; v = previaAdelante[v].origen) {
+            camino.add(previaAdelante[v]);
+        }
+        Collections.reverse(camino);
+        for (int v = encuentro; v != t; v = previaAtras[v].destino) {
+            camino.add(previaAtras[v]);
+        }
+        return new Trayecto(origen, destino, desempacar(camino), mejor);
+    }
+
+    /**
+     * Devuelve el criterio de costo con el que se construyó la jerarquía.
+     *
+     * @return El criterio de costo.
+     */
+    public CriterioCosto getCriterio() {
+        return criterio;
+    }
+
+    /**
+     * Devuelve la cantidad de atajos agregados durante la contracción.
+     *
+     * @return El número de atajos.
+     */
+    public int getAtajos() {
+        return atajos;
+    }
+
+    private int indice(String punto, List<Map<Integer, Arista>> salida, List<Map<Integer, Arista>> entrada) {
+        Integer indice = indices.get(punto);
+        if (indice == null) {
+            indice = indices.size();
+            indices.put(punto, indice);
+            salida.add(new HashMap<>());
+            entrada.add(new HashMap<>());
+        }
+        return indice;
+    }
+
+    /**
+     * Agrega una arista al grafo en contracción, conservando solo la más barata entre dos puntos.
+     */
+    private static void enlazar(Arista arista, List<Map<Integer, Arista>> salida, List<Map<Integer, Arista>> entrada) {
+        Arista actual = salida.get(arista.origen).get(arista.destino);
+        if (actual == null || arista.costo < actual.costo) {
+            salida.get(arista.origen).put(arista.destino, arista);
+            entrada.get(arista.destino).put(arista.origen, arista);
+        }
+    }
+
+    /**
+     * Contrae todos los puntos en orden de importancia creciente. La importancia se estima como la
+     * diferencia entre los atajos que habría que agregar y las aristas que se retiran, más la cantidad
+     * de vecinos ya contraídos para repartir las contracciones por toda la red. Las prioridades se
+     * recalculan de forma perezosa al sacar cada punto de la cola.
+     */
+    private void contraer(List<Map<Integer, Arista>> salida, List<Map<Integer, Arista>> entrada) {
+        int n = subida.length;
+        int[] vecinosContraidos = new int[n];
+        boolean[] contraido = new boolean[n];
+        PriorityQueue<Etiqueta> cola = new PriorityQueue<>();
+        for (int v = 0; v < n; v++) {
+            cola.add(new Etiqueta(v, prioridad(v, salida, entrada, vecinosContraidos)));
+        }
+
+        while (!cola.isEmpty()) {
+            Etiqueta candidato = cola.poll();
+            int v = candidato.punto;
+            if (contraido[v]) {
+                continue;
+            }
+            double actual = prioridad(v, salida, entrada, vecinosContraidos);
+            if (!cola.isEmpty() && actual > cola.peek().costo) {
+                cola.add(new Etiqueta(v, actual));
+                continue;
+            }
+
+            List<Arista> nuevos = atajosNecesarios(v, salida, entrada);
+            subida[v] = salida.get(v).values().toArray(new Arista[0]);
+            bajada[v] = entrada.get(v).values().toArray(new Arista[0]);
+            for (Arista arista : bajada[v]) {
+                salida.get(arista.origen).remove(v);
+                vecinosContraidos[arista.origen]++;
+            }
+            for (Arista arista : subida[v]) {
+                entrada.get(arista.destino).remove(v);
+                vecinosContraidos[arista.destino]++;
+            }
+            for (Arista atajo : nuevos) {
+                enlazar(atajo, salida, entrada);
+            }
+            atajos += nuevos.size();
+            salida.get(v).clear();
+            entrada.get(v).clear();
+            contraido[v] = true;
+        }
+    }
+
+    private double prioridad(int v, List<Map<Integer, Arista>> salida, List<Map<Integer, Arista>> entrada,
+                             int[] vecinosContraidos) {
+        int retiradas = salida.get(v).size() + entrada.get(v).size();
+        return atajosNecesarios(v, salida, entrada).size() - retiradas + vecinosContraidos[v];
+    }
+
+    /**
+     * Calcula los atajos que requiere contraer un punto: uno por cada par de vecinos (u, w) cuyo camino
+     * u → v → w no tiene un camino testigo igual o más barato que evite a v.
+     */
+    private List<Arista> atajosNecesarios(int v, List<Map<Integer, Arista>> salida, List<Map<Integer, Arista>> entrada) {
+        List<Arista> nuevos = new ArrayList<>();
+        Map<Integer, Arista> salientes = salida.get(v);
+        if (salientes.isEmpty()) {
+            return nuevos;
+        }
+        for (Arista llegada : entrada.get(v).values()) {
+            int u = llegada.origen;
+            double limite = 0;
+            for (Arista partida : salientes.values()) {
+                limite = Math.max(limite, llegada.costo + partida.costo);
+            }
+            Map<Integer, Double> testigos = buscarTestigos(u, v, limite, salida);
+            for (Arista partida : salientes.values()) {
+                int w = partida.destino;
+                if (w == u) {
+                    continue;
+                }
+                double costo = llegada.costo + partida.costo;
+                Double testigo = testigos.get(w);
+                if (testigo == null || testigo > costo) {
+                    nuevos.add(new Arista(u, w, costo, null, llegada, partida));
+                }
+            }
+        }
+        return nuevos;
+    }
+
+    /**
+     * Dijkstra local desde {@code u} que evita a {@code v}, acotado por costo y por cantidad de puntos visitados.
+     */
+    private static Map<Integer, Double> buscarTestigos(int u, int v, double limite, List<Map<Integer, Arista>> salida) {
+        Map<Integer, Double> costos = new HashMap<>();
+        PriorityQueue<Etiqueta> cola = new PriorityQueue<>();
+        costos.put(u, 0.0);
+        cola.add(new Etiqueta(u, 0));
+        int visitados = 0;
+        while (!cola.isEmpty() && visitados < LIMITE_TESTIGO) {
+            Etiqueta actual = cola.poll();
+            if (actual.costo > costos.get(actual.punto)) {
+                continue;
+            }
+            if (actual.costo > limite) {
+                break;
+            }
+            visitados++;
+            for (Arista arista : salida.get(actual.punto).values()) {
+                if (arista.destino == v) {
+                    continue;
+                }
+                double nuevoCosto = actual.costo + arista.costo;
+                Double conocido = costos.get(arista.destino);
+                if (conocido == null || nuevoCosto < conocido) {
+                    costos.put(arista.destino, nuevoCosto);
+                    cola.add(new Etiqueta(arista.destino, nuevoCosto));
+                }
+            }
+        }
+        return costos;
+    }
+
+    /**
+     * Reemplaza los atajos de un camino por las rutas originales que representan.
+     */
+    private static List<Ruta> desempacar(List<Arista> camino) {
+        List<Ruta> tramos = new ArrayList<>();
+        Deque<Arista> pendientes = new ArrayDeque<>();
+        for (int i = camino.size() - 1; i >= 0; i--) {
+            pendientes.push(camino.get(i));
+        }
+        while (!pendientes.isEmpty()) {
+            Arista arista = pendientes.pop();
+            if (arista.ruta != null) {
+                tramos.add(arista.ruta);
+            } else {
+                pendientes.push(arista.segunda);
+                pendientes.push(arista.primera);
+            }
+        }
+        return tramos;
+    }
+
+    /**
+     * Arista de la jerarquía: una ruta original o un atajo que reemplaza a dos aristas consecutivas.
+     */
+    private static final class Arista {
+        private final int origen;
+        private final int destino;
+        private final double costo;
+        private final Ruta ruta;
+        private final Arista primera;
+        private final Arista segunda;
+
+        Arista(int origen, int destino, double costo, Ruta ruta, Arista primera, Arista segunda) {
+            this.origen = origen;
+            this.destino = destino;
+            this.costo = costo;
+            this.ruta = ruta;
+            this.primera = primera;
+            this.segunda = segunda;
+        }
+    }
+
+    /**
+     * Punto pendiente en una cola de prioridad junto con su costo o prioridad.
+     */
+    private static final class Etiqueta implements Comparable<Etiqueta> {
+        private final int punto;
+        private final double costo;
+
+        Etiqueta(int punto, double costo) {
+            this.punto = punto;
+            this.costo = costo;
+        }
+
+        @Override
+        public int compareTo(Etiqueta otra) {
+            return Double.compare(costo, otra.costo);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package model.grafo;
+
+import model.Ruta;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Clase que representa un trayecto de varios tramos entre dos puntos de la red de rutas.
+ * Cada tramo es una {@link Ruta} cuyo punto de inicio coincide con el punto de fin del tramo anterior.
+ */
+public class Trayecto {
+
+    /**
+     * Punto donde comienza el trayecto.
+     */
+    private final String origen;
+
+    /**
+     * Punto donde termina el trayecto.
+     */
+    private final String destino;
+
+    /**
+     * Rutas que forman el trayecto, en el orden en que se recorren.
+     */
+    private final List<Ruta> tramos;
+
+    /**
+     * Costo total del trayecto según el criterio con el que se calculó.
+     */
+    private final double costo;
+
+    /**
+     * Constructor para inicializar un trayecto con toda su información.
+     *
+     * @param origen  Punto donde comienza el trayecto.
+     * @param destino Punto donde termina el trayecto.
+     * @param tramos  Rutas que forman el trayecto, en orden.
+     * @param costo   Costo total del trayecto.
+     */
+    public Trayecto(String origen, String destino, List<Ruta> tramos, double costo) {
+        this.origen = origen;
+        this.destino = destino;
+        this.tramos = Collections.unmodifiableList(tramos);
+        this.costo = costo;
+    }
+
+    /**
+     * Obtiene el punto donde comienza el trayecto.
+     *
+     * @return El punto de origen.
+     */
+    public String getOrigen() {
+        return origen;
+    }
+
+    /**
+     * Obtiene el punto donde termina el trayecto.
+     *
+     * @return El punto de destino.
+     */
+    public String getDestino() {
+        return destino;
+    }
+
+    /**
+     * Obtiene las rutas que forman el trayecto.
+     *
+     * @return Una lista no modificable con los tramos, en orden.
+     */
+    public List<Ruta> getTramos() {
+        return tramos;
+    }
+
+    /**
+     * Obtiene el costo total del trayecto según el criterio con el que se calculó.
+     *
+     * @return El costo total.
+     */
+    public double getCosto() {
+        return costo;
+    }
+
+    /**
+     * Calcula la distancia total del trayecto.
+     *
+     * @return La suma de las distancias de los tramos en kilómetros.
+     */
+    public double getDistanciaTotal() {
+        double total = 0;
+        for (Ruta tramo : tramos) {
+            total += tramo.getDistancia();
+        }
+        return total;
+    }
+
+    /**
+     * Calcula el tiempo estimado total del trayecto.
+     *
+     * @return La suma de los tiempos estimados de los tramos en minutos.
+     */
+    public int getTiempoTotal() {
+        int total = 0;
+        for (Ruta tramo : tramos) {
+            total += tramo.getTiempoEstimado();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,86 @@
+package model.indices;
+
+import model.Ruta;
+import model.comparators.RouteDistanceComparator;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Vista de rutas ordenada por distancia que se mantiene al día con cada alta o baja.
+ * Las rutas se guardan en un {@link ConcurrentSkipListSet} ordenado con {@link RouteDistanceComparator}
+ * y, ante distancias iguales, por identificador. Agregar o quitar una ruta cuesta O(log n), el listado
+ * ordenado es un recorrido directo y las consultas por rango de distancia cuestan O(log n + k).
+ */
+public class IndiceDistancias {
+
+    private static final Comparator<Ruta> ORDEN = new RouteDistanceComparator().thenComparing(Ruta::getId);
+
+    private final ConcurrentSkipListSet<Ruta> rutas = new ConcurrentSkipListSet<>(ORDEN);
+
+    /**
+     * Agrega una ruta a la vista.
+     *
+     * @param ruta La ruta a agregar.
+     */
+    public void agregar(Ruta ruta) {
+        rutas.add(ruta);
+    }
+
+    /**
+     * Elimina una ruta de la vista.
+     *
+     * @param ruta La ruta a eliminar.
+     * @return {@code true} si la ruta estaba en la vista.
+     */
+    public boolean eliminar(Ruta ruta) {
+        return rutas.remove(ruta);
+    }
+
+    /**
+     * Devuelve todas las rutas, de la más corta a la más larga.
+     *
+     * @return Las rutas ordenadas por distancia.
+     */
+    public List<Ruta> ordenadas() {
+        return new ArrayList<>(rutas);
+    }
+
+    /**
+     * Devuelve las rutas cuya distancia está entre dos valores, ambos inclusive.
+     *
+     * @param minima Distancia mínima en kilómetros.
+     * @param maxima Distancia máxima en kilómetros.
+     * @return Las rutas del rango, de la más corta a la más larga.
+     * @throws IllegalArgumentException Si la distancia mínima es mayor que la máxima.
+     */
+    public List<Ruta> entre(double minima, double maxima) {
+        if (minima > maxima) {
+            throw new IllegalArgumentException("La distancia mínima no puede ser mayor que la máxima.");
+        }
+        // El identificador vacío es menor que cualquier otro, así que las cotas no excluyen rutas reales
+        return new ArrayList<>(rutas.subSet(cota(minima), true, cota(Math.nextUp(maxima)), false));
+    }
+
+    /**
+     * Devuelve la cantidad de rutas en la vista.
+     *
+     * @return El tamaño de la vista.
+     */
+    public int size() {
+        return rutas.size();
+    }
+
+    /**
+     * Elimina todas las rutas de la vista.
+     */
+    public void limpiar() {
+        rutas.clear();
+    }
+
+    private static Ruta cota(double distancia) {
+        return new Ruta("", distancia, 0, null, null);
+    }
+}
@@ -0,0 +1,125 @@
+package model.indices;
+
+import model.IncidentType;
+import model.Incidente;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índices secundarios de incidentes por tipo y por estado.
+ * Cada incidente recibe una posición fija al indexarse y cada tipo o estado guarda un {@link BitSet}
+ * con las posiciones de sus incidentes. Una consulta combinada (por ejemplo, "ROBO pendientes") se
+ * resuelve intersecando los mapas de bits y recorriendo solo los bits encendidos, sin comparar cadenas
+ * incidente por incidente.
+ */
+public class IndiceIncidentes {
+
+    private final List<Incidente> porPosicion = new ArrayList<>();
+    private final Map<String, Integer> posiciones = new HashMap<>();
+    private final EnumMap<IncidentType, BitSet> porTipo = new EnumMap<>(IncidentType.class);
+    private final Map<String, BitSet> porEstado = new HashMap<>();
+
+    /**
+     * Agrega un incidente a los índices según su tipo y estado actuales.
+     *
+     * @param incidente El incidente a indexar.
+     */
+    public synchronized void agregar(Incidente incidente) {
+        int posicion = porPosicion.size();
+        porPosicion.add(incidente);
+        posiciones.put(incidente.getId(), posicion);
+        porTipo.computeIfAbsent(incidente.getTipo(), t -> new BitSet()).set(posicion);
+        porEstado.computeIfAbsent(incidente.getEstado(), e -> new BitSet()).set(posicion);
+    }
+
+    /**
+     * Cambia el estado de un incidente indexado y mueve su posición al mapa de bits del nuevo estado.
+     *
+     * @param incidente   El incidente a actualizar.
+     * @param nuevoEstado El nuevo estado del incidente.
+     */
+    public synchronized void cambiarEstado(Incidente incidente, String nuevoEstado) {
+        Integer posicion = posiciones.get(incidente.getId());
+        if (posicion != null) {
+            BitSet anterior = porEstado.get(incidente.getEstado());
+            if (anterior != null) {
+                anterior.clear(posicion);
+            }
+            porEstado.computeIfAbsent(nuevoEstado, e -> new BitSet()).set(posicion);
+        }
+        incidente.setEstado(nuevoEstado);
+    }
+
+    /**
+     * Consulta los incidentes que tienen el tipo y el estado indicados.
+     *
+     * @param tipo   El tipo buscado, o {@code null} para aceptar cualquier tipo.
+     * @param estado El estado buscado, o {@code null} para aceptar cualquier estado.
+     * @return Los incidentes que cumplen ambos filtros, en el orden en que se indexaron.
+     */
+    public synchronized List<Incidente> consultar(IncidentType tipo, String estado) {
+        BitSet coincidencias;
+        if (tipo == null && estado == null) {
+            return new ArrayList<>(porPosicion);
+        } else if (tipo == null) {
+            coincidencias = copia(porEstado.get(estado));
+        } else if (estado == null) {
+            coincidencias = copia(porTipo.get(tipo));
+        } else {
+            coincidencias = copia(porTipo.get(tipo));
+            BitSet delEstado = porEstado.get(estado);
+            if (delEstado == null) {
+                coincidencias.clear();
+            } else {
+                coincidencias.and(delEstado);
+            }
+        }
+
+        List<Incidente> resultado = new ArrayList<>(coincidencias.cardinality());
+        for (int i = coincidencias.nextSetBit(0); i >= 0; i = coincidencias.nextSetBit(i + 1)) {
+            resultado.add(porPosicion.get(i));
+        }
+        return resultado;
+    }
+
+    /**
+     * Cuenta los incidentes que tienen el tipo y el estado indicados sin construir la lista de resultados.
+     *
+     * @param tipo   El tipo buscado, o {@code null} para aceptar cualquier tipo.
+     * @param estado El estado buscado, o {@code null} para aceptar cualquier estado.
+     * @return La cantidad de incidentes que cumplen ambos filtros.
+     */
+    public synchronized int contar(IncidentType tipo, String estado) {
+        if (tipo == null && estado == null) {
+            return porPosicion.size();
+        }
+        BitSet coincidencias = copia(tipo == null ? porEstado.get(estado) : porTipo.get(tipo));
+        if (tipo != null && estado != null) {
+            BitSet delEstado = porEstado.get(estado);
+            if (delEstado == null) {
+                return 0;
+            }
+            coincidencias.and(delEstado);
+        }
+        return coincidencias.cardinality();
+    }
+
+    /**
+     * Elimina todos los incidentes de los índices.
+     */
+    public synchronized void limpiar() {
+        porPosicion.clear();
+        posiciones.clear();
+        porTipo.clear();
+        porEstado.clear();
+    }
+
+    private static BitSet copia(BitSet bits) {
+        return bits == null ? new BitSet() : (BitSet) bits.clone();
+    }
+}
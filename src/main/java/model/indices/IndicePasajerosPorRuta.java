@@ -0,0 +1,129 @@
+package model.indices;
+
+import model.Pasajero;
+import model.Ruta;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Índice inverso de rutas a pasajeros.
+ * {@link Pasajero#getRutaAsignada()} solo permite ir del pasajero a su ruta; este índice guarda, para cada
+ * ruta, el conjunto de pasajeros asignados en orden de registro. Así la cantidad de pasajeros de una ruta se
+ * obtiene en O(1) y su listado en O(k), sin recorrer todas las personas.
+ */
+public class IndicePasajerosPorRuta {
+
+    private final Map<String, Set<Pasajero>> pasajerosPorRuta = new HashMap<>();
+
+    /**
+     * Agrega un pasajero al conjunto de su ruta asignada. Los pasajeros sin ruta no se indexan.
+     *
+     * @param pasajero El pasajero a indexar.
+     */
+    public synchronized void agregar(Pasajero pasajero) {
+        Ruta ruta = pasajero.getRutaAsignada();
+        if (ruta != null) {
+            pasajerosPorRuta.computeIfAbsent(ruta.getId(), id -> new LinkedHashSet<>()).add(pasajero);
+        }
+    }
+
+    /**
+     * Quita a un pasajero del conjunto de su ruta asignada.
+     *
+     * @param pasajero El pasajero a quitar.
+     * @return {@code true} si el pasajero estaba indexado.
+     */
+    public synchronized boolean eliminar(Pasajero pasajero) {
+        Ruta ruta = pasajero.getRutaAsignada();
+        if (ruta == null) {
+            return false;
+        }
+        Set<Pasajero> pasajeros = pasajerosPorRuta.get(ruta.getId());
+        if (pasajeros == null || !pasajeros.remove(pasajero)) {
+            return false;
+        }
+        if (pasajeros.isEmpty()) {
+            pasajerosPorRuta.remove(ruta.getId());
+        }
+        return true;
+    }
+
+    /**
+     * Cambia la ruta asignada de un pasajero y lo mueve al conjunto de la nueva ruta.
+     *
+     * @param pasajero  El pasajero a reasignar.
+     * @param nuevaRuta La nueva ruta, o {@code null} para dejarlo sin ruta.
+     */
+    public synchronized void reasignar(Pasajero pasajero, Ruta nuevaRuta) {
+        eliminar(pasajero);
+        pasajero.setRutaAsignada(nuevaRuta);
+        agregar(pasajero);
+    }
+
+    /**
+     * Deja sin ruta a todos los pasajeros asignados a una ruta y los retira del índice, por ejemplo porque
+     * la ruta se eliminó.
+     *
+     * @param idRuta El identificador de la ruta.
+     * @return Los pasajeros que quedaron sin ruta, en orden de registro; vacía si la ruta no tenía.
+     */
+    public synchronized List<Pasajero> desasignar(String idRuta) {
+        Set<Pasajero> pasajeros = pasajerosPorRuta.remove(idRuta);
+        if (pasajeros == null) {
+            return new ArrayList<>();
+        }
+        for (Pasajero pasajero : pasajeros) {
+            pasajero.setRutaAsignada(null);
+        }
+        return new ArrayList<>(pasajeros);
+    }
+
+    /**
+     * Devuelve la cantidad de pasajeros asignados a una ruta.
+     *
+     * @param idRuta El identificador de la ruta.
+     * @return La cantidad de pasajeros de la ruta; 0 si no tiene.
+     */
+    public synchronized int cantidad(String idRuta) {
+        Set<Pasajero> pasajeros = pasajerosPorRuta.get(idRuta);
+        return pasajeros == null ? 0 : pasajeros.size();
+    }
+
+    /**
+     * Devuelve los pasajeros asignados a una ruta, en orden de registro.
+     *
+     * @param idRuta El identificador de la ruta.
+     * @return Una copia de los pasajeros de la ruta; vacía si no tiene.
+     */
+    public synchronized List<Pasajero> pasajeros(String idRuta) {
+        Set<Pasajero> pasajeros = pasajerosPorRuta.get(idRuta);
+        return pasajeros == null ? new ArrayList<>() : new ArrayList<>(pasajeros);
+    }
+
+    /**
+     * Devuelve la cantidad de pasajeros de cada ruta que tiene al menos uno.
+     *
+     * @return Un mapa no modificable del identificador de ruta a su cantidad de pasajeros.
+     */
+    public synchronized Map<String, Integer> cargas() {
+        Map<String, Integer> cargas = new LinkedHashMap<>();
+        for (Map.Entry<String, Set<Pasajero>> entrada : pasajerosPorRuta.entrySet()) {
+            cargas.put(entrada.getKey(), entrada.getValue().size());
+        }
+        return Collections.unmodifiableMap(cargas);
+    }
+
+    /**
+     * Elimina todos los pasajeros del índice.
+     */
+    public synchronized void limpiar() {
+        pasajerosPorRuta.clear();
+    }
+}
@@ -0,0 +1,161 @@
+package model.indices;
+
+import model.Incidente;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Índice de incidentes ordenado por fecha y hora.
+ * Los incidentes se guardan en un {@link ConcurrentSkipListMap} cuya clave es la fecha en milisegundos
+ * seguida del identificador, de modo que dos incidentes con la misma fecha no se pisan. Los listados
+ * ordenados se obtienen recorriendo el mapa, y las consultas por rango cuestan O(log n + k), donde k
+ * es la cantidad de incidentes devueltos.
+ * <p>
+ * Todas las consultas devuelven los incidentes más recientes primero, igual que
+ * {@link model.comparators.IncidentDateComparator}. Los incidentes sin fecha quedan al final.
+ */
+public class IndiceTemporal {
+
+    private final ConcurrentSkipListMap<Clave, Incidente> incidentes = new ConcurrentSkipListMap<>();
+
+    /**
+     * Agrega un incidente al índice.
+     *
+     * @param incidente El incidente a indexar.
+     */
+    public void agregar(Incidente incidente) {
+        incidentes.put(new Clave(milisegundos(incidente.getFechaHora()), incidente.getId()), incidente);
+    }
+
+    /**
+     * Elimina un incidente del índice.
+     *
+     * @param incidente El incidente a eliminar.
+     * @return {@code true} si el incidente estaba indexado.
+     */
+    public boolean eliminar(Incidente incidente) {
+        return incidentes.remove(new Clave(milisegundos(incidente.getFechaHora()), incidente.getId())) != null;
+    }
+
+    /**
+     * Devuelve todos los incidentes, del más reciente al más antiguo.
+     *
+     * @return Los incidentes ordenados por fecha descendente.
+     */
+    public List<Incidente> ordenados() {
+        return new ArrayList<>(incidentes.descendingMap().values());
+    }
+
+    /**
+     * Devuelve los incidentes ocurridos entre dos fechas, ambas inclusive.
+     *
+     * @param desde Fecha inicial del rango.
+     * @param hasta Fecha final del rango.
+     * @return Los incidentes del rango, del más reciente al más antiguo.
+     * @throws IllegalArgumentException Si {@code desde} es posterior a {@code hasta}.
+     */
+    public List<Incidente> entre(Date desde, Date hasta) {
+        if (desde.after(hasta)) {
+            throw new IllegalArgumentException("La fecha inicial no puede ser posterior a la final.");
+        }
+        return new ArrayList<>(incidentes.subMap(Clave.inicio(desde.getTime()), true, Clave.fin(hasta.getTime()), true)
+                .descendingMap().values());
+    }
+
+    /**
+     * Devuelve los incidentes ocurridos en una fecha dada o después de ella.
+     *
+     * @param desde Fecha a partir de la cual se buscan incidentes (inclusive).
+     * @return Los incidentes encontrados, del más reciente al más antiguo.
+     */
+    public List<Incidente> desde(Date desde) {
+        return new ArrayList<>(incidentes.tailMap(Clave.inicio(desde.getTime()), true).descendingMap().values());
+    }
+
+    /**
+     * Devuelve los {@code cantidad} incidentes más recientes.
+     *
+     * @param cantidad Número máximo de incidentes a devolver.
+     * @return Los incidentes más recientes, del más reciente al más antiguo.
+     * @throws IllegalArgumentException Si la cantidad es negativa.
+     */
+    public List<Incidente> ultimos(int cantidad) {
+        if (cantidad < 0) {
+            throw new IllegalArgumentException("La cantidad no puede ser negativa.");
+        }
+        List<Incidente> resultado = new ArrayList<>(Math.min(cantidad, 16));
+        Iterator<Incidente> it = incidentes.descendingMap().values().iterator();
+        while (resultado.size() < cantidad && it.hasNext()) {
+            resultado.add(it.next());
+        }
+        return resultado;
+    }
+
+    /**
+     * Devuelve la cantidad de incidentes indexados.
+     *
+     * @return El tamaño del índice.
+     */
+    public int size() {
+        return incidentes.size();
+    }
+
+    /**
+     * Elimina todos los incidentes del índice.
+     */
+    public void limpiar() {
+        incidentes.clear();
+    }
+
+    private static long milisegundos(Date fecha) {
+        return fecha == null ? Long.MIN_VALUE : fecha.getTime();
+    }
+
+    /**
+     * Clave del índice: fecha en milisegundos y, para desempatar, el identificador del incidente.
+     * Un identificador {@code null} solo se usa como cota superior de una fecha en las consultas por rango.
+     */
+    private static final class Clave implements Comparable<Clave> {
+        private final long milisegundos;
+        private final String id;
+
+        Clave(long milisegundos, String id) {
+            this.milisegundos = milisegundos;
+            this.id = id;
+        }
+
+        static Clave inicio(long milisegundos) {
+            return new Clave(milisegundos, "");
+        }
+
+        static Clave fin(long milisegundos) {
+            return new Clave(milisegundos, null);
+        }
+
+        @Override
+        public int compareTo(Clave otra) {
+            int porFecha = Long.compare(milisegundos, otra.milisegundos);
+            if (porFecha != 0) {
+                return porFecha;
+            }
+            if (id == null || otra.id == null) {
+                return id == otra.id ? 0 : (id == null ? 1 : -1);
+            }
+            return id.compareTo(otra.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Clave && compareTo((Clave) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(milisegundos) * 31 + (id == null ? 0 : id.hashCode());
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package model.indices;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Índice de subcadenas basado en trigramas.
+ * Cada texto indexado se pasa a minúsculas una sola vez y se descompone en todas sus secuencias de
+ * tres caracteres; cada trigrama guarda el conjunto de entradas que lo contienen. Una búsqueda de
+ * subcadena solo revisa las entradas que aparecen en todos los trigramas de la consulta, en lugar de
+ * recorrer y convertir a minúsculas todos los textos.
+ *
+ * @param <T> El tipo de los valores asociados a cada texto.
+ */
+public class IndiceTrigramas<T> {
+
+    private static final int LONGITUD_TRIGRAMA = 3;
+
+    /**
+     * Entradas por valor, en orden de inserción.
+     */
+    private final Map<T, Entrada<T>> entradas = new LinkedHashMap<>();
+
+    /**
+     * Conjunto de entradas que contienen cada trigrama.
+     */
+    private final Map<String, Set<Entrada<T>>> trigramas = new HashMap<>();
+
+    private long siguienteSecuencia;
+
+    /**
+     * Agrega un valor al índice asociado al texto dado. Si el valor ya estaba indexado, se reemplaza su texto.
+     *
+     * @param valor El valor a indexar.
+     * @param texto El texto por el que se podrá buscar el valor.
+     */
+    public synchronized void agregar(T valor, String texto) {
+        eliminar(valor);
+        Entrada<T> entrada = new Entrada<>(valor, normalizar(texto), siguienteSecuencia++);
+        entradas.put(valor, entrada);
+        for (String trigrama : trigramasDe(entrada.texto)) {
+            trigramas.computeIfAbsent(trigrama, t -> new HashSet<>()).add(entrada);
+        }
+    }
+
+    /**
+     * Elimina un valor del índice.
+     *
+     * @param valor El valor a eliminar.
+     * @return {@code true} si el valor estaba indexado.
+     */
+    public synchronized boolean eliminar(T valor) {
+        Entrada<T> entrada = entradas.remove(valor);
+        if (entrada == null) {
+            return false;
+        }
+        for (String trigrama : trigramasDe(entrada.texto)) {
+            Set<Entrada<T>> conjunto = trigramas.get(trigrama);
+            conjunto.remove(entrada);
+            if (conjunto.isEmpty()) {
+                trigramas.remove(trigrama);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Elimina todos los valores del índice.
+     */
+    public synchronized void limpiar() {
+        entradas.clear();
+        trigramas.clear();
+    }
+
+    /**
+     * Devuelve la cantidad de valores indexados.
+     *
+     * @return El número de valores en el índice.
+     */
+    public synchronized int size() {
+        return entradas.size();
+    }
+
+    /**
+     * Busca los valores cuyo texto contiene la consulta, sin distinguir mayúsculas de minúsculas.
+     *
+     * @param consulta La subcadena a buscar.
+     * @return Los valores encontrados, en el orden en que se agregaron al índice.
+     */
+    public List<T> buscar(String consulta) {
+        return buscar(consulta, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Busca una página de los valores cuyo texto contiene la consulta, sin distinguir mayúsculas
+     * de minúsculas.
+     *
+     * @param consulta La subcadena a buscar.
+     * @param desde    Cantidad de resultados a omitir desde el inicio.
+     * @param limite   Cantidad máxima de resultados a devolver.
+     * @return Los valores encontrados en la página pedida, en el orden en que se agregaron al índice.
+     */
+    public synchronized List<T> buscar(String consulta, int desde, int limite) {
+        String clave = normalizar(consulta);
+        if (clave.length() < LONGITUD_TRIGRAMA) {
+            // Una consulta tan corta no tiene trigramas: se revisan los textos directamente
+            List<T> resultado = new ArrayList<>();
+            int omitidos = 0;
+            for (Entrada<T> entrada : entradas.values()) {
+                if (resultado.size() == limite) {
+                    break;
+                }
+                if (entrada.texto.contains(clave) && omitidos++ >= desde) {
+                    resultado.add(entrada.valor);
+                }
+            }
+            return resultado;
+        }
+
+        // Se parte del trigrama menos frecuente y se descartan candidatos con los demás
+        Set<String> trigramasConsulta = trigramasDe(clave);
+        List<Set<Entrada<T>>> conjuntos = new ArrayList<>(trigramasConsulta.size());
+        for (String trigrama : trigramasConsulta) {
+            Set<Entrada<T>> conjunto = trigramas.get(trigrama);
+            if (conjunto == null) {
+                return Collections.emptyList();
+            }
+            conjuntos.add(conjunto);
+        }
+        conjuntos.sort(Comparator.comparingInt(Set::size));
+
+        List<Entrada<T>> coincidencias = new ArrayList<>();
+        for (Entrada<T> candidata : conjuntos.get(0)) {
+            if (contenidaEnTodos(candidata, conjuntos) && candidata.texto.contains(clave)) {
+                coincidencias.add(candidata);
+            }
+        }
+        coincidencias.sort(Comparator.comparingLong(entrada -> entrada.secuencia));
+
+        List<T> resultado = new ArrayList<>();
+        for (int j = desde; j < coincidencias.size() && resultado.size() < limite; j++) {
+            resultado.add(coincidencias.get(j).valor);
+        }
+        return resultado;
+    }
+
+    private static <E> boolean contenidaEnTodos(E candidata, List<Set<E>> conjuntos) {
+        for (int i = 1; i < conjuntos.size(); i++) {
+            if (!conjuntos.get(i).contains(candidata)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String normalizar(String texto) {
+        return texto == null ? "" : texto.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> trigramasDe(String texto) {
+        Set<String> resultado = new HashSet<>();
+        for (int i = 0; i + LONGITUD_TRIGRAMA <= texto.length(); i++) {
+            resultado.add(texto.substring(i, i + LONGITUD_TRIGRAMA));
+        }
+        return resultado;
+    }
+
+    /**
+     * Valor indexado junto con su texto normalizado y su orden de inserción.
+     */
+    private static class Entrada<E> {
+        final E valor;
+        final String texto;
+        final long secuencia;
+
+        Entrada(E valor, String texto, long secuencia) {
+            this.valor = valor;
+            this.texto = texto;
+            this.secuencia = secuencia;
+        }
+    }
+}
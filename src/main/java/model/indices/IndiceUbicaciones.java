@@ -0,0 +1,126 @@
+package model.indices;
+
+import model.IncidentType;
+import model.Incidente;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Índice de incidentes activos por ubicación.
+ * Para cada ubicación guarda cuántos incidentes activos hay de cada {@link IncidentType}, de modo que la
+ * penalización de un punto se calcula con una búsqueda y no recorriendo todos los incidentes. Un incidente
+ * está activo mientras su estado no sea "resuelto". Las ubicaciones se comparan sin distinguir mayúsculas
+ * ni espacios en los extremos.
+ */
+public class IndiceUbicaciones {
+
+    private static final String ESTADO_RESUELTO = "resuelto";
+
+    private final Map<String, int[]> activosPorUbicacion = new HashMap<>();
+
+    /**
+     * Agrega un incidente al índice si está activo.
+     *
+     * @param incidente El incidente a indexar.
+     */
+    public synchronized void agregar(Incidente incidente) {
+        if (estaActivo(incidente.getEstado())) {
+            sumar(incidente, 1);
+        }
+    }
+
+    /**
+     * Retira un incidente del índice si está activo.
+     *
+     * @param incidente El incidente a retirar, con el mismo estado con que está indexado.
+     */
+    public synchronized void eliminar(Incidente incidente) {
+        if (estaActivo(incidente.getEstado())) {
+            sumar(incidente, -1);
+        }
+    }
+
+    /**
+     * Actualiza el índice después de que un incidente cambió de estado.
+     *
+     * @param incidente      El incidente, ya con su estado nuevo.
+     * @param estadoAnterior El estado que tenía el incidente antes del cambio.
+     */
+    public synchronized void cambioDeEstado(Incidente incidente, String estadoAnterior) {
+        boolean antes = estaActivo(estadoAnterior);
+        boolean ahora = estaActivo(incidente.getEstado());
+        if (antes != ahora) {
+            sumar(incidente, ahora ? 1 : -1);
+        }
+    }
+
+    /**
+     * Calcula la penalización de una ubicación sumando, por cada incidente activo en ella,
+     * la penalización de su tipo.
+     *
+     * @param ubicacion      La ubicación a evaluar.
+     * @param penalizaciones Penalización por tipo de incidente; los tipos ausentes no penalizan.
+     * @return La penalización total de la ubicación; 0 si no tiene incidentes activos.
+     */
+    public synchronized double penalizacion(String ubicacion, Map<IncidentType, Double> penalizaciones) {
+        if (ubicacion == null) {
+            return 0;
+        }
+        int[] conteos = activosPorUbicacion.get(normalizar(ubicacion));
+        if (conteos == null) {
+            return 0;
+        }
+        double total = 0;
+        for (IncidentType tipo : IncidentType.values()) {
+            if (conteos[tipo.ordinal()] > 0) {
+                total += conteos[tipo.ordinal()] * penalizaciones.getOrDefault(tipo, 0.0);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Cuenta los incidentes activos de un tipo en una ubicación.
+     *
+     * @param ubicacion La ubicación a consultar.
+     * @param tipo      El tipo de incidente.
+     * @return La cantidad de incidentes activos de ese tipo en la ubicación.
+     */
+    public synchronized int activos(String ubicacion, IncidentType tipo) {
+        int[] conteos = ubicacion == null ? null : activosPorUbicacion.get(normalizar(ubicacion));
+        return conteos == null ? 0 : conteos[tipo.ordinal()];
+    }
+
+    /**
+     * Elimina todos los incidentes del índice.
+     */
+    public synchronized void limpiar() {
+        activosPorUbicacion.clear();
+    }
+
+    private void sumar(Incidente incidente, int delta) {
+        if (incidente.getUbicacion() == null) {
+            return;
+        }
+        String clave = normalizar(incidente.getUbicacion());
+        int[] conteos = activosPorUbicacion.computeIfAbsent(clave, u -> new int[IncidentType.values().length]);
+        conteos[incidente.getTipo().ordinal()] += delta;
+        boolean vacia = true;
+        for (int conteo : conteos) {
+            vacia &= conteo == 0;
+        }
+        if (vacia) {
+            activosPorUbicacion.remove(clave);
+        }
+    }
+
+    private static boolean estaActivo(String estado) {
+        return estado == null || !ESTADO_RESUELTO.equalsIgnoreCase(estado.trim());
+    }
+
+    private static String normalizar(String ubicacion) {
+        return ubicacion.trim().toLowerCase(Locale.ROOT);
+    }
+}
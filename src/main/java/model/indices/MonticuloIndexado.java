@@ -0,0 +1,288 @@
+package model.indices;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Montículo binario de mínimos indexado por clave.
+ * Cada elemento se registra con una clave única y una prioridad; el elemento de menor prioridad se
+ * consulta en O(1) y las inserciones, eliminaciones y cambios de prioridad cuestan O(log n), ya que
+ * cada entrada conoce su posición en el arreglo del montículo. Ante prioridades iguales gana el
+ * elemento agregado primero.
+ *
+ * @param <T> El tipo de los elementos almacenados.
+ */
+public class MonticuloIndexado<T> {
+
+    private static final Comparator<Entrada<?>> ORDEN =
+            Comparator.<Entrada<?>>comparingDouble(e -> e.prioridad).thenComparingLong(e -> e.secuencia);
+
+    private final List<Entrada<T>> monticulo = new ArrayList<>();
+    private final Map<String, Entrada<T>> entradas = new HashMap<>();
+    private long secuencia;
+
+    /**
+     * Agrega un elemento al montículo.
+     *
+     * @param clave     La clave única del elemento.
+     * @param elemento  El elemento a agregar.
+     * @param prioridad La prioridad del elemento; un valor menor indica un elemento mejor.
+     * @throws IllegalArgumentException Si ya existe un elemento con la misma clave.
+     */
+    public synchronized void agregar(String clave, T elemento, double prioridad) {
+        if (entradas.containsKey(clave)) {
+            throw new IllegalArgumentException("La clave '" + clave + "' ya está en el montículo.");
+        }
+        Entrada<T> entrada = new Entrada<>(elemento, prioridad, secuencia++);
+        entradas.put(clave, entrada);
+        entrada.posicion = monticulo.size();
+        monticulo.add(entrada);
+        subir(entrada.posicion);
+    }
+
+    /**
+     * Elimina el elemento con la clave dada.
+     *
+     * @param clave La clave del elemento a eliminar.
+     * @return El elemento eliminado, o {@code null} si no existía.
+     */
+    public synchronized T eliminar(String clave) {
+        Entrada<T> entrada = entradas.remove(clave);
+        if (entrada == null) {
+            return null;
+        }
+        int posicion = entrada.posicion;
+        Entrada<T> ultima = monticulo.remove(monticulo.size() - 1);
+        if (ultima != entrada) {
+            colocar(ultima, posicion);
+            reubicar(posicion);
+        }
+        return entrada.elemento;
+    }
+
+    /**
+     * Cambia la prioridad de un elemento existente, conservando su antigüedad para los desempates.
+     *
+     * @param clave     La clave del elemento.
+     * @param prioridad La nueva prioridad.
+     * @return {@code true} si el elemento existía.
+     */
+    public synchronized boolean actualizar(String clave, double prioridad) {
+        Entrada<T> entrada = entradas.get(clave);
+        if (entrada == null) {
+            return false;
+        }
+        entrada.prioridad = prioridad;
+        reubicar(entrada.posicion);
+        return true;
+    }
+
+    /**
+     * Devuelve el elemento de menor prioridad sin retirarlo.
+     *
+     * @return El mejor elemento, o {@code null} si el montículo está vacío.
+     */
+    public synchronized T minimo() {
+        return monticulo.isEmpty() ? null : monticulo.get(0).elemento;
+    }
+
+    /**
+     * Devuelve los {@code k} elementos de menor prioridad, del mejor al peor, sin modificar el montículo.
+     * Solo se visitan las ramas candidatas, por lo que el costo es O(k log k) y no depende del tamaño total.
+     *
+     * @param k La cantidad máxima de elementos a devolver.
+     * @return Los mejores elementos en orden.
+     * @throws IllegalArgumentException Si {@code k} es negativo.
+     */
+    public synchronized List<T> menores(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("La cantidad no puede ser negativa.");
+        }
+        List<T> resultado = new ArrayList<>(Math.min(k, monticulo.size()));
+        if (k == 0 || monticulo.isEmpty()) {
+            return resultado;
+        }
+        PriorityQueue<Entrada<T>> candidatos = new PriorityQueue<>(ORDEN);
+        candidatos.add(monticulo.get(0));
+        while (resultado.size() < k && !candidatos.isEmpty()) {
+            Entrada<T> entrada = candidatos.poll();
+            resultado.add(entrada.elemento);
+            int izquierdo = 2 * entrada.posicion + 1;
+            if (izquierdo < monticulo.size()) {
+                candidatos.add(monticulo.get(izquierdo));
+            }
+            if (izquierdo + 1 < monticulo.size()) {
+                candidatos.add(monticulo.get(izquierdo + 1));
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Devuelve los {@code k} elementos con menor prioridad ajustada, es decir, su prioridad más un recargo
+     * calculado en el momento, del mejor al peor y sin modificar el montículo. Como el recargo no puede ser
+     * negativo, los elementos se revisan en orden de prioridad y la búsqueda se detiene en cuanto la
+     * prioridad sin recargo del siguiente ya no puede mejorar a los {@code k} encontrados.
+     *
+     * @param k       La cantidad máxima de elementos a devolver.
+     * @param recargo Función que calcula el recargo no negativo de cada elemento.
+     * @return Los mejores elementos según la prioridad ajustada, en orden.
+     * @throws IllegalArgumentException Si {@code k} es negativo.
+     */
+    public synchronized List<T> menores(int k, ToDoubleFunction<? super T> recargo) {
+        return menores(k, recargo, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Igual que {@link #menores(int, ToDoubleFunction)}, pero abandona la búsqueda si necesita revisar más de
+     * una cantidad de elementos. Sirve para que quien la invoca pase a un recorrido completo más barato cuando
+     * los recargos son tan altos que la búsqueda en orden de prioridad casi no puede descartar elementos.
+     *
+     * @param k               La cantidad máxima de elementos a devolver.
+     * @param recargo         Función que calcula el recargo no negativo de cada elemento.
+     * @param maximoRevisados La cantidad máxima de elementos a revisar.
+     * @return Los mejores elementos según la prioridad ajustada, en orden, o {@code null} si se superó el máximo.
+     * @throws IllegalArgumentException Si {@code k} es negativo.
+     */
+    public synchronized List<T> menores(int k, ToDoubleFunction<? super T> recargo, int maximoRevisados) {
+        if (k < 0) {
+            throw new IllegalArgumentException("La cantidad no puede ser negativa.");
+        }
+        List<T> resultado = new ArrayList<>(Math.min(k, monticulo.size()));
+        if (k == 0 || monticulo.isEmpty()) {
+            return resultado;
+        }
+        Comparator<Ajustada<T>> porTotal = Comparator.<Ajustada<T>>comparingDouble(a -> a.total)
+                .thenComparingLong(a -> a.entrada.secuencia);
+        PriorityQueue<Entrada<T>> candidatos = new PriorityQueue<>(ORDEN);
+        PriorityQueue<Ajustada<T>> mejores = new PriorityQueue<>(porTotal.reversed());
+        candidatos.add(monticulo.get(0));
+        int revisados = 0;
+        while (!candidatos.isEmpty()) {
+            Entrada<T> entrada = candidatos.poll();
+            if (mejores.size() == k && entrada.prioridad > mejores.peek().total) {
+                break; // Ni con recargo cero este elemento ni los siguientes entran entre los k mejores
+            }
+            if (++revisados > maximoRevisados) {
+                return null;
+            }
+            mejores.add(new Ajustada<>(entrada, entrada.prioridad + recargo.applyAsDouble(entrada.elemento)));
+            if (mejores.size() > k) {
+                mejores.poll();
+            }
+            int izquierdo = 2 * entrada.posicion + 1;
+            if (izquierdo < monticulo.size()) {
+                candidatos.add(monticulo.get(izquierdo));
+            }
+            if (izquierdo + 1 < monticulo.size()) {
+                candidatos.add(monticulo.get(izquierdo + 1));
+            }
+        }
+        List<Ajustada<T>> ordenadas = new ArrayList<>(mejores);
+        ordenadas.sort(porTotal);
+        for (Ajustada<T> ajustada : ordenadas) {
+            resultado.add(ajustada.entrada.elemento);
+        }
+        return resultado;
+    }
+
+    /**
+     * Devuelve la cantidad de elementos en el montículo.
+     *
+     * @return El tamaño del montículo.
+     */
+    public synchronized int size() {
+        return monticulo.size();
+    }
+
+    /**
+     * Elimina todos los elementos del montículo.
+     */
+    public synchronized void limpiar() {
+        monticulo.clear();
+        entradas.clear();
+        secuencia = 0;
+    }
+
+    private void reubicar(int posicion) {
+        if (posicion > 0 && ORDEN.compare(monticulo.get(posicion), monticulo.get((posicion - 1) / 2)) < 0) {
+            subir(posicion);
+        } else {
+            bajar(posicion);
+        }
+    }
+
+    private void subir(int posicion) {
+        Entrada<T> entrada = monticulo.get(posicion);
+        while (posicion > 0) {
+            int padre = (posicion - 1) / 2;
+            Entrada<T> entradaPadre = monticulo.get(padre);
+            if (ORDEN.compare(entrada, entradaPadre) >= 0) {
+                break;
+            }
+            colocar(entradaPadre, posicion);
+            posicion = padre;
+        }
+        colocar(entrada, posicion);
+    }
+
+    private void bajar(int posicion) {
+        Entrada<T> entrada = monticulo.get(posicion);
+        int tamano = monticulo.size();
+        while (true) {
+            int hijo = 2 * posicion + 1;
+            if (hijo >= tamano) {
+                break;
+            }
+            if (hijo + 1 < tamano && ORDEN.compare(monticulo.get(hijo + 1), monticulo.get(hijo)) < 0) {
+                hijo++;
+            }
+            Entrada<T> entradaHijo = monticulo.get(hijo);
+            if (ORDEN.compare(entradaHijo, entrada) >= 0) {
+                break;
+            }
+            colocar(entradaHijo, posicion);
+            posicion = hijo;
+        }
+        colocar(entrada, posicion);
+    }
+
+    private void colocar(Entrada<T> entrada, int posicion) {
+        monticulo.set(posicion, entrada);
+        entrada.posicion = posicion;
+    }
+
+    /**
+     * Entrada del montículo acompañada de su prioridad ajustada con el recargo.
+     */
+    private static final class Ajustada<E> {
+        private final Entrada<E> entrada;
+        private final double total;
+
+        Ajustada(Entrada<E> entrada, double total) {
+            this.entrada = entrada;
+            this.total = total;
+        }
+    }
+
+    /**
+     * Entrada del montículo: el elemento, su prioridad, su orden de llegada y su posición actual.
+     */
+    private static final class Entrada<E> {
+        private final E elemento;
+        private final long secuencia;
+        private double prioridad;
+        private int posicion;
+
+        Entrada(E elemento, double prioridad, long secuencia) {
+            this.elemento = elemento;
+            this.prioridad = prioridad;
+            this.secuencia = secuencia;
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package model.indices;
+
+import model.EstadisticasRutas;
+import model.Ruta;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Copia por columnas de las métricas de las rutas, para los cálculos que recorren todas las rutas.
+ * <p>
+ * Cada columna es un arreglo primitivo (distancias, tiempos, extremos) y la fila {@code i} de todas ellas
+ * corresponde a la misma ruta, así que un recorrido lee memoria contigua en lugar de saltar de objeto en
+ * objeto. Los puntos de inicio y fin se guardan como códigos de un diccionario, de modo que los cálculos
+ * por ubicación se hacen una vez por punto distinto y no una vez por ruta. Cada código cuenta las rutas que
+ * lo usan y se libera, para reutilizarlo, cuando deja de usarse, así que el diccionario no crece con los
+ * puntos de rutas ya eliminadas. Agregar una ruta cuesta O(1) amortizado y eliminarla O(1): la última fila
+ * pasa a ocupar el lugar de la eliminada.
+ * Los puntos se comparan sin distinguir mayúsculas ni espacios en los extremos.
+ */
+public class TablaRutas {
+
+    private static final int CAPACIDAD_INICIAL = 16;
+    /**
+     * Código de un extremo sin punto.
+     */
+    private static final int SIN_PUNTO = -1;
+
+    private Ruta[] rutas = new Ruta[CAPACIDAD_INICIAL];
+    private double[] distancias = new double[CAPACIDAD_INICIAL];
+    private int[] tiempos = new int[CAPACIDAD_INICIAL];
+    private int[] inicios = new int[CAPACIDAD_INICIAL];
+    private int[] fines = new int[CAPACIDAD_INICIAL];
+    /**
+     * Orden de alta de cada fila, usado para desempatar igual que {@link MonticuloIndexado}.
+     */
+    private long[] secuencias = new long[CAPACIDAD_INICIAL];
+    private int cantidad;
+    private long siguienteSecuencia;
+
+    private final Map<String, Integer> filas = new HashMap<>();
+    private final Map<String, Integer> codigosPuntos = new HashMap<>();
+    /**
+     * Punto de cada código, o {@code null} si el código está libre.
+     */
+    private final List<String> puntos = new ArrayList<>();
+    /**
+     * Cantidad de extremos de ruta que usan cada código.
+     */
+    private int[] usos = new int[CAPACIDAD_INICIAL];
+    /**
+     * Pila de códigos libres para reutilizar.
+     */
+    private int[] libres = new int[CAPACIDAD_INICIAL];
+    private int cantidadLibres;
+
+    /**
+     * Agrega una ruta al final de la tabla.
+     *
+     * @param ruta La ruta a agregar.
+     * @throws IllegalArgumentException Si ya hay una ruta con el mismo identificador.
+     */
+    public synchronized void agregar(Ruta ruta) {
+        if (filas.putIfAbsent(ruta.getId(), cantidad) != null) {
+            throw new IllegalArgumentException("Ya existe una ruta con ID '" + ruta.getId() + "'.");
+        }
+        if (cantidad == rutas.length) {
+            int capacidad = cantidad * 2;
+            rutas = Arrays.copyOf(rutas, capacidad);
+            distancias = Arrays.copyOf(distancias, capacidad);
+            tiempos = Arrays.copyOf(tiempos, capacidad);
+            inicios = Arrays.copyOf(inicios, capacidad);
+            fines = Arrays.copyOf(fines, capacidad);
+            secuencias = Arrays.copyOf(secuencias, capacidad);
+        }
+        rutas[cantidad] = ruta;
+        distancias[cantidad] = ruta.getDistancia();
+        tiempos[cantidad] = ruta.getTiempoEstimado();
+        inicios[cantidad] = codigo(ruta.getPuntoInicio());
+        fines[cantidad] = codigo(ruta.getPuntoFin());
+        secuencias[cantidad] = siguienteSecuencia++;
+        cantidad++;
+    }
+
+    /**
+     * Elimina una ruta de la tabla, moviendo la última fila a su lugar.
+     *
+     * @param id El identificador de la ruta.
+     * @return {@code true} si la ruta estaba en la tabla.
+     */
+    public synchronized boolean eliminar(String id) {
+        Integer fila = filas.remove(id);
+        if (fila == null) {
+            return false;
+        }
+        liberar(inicios[fila]);
+        liberar(fines[fila]);
+        int ultima = --cantidad;
+        if (fila != ultima) {
+            rutas[fila] = rutas[ultima];
+            distancias[fila] = distancias[ultima];
+            tiempos[fila] = tiempos[ultima];
+            inicios[fila] = inicios[ultima];
+            fines[fila] = fines[ultima];
+            secuencias[fila] = secuencias[ultima];
+            filas.put(rutas[fila].getId(), fila);
+        }
+        rutas[ultima] = null;
+        return true;
+    }
+
+    /**
+     * Elimina todas las rutas y vacía el diccionario de puntos.
+     */
+    public synchronized void limpiar() {
+        Arrays.fill(rutas, 0, cantidad, null);
+        cantidad = 0;
+        siguienteSecuencia = 0;
+        filas.clear();
+        codigosPuntos.clear();
+        puntos.clear();
+        Arrays.fill(usos, 0);
+        cantidadLibres = 0;
+    }
+
+    /**
+     * Devuelve la cantidad de rutas de la tabla.
+     *
+     * @return La cantidad de rutas.
+     */
+    public synchronized int size() {
+        return cantidad;
+    }
+
+    /**
+     * Calcula los mínimos, máximos y totales de distancia y tiempo en un solo recorrido de las columnas.
+     *
+     * @return El resumen de las rutas de la tabla.
+     */
+    public synchronized EstadisticasRutas estadisticas() {
+        if (cantidad == 0) {
+            return EstadisticasRutas.vacias();
+        }
+        double distanciaMinima = Double.POSITIVE_INFINITY;
+        double distanciaMaxima = Double.NEGATIVE_INFINITY;
+        double distanciaTotal = 0;
+        int tiempoMinimo = Integer.MAX_VALUE;
+        int tiempoMaximo = Integer.MIN_VALUE;
+        long tiempoTotal = 0;
+        for (int i = 0; i < cantidad; i++) {
+            double distancia = distancias[i];
+            distanciaMinima = Math.min(distanciaMinima, distancia);
+            distanciaMaxima = Math.max(distanciaMaxima, distancia);
+            distanciaTotal += distancia;
+        }
+        for (int i = 0; i < cantidad; i++) {
+            int tiempo = tiempos[i];
+            tiempoMinimo = Math.min(tiempoMinimo, tiempo);
+            tiempoMaximo = Math.max(tiempoMaximo, tiempo);
+            tiempoTotal += tiempo;
+        }
+        return new EstadisticasRutas(cantidad, distanciaMinima, distanciaMaxima, distanciaTotal,
+                tiempoMinimo, tiempoMaximo, tiempoTotal);
+    }
+
+    /**
+     * Cuenta las rutas cuya distancia está entre dos valores, ambos inclusive, recorriendo la columna de
+     * distancias sin crear objetos.
+     *
+     * @param minima Distancia mínima en kilómetros.
+     * @param maxima Distancia máxima en kilómetros.
+     * @return La cantidad de rutas del rango.
+     */
+    public synchronized int contarEntreDistancias(double minima, double maxima) {
+        int total = 0;
+        for (int i = 0; i < cantidad; i++) {
+            double distancia = distancias[i];
+            total += distancia >= minima && distancia <= maxima ? 1 : 0;
+        }
+        return total;
+    }
+
+    /**
+     * Devuelve las rutas de menor puntaje (distancia más tiempo estimado) sumando a cada una un recargo por
+     * sus extremos. El recargo se calcula una sola vez por punto distinto y después las columnas se recorren
+     * completas; si una ruta comienza y termina en el mismo punto, ese recargo se suma una sola vez. A igual
+     * puntaje gana la ruta agregada primero.
+     *
+     * @param k               La cantidad máxima de rutas a devolver.
+     * @param recargoPorPunto Recargo de cada punto, que recibe el nombre normalizado del punto.
+     * @return Las {@code k} rutas de menor puntaje con recargo, de la mejor a la peor.
+     * @throws IllegalArgumentException Si {@code k} es negativo.
+     */
+    public synchronized List<Ruta> menores(int k, ToDoubleFunction<String> recargoPorPunto) {
+        if (k < 0) {
+            throw new IllegalArgumentException("La cantidad no puede ser negativa.");
+        }
+        int tope = Math.min(k, cantidad);
+        List<Ruta> resultado = new ArrayList<>(tope);
+        if (tope == 0) {
+            return resultado;
+        }
+        double[] recargos = new double[puntos.size()];
+        for (int c = 0; c < recargos.length; c++) {
+            String punto = puntos.get(c);
+            if (punto != null) {
+                recargos[c] = recargoPorPunto.applyAsDouble(punto);
+            }
+        }
+
+        // Las k mejores filas, ordenadas de la mejor a la peor
+        double[] totales = new double[tope];
+        int[] elegidas = new int[tope];
+        int llenas = 0;
+        for (int i = 0; i < cantidad; i++) {
+            int inicio = inicios[i];
+            int fin = fines[i];
+            double recargo = (inicio == SIN_PUNTO ? 0 : recargos[inicio])
+                    + (fin == SIN_PUNTO || fin == inicio ? 0 : recargos[fin]);
+            double total = (distancias[i] + tiempos[i]) + recargo;
+            if (llenas == tope && !antes(total, secuencias[i], totales[tope - 1], secuencias[elegidas[tope - 1]])) {
+                continue;
+            }
+            int posicion = llenas == tope ? tope - 1 : llenas++;
+            while (posicion > 0 && antes(total, secuencias[i], totales[posicion - 1], secuencias[elegidas[posicion - 1]])) {
+                totales[posicion] = totales[posicion - 1];
+                elegidas[posicion] = elegidas[posicion - 1];
+                posicion--;
+            }
+            totales[posicion] = total;
+            elegidas[posicion] = i;
+        }
+        for (int j = 0; j < tope; j++) {
+            resultado.add(rutas[elegidas[j]]);
+        }
+        return resultado;
+    }
+
+    private static boolean antes(double total, long secuencia, double otroTotal, long otraSecuencia) {
+        return total < otroTotal || (total == otroTotal && secuencia < otraSecuencia);
+    }
+
+    /**
+     * Devuelve el código del punto en el diccionario y cuenta un uso más, agregándolo si es nuevo con un
+     * código libre si hay alguno.
+     */
+    private int codigo(String punto) {
+        if (punto == null) {
+            return SIN_PUNTO;
+        }
+        String clave = punto.trim().toLowerCase(Locale.ROOT);
+        Integer codigo = codigosPuntos.get(clave);
+        if (codigo == null) {
+            if (cantidadLibres > 0) {
+                codigo = libres[--cantidadLibres];
+                puntos.set(codigo, clave);
+            } else {
+                codigo = puntos.size();
+                puntos.add(clave);
+                if (codigo == usos.length) {
+                    usos = Arrays.copyOf(usos, codigo * 2);
+                }
+            }
+            codigosPuntos.put(clave, codigo);
+        }
+        usos[codigo]++;
+        return codigo;
+    }
+
+    /**
+     * Descuenta un uso de un código y lo libera si ya no lo usa ninguna ruta.
+     */
+    private void liberar(int codigo) {
+        if (codigo == SIN_PUNTO || --usos[codigo] > 0) {
+            return;
+        }
+        codigosPuntos.remove(puntos.get(codigo));
+        puntos.set(codigo, null);
+        if (cantidadLibres == libres.length) {
+            libres = Arrays.copyOf(libres, cantidadLibres * 2);
+        }
+        libres[cantidadLibres++] = codigo;
+    }
+}
@@ -0,0 +1,587 @@
+package model.persistencia;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializer;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * Bitácora de escritura anticipada (write-ahead log) de las modificaciones de {@link model.SGMMS}.
+ * <p>
+ * El archivo es de solo agregado y cada registro tiene la forma {@code [longitud][crc32][lsn][operación]}: la
+ * longitud y el CRC32 cubren el número de secuencia (LSN) y la operación en JSON, así que al abrir o leer la
+ * bitácora se descarta un registro final escrito a medias por una caída.
+ * <p>
+ * Las escrituras se confirman en grupo: {@link #agregar(Operacion)} solo encola el registro y un hilo escritor
+ * vuelca de una vez todos los registros acumulados, seguidos de un único {@code force}. Con muchos hilos
+ * registrando a la vez, el costo de cada sincronización con el disco se reparte entre todo el lote.
+ * En modo síncrono, {@link #confirmar(long)} espera a que el registro sea durable; en modo asíncrono vuelve
+ * de inmediato y una caída puede perder los últimos milisegundos de operaciones.
+ * <p>
+ * Después de guardar un punto de control, {@link #descartarHasta(long)} elimina del archivo las operaciones que
+ * ya contiene, para que el archivo y la recuperación no crezcan con toda la historia.
+ */
+public class Bitacora implements Closeable {
+
+    /**
+     * Bytes de la cabecera de cada registro: longitud y CRC32.
+     */
+    private static final int CABECERA = 2 * Integer.BYTES;
+
+    /**
+     * Tamaño máximo del contenido de un registro. {@link #agregar(Operacion)} rechaza las operaciones más
+     * grandes, así que al leer una longitud mayor solo puede venir de un registro dañado.
+     */
+    private static final int MAXIMO_REGISTRO = 256 * 1024 * 1024;
+
+    /**
+     * Serializador de las operaciones y de los puntos de control. Guarda las fechas como milisegundos para
+     * no depender del formato ni de la zona horaria de la máquina.
+     */
+    static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(Date.class, (JsonSerializer<Date>) (fecha, tipo, contexto) -> new JsonPrimitive(fecha.getTime()))
+            .registerTypeAdapter(Date.class, (JsonDeserializer<Date>) (json, tipo, contexto) -> new Date(json.getAsLong()))
+            .create();
+
+    private final Path archivo;
+    /**
+     * Canal del archivo. Solo lo usa el hilo escritor, salvo durante {@link #descartarHasta(long)}, que lo
+     * reemplaza con el escritor en pausa.
+     */
+    private FileChannel canal;
+    private final boolean sincrona;
+    /**
+     * Tamaño máximo del contenido de los registros que se aceptan; no supera {@link #MAXIMO_REGISTRO}.
+     */
+    private final int maximoRegistro;
+    private final Thread escritor;
+
+    /**
+     * Separa las anotaciones de los cortes de los puntos de control; ver {@link #bloqueoAnotacion()}.
+     */
+    private final ReentrantReadWriteLock corte = new ReentrantReadWriteLock();
+
+    private final Object monitor = new Object();
+    private List<ByteBuffer> pendientes = new ArrayList<>();
+    private long ultimoLsn;
+    private long lsnDurable;
+    private IOException error;
+    private boolean cerrada;
+    /**
+     * Indica que el escritor no debe tomar lotes nuevos porque se está reescribiendo el archivo.
+     */
+    private boolean pausada;
+    /**
+     * Indica que el escritor está escribiendo un lote fuera del monitor.
+     */
+    private boolean escribiendo;
+
+    private Bitacora(Path archivo, FileChannel canal, long ultimoLsn, boolean sincrona, int maximoRegistro) {
+        this.archivo = archivo;
+        this.canal = canal;
+        this.ultimoLsn = ultimoLsn;
+        this.lsnDurable = ultimoLsn;
+        this.sincrona = sincrona;
+        this.maximoRegistro = maximoRegistro;
+        this.escritor = new Thread(this::escribir, "bitacora-" + archivo.getFileName());
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+
+    /**
+     * Abre la bitácora del archivo indicado, creándolo si no existe. Si el archivo termina en un registro
+     * incompleto o dañado, se trunca en el último registro válido y la numeración continúa desde él.
+     *
+     * @param archivo  La ruta del archivo de la bitácora.
+     * @param sincrona {@code true} para que {@link #confirmar(long)} espere a que cada operación sea durable.
+     * @return La bitácora abierta.
+     * @throws IOException Si el archivo no se puede leer o abrir.
+     */
+    public static Bitacora abrir(Path archivo, boolean sincrona) throws IOException {
+        return abrir(archivo, sincrona, 0);
+    }
+
+    /**
+     * Abre la bitácora del archivo indicado, como {@link #abrir(Path, boolean)}, sin asignar LSN menores o
+     * iguales a uno dado. Se usa al recuperar desde un punto de control: si la bitácora se vació al guardarlo,
+     * la numeración debe continuar desde el LSN del punto de control y no volver a empezar.
+     *
+     * @param archivo   La ruta del archivo de la bitácora.
+     * @param sincrona  {@code true} para que {@link #confirmar(long)} espere a que cada operación sea durable.
+     * @param lsnMinimo El LSN a partir del cual continuar si el archivo no tiene operaciones posteriores.
+     * @return La bitácora abierta.
+     * @throws IOException Si el archivo no se puede leer o abrir.
+     */
+    public static Bitacora abrir(Path archivo, boolean sincrona, long lsnMinimo) throws IOException {
+        return abrir(archivo, sincrona, lsnMinimo, MAXIMO_REGISTRO);
+    }
+
+    /**
+     * Abre la bitácora como {@link #abrir(Path, boolean, long)}, aceptando solo registros de hasta el tamaño
+     * dado. Permite probar el rechazo de registros grandes sin generar cientos de megabytes.
+     */
+    static Bitacora abrir(Path archivo, boolean sincrona, long lsnMinimo, int maximoRegistro) throws IOException {
+        if (maximoRegistro <= Long.BYTES || maximoRegistro > MAXIMO_REGISTRO) {
+            throw new IllegalArgumentException("El tamaño máximo de registro debe estar entre " + (Long.BYTES + 1)
+                    + " y " + MAXIMO_REGISTRO + ".");
+        }
+        Path directorio = archivo.toAbsolutePath().getParent();
+        if (directorio != null) {
+            Files.createDirectories(directorio);
+        }
+        Lectura lectura = Files.exists(archivo) ? leerArchivo(archivo, Long.MAX_VALUE, false) : new Lectura();
+        FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            canal.truncate(lectura.bytesValidos);
+            canal.position(lectura.bytesValidos);
+        } catch (IOException e) {
+            canal.close();
+            throw e;
+        }
+        return new Bitacora(archivo, canal, Math.max(lectura.ultimoLsn, lsnMinimo), sincrona, maximoRegistro);
+    }
+
+    /**
+     * Lee las operaciones válidas de una bitácora, en orden, deteniéndose en el primer registro incompleto,
+     * dañado o fuera de secuencia.
+     *
+     * @param archivo La ruta del archivo de la bitácora.
+     * @return Las operaciones leídas; una lista vacía si el archivo no existe.
+     * @throws IOException Si el archivo no se puede leer.
+     */
+    public static List<Operacion> leer(Path archivo) throws IOException {
+        return leer(archivo, 0);
+    }
+
+    /**
+     * Lee las operaciones válidas de una bitácora posteriores a un LSN, en orden. Las anteriores solo se
+     * verifican, sin decodificarlas.
+     *
+     * @param archivo  La ruta del archivo de la bitácora.
+     * @param desdeLsn El LSN de la última operación que no se necesita, por ejemplo el de un punto de control.
+     * @return Las operaciones con LSN mayor que {@code desdeLsn}; una lista vacía si el archivo no existe.
+     * @throws IOException Si el archivo no se puede leer.
+     */
+    public static List<Operacion> leer(Path archivo, long desdeLsn) throws IOException {
+        if (!Files.exists(archivo)) {
+            return new ArrayList<>();
+        }
+        return leerArchivo(archivo, desdeLsn, true).operaciones;
+    }
+
+    /**
+     * Anota una operación. La operación se serializa en el hilo que llama, así que el registro refleja el
+     * estado de las entidades en ese momento aunque cambien antes de escribirse.
+     * <p>
+     * Una operación que no cabe en un registro se rechaza sin asignarle LSN: si se aceptara, la lectura la
+     * tomaría por un registro dañado y al abrir se truncaría junto con todas las posteriores.
+     *
+     * @param operacion La operación a anotar.
+     * @return El LSN asignado a la operación.
+     * @throws IllegalArgumentException Si la operación serializada supera el tamaño máximo de un registro.
+     * @throws IllegalStateException    Si la bitácora está cerrada.
+     * @throws UncheckedIOException     Si una escritura anterior falló.
+     */
+    public long agregar(Operacion operacion) {
+        byte[] contenido = GSON.toJson(operacion).getBytes(StandardCharsets.UTF_8);
+        if (contenido.length > maximoRegistro - Long.BYTES) {
+            throw new IllegalArgumentException("La operación ocupa " + contenido.length + " bytes y la bitácora "
+                    + "admite registros de hasta " + (maximoRegistro - Long.BYTES) + ".");
+        }
+        synchronized (monitor) {
+            verificarAbierta();
+            long lsn = ++ultimoLsn;
+            operacion.setLsn(lsn);
+            ByteBuffer registro = ByteBuffer.allocate(CABECERA + Long.BYTES + contenido.length);
+            registro.putInt(Long.BYTES + contenido.length);
+            registro.putInt(0);
+            registro.putLong(lsn);
+            registro.put(contenido);
+            CRC32 crc = new CRC32();
+            crc.update(registro.array(), CABECERA, Long.BYTES + contenido.length);
+            registro.putInt(Integer.BYTES, (int) crc.getValue());
+            registro.flip();
+            pendientes.add(registro);
+            if (pendientes.size() == 1) {
+                monitor.notifyAll();
+            }
+            return lsn;
+        }
+    }
+
+    /**
+     * Confirma una operación anotada: en modo síncrono espera a que sea durable y en modo asíncrono vuelve
+     * de inmediato.
+     *
+     * @param lsn El LSN devuelto por {@link #agregar(Operacion)}.
+     * @throws UncheckedIOException Si la escritura falló.
+     */
+    public void confirmar(long lsn) {
+        if (sincrona) {
+            esperar(lsn);
+        }
+    }
+
+    /**
+     * Espera a que la operación con el LSN dado, y todas las anteriores, estén en el disco.
+     *
+     * @param lsn El LSN de la operación.
+     * @throws IllegalArgumentException Si el LSN no fue asignado por esta bitácora.
+     * @throws UncheckedIOException     Si la escritura falló o la bitácora se cerró antes de escribirla.
+     */
+    public void esperar(long lsn) {
+        synchronized (monitor) {
+            if (lsn > ultimoLsn) {
+                throw new IllegalArgumentException("La operación " + lsn + " no se anotó en esta bitácora.");
+            }
+            boolean interrumpido = false;
+            while (lsnDurable < lsn && error == null && escritor.isAlive()) {
+                try {
+                    monitor.wait();
+                } catch (InterruptedException e) {
+                    interrumpido = true;
+                }
+            }
+            if (interrumpido) {
+                Thread.currentThread().interrupt();
+            }
+            if (lsnDurable < lsn) {
+                throw new UncheckedIOException("No se pudo escribir la operación " + lsn + " en la bitácora.",
+                        error != null ? error : new IOException("La bitácora está cerrada."));
+            }
+        }
+    }
+
+    /**
+     * Espera a que todas las operaciones anotadas hasta ahora estén en el disco.
+     */
+    public void sincronizar() {
+        long ultimo;
+        synchronized (monitor) {
+            ultimo = ultimoLsn;
+        }
+        esperar(ultimo);
+    }
+
+    /**
+     * Obtiene el LSN de la última operación anotada.
+     *
+     * @return El último LSN, o 0 si la bitácora nunca tuvo operaciones.
+     */
+    public long getUltimoLsn() {
+        synchronized (monitor) {
+            return ultimoLsn;
+        }
+    }
+
+    /**
+     * Obtiene el LSN hasta el que las operaciones están en el disco.
+     *
+     * @return El LSN durable.
+     */
+    public long getLsnDurable() {
+        synchronized (monitor) {
+            return lsnDurable;
+        }
+    }
+
+    /**
+     * Elimina del archivo las operaciones con LSN menor o igual al dado, que ya están guardadas en un punto de
+     * control. Las operaciones posteriores se copian a un archivo nuevo que reemplaza al actual de forma
+     * atómica, así que una caída a mitad de camino deja el archivo anterior completo. Mientras dura, las
+     * operaciones nuevas se siguen aceptando y se escriben al terminar.
+     *
+     * @param lsn El LSN de la última operación que se puede descartar.
+     * @throws IOException           Si el archivo no se puede reescribir; la bitácora deja de aceptar operaciones.
+     * @throws IllegalStateException Si la bitácora está cerrada.
+     */
+    public void descartarHasta(long lsn) throws IOException {
+        synchronized (monitor) {
+            verificarAbierta();
+            boolean interrumpido = false;
+            while (pausada || escribiendo) {
+                interrumpido |= esperarAviso();
+            }
+            if (interrumpido) {
+                Thread.currentThread().interrupt();
+            }
+            pausada = true;
+        }
+        try {
+            Lectura lectura = leerArchivo(archivo, lsn, false);
+            long desde = lectura.inicioPosteriores < 0 ? lectura.bytesValidos : lectura.inicioPosteriores;
+            if (desde == 0) {
+                return;
+            }
+            Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+            try (FileChannel destino = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                long tamano = canal.size();
+                for (long posicion = desde; posicion < tamano; ) {
+                    posicion += canal.transferTo(posicion, tamano - posicion, destino);
+                }
+                destino.force(true);
+            }
+            canal.close();
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            forzarDirectorio(archivo);
+            canal = FileChannel.open(archivo, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            canal.position(canal.size());
+        } catch (IOException e) {
+            synchronized (monitor) {
+                error = e;
+            }
+            throw e;
+        } finally {
+            synchronized (monitor) {
+                pausada = false;
+                monitor.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Obtiene el bloqueo que toma cada modificación mientras publica su instantánea y se anota. Lo comparten
+     * todas las instancias de {@link model.SGMMS} que anotan en esta bitácora. Mientras se tiene no se debe
+     * esperar ningún otro bloqueo, porque un corte en espera detiene a las anotaciones nuevas.
+     *
+     * @return El bloqueo de lectura del corte.
+     */
+    public Lock bloqueoAnotacion() {
+        return corte.readLock();
+    }
+
+    /**
+     * Obtiene el bloqueo que excluye a todas las anotaciones en curso. Un punto de control lo toma para leer
+     * el último LSN y la instantánea en un mismo corte, de modo que la instantánea contiene exactamente las
+     * operaciones hasta ese LSN.
+     *
+     * @return El bloqueo de escritura del corte.
+     */
+    public Lock bloqueoCorte() {
+        return corte.writeLock();
+    }
+
+    public Path getArchivo() {
+        return archivo;
+    }
+
+    public boolean isSincrona() {
+        return sincrona;
+    }
+
+    /**
+     * Escribe las operaciones pendientes y cierra el archivo. Las operaciones anotadas después no se aceptan.
+     *
+     * @throws IOException Si la última escritura o el cierre fallan.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (monitor) {
+            if (cerrada) {
+                return;
+            }
+            cerrada = true;
+            monitor.notifyAll();
+        }
+        boolean interrumpido = false;
+        while (escritor.isAlive()) {
+            try {
+                escritor.join();
+            } catch (InterruptedException e) {
+                interrumpido = true;
+            }
+        }
+        if (interrumpido) {
+            Thread.currentThread().interrupt();
+        }
+        canal.close();
+        synchronized (monitor) {
+            if (error != null) {
+                throw error;
+            }
+        }
+    }
+
+    private void verificarAbierta() {
+        if (error != null) {
+            throw new UncheckedIOException("La bitácora dejó de aceptar operaciones por un error de escritura.", error);
+        }
+        if (cerrada) {
+            throw new IllegalStateException("La bitácora está cerrada.");
+        }
+    }
+
+    /**
+     * Ciclo del hilo escritor: toma todos los registros pendientes, los escribe juntos, sincroniza el archivo
+     * una sola vez y avisa a quienes esperan. Termina al cerrar la bitácora, después de vaciar la cola.
+     */
+    private void escribir() {
+        boolean interrumpido = false;
+        while (true) {
+            List<ByteBuffer> lote;
+            long hasta;
+            synchronized (monitor) {
+                while ((pendientes.isEmpty() && !cerrada) || pausada) {
+                    // Solo se termina al cerrar la bitácora: una interrupción se recuerda y se sigue esperando
+                    interrumpido |= esperarAviso();
+                }
+                if (pendientes.isEmpty() || error != null) {
+                    monitor.notifyAll();
+                    if (interrumpido) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return;
+                }
+                lote = pendientes;
+                pendientes = new ArrayList<>();
+                hasta = ultimoLsn;
+                escribiendo = true;
+            }
+            try {
+                ByteBuffer[] registros = lote.toArray(new ByteBuffer[0]);
+                long restantes = 0;
+                for (ByteBuffer registro : registros) {
+                    restantes += registro.remaining();
+                }
+                while (restantes > 0) {
+                    restantes -= canal.write(registros);
+                }
+                canal.force(false);
+            } catch (IOException e) {
+                synchronized (monitor) {
+                    error = e;
+                    escribiendo = false;
+                    monitor.notifyAll();
+                }
+                return;
+            }
+            synchronized (monitor) {
+                lsnDurable = hasta;
+                escribiendo = false;
+                monitor.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Espera un aviso del monitor. Una interrupción no se vuelve a marcar en el hilo, porque el siguiente
+     * {@code wait} fallaría de inmediato y el ciclo que espera giraría sin pausa: quien lo invoca la recuerda
+     * y la restaura al salir del ciclo, como {@link #esperar(long)}. Quien lo invoca debe tener el monitor.
+     *
+     * @return {@code true} si la espera terminó por una interrupción.
+     */
+    private boolean esperarAviso() {
+        try {
+            monitor.wait();
+            return false;
+        } catch (InterruptedException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Sincroniza con el disco el directorio de un archivo recién reemplazado con {@code ATOMIC_MOVE}: sin esto
+     * el cambio de nombre puede no ser durable, y tras una caída el directorio podría mostrar la bitácora ya
+     * recortada junto al punto de control anterior. En Windows un directorio no se puede abrir como canal y el
+     * cambio de nombre ya es durable al volver, así que no hace nada.
+     *
+     * @param archivo El archivo reemplazado.
+     * @throws IOException Si el directorio no se puede sincronizar.
+     */
+    static void forzarDirectorio(Path archivo) throws IOException {
+        Path directorio = archivo.toAbsolutePath().getParent();
+        if (directorio == null || System.getProperty("os.name", "").startsWith("Windows")) {
+            return;
+        }
+        try (FileChannel canal = FileChannel.open(directorio, StandardOpenOption.READ)) {
+            canal.force(true);
+        }
+    }
+
+    /**
+     * Recorre el archivo desde el principio y devuelve el largo del prefijo válido y la posición del primer
+     * registro con LSN mayor que {@code desdeLsn}. Si se pide decodificar, devuelve también esas operaciones.
+     */
+    private static Lectura leerArchivo(Path archivo, long desdeLsn, boolean decodificar) throws IOException {
+        Lectura lectura = new Lectura();
+        try (InputStream entrada = Files.newInputStream(archivo);
+             DataInputStream datos = new DataInputStream(new BufferedInputStream(entrada))) {
+            while (true) {
+                int longitud;
+                int crcEsperado;
+                byte[] contenido;
+                try {
+                    longitud = datos.readInt();
+                    crcEsperado = datos.readInt();
+                    if (longitud < Long.BYTES || longitud > MAXIMO_REGISTRO) {
+                        return lectura;
+                    }
+                    contenido = new byte[longitud];
+                    datos.readFully(contenido);
+                } catch (EOFException e) {
+                    return lectura;
+                }
+                CRC32 crc = new CRC32();
+                crc.update(contenido);
+                if ((int) crc.getValue() != crcEsperado) {
+                    return lectura;
+                }
+                ByteBuffer registro = ByteBuffer.wrap(contenido);
+                long lsn = registro.getLong();
+                if (lsn <= lectura.ultimoLsn) {
+                    return lectura;
+                }
+                if (lsn > desdeLsn) {
+                    if (lectura.inicioPosteriores < 0) {
+                        lectura.inicioPosteriores = lectura.bytesValidos;
+                    }
+                    if (decodificar) {
+                        Operacion operacion = GSON.fromJson(new String(contenido, Long.BYTES, longitud - Long.BYTES,
+                                StandardCharsets.UTF_8), Operacion.class);
+                        operacion.setLsn(lsn);
+                        lectura.operaciones.add(operacion);
+                    }
+                }
+                lectura.ultimoLsn = lsn;
+                lectura.bytesValidos += CABECERA + longitud;
+            }
+        }
+    }
+
+    /**
+     * Resultado de recorrer un archivo de bitácora.
+     */
+    private static final class Lectura {
+        private final List<Operacion> operaciones = new ArrayList<>();
+        private long ultimoLsn;
+        private long bytesValidos;
+        /**
+         * Posición del primer registro posterior al LSN pedido, o -1 si no hay ninguno.
+         */
+        private long inicioPosteriores = -1;
+    }
+}
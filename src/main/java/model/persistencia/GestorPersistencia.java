@@ -0,0 +1,265 @@
+package model.persistencia;
+
+import model.Conductor;
+import model.Instantanea;
+import model.Pasajero;
+import model.PersonaData;
+import model.Ruta;
+import model.SGMMS;
+import model.exceptions.DataNotFoundException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Persistencia de un {@link SGMMS} en un directorio, con un punto de control y una {@link Bitacora}.
+ * <p>
+ * Al abrir, el sistema se recupera importando el último punto de control y reproduciendo solo las operaciones
+ * de la bitácora posteriores a él. Cada punto de control nuevo descarta de la bitácora las operaciones que ya
+ * contiene, así que el tiempo de arranque depende de lo ocurrido desde el último punto de control y no de toda
+ * la historia. Los puntos de control se pueden guardar a pedido o periódicamente en segundo plano.
+ */
+public class GestorPersistencia implements Closeable {
+
+    /**
+     * Nombre del archivo del punto de control dentro del directorio.
+     */
+    public static final String ARCHIVO_PUNTO_CONTROL = "punto_control.json";
+    /**
+     * Nombre del archivo de la bitácora dentro del directorio.
+     */
+    public static final String ARCHIVO_BITACORA = "bitacora.wal";
+
+    private final SGMMS sgmms;
+    private final Path archivoPuntoControl;
+    private final Bitacora bitacora;
+    private final int operacionesReproducidas;
+    private ScheduledExecutorService programador;
+    /**
+     * LSN del último punto de control guardado.
+     */
+    private long lsnPuntoControl;
+    /**
+     * Falla del último punto de control periódico, o {@code null} si se guardó bien.
+     */
+    private volatile Exception ultimoError;
+
+    private GestorPersistencia(SGMMS sgmms, Path archivoPuntoControl, Bitacora bitacora, long lsnPuntoControl,
+                               int operacionesReproducidas) {
+        this.sgmms = sgmms;
+        this.archivoPuntoControl = archivoPuntoControl;
+        this.bitacora = bitacora;
+        this.lsnPuntoControl = lsnPuntoControl;
+        this.operacionesReproducidas = operacionesReproducidas;
+    }
+
+    /**
+     * Recupera en un sistema vacío los datos guardados en el directorio y le asigna la bitácora del directorio,
+     * para que anote desde ahora todas sus modificaciones. Si el directorio no existe, se crea vacío.
+     *
+     * @param sgmms      El sistema a recuperar, sin entidades registradas.
+     * @param directorio El directorio de la persistencia.
+     * @param sincrona   {@code true} para que cada modificación espere a estar en el disco antes de terminar.
+     * @return El gestor de la persistencia del sistema.
+     * @throws IOException Si los archivos no se pueden leer o abrir.
+     */
+    public static GestorPersistencia abrir(SGMMS sgmms, Path directorio, boolean sincrona) throws IOException {
+        Files.createDirectories(directorio);
+        Path archivoPuntoControl = directorio.resolve(ARCHIVO_PUNTO_CONTROL);
+        Path archivoBitacora = directorio.resolve(ARCHIVO_BITACORA);
+
+        PuntoControl puntoControl = PuntoControl.leer(archivoPuntoControl);
+        long lsnPuntoControl = 0;
+        if (puntoControl != null) {
+            sgmms.importar(puntoControl.getDatos());
+            lsnPuntoControl = puntoControl.getLsn();
+        }
+        List<Operacion> operaciones = Bitacora.leer(archivoBitacora, lsnPuntoControl);
+        for (Operacion operacion : operaciones) {
+            reproducir(sgmms, operacion);
+        }
+
+        Bitacora bitacora = Bitacora.abrir(archivoBitacora, sincrona, lsnPuntoControl);
+        sgmms.setBitacora(bitacora);
+        return new GestorPersistencia(sgmms, archivoPuntoControl, bitacora, lsnPuntoControl, operaciones.size());
+    }
+
+    /**
+     * Aplica al sistema una operación leída de la bitácora.
+     * <p>
+     * El punto de control contiene exactamente las operaciones hasta su LSN (ver {@link #guardarPuntoControl()}),
+     * así que cada operación posterior se aplica sobre el mismo estado que en el sistema original, donde se
+     * anotó solo después de aplicarse bien. Una operación que falla indica que la bitácora no corresponde al
+     * punto de control, y la recuperación se detiene en lugar de continuar con un estado distinto.
+     *
+     * @param sgmms     El sistema en recuperación, todavía sin bitácora.
+     * @param operacion La operación a aplicar.
+     * @throws IOException Si la operación no se puede aplicar.
+     */
+    static void reproducir(SGMMS sgmms, Operacion operacion) throws IOException {
+        try {
+            switch (operacion.getTipo()) {
+                case REGISTRAR_RUTA -> sgmms.registrarRuta(operacion.getRuta());
+                case ELIMINAR_RUTA -> sgmms.eliminarRuta(operacion.getId());
+                case REGISTRAR_INCIDENTE -> sgmms.registrarIncidente(operacion.getIncidente());
+                case ACTUALIZAR_ESTADO_INCIDENTE -> sgmms.actualizarEstadoIncidente(operacion.getId(), operacion.getEstado());
+                case REGISTRAR_PASAJERO -> {
+                    PersonaData datos = operacion.getPersona();
+                    Pasajero pasajero = new Pasajero(datos.getId(), datos.getNombre(), datos.getContacto());
+                    if (operacion.getIdRuta() != null) {
+                        pasajero.setRutaAsignada(buscarRuta(sgmms, operacion.getIdRuta()));
+                    }
+                    sgmms.registrarPersona(pasajero);
+                }
+                case REGISTRAR_CONDUCTOR -> {
+                    PersonaData datos = operacion.getPersona();
+                    sgmms.registrarPersona(new Conductor(datos.getId(), datos.getNombre(), datos.getContacto(),
+                            datos.getVehiculoAsignado(), datos.getEstado()));
+                }
+                case ELIMINAR_PERSONA -> sgmms.eliminarPersona(operacion.getId());
+                case ACTUALIZAR_ESTADO_CONDUCTOR -> sgmms.actualizarEstadoConductor(operacion.getId(), operacion.getEstado());
+                case REASIGNAR_PASAJERO -> sgmms.reasignarPasajero(operacion.getId(), operacion.getIdRuta());
+                case IMPORTAR -> sgmms.importar(operacion.getDatos());
+            }
+        } catch (IllegalArgumentException | DataNotFoundException e) {
+            throw new IOException("La operación " + operacion.getLsn() + " (" + operacion.getTipo()
+                    + ") de la bitácora no se puede reproducir sobre el punto de control: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Busca una ruta para asignarla a un pasajero reproducido; si ya no existe, el pasajero queda sin ruta,
+     * igual que al importar.
+     */
+    private static Ruta buscarRuta(SGMMS sgmms, String id) {
+        try {
+            return sgmms.buscarRuta(id);
+        } catch (DataNotFoundException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Guarda un punto de control con el contenido actual del sistema y descarta de la bitácora las operaciones
+     * que incluye. Si no hubo modificaciones desde el último punto de control, no hace nada.
+     *
+     * @return El LSN del punto de control.
+     * @throws IOException Si el punto de control no se puede guardar o la bitácora no se puede reescribir.
+     */
+    public synchronized long guardarPuntoControl() throws IOException {
+        // El LSN y la instantánea se leen en el mismo corte: como cada modificación se publica y se anota con
+        // el bloqueo de anotación, la instantánea contiene exactamente las operaciones hasta ese LSN
+        long lsn;
+        Instantanea instantanea;
+        Lock corte = bitacora.bloqueoCorte();
+        corte.lock();
+        try {
+            lsn = bitacora.getUltimoLsn();
+            instantanea = sgmms.instantanea();
+        } finally {
+            corte.unlock();
+        }
+        if (lsn == lsnPuntoControl) {
+            return lsn;
+        }
+        bitacora.esperar(lsn);
+        new PuntoControl(lsn, sgmms.exportar(instantanea)).guardar(archivoPuntoControl);
+        lsnPuntoControl = lsn;
+        bitacora.descartarHasta(lsn);
+        return lsn;
+    }
+
+    /**
+     * Guarda un punto de control en segundo plano cada cierto intervalo, reemplazando la programación anterior.
+     *
+     * @param intervalo El intervalo entre puntos de control.
+     * @param unidad    La unidad del intervalo.
+     * @throws IllegalArgumentException Si el intervalo no es positivo.
+     */
+    public synchronized void programarPuntosControl(long intervalo, TimeUnit unidad) {
+        if (intervalo <= 0) {
+            throw new IllegalArgumentException("El intervalo entre puntos de control debe ser positivo.");
+        }
+        detenerProgramacion();
+        programador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "puntos-control");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        programador.scheduleWithFixedDelay(() -> {
+            try {
+                guardarPuntoControl();
+                ultimoError = null;
+            } catch (IOException | RuntimeException e) {
+                // Sin punto de control nuevo la bitácora sigue completa: se reintenta en el siguiente intervalo.
+                // Una excepción que escapara de la tarea cancelaría sin aviso todas las ejecuciones siguientes
+                ultimoError = e;
+            }
+        }, intervalo, intervalo, unidad);
+    }
+
+    /**
+     * Obtiene la cantidad de operaciones de la bitácora reproducidas al abrir.
+     *
+     * @return La cantidad de operaciones reproducidas.
+     */
+    public int getOperacionesReproducidas() {
+        return operacionesReproducidas;
+    }
+
+    /**
+     * Obtiene el LSN del último punto de control guardado o leído al abrir.
+     *
+     * @return El LSN del punto de control, o 0 si no hay ninguno.
+     */
+    public synchronized long getLsnPuntoControl() {
+        return lsnPuntoControl;
+    }
+
+    /**
+     * Obtiene la falla del último punto de control periódico, para que la interfaz la informe. Se borra
+     * cuando un punto de control periódico posterior se guarda bien.
+     *
+     * @return La excepción de la falla, o {@code null} si el último punto de control periódico se guardó.
+     */
+    public Exception getUltimoError() {
+        return ultimoError;
+    }
+
+    public Bitacora getBitacora() {
+        return bitacora;
+    }
+
+    /**
+     * Detiene los puntos de control periódicos, guarda uno final para que el próximo arranque no tenga que
+     * reproducir la bitácora y la cierra. El sistema deja de anotar sus modificaciones.
+     *
+     * @throws IOException Si el punto de control final o el cierre de la bitácora fallan.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        detenerProgramacion();
+        try {
+            guardarPuntoControl();
+        } finally {
+            sgmms.setBitacora(null);
+            bitacora.close();
+        }
+    }
+
+    private void detenerProgramacion() {
+        if (programador != null) {
+            // Sin interrumpir: una interrupción a mitad de una escritura cerraría el archivo de la bitácora
+            programador.shutdown();
+            programador = null;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package model.persistencia;
+
+import model.Conductor;
+import model.Incidente;
+import model.Pasajero;
+import model.Persona;
+import model.PersonaData;
+import model.Ruta;
+import model.SGMMSData;
+
+/**
+ * Modificación de {@link model.SGMMS} anotada en la {@link Bitacora}.
+ * Solo se completan los campos que usa su tipo; los demás quedan en {@code null}.
+ */
+public class Operacion {
+
+    /**
+     * Número de secuencia de la operación en la bitácora; lo asigna la bitácora al anotarla.
+     */
+    private transient long lsn;
+    private final TipoOperacion tipo;
+    /**
+     * Identificador de la entidad afectada, en eliminaciones, cambios de estado y reasignaciones.
+     */
+    private String id;
+    private String estado;
+    /**
+     * Identificador de la ruta de un pasajero, al registrarlo o reasignarlo.
+     */
+    private String idRuta;
+    private Ruta ruta;
+    private Incidente incidente;
+    private PersonaData persona;
+    private SGMMSData datos;
+
+    private Operacion(TipoOperacion tipo) {
+        this.tipo = tipo;
+    }
+
+    /**
+     * Crea la operación de registro de una ruta.
+     *
+     * @param ruta La ruta registrada.
+     * @return La operación.
+     */
+    public static Operacion registrarRuta(Ruta ruta) {
+        Operacion operacion = new Operacion(TipoOperacion.REGISTRAR_RUTA);
+        operacion.ruta = ruta;
+        return operacion;
+    }
+
+    /**
+     * Crea la operación de eliminación de una ruta.
+     *
+     * @param id El identificador de la ruta eliminada.
+     * @return La operación.
+     */
+    public static Operacion eliminarRuta(String id) {
+        Operacion operacion = new Operacion(TipoOperacion.ELIMINAR_RUTA);
+        operacion.id = id;
+        return operacion;
+    }
+
+    /**
+     * Crea la operación de registro de un incidente.
+     *
+     * @param incidente El incidente registrado.
+     * @return La operación.
+     */
+    public static Operacion registrarIncidente(Incidente incidente) {
+        Operacion operacion = new Operacion(TipoOperacion.REGISTRAR_INCIDENTE);
+        operacion.incidente = incidente;
+        return operacion;
+    }
+
+    /**
+     * Crea la operación de cambio de estado de un incidente.
+     *
+     * @param id     El identificador del incidente.
+     * @param estado El nuevo estado.
+     * @return La operación.
+     */
+    public static Operacion actualizarEstadoIncidente(String id, String estado) {
+        Operacion operacion = new Operacion(TipoOperacion.ACTUALIZAR_ESTADO_INCIDENTE);
+        operacion.id = id;
+        operacion.estado = estado;
+        return operacion;
+    }
+
+    /**
+     * Crea la operación de registro de una persona, según sea pasajero o conductor.
+     *
+     * @param persona La persona registrada.
+     * @return La operación.
+     * @throws IllegalArgumentException Si la persona no es pasajero ni conductor.
+     */
+    public static Operacion registrarPersona(Persona persona) {
+        PersonaData datosPersona = new PersonaData();
+        datosPersona.setId(persona.getId());
+        datosPersona.setNombre(persona.getNombre());
+        datosPersona.setContacto(persona.getContacto());
+        Operacion operacion;
+        if (persona instanceof Conductor) {
+            Conductor conductor = (Conductor) persona;
+            datosPersona.setVehiculoAsignado(conductor.getVehiculoAsignado());
+            datosPersona.setEstado(conductor.getEstado());
+            operacion = new Operacion(TipoOperacion.REGISTRAR_CONDUCTOR);
+        } else if (persona instanceof Pasajero) {
+            Ruta rutaAsignada = ((Pasajero) persona).getRutaAsignada();
+            operacion = new Operacion(TipoOperacion.REGISTRAR_PASAJERO);
+            operacion.idRuta = rutaAsignada == null ? null : rutaAsignada.getId();
+        } else {
+            throw new IllegalArgumentException("Tipo de persona no soportado: " + persona.getClass().getSimpleName());
+        }
+        operacion.persona = datosPersona;
+        return operacion;
+    }
+
+    /**
+     * Crea la operación de eliminación de una persona.
+     *
+     * @param id El identificador de la persona eliminada.
+     * @return La operación.
+     */
+    public static Operacion eliminarPersona(String id) {
+        Operacion operacion = new Operacion(TipoOperacion.ELIMINAR_PERSONA);
+        operacion.id = id;
+        return operacion;
+    }
+
+    /**
+     * Crea la operación de cambio de estado de un conductor.
+     *
+     * @param id     El identificador del conductor.
+     * @param estado El nuevo estado.
+     * @return La operación.
+     */
+    public static Operacion actualizarEstadoConductor(String id, String estado) {
+        Operacion operacion = new Operacion(TipoOperacion.ACTUALIZAR_ESTADO_CONDUCTOR);
+        operacion.id = id;
+        operacion.estado = estado;
+        return operacion;
+    }
+
+    /**
+     * Crea la operación de reasignación de ruta de un pasajero.
+     *
+     * @param idPasajero El identificador del pasajero.
+     * @param idRuta     El identificador de la nueva ruta.
+     * @return La operación.
+     */
+    public static Operacion reasignarPasajero(String idPasajero, String idRuta) {
+        Operacion operacion = new Operacion(TipoOperacion.REASIGNAR_PASAJERO);
+        operacion.id = idPasajero;
+        operacion.idRuta = idRuta;
+        return operacion;
+    }
+
+    /**
+     * Crea la operación de importación de datos.
+     *
+     * @param datos Los datos importados.
+     * @return La operación.
+     */
+    public static Operacion importar(SGMMSData datos) {
+        Operacion operacion = new Operacion(TipoOperacion.IMPORTAR);
+        operacion.datos = datos;
+        return operacion;
+    }
+
+    void setLsn(long lsn) {
+        this.lsn = lsn;
+    }
+
+    public long getLsn() {
+        return lsn;
+    }
+
+    public TipoOperacion getTipo() {
+        return tipo;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getEstado() {
+        return estado;
+    }
+
+    public String getIdRuta() {
+        return idRuta;
+    }
+
+    public Ruta getRuta() {
+        return ruta;
+    }
+
+    public Incidente getIncidente() {
+        return incidente;
+    }
+
+    public PersonaData getPersona() {
+        return persona;
+    }
+
+    public SGMMSData getDatos() {
+        return datos;
+    }
+}
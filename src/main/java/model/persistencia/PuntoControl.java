@@ -0,0 +1,81 @@
+package model.persistencia;
+
+import model.SGMMSData;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Punto de control: los datos exportados de {@link model.SGMMS} junto con el LSN de la última operación de la
+ * {@link Bitacora} que contienen. Para recuperar el sistema basta con importar los datos y reproducir las
+ * operaciones posteriores a ese LSN.
+ */
+public class PuntoControl {
+
+    private final long lsn;
+    private final SGMMSData datos;
+
+    /**
+     * Crea un punto de control.
+     *
+     * @param lsn   El LSN de la última operación incluida en los datos.
+     * @param datos Los datos exportados.
+     */
+    public PuntoControl(long lsn, SGMMSData datos) {
+        this.lsn = lsn;
+        this.datos = datos;
+    }
+
+    /**
+     * Guarda el punto de control en un archivo. Se escribe primero un archivo temporal, que se sincroniza con el
+     * disco y reemplaza al anterior de forma atómica, así que una caída nunca deja un punto de control a medias.
+     * Al volver, también el cambio de nombre es durable.
+     *
+     * @param archivo La ruta del archivo.
+     * @throws IOException Si ocurre un error de escritura.
+     */
+    public void guardar(Path archivo) throws IOException {
+        Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            Writer escritor = Channels.newWriter(canal, StandardCharsets.UTF_8);
+            Bitacora.GSON.toJson(this, escritor);
+            escritor.flush();
+            canal.force(true);
+        }
+        Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Bitacora.forzarDirectorio(archivo);
+    }
+
+    /**
+     * Lee el punto de control de un archivo.
+     *
+     * @param archivo La ruta del archivo.
+     * @return El punto de control, o {@code null} si el archivo no existe.
+     * @throws IOException Si ocurre un error de lectura.
+     */
+    public static PuntoControl leer(Path archivo) throws IOException {
+        if (!Files.exists(archivo)) {
+            return null;
+        }
+        try (Reader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            return Bitacora.GSON.fromJson(lector, PuntoControl.class);
+        }
+    }
+
+    public long getLsn() {
+        return lsn;
+    }
+
+    public SGMMSData getDatos() {
+        return datos;
+    }
+}
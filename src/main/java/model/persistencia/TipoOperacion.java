@@ -0,0 +1,47 @@
+package model.persistencia;
+
+/**
+ * Enumeración de las modificaciones de {@link model.SGMMS} que se anotan en la {@link Bitacora}.
+ */
+public enum TipoOperacion {
+    /**
+     * Registro de una ruta nueva.
+     */
+    REGISTRAR_RUTA,
+    /**
+     * Eliminación de una ruta.
+     */
+    ELIMINAR_RUTA,
+    /**
+     * Registro de un incidente nuevo.
+     */
+    REGISTRAR_INCIDENTE,
+    /**
+     * Cambio de estado de un incidente, hecho directamente o por un despacho.
+     */
+    ACTUALIZAR_ESTADO_INCIDENTE,
+    /**
+     * Registro de un pasajero nuevo.
+     */
+    REGISTRAR_PASAJERO,
+    /**
+     * Registro de un conductor nuevo.
+     */
+    REGISTRAR_CONDUCTOR,
+    /**
+     * Eliminación de una persona.
+     */
+    ELIMINAR_PERSONA,
+    /**
+     * Cambio de estado de un conductor, hecho directamente o por un despacho.
+     */
+    ACTUALIZAR_ESTADO_CONDUCTOR,
+    /**
+     * Asignación de otra ruta a un pasajero.
+     */
+    REASIGNAR_PASAJERO,
+    /**
+     * Reemplazo de todos los datos por los de una importación.
+     */
+    IMPORTAR
+}
@@ -0,0 +1,229 @@
+package model.persistente;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Colección de entidades con identificador que publica versiones inmutables de su contenido.
+ * <p>
+ * Los elementos se guardan en un {@link VectorPersistente} en el orden en que se agregan. Una baja deja un
+ * hueco en su posición en lugar de desplazar a los siguientes, así que agregar y eliminar cuestan O(log32 n),
+ * y cuando los huecos superan a los elementos vivos el vector se compacta en O(n). Obtener la versión actual
+ * con {@link #vista()} cuesta O(1) y la vista no cambia aunque la colección se siga modificando.
+ * <p>
+ * Si las entidades cambian en el lugar, la colección se crea con una función de copia: las vistas guardan
+ * copias tomadas al agregar cada entidad o al {@linkplain #actualizar(Object) actualizarla}, de modo que los
+ * cambios posteriores de la entidad original no se ven en las vistas ya publicadas.
+ * <p>
+ * La colección no es segura para modificaciones concurrentes: quien la usa debe serializar las escrituras.
+ * Las vistas, en cambio, se pueden leer desde cualquier hilo una vez publicadas.
+ *
+ * @param <T> El tipo de las entidades.
+ */
+public class ColeccionVersionada<T> {
+
+    /**
+     * Cantidad mínima de huecos antes de considerar una compactación, para no compactar colecciones pequeñas.
+     */
+    private static final int HUECOS_MINIMOS = 64;
+
+    private final Function<? super T, String> identificador;
+    private final UnaryOperator<T> copiar;
+    private final Map<String, Integer> posiciones = new HashMap<>();
+    private VectorPersistente<T> vector = VectorPersistente.vacio();
+    private int huecos;
+    private Collection<T> vista;
+
+    /**
+     * Crea una colección vacía.
+     *
+     * @param identificador Función que obtiene el identificador de cada entidad.
+     */
+    public ColeccionVersionada(Function<? super T, String> identificador) {
+        this(identificador, UnaryOperator.identity());
+    }
+
+    /**
+     * Crea una colección vacía que guarda en sus vistas copias de las entidades.
+     *
+     * @param identificador Función que obtiene el identificador de cada entidad.
+     * @param copiar        Función que copia una entidad en el estado en que está al llamarla.
+     */
+    public ColeccionVersionada(Function<? super T, String> identificador, UnaryOperator<T> copiar) {
+        this.identificador = identificador;
+        this.copiar = copiar;
+    }
+
+    /**
+     * Agrega una entidad al final de la colección.
+     *
+     * @param elemento La entidad a agregar.
+     * @throws IllegalArgumentException Si ya hay una entidad con el mismo identificador.
+     */
+    public void agregar(T elemento) {
+        String id = identificador.apply(elemento);
+        if (posiciones.putIfAbsent(id, vector.longitud()) != null) {
+            throw new IllegalArgumentException("Ya existe un elemento con ID '" + id + "'.");
+        }
+        vector = vector.agregar(copiar.apply(elemento));
+        vista = null;
+    }
+
+    /**
+     * Vuelve a copiar una entidad que cambió en el lugar, en la misma posición, en O(log32 n). Las vistas
+     * obtenidas antes conservan la copia anterior.
+     *
+     * @param elemento La entidad modificada.
+     * @return {@code true} si se actualizó; {@code false} si no hay una entidad con su identificador.
+     */
+    public boolean actualizar(T elemento) {
+        Integer posicion = posiciones.get(identificador.apply(elemento));
+        if (posicion == null) {
+            return false;
+        }
+        vector = vector.reemplazar(posicion, copiar.apply(elemento));
+        vista = null;
+        return true;
+    }
+
+    /**
+     * Elimina la entidad con el identificador dado.
+     *
+     * @param id El identificador de la entidad.
+     * @return {@code true} si se eliminó; {@code false} si no existía.
+     */
+    public boolean eliminar(String id) {
+        Integer posicion = posiciones.remove(id);
+        if (posicion == null) {
+            return false;
+        }
+        vector = vector.reemplazar(posicion, null);
+        huecos++;
+        if (huecos >= HUECOS_MINIMOS && huecos > posiciones.size()) {
+            compactar();
+        }
+        vista = null;
+        return true;
+    }
+
+    /**
+     * Reemplaza todo el contenido por las entidades dadas, en orden, por ejemplo después de reordenar
+     * la lista de la que se copian o al importar datos.
+     *
+     * @param elementos Las entidades nuevas.
+     * @throws IllegalArgumentException Si dos entidades tienen el mismo identificador.
+     */
+    public void reemplazarTodo(Iterable<? extends T> elementos) {
+        List<T> copia = new ArrayList<>();
+        Map<String, Integer> nuevas = new HashMap<>();
+        for (T elemento : elementos) {
+            String id = identificador.apply(elemento);
+            if (nuevas.putIfAbsent(id, copia.size()) != null) {
+                throw new IllegalArgumentException("Ya existe un elemento con ID '" + id + "'.");
+            }
+            copia.add(copiar.apply(elemento));
+        }
+        posiciones.clear();
+        posiciones.putAll(nuevas);
+        vector = VectorPersistente.de(copia);
+        huecos = 0;
+        vista = null;
+    }
+
+    /**
+     * Devuelve la cantidad de entidades de la colección.
+     *
+     * @return La cantidad de entidades.
+     */
+    public int size() {
+        return posiciones.size();
+    }
+
+    /**
+     * Devuelve la versión actual del contenido en O(1). La vista es inmutable: no refleja los cambios
+     * posteriores de la colección.
+     *
+     * @return Una vista no modificable de las entidades, en orden de inserción.
+     */
+    public Collection<T> vista() {
+        if (vista == null) {
+            vista = new Vista<>(vector, posiciones.size());
+        }
+        return vista;
+    }
+
+    /**
+     * Reconstruye el vector sin huecos y recalcula las posiciones.
+     */
+    private void compactar() {
+        List<T> vivos = new ArrayList<>(posiciones.size());
+        for (T elemento : vector) {
+            if (elemento != null) {
+                posiciones.put(identificador.apply(elemento), vivos.size());
+                vivos.add(elemento);
+            }
+        }
+        vector = VectorPersistente.de(vivos);
+        huecos = 0;
+    }
+
+    /**
+     * Versión inmutable del contenido: recorre el vector saltando los huecos.
+     */
+    private static final class Vista<T> extends AbstractCollection<T> {
+
+        private final VectorPersistente<T> vector;
+        private final int cantidad;
+
+        private Vista(VectorPersistente<T> vector, int cantidad) {
+            this.vector = vector;
+            this.cantidad = cantidad;
+        }
+
+        @Override
+        public int size() {
+            return cantidad;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            Iterator<T> base = vector.iterator();
+            return new Iterator<T>() {
+                private T siguiente = avanzar();
+
+                private T avanzar() {
+                    while (base.hasNext()) {
+                        T elemento = base.next();
+                        if (elemento != null) {
+                            return elemento;
+                        }
+                    }
+                    return null;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return siguiente != null;
+                }
+
+                @Override
+                public T next() {
+                    if (siguiente == null) {
+                        throw new NoSuchElementException();
+                    }
+                    T actual = siguiente;
+                    siguiente = avanzar();
+                    return actual;
+                }
+            };
+        }
+    }
+}
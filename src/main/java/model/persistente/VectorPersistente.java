@@ -0,0 +1,249 @@
+package model.persistente;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Vector inmutable con copia de caminos (trie de 32 ramas con cola aparte).
+ * <p>
+ * Cada modificación devuelve un vector nuevo que comparte con el anterior todos los nodos que no cambiaron:
+ * agregar al final o reemplazar una posición copia solo el camino desde la raíz hasta la hoja, es decir
+ * O(log32 n) nodos, y los últimos elementos se guardan en una cola que se copia sin tocar el árbol.
+ * Como ninguna versión se modifica después de creada, cualquier hilo puede leer una versión mientras
+ * otro construye las siguientes.
+ *
+ * @param <T> El tipo de los elementos. Se admiten elementos {@code null}.
+ */
+public final class VectorPersistente<T> implements Iterable<T> {
+
+    private static final int BITS = 5;
+    private static final int ANCHO = 1 << BITS;
+    private static final int MASCARA = ANCHO - 1;
+
+    private static final VectorPersistente<?> VACIO = new VectorPersistente<>(0, BITS, new Object[ANCHO], new Object[0]);
+
+    private final int longitud;
+    /**
+     * Desplazamiento de bits del nivel de la raíz; las hojas están en el nivel 0.
+     */
+    private final int desplazamiento;
+    private final Object[] raiz;
+    /**
+     * Últimos elementos del vector, que todavía no forman una hoja completa del árbol.
+     */
+    private final Object[] cola;
+
+    private VectorPersistente(int longitud, int desplazamiento, Object[] raiz, Object[] cola) {
+        this.longitud = longitud;
+        this.desplazamiento = desplazamiento;
+        this.raiz = raiz;
+        this.cola = cola;
+    }
+
+    /**
+     * Devuelve el vector vacío.
+     *
+     * @param <T> El tipo de los elementos.
+     * @return El vector vacío, compartido por todos los tipos.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> VectorPersistente<T> vacio() {
+        return (VectorPersistente<T>) VACIO;
+    }
+
+    /**
+     * Construye un vector con los elementos dados, en orden, armando el árbol de abajo hacia arriba en O(n).
+     *
+     * @param elementos Los elementos del vector.
+     * @param <T>       El tipo de los elementos.
+     * @return Un vector nuevo con los elementos.
+     */
+    public static <T> VectorPersistente<T> de(Iterable<? extends T> elementos) {
+        Object[] todos = new Object[16];
+        int n = 0;
+        for (T elemento : elementos) {
+            if (n == todos.length) {
+                todos = Arrays.copyOf(todos, n * 2);
+            }
+            todos[n++] = elemento;
+        }
+        if (n == 0) {
+            return vacio();
+        }
+        int inicioCola = inicioCola(n);
+        Object[] cola = Arrays.copyOfRange(todos, inicioCola, n);
+
+        // Hojas completas, agrupadas de a 32 por nivel hasta que quede un solo nodo raíz
+        Object[] nivel = new Object[inicioCola >>> BITS];
+        for (int i = 0; i < nivel.length; i++) {
+            nivel[i] = Arrays.copyOfRange(todos, i << BITS, (i + 1) << BITS);
+        }
+        int desplazamiento = BITS;
+        while (nivel.length > ANCHO) {
+            Object[] superior = new Object[(nivel.length + MASCARA) >>> BITS];
+            for (int i = 0; i < superior.length; i++) {
+                superior[i] = Arrays.copyOf(Arrays.copyOfRange(nivel, i << BITS, Math.min(nivel.length, (i + 1) << BITS)), ANCHO);
+            }
+            nivel = superior;
+            desplazamiento += BITS;
+        }
+        return new VectorPersistente<>(n, desplazamiento, Arrays.copyOf(nivel, ANCHO), cola);
+    }
+
+    /**
+     * Devuelve la cantidad de posiciones del vector.
+     *
+     * @return La longitud del vector.
+     */
+    public int longitud() {
+        return longitud;
+    }
+
+    /**
+     * Obtiene el elemento de una posición en O(log32 n).
+     *
+     * @param indice La posición del elemento.
+     * @return El elemento de la posición.
+     * @throws IndexOutOfBoundsException Si la posición está fuera del vector.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int indice) {
+        return (T) hojaDe(indice)[indice & MASCARA];
+    }
+
+    /**
+     * Devuelve un vector nuevo con un elemento agregado al final. Este vector no cambia.
+     *
+     * @param elemento El elemento a agregar.
+     * @return El vector nuevo.
+     */
+    public VectorPersistente<T> agregar(T elemento) {
+        if (longitud - inicioCola(longitud) < ANCHO) {
+            Object[] nuevaCola = Arrays.copyOf(cola, cola.length + 1);
+            nuevaCola[cola.length] = elemento;
+            return new VectorPersistente<>(longitud + 1, desplazamiento, raiz, nuevaCola);
+        }
+        // La cola está llena: pasa al árbol como una hoja y se empieza una cola nueva
+        Object[] nuevaRaiz;
+        int nuevoDesplazamiento = desplazamiento;
+        if ((longitud >>> BITS) > (1 << desplazamiento)) {
+            nuevaRaiz = new Object[ANCHO];
+            nuevaRaiz[0] = raiz;
+            nuevaRaiz[1] = camino(desplazamiento, cola);
+            nuevoDesplazamiento += BITS;
+        } else {
+            nuevaRaiz = empujarCola(desplazamiento, raiz, cola);
+        }
+        return new VectorPersistente<>(longitud + 1, nuevoDesplazamiento, nuevaRaiz, new Object[]{elemento});
+    }
+
+    /**
+     * Devuelve un vector nuevo con el elemento de una posición reemplazado. Este vector no cambia.
+     *
+     * @param indice   La posición a reemplazar.
+     * @param elemento El elemento nuevo.
+     * @return El vector nuevo.
+     * @throws IndexOutOfBoundsException Si la posición está fuera del vector.
+     */
+    public VectorPersistente<T> reemplazar(int indice, T elemento) {
+        if (indice < 0 || indice >= longitud) {
+            throw new IndexOutOfBoundsException("Índice fuera de rango: " + indice);
+        }
+        if (indice >= inicioCola(longitud)) {
+            Object[] nuevaCola = cola.clone();
+            nuevaCola[indice & MASCARA] = elemento;
+            return new VectorPersistente<>(longitud, desplazamiento, raiz, nuevaCola);
+        }
+        return new VectorPersistente<>(longitud, desplazamiento, reemplazar(desplazamiento, raiz, indice, elemento), cola);
+    }
+
+    /**
+     * Recorre el vector hoja por hoja, sin volver a descender desde la raíz en cada elemento.
+     *
+     * @return Un iterador sobre los elementos, en orden.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int siguiente;
+            private Object[] hoja;
+
+            @Override
+            public boolean hasNext() {
+                return siguiente < longitud;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (siguiente >= longitud) {
+                    throw new NoSuchElementException();
+                }
+                if ((siguiente & MASCARA) == 0) {
+                    hoja = hojaDe(siguiente);
+                }
+                return (T) hoja[siguiente++ & MASCARA];
+            }
+        };
+    }
+
+    /**
+     * Posición del primer elemento guardado en la cola para un vector de la longitud dada.
+     */
+    private static int inicioCola(int longitud) {
+        return longitud < ANCHO ? 0 : ((longitud - 1) >>> BITS) << BITS;
+    }
+
+    private Object[] hojaDe(int indice) {
+        if (indice < 0 || indice >= longitud) {
+            throw new IndexOutOfBoundsException("Índice fuera de rango: " + indice);
+        }
+        if (indice >= inicioCola(longitud)) {
+            return cola;
+        }
+        Object[] nodo = raiz;
+        for (int nivel = desplazamiento; nivel > 0; nivel -= BITS) {
+            nodo = (Object[]) nodo[(indice >>> nivel) & MASCARA];
+        }
+        return nodo;
+    }
+
+    /**
+     * Copia el camino hasta la primera hoja libre y cuelga de él la cola llena.
+     */
+    private Object[] empujarCola(int nivel, Object[] padre, Object[] hoja) {
+        int posicion = ((longitud - 1) >>> nivel) & MASCARA;
+        Object[] copia = padre.clone();
+        if (nivel == BITS) {
+            copia[posicion] = hoja;
+        } else {
+            Object[] hijo = (Object[]) padre[posicion];
+            copia[posicion] = hijo != null ? empujarCola(nivel - BITS, hijo, hoja) : camino(nivel - BITS, hoja);
+        }
+        return copia;
+    }
+
+    /**
+     * Crea una rama nueva de la altura indicada que termina en la hoja dada.
+     */
+    private static Object[] camino(int nivel, Object[] hoja) {
+        if (nivel == 0) {
+            return hoja;
+        }
+        Object[] nodo = new Object[ANCHO];
+        nodo[0] = camino(nivel - BITS, hoja);
+        return nodo;
+    }
+
+    private static Object[] reemplazar(int nivel, Object[] nodo, int indice, Object elemento) {
+        Object[] copia = nodo.clone();
+        if (nivel == 0) {
+            copia[indice & MASCARA] = elemento;
+        } else {
+            int posicion = (indice >>> nivel) & MASCARA;
+            copia[posicion] = reemplazar(nivel - BITS, (Object[]) nodo[posicion], indice, elemento);
+        }
+        return copia;
+    }
+}
@@ -14,6 +14,8 @@ public class Main {
     private final Controller controller;
     private final Scanner sc;
     private static final String JSON_FILE_PATH = "docs/datos_sgmms.json";
+    private static final String PERSISTENCIA_PATH = "docs/persistencia";
+    private static final long SEGUNDOS_ENTRE_PUNTOS_CONTROL = 60;
 
     public Main() {
         controller = new Controller();
@@ -27,8 +29,20 @@ public class Main {
     }
 
     public void start() {
+        try {
+            System.out.println(controller.activarPersistencia(PERSISTENCIA_PATH, SEGUNDOS_ENTRE_PUNTOS_CONTROL));
+        } catch (IOException e) {
+            System.err.println("Error al recuperar los datos guardados: " + e.getMessage());
+        }
         boolean running = true;
+        String errorPersistencia = "";
         while (running) {
+            // Los puntos de control se guardan en segundo plano: sus fallas se informan entre una opción y otra
+            String error = controller.obtenerErrorPersistencia();
+            if (!error.isEmpty() && !error.equals(errorPersistencia)) {
+                System.err.println(error);
+            }
+            errorPersistencia = error;
             System.out.println("\n*** SGMMS - Menú ***");
             System.out.println("1. Registrar ruta");
             System.out.println("2. Registrar incidente");
@@ -65,6 +79,11 @@ public class Main {
                 default -> System.out.println("Opción no válida.");
             }
         }
+        try {
+            controller.cerrarPersistencia();
+        } catch (IOException e) {
+            System.err.println("Error al guardar el punto de control: " + e.getMessage());
+        }
         System.out.println("Saliendo... ¡Adiós!");
     }
 
@@ -0,0 +1,31 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DiccionarioTest {
+
+    @Test
+    public void testDevuelveLaPrimeraInstancia() {
+        Diccionario diccionario = new Diccionario("pendiente");
+        String centro = new String("Centro");
+        assertSame(centro, diccionario.canonica(centro));
+        assertSame(centro, diccionario.canonica(new String("Centro")));
+        assertSame("pendiente", diccionario.canonica(new String("pendiente")));
+        assertNull(diccionario.canonica(null));
+        assertEquals(2, diccionario.size());
+    }
+
+    @Test
+    public void testNoGuardaValoresNuevosSiEstaLleno() {
+        Diccionario diccionario = new Diccionario(1);
+        String norte = new String("Norte");
+        String sur = new String("Sur");
+        assertSame(norte, diccionario.canonica(norte));
+        assertSame(sur, diccionario.canonica(sur));
+        assertNotSame(sur, diccionario.canonica(new String("Sur")));
+        assertSame(norte, diccionario.canonica(new String("Norte")));
+        assertEquals(1, diccionario.size());
+        assertThrows(IllegalArgumentException.class, () -> new Diccionario(-1));
+    }
+}
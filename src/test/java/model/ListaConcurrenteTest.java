@@ -0,0 +1,118 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+public class ListaConcurrenteTest {
+
+    @Test
+    public void testInsercionesConcurrentes() throws InterruptedException {
+        ListaConcurrente<Integer> lista = new ListaConcurrente<>();
+        int hilos = 4;
+        int porHilo = 20_000;
+        Thread[] productores = new Thread[hilos];
+        for (int h = 0; h < hilos; h++) {
+            int base = h * porHilo;
+            productores[h] = new Thread(() -> {
+                for (int i = 0; i < porHilo; i++) {
+                    lista.addLast(base + i);
+                }
+            });
+            productores[h].start();
+        }
+        // Lectura concurrente mientras se inserta: no debe fallar
+        long vistos = lista.stream().count();
+        assertTrue(vistos <= hilos * porHilo);
+        for (Thread productor : productores) {
+            productor.join();
+        }
+
+        assertEquals(hilos * porHilo, lista.size());
+        Set<Integer> valores = new HashSet<>();
+        for (int valor : lista) {
+            valores.add(valor);
+        }
+        assertEquals(hilos * porHilo, valores.size());
+    }
+
+    @Test
+    public void testGetPorPosicionDespuesDeEliminar() {
+        ListaConcurrente<Integer> lista = new ListaConcurrente<>();
+        for (int i = 0; i < 100; i++) {
+            lista.addLast(i);
+        }
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, (int) lista.get(i));
+        }
+        // La eliminación desplaza las posiciones: get no debe continuar desde el nodo recordado
+        assertTrue(lista.remove(50));
+        assertEquals(51, (int) lista.get(50));
+        assertTrue(lista.remove(10));
+        assertEquals(52, (int) lista.get(50));
+        assertEquals(9, (int) lista.get(9));
+        assertEquals(99, (int) lista.get(97));
+        assertThrows(IndexOutOfBoundsException.class, () -> lista.get(98));
+    }
+
+    @Test
+    public void testRemoveYOrden() {
+        ListaConcurrente<String> lista = new ListaConcurrente<>();
+        lista.addLast("C");
+        lista.addLast("A");
+        lista.addLast("B");
+        assertTrue(lista.remove("B"));
+        assertFalse(lista.remove("Z"));
+        lista.addLast("D");
+        Iterator<String> it = lista.iterator();
+        it.next();
+        it.remove();
+        assertEquals(2, lista.size());
+        assertEquals("A", lista.get(0));
+        assertEquals("D", lista.get(1));
+
+        lista.addLast("B");
+        lista.ordenar(String::compareTo);
+        assertEquals("A", lista.get(0));
+        assertEquals("B", lista.get(1));
+        assertEquals("D", lista.get(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> lista.get(3));
+    }
+
+    @Test
+    public void testSGMMSRegistraIncidentesDesdeVariosHilos() throws InterruptedException {
+        SGMMS sgmms = new SGMMS(TipoLista.CONCURRENTE);
+        Thread[] hilos = new Thread[4];
+        for (int h = 0; h < hilos.length; h++) {
+            int base = h * 1_000;
+            hilos[h] = new Thread(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    sgmms.registrarIncidente(new Incidente("I" + (base + i), IncidentType.OTRO, "Calle 1",
+                            new java.util.Date(), "Prueba", "pendiente"));
+                }
+            });
+            hilos[h].start();
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+        assertEquals(4_000, sgmms.getListaIncidentes().size());
+    }
+
+    @Test
+    public void testOperacionesMasivas() {
+        ListaConcurrente<Integer> lista = new ListaConcurrente<>();
+        lista.addAll(new Integer[]{1, 2, 3, 4, 5, 6});
+        lista.addLast(7);
+        assertEquals(7, lista.size());
+        assertEquals(3, lista.removeIf(valor -> valor % 2 == 0));
+        assertEquals(1, lista.retainAll(valor -> valor != 7));
+        assertEquals(3, lista.size());
+        assertEquals(5, (int) lista.get(2));
+        lista.addLast(8);
+        assertEquals(8, (int) lista.get(3));
+    }
+}
@@ -0,0 +1,132 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Iterator;
+
+public class ListaDesenrolladaTest {
+
+    private ListaDesenrollada<Integer> lista;
+
+    @BeforeEach
+    public void setup() {
+        lista = new ListaDesenrollada<>();
+        for (int i = 0; i < 1_000; i++) {
+            lista.addLast(i);
+        }
+    }
+
+    @Test
+    public void testAddLastYGet() {
+        assertEquals(1_000, lista.size());
+        for (int i = 0; i < lista.size(); i++) {
+            assertEquals(i, (int) lista.get(i));
+        }
+        assertEquals(500, (int) lista.get(500));
+        assertEquals(3, (int) lista.get(3));
+    }
+
+    @Test
+    public void testRemoveYRemoveDelIterador() {
+        assertTrue(lista.remove(0));
+        assertFalse(lista.remove(-5));
+        Iterator<Integer> it = lista.iterator();
+        while (it.hasNext()) {
+            if (it.next() % 2 == 0) {
+                it.remove();
+            }
+        }
+        assertEquals(500, lista.size());
+        int esperado = 1;
+        for (int valor : lista) {
+            assertEquals(esperado, valor);
+            esperado += 2;
+        }
+        assertEquals(999, (int) lista.get(499));
+        lista.addLast(1_000);
+        assertEquals(1_000, (int) lista.get(500));
+    }
+
+    @Test
+    public void testOrdenarEsEstableYParaleloEquivalente() {
+        ListaDesenrollada<String> palabras = new ListaDesenrollada<>();
+        ListaDesenrollada<String> paralela = new ListaDesenrollada<>();
+        int total = ListaEnlazadaSimple.UMBRAL_PARALELO * 2;
+        for (int i = total; i > 0; i--) {
+            palabras.addLast((i % 10) + "-" + i);
+            paralela.addLast((i % 10) + "-" + i);
+        }
+        palabras.ordenar((a, b) -> Character.compare(a.charAt(0), b.charAt(0)));
+        paralela.ordenarParalelo((a, b) -> Character.compare(a.charAt(0), b.charAt(0)));
+        int primerMultiplo = total - total % 10;
+        assertEquals("0-" + primerMultiplo, palabras.get(0));
+        assertEquals("0-" + (primerMultiplo - 10), palabras.get(1));
+        Iterator<String> it = paralela.iterator();
+        for (String palabra : palabras) {
+            assertEquals(palabra, it.next());
+        }
+    }
+
+    @Test
+    public void testStreamParalelo() {
+        assertEquals(499_500L, lista.parallelStream().mapToLong(Integer::longValue).sum());
+        assertEquals(1_000, lista.stream().count());
+    }
+
+    @Test
+    public void testSGMMSConListaDesenrollada() {
+        SGMMS sgmms = new SGMMS(TipoLista.DESENROLLADA);
+        sgmms.registrarRuta(new Ruta("R001", 10.0, 15, "A", "B"));
+        sgmms.registrarRuta(new Ruta("R002", 5.0, 10, "C", "D"));
+        sgmms.registrarPersona(new Pasajero("P1", "Ana", "300"));
+        assertTrue(sgmms.getListaRutas() instanceof ListaDesenrollada);
+        assertEquals("R002", sgmms.determinarMejorRuta().getId());
+        assertTrue(sgmms.eliminarPersona("P1"));
+        assertTrue(sgmms.getListaPersonas().isEmpty());
+    }
+
+    @Test
+    public void testRemoveIfCompactaBloques() {
+        Integer[] extra = new Integer[100];
+        for (int i = 0; i < extra.length; i++) {
+            extra[i] = 1_000 + i;
+        }
+        lista.addAll(extra);
+        assertEquals(1_100, lista.size());
+        assertEquals(1_050, (int) lista.get(1_050));
+        assertEquals(1_089, lista.removeIf(valor -> valor % 100 != 0));
+        assertEquals(11, lista.size());
+        for (int i = 0; i < lista.size(); i++) {
+            assertEquals(i * 100, (int) lista.get(i));
+        }
+        lista.addLast(7);
+        assertEquals(7, (int) lista.get(11));
+    }
+
+    @Test
+    public void testRemoveIfSinCoincidenciasConBloqueIncompleto() {
+        ListaDesenrollada<Integer> numeros = new ListaDesenrollada<>();
+        for (int i = 0; i < 128; i++) {
+            numeros.addLast(i);
+        }
+        // Deja el primer bloque incompleto: removeIf corre los siguientes hacia él
+        assertTrue(numeros.remove(5));
+        assertEquals(0, numeros.removeIf(valor -> false));
+        assertEquals(0, numeros.retainAll(valor -> true));
+        assertEquals(127, numeros.size());
+        int anterior = -1;
+        int recorridos = 0;
+        for (int valor : numeros) {
+            assertTrue(valor > anterior);
+            anterior = valor;
+            recorridos++;
+        }
+        assertEquals(127, recorridos);
+        assertEquals(127, (int) numeros.get(126));
+        numeros.addLast(200);
+        assertEquals(200, (int) numeros.get(127));
+        assertEquals(128, numeros.size());
+    }
+}
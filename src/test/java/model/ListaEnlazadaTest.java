@@ -25,4 +25,122 @@ public class ListaEnlazadaTest {
         assertEquals("A", lista.get(0));
         assertEquals("C", lista.get(1));
     }
+
+    @Test
+    public void testAddLastDespuesDeEliminarUltimo() {
+        lista.addLast("A");
+        lista.addLast("B");
+        assertTrue(lista.remove("B"));
+        lista.addLast("C");
+        assertEquals(2, lista.size());
+        assertEquals("A", lista.get(0));
+        assertEquals("C", lista.get(1));
+    }
+
+    @Test
+    public void testGetSecuencialYAleatorio() {
+        for (int i = 0; i < 100; i++) {
+            lista.addLast("E" + i);
+        }
+        for (int i = 0; i < lista.size(); i++) {
+            assertEquals("E" + i, lista.get(i));
+        }
+        assertEquals("E10", lista.get(10));
+        assertEquals("E5", lista.get(5));
+        assertEquals("E99", lista.get(99));
+    }
+
+    @Test
+    public void testCursorEliminaEnUnRecorrido() {
+        lista.addLast("A");
+        lista.addLast("B");
+        lista.addLast("C");
+        lista.addLast("D");
+        ListaEnlazadaSimple<String>.Cursor cursor = lista.cursor();
+        while (cursor.hasNext()) {
+            int indice = cursor.nextIndex();
+            String actual = cursor.next();
+            assertEquals(lista.get(indice), actual);
+            if (actual.equals("A") || actual.equals("D")) {
+                cursor.remove();
+            }
+        }
+        assertEquals(2, lista.size());
+        assertEquals("B", lista.get(0));
+        assertEquals("C", lista.get(1));
+        lista.addLast("E");
+        assertEquals("E", lista.get(2));
+    }
+
+    @Test
+    public void testOrdenarEsEstable() {
+        lista.addLast("b1");
+        lista.addLast("a1");
+        lista.addLast("b2");
+        lista.addLast("a2");
+        lista.addLast("c1");
+        lista.ordenar((x, y) -> Character.compare(x.charAt(0), y.charAt(0)));
+        String[] esperado = {"a1", "a2", "b1", "b2", "c1"};
+        for (int i = 0; i < esperado.length; i++) {
+            assertEquals(esperado[i], lista.get(i));
+        }
+        lista.addLast("d1");
+        assertEquals("d1", lista.get(5));
+    }
+
+    @Test
+    public void testOrdenarParaleloCoincideConSecuencial() {
+        ListaEnlazadaSimple<Integer> secuencial = new ListaEnlazadaSimple<>();
+        ListaEnlazadaSimple<Integer> paralela = new ListaEnlazadaSimple<>();
+        java.util.Random random = new java.util.Random(7);
+        for (int i = 0; i < ListaEnlazadaSimple.UMBRAL_PARALELO * 3; i++) {
+            int valor = random.nextInt(1000);
+            secuencial.addLast(valor);
+            paralela.addLast(valor);
+        }
+        secuencial.ordenar(Integer::compare);
+        paralela.ordenarParalelo(Integer::compare);
+        assertEquals(secuencial.size(), paralela.size());
+        java.util.Iterator<Integer> it = paralela.iterator();
+        for (Integer valor : secuencial) {
+            assertEquals(valor, it.next());
+        }
+        paralela.addLast(-1);
+        assertEquals(-1, (int) paralela.get(paralela.size() - 1));
+    }
+
+    @Test
+    public void testSpliteratorDivideEnMitades() {
+        ListaEnlazadaSimple<Integer> numeros = new ListaEnlazadaSimple<>();
+        for (int i = 0; i < 10_000; i++) {
+            numeros.addLast(i);
+        }
+        java.util.Spliterator<Integer> derecha = numeros.spliterator();
+        assertTrue(derecha.hasCharacteristics(java.util.Spliterator.SIZED | java.util.Spliterator.ORDERED));
+        java.util.Spliterator<Integer> izquierda = derecha.trySplit();
+        assertNotNull(izquierda);
+        assertEquals(5_000, izquierda.estimateSize());
+        assertEquals(5_000, derecha.estimateSize());
+        derecha.tryAdvance(primero -> assertEquals(5_000, (int) primero));
+
+        assertEquals(49_995_000L, numeros.parallelStream().mapToLong(Integer::longValue).sum());
+        assertEquals(10_000, numeros.stream().count());
+    }
+
+    @Test
+    public void testOperacionesMasivas() {
+        lista.addAll(new String[]{"A", "B", "C", "D", "E"});
+        lista.addAll(java.util.Arrays.asList("F", "G"));
+        assertEquals(7, lista.size());
+        assertEquals(3, lista.removeIf(s -> s.equals("A") || s.equals("D") || s.equals("G")));
+        assertEquals(1, lista.retainAll(s -> !s.equals("C")));
+        assertEquals(3, lista.size());
+        assertEquals("B", lista.get(0));
+        assertEquals("E", lista.get(1));
+        assertEquals("F", lista.get(2));
+        lista.addLast("H");
+        assertEquals("H", lista.get(3));
+        assertEquals(4, lista.removeIf(s -> true));
+        assertTrue(lista.isEmpty());
+    }
 }
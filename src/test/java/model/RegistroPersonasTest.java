@@ -0,0 +1,52 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class RegistroPersonasTest {
+
+    private RegistroPersonas registro;
+    private Pasajero ana;
+    private Conductor carlos;
+    private Pasajero luis;
+
+    @BeforeEach
+    public void setup() {
+        registro = new RegistroPersonas();
+        ana = new Pasajero("P1", "Ana", "300");
+        carlos = new Conductor("C1", "Carlos", "301", "V1", "disponible");
+        luis = new Pasajero("P2", "Luis", "302");
+        assertTrue(registro.agregar(ana));
+        assertTrue(registro.agregar(carlos));
+        assertTrue(registro.agregar(luis));
+    }
+
+    @Test
+    public void testParticionesPorTipo() {
+        assertEquals(List.of(ana, carlos, luis), new ArrayList<>(registro.personas()));
+        assertEquals(List.of(carlos), new ArrayList<>(registro.conductores()));
+        assertEquals(List.of(ana, luis), new ArrayList<>(registro.pasajeros()));
+        assertSame(carlos, registro.buscarConductor("C1"));
+        assertNull(registro.buscarConductor("P1"));
+        assertSame(ana, registro.buscarPasajero("P1"));
+        assertSame(carlos, registro.buscar("C1"));
+        assertFalse(registro.agregar(new Conductor("P1", "Otro", "303", "V2", "disponible")));
+        assertEquals(3, registro.size());
+        assertThrows(UnsupportedOperationException.class, () -> registro.personas().clear());
+    }
+
+    @Test
+    public void testEliminarMantieneParticiones() {
+        assertSame(carlos, registro.eliminar("C1"));
+        assertNull(registro.eliminar("C1"));
+        assertTrue(registro.conductores().isEmpty());
+
+        assertEquals(List.of(ana), registro.eliminarSi(p -> p.getNombre().equals("Ana")));
+        assertEquals(List.of(luis), new ArrayList<>(registro.pasajeros()));
+        assertEquals(1, registro.size());
+    }
+}
@@ -0,0 +1,247 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import model.despacho.Asignacion;
+import model.exceptions.DataNotFoundException;
+import model.grafo.CriterioCosto;
+import model.persistencia.Bitacora;
+import model.persistencia.Operacion;
+import model.persistencia.TipoOperacion;
+
+public class SGMMSParticionadoTest {
+
+    private static List<String> ids(List<? extends Object> entidades) {
+        List<String> ids = new ArrayList<>();
+        for (Object entidad : entidades) {
+            ids.add(entidad instanceof Ruta ? ((Ruta) entidad).getId() : ((Incidente) entidad).getId());
+        }
+        return ids;
+    }
+
+    @Test
+    public void testConsultasMezcladasCoincidenConUnaSolaInstancia() throws Exception {
+        SGMMS simple = new SGMMS();
+        SGMMSParticionado particionado = new SGMMSParticionado(4);
+        for (int i = 0; i < 200; i++) {
+            Ruta ruta = new Ruta("R" + i, (i * 37) % 101, (i * 13) % 29, "P" + i % 20, "P" + (i + 3) % 20);
+            Incidente incidente = new Incidente("I" + i, IncidentType.values()[i % 4], "P" + i % 20,
+                    new Date((i * 7919L) % 1_000), "Prueba", i % 3 == 0 ? "resuelto" : "pendiente");
+            simple.registrarRuta(ruta);
+            particionado.registrarRuta(ruta);
+            simple.registrarIncidente(incidente);
+            particionado.registrarIncidente(incidente);
+        }
+
+        assertEquals(ids(simple.rutasPorDistancia()), ids(particionado.rutasPorDistancia()));
+        assertEquals(ids(simple.rutasEntreDistancias(10, 40)), ids(particionado.rutasEntreDistancias(10, 40)));
+        assertEquals(ids(simple.incidentesPorFecha()), ids(particionado.incidentesPorFecha()));
+        assertEquals(ids(simple.ultimosIncidentes(15)), ids(particionado.ultimosIncidentes(15)));
+        assertEquals(simple.determinarMejorRuta().getId(), particionado.determinarMejorRuta().getId());
+        assertEquals(simple.contarIncidentes(IncidentType.ROBO, "pendiente"),
+                particionado.contarIncidentes(IncidentType.ROBO, "pendiente"));
+        assertEquals(simple.consultarIncidentes(null, "resuelto").size(),
+                particionado.consultarIncidentes(null, "resuelto").size());
+        // Las penalizaciones consideran incidentes registrados en cualquier partición
+        assertEquals(ids(simple.mejoresRutasConIncidentes(10)), ids(particionado.mejoresRutasConIncidentes(10)));
+        assertEquals(simple.planificarTrayecto("P0", "P9", CriterioCosto.DISTANCIA).getCosto(),
+                particionado.planificarTrayecto("P0", "P9", CriterioCosto.DISTANCIA).getCosto(), 1e-9);
+
+        assertEquals("R7", particionado.buscarRuta("R7").getId());
+        assertTrue(particionado.eliminarRuta("R7"));
+        assertFalse(particionado.eliminarRuta("R7"));
+        assertThrows(DataNotFoundException.class, () -> particionado.buscarRuta("R7"));
+        assertThrows(IllegalArgumentException.class, () -> particionado.registrarRuta(new Ruta("R8", 1, 1, "A", "B")));
+        assertEquals(199, particionado.instantanea().getRutas().size());
+        assertEquals(199, particionado.getListaRutas().size());
+    }
+
+    @Test
+    public void testDespachoUsaConductoresEIncidentesDeTodasLasParticiones() throws Exception {
+        SGMMSParticionado sgmms = new SGMMSParticionado(8);
+        sgmms.registrarPersona(new Conductor("C1", "Carlos", "300", "V1", "disponible"));
+        sgmms.registrarPersona(new Conductor("C2", "Camila", "301", "V2", "disponible"));
+        sgmms.registrarIncidente(new Incidente("I-robo", IncidentType.ROBO, "Norte", new Date(1), "Robo", "pendiente"));
+        sgmms.registrarIncidente(new Incidente("I-fuego", IncidentType.INCENDIO, "Sur", new Date(5), "Fuego", "pendiente"));
+        sgmms.registrarIncidente(new Incidente("I-choque", IncidentType.ACCIDENTE, "Centro", new Date(3), "Choque", "pendiente"));
+
+        List<Asignacion> asignaciones = sgmms.despacharIncidentes(5);
+        assertEquals(2, asignaciones.size());
+        assertEquals("I-fuego", asignaciones.get(0).getIncidente().getId());
+        assertEquals("I-choque", asignaciones.get(1).getIncidente().getId());
+        assertEquals("en proceso", sgmms.buscarIncidente("I-fuego").getEstado());
+        assertEquals("en ruta", sgmms.buscarConductor("C1").getEstado());
+        assertEquals("en ruta", sgmms.buscarConductor("C2").getEstado());
+        assertTrue(sgmms.despacharIncidentes(5).isEmpty());
+
+        sgmms.actualizarEstadoConductor("C2", "disponible");
+        assertEquals("I-robo", sgmms.despacharIncidentes(5).get(0).getIncidente().getId());
+        assertThrows(IllegalArgumentException.class, () -> sgmms.despacharIncidentes(-1));
+    }
+
+    @Test
+    public void testAsignacionVuelveAComprobarLosEstados() throws Exception {
+        SGMMS deIncidentes = new SGMMS();
+        SGMMS deConductores = new SGMMS();
+        deConductores.registrarPersona(new Conductor("C1", "Carlos", "300", "V1", "disponible"));
+        deConductores.registrarPersona(new Conductor("C2", "Camila", "301", "V2", "disponible"));
+        deIncidentes.registrarIncidente(new Incidente("I1", IncidentType.ROBO, "Norte", new Date(1), "Robo", "pendiente"));
+        deIncidentes.registrarIncidente(new Incidente("I2", IncidentType.ROBO, "Sur", new Date(2), "Robo", "pendiente"));
+        List<Conductor> candidatos = deConductores.conductoresDisponibles(5);
+        assertEquals(2, candidatos.size());
+        List<Incidente> pendientes = deIncidentes.incidentesPendientesPrioritarios(5);
+        assertEquals("I1", pendientes.get(0).getId());
+
+        // Entre la elección y la asignación, C1 deja de estar disponible e I1 se resuelve
+        deConductores.actualizarEstadoConductor("C1", "fuera de servicio");
+        deIncidentes.actualizarEstadoIncidente("I1", "resuelto");
+        java.util.Iterator<Conductor> siguiente = candidatos.iterator();
+        assertNull(SGMMS.asignarSiSiguenLibres(deIncidentes, "I1", siguiente, id -> deConductores, new Date()));
+        assertTrue(siguiente.hasNext());
+
+        Asignacion asignacion = SGMMS.asignarSiSiguenLibres(deIncidentes, "I2", siguiente, id -> deConductores, new Date());
+        assertEquals("C2", asignacion.getConductor().getId());
+        assertEquals("fuera de servicio", deConductores.buscarConductor("C1").getEstado());
+        assertEquals("en ruta", deConductores.buscarConductor("C2").getEstado());
+        assertEquals("en proceso", deIncidentes.buscarIncidente("I2").getEstado());
+        assertEquals(1, deIncidentes.consultarIncidentes(null, "en proceso").size());
+        assertTrue(deConductores.conductoresDisponibles(5).isEmpty());
+        assertTrue(deIncidentes.incidentesPendientesPrioritarios(5).isEmpty());
+    }
+
+    @Test
+    public void testSobrescribeTodosLosMetodosPublicosDeSGMMS() {
+        List<String> faltantes = new ArrayList<>();
+        for (java.lang.reflect.Method metodo : SGMMS.class.getDeclaredMethods()) {
+            int modificadores = metodo.getModifiers();
+            if (!java.lang.reflect.Modifier.isPublic(modificadores) || java.lang.reflect.Modifier.isStatic(modificadores)
+                    || java.lang.reflect.Modifier.isFinal(modificadores)) {
+                continue;
+            }
+            try {
+                SGMMSParticionado.class.getDeclaredMethod(metodo.getName(), metodo.getParameterTypes());
+            } catch (NoSuchMethodException e) {
+                faltantes.add(metodo.toString());
+            }
+        }
+        assertTrue(faltantes.isEmpty(), "Métodos sin sobrescribir: " + faltantes);
+    }
+
+    @Test
+    public void testPasajerosEImportacion() throws Exception {
+        SGMMSParticionado sgmms = new SGMMSParticionado(3);
+        sgmms.registrarRuta(new Ruta("R1", 1.0, 2, "A", "B"));
+        sgmms.registrarRuta(new Ruta("R2", 3.0, 4, "B", "C"));
+        for (int i = 0; i < 10; i++) {
+            Pasajero pasajero = new Pasajero("P" + i, "Pasajero " + i, "300");
+            pasajero.setRutaAsignada(sgmms.buscarRuta("R1"));
+            sgmms.registrarPersona(pasajero);
+        }
+        sgmms.registrarPersona(new Conductor("C1", "Carlos", "300", "V1", "disponible"));
+        sgmms.reasignarPasajero("P3", "R2");
+        assertEquals(9, sgmms.contarPasajerosEnRuta("R1"));
+        assertEquals(Integer.valueOf(1), sgmms.cargaPorRuta().get("R2"));
+        assertEquals(1, sgmms.buscarConductoresPorNombre("carl").size());
+        assertEquals(10, sgmms.getListaPasajeros().size());
+        assertEquals(1, sgmms.getListaConductores().size());
+        assertThrows(DataNotFoundException.class, () -> sgmms.reasignarPasajero("P3", "R9"));
+        assertEquals(5, sgmms.eliminarPersonas(p -> p instanceof Pasajero && p.getId().compareTo("P5") < 0));
+
+        // Los pasajeros de R2 pueden estar en cualquier partición: todos quedan sin ruta
+        for (int i = 5; i < 8; i++) {
+            sgmms.reasignarPasajero("P" + i, "R2");
+        }
+        assertEquals(3, sgmms.contarPasajerosEnRuta("R2"));
+        assertTrue(sgmms.eliminarRuta("R2"));
+        sgmms.registrarRuta(new Ruta("R2", 3.0, 4, "B", "C"));
+        assertEquals(0, sgmms.contarPasajerosEnRuta("R2"));
+        for (Pasajero pasajero : sgmms.getListaPasajeros()) {
+            assertTrue(pasajero.getRutaAsignada() == null || pasajero.getRutaAsignada().getId().equals("R1"));
+        }
+        for (int i = 5; i < 8; i++) {
+            sgmms.reasignarPasajero("P" + i, "R1");
+        }
+
+        SGMMSData datos = sgmms.exportar();
+        SGMMSParticionado copia = new SGMMSParticionado(5);
+        copia.importar(datos);
+        assertEquals(2, copia.instantanea().getRutas().size());
+        assertEquals("R1", copia.planificarTrayecto("A", "B", CriterioCosto.DISTANCIA).getTramos().get(0).getId());
+
+        Ruta[] repetidas = {new Ruta("X", 1, 1, "A", "B"), new Ruta("X", 2, 2, "B", "C")};
+        SGMMSData invalidos = new SGMMSData();
+        invalidos.setRutas(repetidas);
+        assertThrows(IllegalArgumentException.class, () -> copia.importar(invalidos));
+        assertEquals(2, copia.instantanea().getRutas().size());
+    }
+
+    @Test
+    public void testControllerSobreParticiones() {
+        Controller controller = new Controller(new SGMMSParticionado(4));
+        controller.registrarRuta("R1", 1.0, 2, "A", "B");
+        controller.registrarConductor("C1", "Carlos", "301", "V1", "disponible");
+        assertTrue(controller.obtenerIdsDeConductores().contains("C1"));
+        assertTrue(controller.consultarRutasComoTexto().contains("R1"));
+        assertTrue(controller.generarReporte().contains("R1"));
+    }
+
+    @Test
+    public void testUnaParticionReemplazadaNoAnotaLasEscriturasEnEspera() throws Exception {
+        java.nio.file.Path archivo = java.nio.file.Files.createTempFile("particionado", ".wal");
+        try {
+            SGMMS particion = new SGMMS();
+            try (Bitacora bitacora = Bitacora.abrir(archivo, false)) {
+                particion.setBitacora(bitacora);
+                // Una escritura que alcanzó a la partición antes de la importación espera mientras esta se anota
+                java.util.concurrent.locks.Lock corte = bitacora.bloqueoCorte();
+                corte.lock();
+                Thread escritura = new Thread(() -> particion.registrarRuta(new Ruta("R1", 1, 1, "A", "B")));
+                try {
+                    escritura.start();
+                    while (escritura.getState() != Thread.State.WAITING) {
+                        Thread.sleep(1);
+                    }
+                    bitacora.agregar(Operacion.importar(new SGMMSData()));
+                    particion.setBitacora(null);
+                } finally {
+                    corte.unlock();
+                }
+                escritura.join();
+                assertEquals(1, bitacora.getUltimoLsn());
+            }
+            assertEquals(TipoOperacion.IMPORTAR, Bitacora.leer(archivo).get(0).getTipo());
+            assertEquals(1, Bitacora.leer(archivo).size());
+        } finally {
+            java.nio.file.Files.deleteIfExists(archivo);
+        }
+    }
+
+    @Test
+    public void testLasParticionesAnotanEnLaBitacoraCompartida() throws Exception {
+        java.nio.file.Path archivo = java.nio.file.Files.createTempFile("particionado", ".wal");
+        try {
+            SGMMSParticionado sgmms = new SGMMSParticionado(4);
+            try (Bitacora bitacora = Bitacora.abrir(archivo, true)) {
+                sgmms.setBitacora(bitacora);
+                for (int i = 0; i < 20; i++) {
+                    sgmms.registrarRuta(new Ruta("R" + i, i, i, "A", "B"));
+                }
+                sgmms.importar(sgmms.exportar());
+                // Después de importar, las particiones nuevas siguen anotando
+                sgmms.registrarRuta(new Ruta("R20", 1, 1, "A", "B"));
+            }
+            List<Operacion> operaciones = Bitacora.leer(archivo);
+            assertEquals(22, operaciones.size());
+            assertEquals(TipoOperacion.IMPORTAR, operaciones.get(20).getTipo());
+            assertEquals(20, operaciones.get(20).getDatos().getRutas().length);
+            assertEquals("R20", operaciones.get(21).getRuta().getId());
+        } finally {
+            java.nio.file.Files.deleteIfExists(archivo);
+        }
+    }
+}
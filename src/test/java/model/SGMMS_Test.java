@@ -6,7 +6,7 @@ import static org.junit.jupiter.api.Assertions.*;
 public class SGMMS_Test {
 
     @Test
-    public void testRegistrarYBuscarIncidente() {
+    public void testRegistrarYBuscarIncidente() throws Exception {
         SGMMS sgmms = new SGMMS();
         Incidente inc = new Incidente("I001", IncidentType.ROBO, "Calle 123", new java.util.Date(), "Robo", "pendiente");
         sgmms.registrarIncidente(inc);
@@ -27,4 +27,445 @@ public class SGMMS_Test {
         // Esperamos que R002 sea la mejor (menor suma de distancia + tiempo)
         assertEquals("R002", best.getId());
     }
+
+    @Test
+    public void testBuscarConductoresPorNombreEntreMuchasPersonas() {
+        SGMMS sgmms = new SGMMS();
+        for (int i = 0; i < 10_000; i++) {
+            sgmms.registrarPersona(new Pasajero("P" + i, "Ana " + i, "300"));
+            sgmms.registrarPersona(new Conductor("C" + i, "Carlos " + i, "301", "V" + i, "disponible"));
+        }
+        java.util.List<Conductor> encontrados = sgmms.buscarConductoresPorNombre("CARLOS 99");
+        assertEquals(111, encontrados.size());
+        assertEquals("C99", encontrados.get(0).getId());
+        assertEquals("C990", encontrados.get(1).getId());
+        assertTrue(sgmms.buscarConductoresPorNombre("ana").isEmpty());
+    }
+
+    @Test
+    public void testDeterminarMejorRutaConservaLaPrimeraEnEmpate() {
+        SGMMS sgmms = new SGMMS();
+        for (int i = 0; i < 20_000; i++) {
+            sgmms.registrarRuta(new Ruta("R" + i, 10.0 + (i % 7), 20, "A", "B"));
+        }
+        assertEquals("R0", sgmms.determinarMejorRuta().getId());
+    }
+
+    @Test
+    public void testImportarYEliminarPersonas() {
+        SGMMS sgmms = new SGMMS();
+        PersonaData pasajero = new PersonaData();
+        pasajero.setId("P1");
+        pasajero.setNombre("Ana");
+        PersonaData conductor = new PersonaData();
+        conductor.setId("C1");
+        conductor.setNombre("Carlos");
+        conductor.setEstado("disponible");
+        SGMMSData datos = new SGMMSData();
+        datos.setRutas(new Ruta[]{new Ruta("R1", 1.0, 2, "A", "B")});
+        datos.setPasajeros(new PersonaData[]{pasajero});
+        datos.setConductores(new PersonaData[]{conductor});
+        sgmms.importar(datos);
+
+        assertEquals(1, sgmms.getListaRutas().size());
+        assertEquals(2, sgmms.getListaPersonas().size());
+        assertEquals(1, sgmms.getListaConductores().size());
+        assertTrue(sgmms.eliminarPersona("C1"));
+        assertFalse(sgmms.eliminarPersona("C1"));
+        assertTrue(sgmms.getListaConductores().isEmpty());
+        assertEquals(1, sgmms.eliminarPersonas(persona -> persona instanceof Pasajero));
+        assertTrue(sgmms.getListaPersonas().isEmpty());
+    }
+
+    @Test
+    public void testIndicesPorIdRechazanDuplicados() throws Exception {
+        SGMMS sgmms = new SGMMS();
+        sgmms.registrarRuta(new Ruta("R1", 1.0, 2, "A", "B"));
+        sgmms.registrarPersona(new Conductor("C1", "Carlos", "301", "V1", "disponible"));
+        assertThrows(IllegalArgumentException.class, () -> sgmms.registrarRuta(new Ruta("R1", 3.0, 4, "C", "D")));
+        assertThrows(IllegalArgumentException.class, () -> sgmms.registrarPersona(new Pasajero("C1", "Ana", "300")));
+        assertEquals(1, sgmms.getListaRutas().size());
+        assertEquals("A", sgmms.buscarRuta("R1").getPuntoInicio());
+        assertEquals("Carlos", sgmms.buscarConductor("C1").getNombre());
+        assertThrows(model.exceptions.DataNotFoundException.class, () -> sgmms.buscarRuta("R9"));
+
+        assertTrue(sgmms.eliminarPersona("C1"));
+        assertThrows(model.exceptions.DataNotFoundException.class, () -> sgmms.buscarConductor("C1"));
+        sgmms.registrarPersona(new Pasajero("C1", "Ana", "300"));
+        assertEquals(1, sgmms.getListaPersonas().size());
+    }
+
+    @Test
+    public void testActualizarEstadoMantieneIndicesDeIncidentes() throws Exception {
+        SGMMS sgmms = new SGMMS();
+        sgmms.registrarIncidente(new Incidente("I1", IncidentType.ROBO, "Centro", new java.util.Date(), "Robo", "pendiente"));
+        sgmms.registrarIncidente(new Incidente("I2", IncidentType.ROBO, "Norte", new java.util.Date(), "Robo", "pendiente"));
+        sgmms.registrarIncidente(new Incidente("I3", IncidentType.INCENDIO, "Sur", new java.util.Date(), "Fuego", "pendiente"));
+
+        sgmms.actualizarEstadoIncidente("I2", "resuelto");
+
+        assertEquals(1, sgmms.consultarIncidentes(IncidentType.ROBO, "pendiente").size());
+        assertEquals("I2", sgmms.consultarIncidentes(IncidentType.ROBO, "resuelto").get(0).getId());
+        assertEquals(2, sgmms.contarIncidentes(null, "pendiente"));
+        assertThrows(model.exceptions.DataNotFoundException.class, () -> sgmms.actualizarEstadoIncidente("X", "resuelto"));
+    }
+
+    @Test
+    public void testIncidentesPorFechaNoReordenaLaLista() {
+        SGMMS sgmms = new SGMMS();
+        sgmms.registrarIncidente(new Incidente("I1", IncidentType.ROBO, "Centro", new java.util.Date(1_000), "Robo", "pendiente"));
+        sgmms.registrarIncidente(new Incidente("I2", IncidentType.ROBO, "Norte", new java.util.Date(3_000), "Robo", "pendiente"));
+        sgmms.registrarIncidente(new Incidente("I3", IncidentType.INCENDIO, "Sur", new java.util.Date(2_000), "Fuego", "pendiente"));
+
+        assertEquals("I2", sgmms.incidentesPorFecha().get(0).getId());
+        assertEquals("I1", sgmms.getListaIncidentes().get(0).getId());
+        assertEquals(2, sgmms.incidentesDesde(new java.util.Date(2_000)).size());
+        assertEquals("I3", sgmms.incidentesEntre(new java.util.Date(1_500), new java.util.Date(2_500)).get(0).getId());
+        assertEquals("I2", sgmms.ultimosIncidentes(1).get(0).getId());
+    }
+
+    @Test
+    public void testMejoresRutasYEliminarRuta() {
+        SGMMS sgmms = new SGMMS();
+        sgmms.registrarRuta(new Ruta("R1", 10.0, 15, "A", "B"));
+        sgmms.registrarRuta(new Ruta("R2", 5.0, 10, "C", "D"));
+        sgmms.registrarRuta(new Ruta("R3", 7.0, 9, "E", "F"));
+
+        java.util.List<Ruta> mejores = sgmms.mejoresRutas(2);
+        assertEquals("R2", mejores.get(0).getId());
+        assertEquals("R3", mejores.get(1).getId());
+
+        assertTrue(sgmms.eliminarRuta("R2"));
+        assertFalse(sgmms.eliminarRuta("R2"));
+        assertEquals("R3", sgmms.determinarMejorRuta().getId());
+        assertEquals(2, sgmms.getListaRutas().size());
+    }
+
+    @Test
+    public void testRutasPorDistanciaConservaOrdenDeRegistro() {
+        SGMMS sgmms = new SGMMS();
+        sgmms.registrarRuta(new Ruta("R1", 10.0, 15, "A", "B"));
+        sgmms.registrarRuta(new Ruta("R2", 5.0, 10, "C", "D"));
+        sgmms.registrarRuta(new Ruta("R3", 7.0, 9, "E", "F"));
+
+        assertEquals("R2", sgmms.rutasPorDistancia().get(0).getId());
+        assertEquals("R1", sgmms.getListaRutas().get(0).getId());
+        assertEquals(2, sgmms.rutasEntreDistancias(5.0, 7.0).size());
+
+        sgmms.eliminarRuta("R2");
+        assertEquals("R3", sgmms.rutasPorDistancia().get(0).getId());
+    }
+
+    @Test
+    public void testPlanificarTrayectoDeVariosTramos() throws Exception {
+        SGMMS sgmms = new SGMMS();
+        sgmms.registrarRuta(new Ruta("R1", 4.0, 10, "Centro", "Norte"));
+        sgmms.registrarRuta(new Ruta("R2", 3.0, 10, "Norte", "Aeropuerto"));
+        sgmms.registrarRuta(new Ruta("R3", 20.0, 15, "Centro", "Aeropuerto"));
+
+        assertEquals(2, sgmms.planificarTrayecto("Centro", "Aeropuerto", model.grafo.CriterioCosto.DISTANCIA).getTramos().size());
+        assertEquals("R3", sgmms.planificarTrayecto("Centro", "Aeropuerto", model.grafo.CriterioCosto.TIEMPO).getTramos().get(0).getId());
+
+        sgmms.eliminarRuta("R3");
+        sgmms.eliminarRuta("R2");
+        assertThrows(model.exceptions.DataNotFoundException.class,
+                () -> sgmms.planificarTrayecto("Centro", "Aeropuerto", model.grafo.CriterioCosto.TIEMPO));
+    }
+
+    @Test
+    public void testMejorRutaConIncidentesActivos() throws Exception {
+        SGMMS sgmms = new SGMMS();
+        sgmms.registrarRuta(new Ruta("R1", 5.0, 10, "Centro", "Norte"));
+        sgmms.registrarRuta(new Ruta("R2", 10.0, 15, "Sur", "Oeste"));
+        assertEquals("R1", sgmms.determinarMejorRutaConIncidentes().getId());
+
+        sgmms.registrarIncidente(new Incidente("I1", IncidentType.ACCIDENTE, "Norte", new java.util.Date(), "Choque", "pendiente"));
+        assertEquals("R2", sgmms.determinarMejorRutaConIncidentes().getId());
+        assertEquals("R1", sgmms.determinarMejorRuta().getId());
+
+        sgmms.configurarPenalizacion(IncidentType.ACCIDENTE, 5.0);
+        assertEquals("R1", sgmms.determinarMejorRutaConIncidentes().getId());
+        sgmms.configurarPenalizacion(IncidentType.ACCIDENTE, 30.0);
+
+        sgmms.actualizarEstadoIncidente("I1", "resuelto");
+        assertEquals("R1", sgmms.mejoresRutasConIncidentes(2).get(0).getId());
+        assertThrows(IllegalArgumentException.class, () -> sgmms.configurarPenalizacion(IncidentType.ROBO, -1));
+    }
+
+    @Test
+    public void testMejoresRutasConIncidentesEnCasiTodasLasRutas() throws Exception {
+        SGMMS sgmms = new SGMMS();
+        for (int i = 0; i < 200; i++) {
+            sgmms.registrarRuta(new Ruta("R" + i, i, 10, "P" + i, "Q" + i));
+        }
+        sgmms.configurarPenalizacion(IncidentType.ACCIDENTE, 1000.0);
+        for (int i = 0; i < 190; i++) {
+            sgmms.registrarIncidente(new Incidente("I" + i, IncidentType.ACCIDENTE, "q" + i, new java.util.Date(), "Choque", "pendiente"));
+        }
+        // Casi todas las rutas están penalizadas, así que la búsqueda recorre la tabla completa
+        java.util.List<Ruta> mejores = sgmms.mejoresRutasConIncidentes(3);
+        assertEquals("R190", mejores.get(0).getId());
+        assertEquals("R192", mejores.get(2).getId());
+
+        EstadisticasRutas estadisticas = sgmms.estadisticasRutas();
+        assertEquals(200, estadisticas.getCantidad());
+        assertEquals(199.0, estadisticas.getDistanciaMaxima());
+        assertEquals(99.5, estadisticas.getDistanciaPromedio());
+        sgmms.eliminarRuta("R199");
+        assertEquals(198.0, sgmms.estadisticasRutas().getDistanciaMaxima());
+    }
+
+    @Test
+    public void testEliminarRutaDejaSinRutaASusPasajeros() throws Exception {
+        SGMMS sgmms = new SGMMS();
+        sgmms.registrarRuta(new Ruta("R1", 5.0, 10, "A", "B"));
+        Pasajero pasajero = new Pasajero("P1", "Ana", "300");
+        pasajero.setRutaAsignada(sgmms.buscarRuta("R1"));
+        sgmms.registrarPersona(pasajero);
+
+        assertTrue(sgmms.eliminarRuta("R1"));
+        assertNull(pasajero.getRutaAsignada());
+        // Una ruta nueva con el mismo identificador no hereda a los pasajeros de la eliminada
+        sgmms.registrarRuta(new Ruta("R1", 7.0, 12, "C", "D"));
+        assertEquals(0, sgmms.contarPasajerosEnRuta("R1"));
+        assertTrue(sgmms.pasajerosDeRuta("R1").isEmpty());
+        SGMMS copia = new SGMMS();
+        copia.importar(sgmms.exportar());
+        assertEquals(0, copia.contarPasajerosEnRuta("R1"));
+    }
+
+    @Test
+    public void testPasajerosPorRuta() throws Exception {
+        SGMMS sgmms = new SGMMS();
+        Ruta r1 = new Ruta("R1", 5.0, 10, "A", "B");
+        sgmms.registrarRuta(r1);
+        sgmms.registrarRuta(new Ruta("R2", 8.0, 12, "B", "C"));
+        for (int i = 0; i < 3; i++) {
+            Pasajero pasajero = new Pasajero("P" + i, "Pasajero " + i, "300");
+            pasajero.setRutaAsignada(r1);
+            sgmms.registrarPersona(pasajero);
+        }
+
+        assertEquals(3, sgmms.contarPasajerosEnRuta("R1"));
+        sgmms.reasignarPasajero("P1", "R2");
+        sgmms.eliminarPersona("P0");
+        assertEquals(1, sgmms.contarPasajerosEnRuta("R1"));
+        assertEquals("P1", sgmms.pasajerosDeRuta("R2").get(0).getId());
+        assertEquals(Integer.valueOf(1), sgmms.cargaPorRuta().get("R2"));
+
+        sgmms.eliminarPersonas(persona -> persona.getId().equals("P2"));
+        assertEquals(0, sgmms.contarPasajerosEnRuta("R1"));
+        assertThrows(model.exceptions.DataNotFoundException.class, () -> sgmms.reasignarPasajero("P9", "R1"));
+    }
+
+    @Test
+    public void testDespacharActualizaIndicesDeIncidentes() throws Exception {
+        SGMMS sgmms = new SGMMS();
+        sgmms.registrarPersona(new Conductor("C1", "Carlos", "300", "V1", "disponible"));
+        sgmms.registrarIncidente(new Incidente("I1", IncidentType.ACCIDENTE, "Centro", new java.util.Date(), "Choque", "pendiente"));
+        sgmms.registrarIncidente(new Incidente("I2", IncidentType.ROBO, "Norte", new java.util.Date(), "Robo", "pendiente"));
+
+        java.util.List<model.despacho.Asignacion> asignaciones = sgmms.despacharIncidentes(5);
+        assertEquals(1, asignaciones.size());
+        assertEquals("I1", asignaciones.get(0).getIncidente().getId());
+        assertEquals("en proceso", sgmms.buscarIncidente("I1").getEstado());
+        assertEquals(1, sgmms.contarIncidentes(null, "en proceso"));
+        assertEquals("en ruta", sgmms.buscarConductor("C1").getEstado());
+
+        sgmms.actualizarEstadoConductor("C1", "disponible");
+        assertEquals("I2", sgmms.despacharIncidentes(5).get(0).getIncidente().getId());
+    }
+
+    @Test
+    public void testConductoresRegistradosAparecenEnSuParticion() {
+        Controller controller = new Controller();
+        controller.registrarRuta("R1", 1.0, 2, "A", "B");
+        controller.registrarConductor("C1", "Carlos", "301", "V1", "disponible");
+        controller.registrarPasajero("P1", "Ana", "300", "R1");
+        assertTrue(controller.obtenerIdsDeConductores().contains("C1"));
+        assertFalse(controller.obtenerIdsDeConductores().contains("P1"));
+        assertTrue(controller.actualizarEstadoConductor("C1", "en ruta").startsWith("Estado del conductor"));
+    }
+
+    @Test
+    public void testRegistrosYConsultasConcurrentes() throws Exception {
+        SGMMS sgmms = new SGMMS();
+        int hilos = 4;
+        int porHilo = 500;
+        java.util.concurrent.ConcurrentLinkedQueue<Throwable> errores = new java.util.concurrent.ConcurrentLinkedQueue<>();
+        Thread[] trabajadores = new Thread[hilos * 2];
+        for (int h = 0; h < hilos; h++) {
+            int hilo = h;
+            trabajadores[h] = new Thread(() -> {
+                for (int i = 0; i < porHilo; i++) {
+                    String id = hilo + "-" + i;
+                    sgmms.registrarRuta(new Ruta("R" + id, i + 1.0, i, "A" + i, "B" + i));
+                    sgmms.registrarIncidente(new Incidente("I" + id, IncidentType.ROBO, "A" + i, new java.util.Date(i), "Robo", "pendiente"));
+                    sgmms.registrarPersona(new Conductor("C" + id, "Conductor " + id, "300", "V" + id, "disponible"));
+                }
+            });
+            trabajadores[hilos + h] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < porHilo; i++) {
+                        sgmms.mejoresRutasConIncidentes(3);
+                        sgmms.incidentesPorFecha();
+                        sgmms.buscarConductoresPorNombre("conductor " + hilo);
+                        new Reporte().generarReporte(sgmms);
+                    }
+                } catch (Throwable e) {
+                    errores.add(e);
+                }
+            });
+        }
+        for (Thread trabajador : trabajadores) {
+            trabajador.start();
+        }
+        for (Thread trabajador : trabajadores) {
+            trabajador.join();
+        }
+        assertTrue(errores.isEmpty(), String.valueOf(errores.peek()));
+        assertEquals(hilos * porHilo, sgmms.rutasRegistradas().size());
+        assertEquals(hilos * porHilo, sgmms.contarIncidentes(IncidentType.ROBO, "pendiente"));
+        assertEquals(hilos * porHilo, sgmms.conductoresRegistrados().size());
+        assertTrue(sgmms.determinarMejorRuta().getId().endsWith("-0"));
+        assertEquals(hilos * porHilo, sgmms.exportar().getRutas().length);
+    }
+
+    @Test
+    public void testInstantaneaNoVeCambiosPosteriores() throws Exception {
+        SGMMS sgmms = new SGMMS();
+        sgmms.registrarRuta(new Ruta("R1", 1.0, 2, "A", "B"));
+        sgmms.registrarIncidente(new Incidente("I1", IncidentType.ROBO, "A", new java.util.Date(), "Robo", "pendiente"));
+        sgmms.registrarPersona(new Pasajero("P1", "Ana", "300"));
+        Instantanea antes = sgmms.instantanea();
+
+        sgmms.registrarRuta(new Ruta("R2", 3.0, 4, "B", "C"));
+        sgmms.eliminarPersona("P1");
+        sgmms.actualizarEstadoIncidente("I1", "resuelto");
+
+        assertEquals(1, antes.getRutas().size());
+        assertEquals("P1", antes.getPersonas().iterator().next().getId());
+        assertEquals(1, sgmms.exportar(antes).getRutas().length);
+        assertEquals(2, sgmms.exportar().getRutas().length);
+        assertTrue(sgmms.instantanea().getPersonas().isEmpty());
+        assertTrue(sgmms.instantanea().getVersion() > antes.getVersion());
+        // La instantánea conserva también el estado que tenían las entidades
+        assertEquals("pendiente", antes.getIncidentes().iterator().next().getEstado());
+        assertEquals("resuelto", sgmms.instantanea().getIncidentes().iterator().next().getEstado());
+        assertFalse(new Reporte().generarReporte(antes).contains("R2"));
+
+        sgmms.ordenarRutasPorDistancia();
+        sgmms.importar(sgmms.exportar(antes));
+        assertEquals(1, sgmms.instantanea().getRutas().size());
+    }
+
+    @Test
+    public void testInstantaneaConservaEstadosYRutasDePasajeros() throws Exception {
+        SGMMS sgmms = new SGMMS();
+        sgmms.registrarRuta(new Ruta("R1", 1.0, 2, "A", "B"));
+        sgmms.registrarRuta(new Ruta("R2", 3.0, 4, "B", "C"));
+        sgmms.registrarIncidente(new Incidente("I1", IncidentType.ROBO, "A", new java.util.Date(), "Robo", "pendiente"));
+        sgmms.registrarPersona(new Conductor("C1", "Luis", "301", "V1", "disponible"));
+        Pasajero pasajero = new Pasajero("P1", "Ana", "300");
+        pasajero.setRutaAsignada(sgmms.buscarRuta("R1"));
+        sgmms.registrarPersona(pasajero);
+        Instantanea antes = sgmms.instantanea();
+
+        assertEquals(1, sgmms.despacharIncidentes(1).size());
+        sgmms.reasignarPasajero("P1", "R2");
+        Instantanea despues = sgmms.instantanea();
+
+        SGMMSData datosAntes = sgmms.exportar(antes);
+        assertEquals("pendiente", datosAntes.getIncidentes()[0].getEstado());
+        assertEquals("disponible", datosAntes.getConductores()[0].getEstado());
+        assertEquals("R1", datosAntes.getPasajeros()[0].getRutaAsignada());
+        SGMMSData datosDespues = sgmms.exportar(despues);
+        assertEquals("en proceso", datosDespues.getIncidentes()[0].getEstado());
+        assertEquals("en ruta", datosDespues.getConductores()[0].getEstado());
+        assertEquals("R2", datosDespues.getPasajeros()[0].getRutaAsignada());
+
+        // Quitar la ruta deja al pasajero sin ruta en las instantáneas nuevas, no en las anteriores
+        sgmms.eliminarRuta("R2");
+        assertNull(sgmms.exportar().getPasajeros()[0].getRutaAsignada());
+        assertEquals("R2", sgmms.exportar(despues).getPasajeros()[0].getRutaAsignada());
+    }
+
+    @Test
+    public void testLasModificacionesSeAnotanEnLaBitacora() throws Exception {
+        java.nio.file.Path archivo = java.nio.file.Files.createTempFile("sgmms", ".wal");
+        try {
+            SGMMS sgmms = new SGMMS();
+            try (model.persistencia.Bitacora bitacora = model.persistencia.Bitacora.abrir(archivo, true)) {
+                sgmms.setBitacora(bitacora);
+                sgmms.registrarRuta(new Ruta("R1", 10, 20, "A", "B"));
+                sgmms.registrarIncidente(new Incidente("I1", IncidentType.ROBO, "A", new java.util.Date(), "Robo", "pendiente"));
+                sgmms.registrarPersona(new Conductor("C1", "Luis", "301", "ABC123", "disponible"));
+                sgmms.registrarPersona(new Pasajero("P1", "Ana", "300"));
+                sgmms.reasignarPasajero("P1", "R1");
+                assertEquals(1, sgmms.despacharIncidentes(5).size());
+                assertThrows(IllegalArgumentException.class, () -> sgmms.registrarRuta(new Ruta("R1", 1, 1, "A", "B")));
+                sgmms.eliminarPersonas(p -> p instanceof Pasajero);
+                assertFalse(sgmms.eliminarRuta("R9"));
+                assertTrue(sgmms.eliminarRuta("R1"));
+                assertEquals(bitacora.getUltimoLsn(), bitacora.getLsnDurable());
+            }
+
+            java.util.List<model.persistencia.Operacion> operaciones = model.persistencia.Bitacora.leer(archivo);
+            java.util.List<model.persistencia.TipoOperacion> tipos = new java.util.ArrayList<>();
+            for (model.persistencia.Operacion operacion : operaciones) {
+                tipos.add(operacion.getTipo());
+            }
+            assertEquals(java.util.Arrays.asList(
+                    model.persistencia.TipoOperacion.REGISTRAR_RUTA,
+                    model.persistencia.TipoOperacion.REGISTRAR_INCIDENTE,
+                    model.persistencia.TipoOperacion.REGISTRAR_CONDUCTOR,
+                    model.persistencia.TipoOperacion.REGISTRAR_PASAJERO,
+                    model.persistencia.TipoOperacion.REASIGNAR_PASAJERO,
+                    model.persistencia.TipoOperacion.ACTUALIZAR_ESTADO_INCIDENTE,
+                    model.persistencia.TipoOperacion.ACTUALIZAR_ESTADO_CONDUCTOR,
+                    model.persistencia.TipoOperacion.ELIMINAR_PERSONA,
+                    model.persistencia.TipoOperacion.ELIMINAR_RUTA), tipos);
+            assertEquals("en proceso", operaciones.get(5).getEstado());
+            assertEquals("en ruta", operaciones.get(6).getEstado());
+        } finally {
+            java.nio.file.Files.deleteIfExists(archivo);
+        }
+    }
+
+    @Test
+    public void testExportarEImportarConservaLasPersonas() throws Exception {
+        SGMMS sgmms = new SGMMS();
+        sgmms.registrarRuta(new Ruta("R1", 10, 20, "A", "B"));
+        Pasajero pasajero = new Pasajero("P1", "Ana", "300");
+        pasajero.setRutaAsignada(sgmms.buscarRuta("R1"));
+        sgmms.registrarPersona(pasajero);
+        sgmms.registrarPersona(new Conductor("C1", "Luis", "301", "ABC123", "en ruta"));
+
+        SGMMS copia = new SGMMS();
+        copia.importar(sgmms.exportar());
+        assertEquals(1, copia.contarPasajerosEnRuta("R1"));
+        assertEquals("en ruta", copia.buscarConductor("C1").getEstado());
+    }
+
+    @Test
+    public void testImportarComparteLosValoresRepetidos() throws Exception {
+        SGMMSData datos = new SGMMSData();
+        datos.setRutas(new Ruta[]{
+                new Ruta("R1", 5, 10, new String("Centro"), new String("Norte")),
+                new Ruta("R2", 8, 12, new String("Norte"), new String("Centro"))});
+        datos.setIncidentes(new Incidente[]{
+                new Incidente("I1", IncidentType.ROBO, new String("Centro"), new java.util.Date(), "Robo", new String("pendiente"))});
+        SGMMS sgmms = new SGMMS();
+        sgmms.importar(datos);
+
+        Ruta r1 = sgmms.buscarRuta("R1");
+        Ruta r2 = sgmms.buscarRuta("R2");
+        assertSame(r1.getPuntoInicio(), r2.getPuntoFin());
+        assertSame(r1.getPuntoInicio(), sgmms.buscarIncidente("I1").getUbicacion());
+        assertSame(model.despacho.Despachador.INCIDENTE_PENDIENTE, sgmms.buscarIncidente("I1").getEstado());
+
+        Controller controller = new Controller(sgmms);
+        controller.registrarRuta("R3", 1, 1, new String("Norte"), new String("Sur"));
+        assertSame(r1.getPuntoFin(), sgmms.buscarRuta("R3").getPuntoInicio());
+    }
 }
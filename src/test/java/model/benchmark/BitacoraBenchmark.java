@@ -0,0 +1,77 @@
+package model.benchmark;
+
+import model.IncidentType;
+import model.Incidente;
+import model.SGMMS;
+import model.persistencia.Bitacora;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmark manual de la bitácora: varios hilos registran incidentes en un {@link SGMMS} con una
+ * {@link Bitacora} síncrona (cada registro espera a estar en el disco) y asíncrona, variando el número de
+ * hilos. Con la bitácora síncrona, el rendimiento debería crecer con los hilos porque una misma
+ * sincronización con el disco confirma a todos los registros del lote.
+ * Se ejecuta con {@code java model.benchmark.BitacoraBenchmark}.
+ */
+public class BitacoraBenchmark {
+
+    private static final int OPERACIONES_POR_HILO_SINCRONA = 500;
+    private static final int OPERACIONES_POR_HILO_ASINCRONA = 20_000;
+    private static final int[] HILOS = {1, 4, 16, 64};
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        System.out.printf("%6s %18s %18s%n", "hilos", "síncrona(ops/s)", "asíncrona(ops/s)");
+        for (int hilos : HILOS) {
+            double sincrona = medir(hilos, true, OPERACIONES_POR_HILO_SINCRONA);
+            double asincrona = medir(hilos, false, OPERACIONES_POR_HILO_ASINCRONA);
+            System.out.printf("%6d %18.0f %18.0f%n", hilos, sincrona, asincrona);
+        }
+    }
+
+    /**
+     * Registra {@code porHilo} incidentes desde cada hilo y devuelve el rendimiento total en operaciones
+     * por segundo, contando hasta que todas las operaciones están en el disco.
+     */
+    private static double medir(int hilos, boolean sincrona, int porHilo) throws IOException, InterruptedException {
+        Path archivo = Files.createTempFile("benchmark", ".wal");
+        try (Bitacora bitacora = Bitacora.abrir(archivo, sincrona)) {
+            SGMMS sgmms = new SGMMS();
+            sgmms.setBitacora(bitacora);
+            CountDownLatch inicio = new CountDownLatch(1);
+            AtomicInteger siguiente = new AtomicInteger();
+            Thread[] trabajadores = new Thread[hilos];
+            for (int h = 0; h < hilos; h++) {
+                trabajadores[h] = new Thread(() -> {
+                    try {
+                        inicio.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int i = 0; i < porHilo; i++) {
+                        int id = siguiente.getAndIncrement();
+                        sgmms.registrarIncidente(new Incidente("I" + id, IncidentType.ROBO, "P" + id % 500,
+                                new Date(id), "Prueba", "pendiente"));
+                    }
+                });
+                trabajadores[h].start();
+            }
+            long t0 = System.nanoTime();
+            inicio.countDown();
+            for (Thread trabajador : trabajadores) {
+                trabajador.join();
+            }
+            bitacora.sincronizar();
+            double segundos = (System.nanoTime() - t0) / 1e9;
+            return hilos * (double) porHilo / segundos;
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package model.benchmark;
+
+import model.ListaConcurrente;
+import model.ListaEnlazadaSimple;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Benchmark manual del rendimiento de inserciones concurrentes: compara {@link ListaConcurrente}
+ * con una {@link ListaEnlazadaSimple} protegida por {@code synchronized}, variando el número de hilos.
+ * Se ejecuta con {@code java model.benchmark.ConcurrenciaBenchmark}.
+ */
+public class ConcurrenciaBenchmark {
+
+    private static final int INSERCIONES_POR_HILO = 500_000;
+    private static final int[] HILOS = {1, 2, 4, 8};
+    private static final int REPETICIONES = 5;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.printf("%6s %22s %22s%n", "hilos", "concurrente(Mops/s)", "sincronizada(Mops/s)");
+        for (int hilos : HILOS) {
+            double concurrente = 0;
+            double sincronizada = 0;
+            for (int r = 0; r < REPETICIONES; r++) {
+                ListaConcurrente<Integer> listaConcurrente = new ListaConcurrente<>();
+                concurrente = Math.max(concurrente, medir(hilos, listaConcurrente::addLast));
+
+                ListaEnlazadaSimple<Integer> listaSimple = new ListaEnlazadaSimple<>();
+                sincronizada = Math.max(sincronizada, medir(hilos, valor -> {
+                    synchronized (listaSimple) {
+                        listaSimple.addLast(valor);
+                    }
+                }));
+            }
+            System.out.printf("%6d %22.2f %22.2f%n", hilos, concurrente, sincronizada);
+        }
+    }
+
+    /**
+     * Lanza los hilos indicados, cada uno con {@link #INSERCIONES_POR_HILO} inserciones, y devuelve
+     * el rendimiento total en millones de operaciones por segundo.
+     */
+    private static double medir(int hilos, Insercion insercion) throws InterruptedException {
+        CountDownLatch inicio = new CountDownLatch(1);
+        Thread[] productores = new Thread[hilos];
+        for (int h = 0; h < hilos; h++) {
+            productores[h] = new Thread(() -> {
+                try {
+                    inicio.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < INSERCIONES_POR_HILO; i++) {
+                    insercion.agregar(i);
+                }
+            });
+            productores[h].start();
+        }
+        long t0 = System.nanoTime();
+        inicio.countDown();
+        for (Thread productor : productores) {
+            productor.join();
+        }
+        double segundos = (System.nanoTime() - t0) / 1e9;
+        return hilos * (double) INSERCIONES_POR_HILO / segundos / 1e6;
+    }
+
+    private interface Insercion {
+        void agregar(int valor);
+    }
+}
@@ -0,0 +1,124 @@
+package model.benchmark;
+
+import model.IncidentType;
+import model.Incidente;
+import model.Ruta;
+import model.SGMMS;
+import model.exceptions.DataNotFoundException;
+
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmark manual de contención sobre {@link SGMMS}: varios hilos mezclan consultas (búsquedas por
+ * identificador, mejor ruta, conteos por tipo y estado) con escrituras (registro de incidentes y cambios
+ * de estado) en distintas proporciones. Compara los bloqueos por colección de {@link SGMMS} con el mismo
+ * sistema protegido por un único {@code synchronized}, variando el número de hilos.
+ * Se ejecuta con {@code java model.benchmark.ContencionBenchmark}.
+ */
+public class ContencionBenchmark {
+
+    private static final int RUTAS = 10_000;
+    private static final int INCIDENTES = 10_000;
+    private static final int OPERACIONES_POR_HILO = 200_000;
+    private static final int[] HILOS = {1, 2, 4, 8};
+    private static final int[] PORCENTAJES_ESCRITURA = {0, 5, 20, 50};
+    private static final int REPETICIONES = 3;
+    private static final String[] ESTADOS = {"pendiente", "en proceso", "resuelto"};
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.printf("%10s %6s %22s %22s%n", "escrituras", "hilos", "por colección(Mops/s)", "global(Mops/s)");
+        for (int escrituras : PORCENTAJES_ESCRITURA) {
+            for (int hilos : HILOS) {
+                double porColeccion = 0;
+                double global = 0;
+                for (int r = 0; r < REPETICIONES; r++) {
+                    SGMMS sgmms = crearSistema();
+                    porColeccion = Math.max(porColeccion, medir(hilos, escrituras, sgmms, null));
+                    SGMMS sincronizado = crearSistema();
+                    global = Math.max(global, medir(hilos, escrituras, sincronizado, sincronizado));
+                }
+                System.out.printf("%9d%% %6d %22.2f %22.2f%n", escrituras, hilos, porColeccion, global);
+            }
+        }
+    }
+
+    private static SGMMS crearSistema() {
+        SGMMS sgmms = new SGMMS();
+        for (int i = 0; i < RUTAS; i++) {
+            sgmms.registrarRuta(new Ruta("R" + i, 1 + i % 97, 5 + i % 53, "P" + i % 500, "P" + (i + 1) % 500));
+        }
+        for (int i = 0; i < INCIDENTES; i++) {
+            sgmms.registrarIncidente(new Incidente("I" + i, IncidentType.values()[i % 4], "P" + i % 500,
+                    new Date(i), "Prueba", ESTADOS[i % ESTADOS.length]));
+        }
+        return sgmms;
+    }
+
+    /**
+     * Lanza los hilos indicados, cada uno con {@link #OPERACIONES_POR_HILO} operaciones, y devuelve el
+     * rendimiento total en millones de operaciones por segundo. Si {@code monitor} no es nulo, cada
+     * operación se ejecuta dentro de un bloque sincronizado sobre él.
+     */
+    private static double medir(int hilos, int porcentajeEscritura, SGMMS sgmms, Object monitor) throws InterruptedException {
+        CountDownLatch inicio = new CountDownLatch(1);
+        AtomicInteger siguienteIncidente = new AtomicInteger(INCIDENTES);
+        Thread[] trabajadores = new Thread[hilos];
+        for (int h = 0; h < hilos; h++) {
+            trabajadores[h] = new Thread(() -> {
+                try {
+                    inicio.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < OPERACIONES_POR_HILO; i++) {
+                    int dado = random.nextInt(100);
+                    int operacion = random.nextInt(4);
+                    int id = random.nextInt(INCIDENTES);
+                    if (monitor == null) {
+                        operar(sgmms, dado < porcentajeEscritura, operacion, id, siguienteIncidente);
+                    } else {
+                        synchronized (monitor) {
+                            operar(sgmms, dado < porcentajeEscritura, operacion, id, siguienteIncidente);
+                        }
+                    }
+                }
+            });
+            trabajadores[h].start();
+        }
+        long t0 = System.nanoTime();
+        inicio.countDown();
+        for (Thread trabajador : trabajadores) {
+            trabajador.join();
+        }
+        double segundos = (System.nanoTime() - t0) / 1e9;
+        return hilos * (double) OPERACIONES_POR_HILO / segundos / 1e6;
+    }
+
+    private static void operar(SGMMS sgmms, boolean escritura, int operacion, int id, AtomicInteger siguienteIncidente) {
+        try {
+            if (escritura) {
+                if (operacion % 2 == 0) {
+                    int nuevo = siguienteIncidente.getAndIncrement();
+                    sgmms.registrarIncidente(new Incidente("I" + nuevo, IncidentType.ROBO, "P" + nuevo % 500,
+                            new Date(nuevo), "Prueba", "pendiente"));
+                } else {
+                    sgmms.actualizarEstadoIncidente("I" + id, ESTADOS[operacion % ESTADOS.length]);
+                }
+                return;
+            }
+            switch (operacion) {
+                case 0 -> sgmms.buscarRuta("R" + id % RUTAS);
+                case 1 -> sgmms.buscarIncidente("I" + id);
+                case 2 -> sgmms.determinarMejorRuta();
+                default -> sgmms.contarIncidentes(IncidentType.ROBO, "pendiente");
+            }
+        } catch (DataNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
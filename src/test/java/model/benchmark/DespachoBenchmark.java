@@ -0,0 +1,55 @@
+package model.benchmark;
+
+import model.Conductor;
+import model.IncidentType;
+import model.Incidente;
+import model.despacho.Asignacion;
+import model.despacho.Despachador;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark manual del rendimiento de {@link Despachador}: asigna incidentes pendientes en lotes de
+ * distinto tamaño y libera a los conductores después de cada lote para que siempre haya disponibles.
+ * Solo se mide el tiempo de las llamadas a {@link Despachador#asignar(int)}.
+ * Se ejecuta con {@code java model.benchmark.DespachoBenchmark}.
+ */
+public class DespachoBenchmark {
+
+    private static final int CONDUCTORES = 5_000;
+    private static final int INCIDENTES = 500_000;
+    private static final int[] LOTES = {1, 16, 256};
+
+    public static void main(String[] args) {
+        System.out.printf("%6s %20s%n", "lote", "asignaciones/s");
+        for (int lote : LOTES) {
+            Despachador despachador = new Despachador();
+            Conductor[] conductores = new Conductor[CONDUCTORES];
+            for (int i = 0; i < CONDUCTORES; i++) {
+                conductores[i] = new Conductor("C" + i, "Conductor " + i, "300", "V" + i, Despachador.CONDUCTOR_DISPONIBLE);
+                despachador.registrarConductor(conductores[i]);
+            }
+            Random random = new Random(lote);
+            IncidentType[] tipos = IncidentType.values();
+            for (int i = 0; i < INCIDENTES; i++) {
+                despachador.registrarIncidente(new Incidente("I" + i, tipos[random.nextInt(tipos.length)], "Centro",
+                        new Date(random.nextInt(1_000_000)), "Prueba", Despachador.INCIDENTE_PENDIENTE));
+            }
+
+            long nanos = 0;
+            int asignadas = 0;
+            while (despachador.incidentesPendientes() > 0) {
+                long t0 = System.nanoTime();
+                List<Asignacion> asignaciones = despachador.asignar(lote);
+                nanos += System.nanoTime() - t0;
+                asignadas += asignaciones.size();
+                for (Asignacion asignacion : asignaciones) {
+                    despachador.cambiarEstadoConductor(asignacion.getConductor(), Despachador.CONDUCTOR_DISPONIBLE);
+                }
+            }
+            System.out.printf("%6d %20.0f%n", lote, asignadas / (nanos / 1e9));
+        }
+    }
+}
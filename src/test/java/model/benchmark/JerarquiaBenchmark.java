@@ -0,0 +1,91 @@
+package model.benchmark;
+
+import model.Ruta;
+import model.grafo.CriterioCosto;
+import model.grafo.GrafoRutas;
+import model.grafo.JerarquiaContraccion;
+import model.grafo.Trayecto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark manual de consultas punto a punto: compara {@link JerarquiaContraccion} con el Dijkstra
+ * de {@link GrafoRutas} sobre una red en cuadrícula con rutas en ambos sentidos entre puntos vecinos.
+ * Los orígenes son aleatorios, así que la caché de árboles de Dijkstra casi nunca acierta.
+ * Se ejecuta con {@code java model.benchmark.JerarquiaBenchmark}.
+ */
+public class JerarquiaBenchmark {
+
+    private static final int[] LADOS = {50, 100, 150};
+    private static final int CONSULTAS = 1_000;
+
+    public static void main(String[] args) {
+        System.out.printf("%8s %8s %14s %10s %18s %18s%n",
+                "puntos", "rutas", "preproceso(ms)", "atajos", "dijkstra(us/op)", "jerarquia(us/op)");
+        for (int lado : LADOS) {
+            List<Ruta> rutas = cuadricula(lado, new Random(lado));
+            GrafoRutas grafo = new GrafoRutas();
+            for (Ruta ruta : rutas) {
+                grafo.agregar(ruta);
+            }
+
+            long t0 = System.nanoTime();
+            JerarquiaContraccion jerarquia = new JerarquiaContraccion(rutas, CriterioCosto.DISTANCIA);
+            double preproceso = (System.nanoTime() - t0) / 1e6;
+
+            Random random = new Random(1);
+            String[][] consultas = new String[CONSULTAS][2];
+            for (String[] consulta : consultas) {
+                consulta[0] = punto(random.nextInt(lado), random.nextInt(lado));
+                consulta[1] = punto(random.nextInt(lado), random.nextInt(lado));
+            }
+
+            double[] esperados = new double[CONSULTAS];
+            t0 = System.nanoTime();
+            for (int i = 0; i < CONSULTAS; i++) {
+                esperados[i] = grafo.caminoMasCorto(consultas[i][0], consultas[i][1], CriterioCosto.DISTANCIA).getCosto();
+            }
+            double dijkstra = (System.nanoTime() - t0) / 1e3 / CONSULTAS;
+
+            t0 = System.nanoTime();
+            for (int i = 0; i < CONSULTAS; i++) {
+                Trayecto trayecto = jerarquia.caminoMasCorto(consultas[i][0], consultas[i][1]);
+                if (Math.abs(trayecto.getCosto() - esperados[i]) > 1e-6) {
+                    throw new IllegalStateException("Costo distinto para " + consultas[i][0] + " -> " + consultas[i][1]);
+                }
+            }
+            double conJerarquia = (System.nanoTime() - t0) / 1e3 / CONSULTAS;
+
+            System.out.printf("%8d %8d %14.1f %10d %18.1f %18.1f%n",
+                    lado * lado, rutas.size(), preproceso, jerarquia.getAtajos(), dijkstra, conJerarquia);
+        }
+    }
+
+    private static List<Ruta> cuadricula(int lado, Random random) {
+        List<Ruta> rutas = new ArrayList<>();
+        for (int x = 0; x < lado; x++) {
+            for (int y = 0; y < lado; y++) {
+                if (x + 1 < lado) {
+                    agregarDobleSentido(rutas, punto(x, y), punto(x + 1, y), random);
+                }
+                if (y + 1 < lado) {
+                    agregarDobleSentido(rutas, punto(x, y), punto(x, y + 1), random);
+                }
+            }
+        }
+        return rutas;
+    }
+
+    private static void agregarDobleSentido(List<Ruta> rutas, String a, String b, Random random) {
+        double distancia = 1 + random.nextInt(100) / 10.0;
+        int tiempo = 1 + random.nextInt(20);
+        rutas.add(new Ruta(a + ">" + b, distancia, tiempo, a, b));
+        rutas.add(new Ruta(b + ">" + a, distancia, tiempo, b, a));
+    }
+
+    private static String punto(int x, int y) {
+        return x + "," + y;
+    }
+}
@@ -0,0 +1,71 @@
+package model.benchmark;
+
+import model.Lista;
+import model.ListaEnlazadaSimple;
+import model.Ruta;
+import model.TipoLista;
+import model.comparators.RouteDistanceComparator;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Benchmark manual que compara {@link Lista#ordenar} con {@link Lista#ordenarParalelo} sobre
+ * 10k, 100k y 1M rutas, para ubicar el punto de cruce usado en {@link ListaEnlazadaSimple#UMBRAL_PARALELO}.
+ * Se mide cada implementación de {@link TipoLista}.
+ * <p>
+ * Por debajo del umbral el modo paralelo ordena de forma secuencial, así que para medir el cruce se ejecuta
+ * con un umbral bajo, {@code java -Dmodel.umbralParalelo=1024 model.benchmark.OrdenamientoBenchmark}, en la
+ * máquina donde correrá el sistema; el umbral a configurar es el menor tamaño en que el modo paralelo gana.
+ */
+public class OrdenamientoBenchmark {
+
+    private static final int[] TAMANOS = {10_000, 100_000, 1_000_000};
+    private static final int REPETICIONES = 7;
+
+    public static void main(String[] args) {
+        RouteDistanceComparator comparator = new RouteDistanceComparator();
+        Random random = new Random(42);
+
+        System.out.printf("núcleos=%d umbral=%d%n", Runtime.getRuntime().availableProcessors(),
+                ListaEnlazadaSimple.UMBRAL_PARALELO);
+        System.out.printf("%-12s %10s %15s %15s%n", "lista", "elementos", "secuencial(ms)", "paralelo(ms)");
+        for (TipoLista tipo : TipoLista.values()) {
+            for (int tamano : TAMANOS) {
+                Ruta[] rutas = new Ruta[tamano];
+                for (int i = 0; i < tamano; i++) {
+                    rutas[i] = new Ruta("R" + i, random.nextDouble() * 100, random.nextInt(120), "A", "B");
+                }
+
+                double[] secuencial = new double[REPETICIONES];
+                double[] paralelo = new double[REPETICIONES];
+                for (int r = 0; r < REPETICIONES; r++) {
+                    Lista<Ruta> lista = crearLista(tipo, rutas);
+                    long inicio = System.nanoTime();
+                    lista.ordenar(comparator);
+                    secuencial[r] = (System.nanoTime() - inicio) / 1e6;
+
+                    lista = crearLista(tipo, rutas);
+                    inicio = System.nanoTime();
+                    lista.ordenarParalelo(comparator);
+                    paralelo[r] = (System.nanoTime() - inicio) / 1e6;
+                }
+                System.out.printf("%-12s %10d %15.2f %15.2f%n", tipo, tamano, mediana(secuencial), mediana(paralelo));
+            }
+        }
+    }
+
+    private static Lista<Ruta> crearLista(TipoLista tipo, Ruta[] rutas) {
+        Lista<Ruta> lista = tipo.crear();
+        for (Ruta ruta : rutas) {
+            lista.addLast(ruta);
+        }
+        return lista;
+    }
+
+    private static double mediana(double[] tiempos) {
+        double[] copia = tiempos.clone();
+        Arrays.sort(copia);
+        return copia[copia.length / 2];
+    }
+}
@@ -0,0 +1,100 @@
+package model.benchmark;
+
+import model.IncidentType;
+import model.Incidente;
+import model.SGMMS;
+import model.exceptions.DataNotFoundException;
+import model.persistencia.Bitacora;
+import model.persistencia.GestorPersistencia;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.stream.Stream;
+
+/**
+ * Benchmark manual del arranque: para historias de distinto largo, compara el tiempo de recuperar un
+ * {@link SGMMS} reproduciendo toda la bitácora con el de importar el último punto de control y reproducir solo
+ * las operaciones posteriores, que son siempre las mismas {@link #COLA} operaciones. La historia registra
+ * {@link #INCIDENTES} incidentes y después solo cambia sus estados, así que el contenido del sistema no crece
+ * con ella.
+ * Se ejecuta con {@code java model.benchmark.RecuperacionBenchmark}.
+ */
+public class RecuperacionBenchmark {
+
+    private static final int[] HISTORIAS = {20_000, 100_000, 400_000};
+    private static final int INCIDENTES = 10_000;
+    private static final int COLA = 5_000;
+    private static final String[] ESTADOS = {"pendiente", "en proceso", "resuelto"};
+    private static final int REPETICIONES = 3;
+
+    public static void main(String[] args) throws IOException {
+        System.out.printf("%10s %20s %24s%n", "historia", "solo bitácora(ms)", "punto de control(ms)");
+        for (int historia : HISTORIAS) {
+            Path completa = Files.createTempDirectory("recuperacion");
+            Path conPuntoControl = Files.createTempDirectory("recuperacion");
+            try {
+                preparar(completa, historia, false);
+                preparar(conPuntoControl, historia, true);
+                double soloBitacora = Double.MAX_VALUE;
+                double puntoControl = Double.MAX_VALUE;
+                for (int r = 0; r < REPETICIONES; r++) {
+                    soloBitacora = Math.min(soloBitacora, medir(completa));
+                    puntoControl = Math.min(puntoControl, medir(conPuntoControl));
+                }
+                System.out.printf("%10d %20.1f %24.1f%n", historia, soloBitacora, puntoControl);
+            } finally {
+                borrar(completa);
+                borrar(conPuntoControl);
+            }
+        }
+    }
+
+    /**
+     * Registra la historia en el directorio, con un punto de control antes de las últimas {@link #COLA}
+     * operaciones si se pide, y cierra la bitácora sin punto de control final, como en una caída.
+     */
+    private static void preparar(Path directorio, int historia, boolean puntoControl) throws IOException {
+        SGMMS sgmms = new SGMMS();
+        GestorPersistencia gestor = GestorPersistencia.abrir(sgmms, directorio, false);
+        for (int i = 0; i < historia; i++) {
+            if (puntoControl && i == historia - COLA) {
+                gestor.guardarPuntoControl();
+            }
+            if (i < INCIDENTES) {
+                sgmms.registrarIncidente(new Incidente("I" + i, IncidentType.values()[i % 4], "P" + i % 500,
+                        new Date(i), "Prueba", "pendiente"));
+            } else {
+                try {
+                    sgmms.actualizarEstadoIncidente("I" + i % INCIDENTES, ESTADOS[i % ESTADOS.length]);
+                } catch (DataNotFoundException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+        Bitacora bitacora = gestor.getBitacora();
+        bitacora.sincronizar();
+        bitacora.close();
+    }
+
+    private static double medir(Path directorio) throws IOException {
+        long t0 = System.nanoTime();
+        SGMMS sgmms = new SGMMS();
+        GestorPersistencia gestor = GestorPersistencia.abrir(sgmms, directorio, false);
+        double ms = (System.nanoTime() - t0) / 1e6;
+        // Se cierra sin punto de control final para que la siguiente repetición mida lo mismo
+        sgmms.setBitacora(null);
+        gestor.getBitacora().close();
+        return ms;
+    }
+
+    private static void borrar(Path directorio) throws IOException {
+        try (Stream<Path> archivos = Files.walk(directorio)) {
+            for (Path archivo : (Iterable<Path>) archivos.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(archivo);
+            }
+        }
+    }
+}
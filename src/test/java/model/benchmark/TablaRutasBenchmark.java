@@ -0,0 +1,113 @@
+package model.benchmark;
+
+import model.EstadisticasRutas;
+import model.IncidentType;
+import model.Incidente;
+import model.Ruta;
+import model.indices.IndiceUbicaciones;
+import model.indices.MonticuloIndexado;
+import model.indices.TablaRutas;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Benchmark manual de {@link TablaRutas}: compara el resumen de distancias y tiempos calculado sobre las
+ * columnas con el mismo cálculo recorriendo objetos {@link Ruta}, y la búsqueda de las mejores rutas con
+ * penalización por incidentes recorriendo la tabla con la búsqueda en orden de puntaje de
+ * {@link MonticuloIndexado}, con cada vez más incidentes activos.
+ * Se ejecuta con {@code java model.benchmark.TablaRutasBenchmark}.
+ */
+public class TablaRutasBenchmark {
+
+    private static final int RUTAS = 200_000;
+    private static final int PUNTOS = 1_000;
+    private static final int[] INCIDENTES = {10, 300, 3_000};
+    private static final int K = 10;
+    private static final int REPETICIONES = 30;
+
+    public static void main(String[] args) {
+        Random random = new Random(1);
+        List<Ruta> rutas = new ArrayList<>(RUTAS);
+        TablaRutas tabla = new TablaRutas();
+        MonticuloIndexado<Ruta> monticulo = new MonticuloIndexado<>();
+        for (int i = 0; i < RUTAS; i++) {
+            Ruta ruta = new Ruta("R" + i, 1 + random.nextInt(100), 1 + random.nextInt(100),
+                    "P" + random.nextInt(PUNTOS), "P" + random.nextInt(PUNTOS));
+            rutas.add(ruta);
+            tabla.agregar(ruta);
+            monticulo.agregar(ruta.getId(), ruta, ruta.getDistancia() + ruta.getTiempoEstimado());
+        }
+
+        double objetos = Double.MAX_VALUE;
+        double columnas = Double.MAX_VALUE;
+        for (int r = 0; r < REPETICIONES; r++) {
+            long t0 = System.nanoTime();
+            EstadisticasRutas porObjetos = estadisticas(rutas);
+            objetos = Math.min(objetos, (System.nanoTime() - t0) / 1e6);
+            t0 = System.nanoTime();
+            EstadisticasRutas porColumnas = tabla.estadisticas();
+            columnas = Math.min(columnas, (System.nanoTime() - t0) / 1e6);
+            if (porObjetos.getDistanciaMaxima() != porColumnas.getDistanciaMaxima()) {
+                throw new IllegalStateException("Los resúmenes no coinciden");
+            }
+        }
+        System.out.printf("resumen de %d rutas: objetos %.3f ms, columnas %.3f ms%n", RUTAS, objetos, columnas);
+
+        Map<IncidentType, Double> penalizaciones = new EnumMap<>(IncidentType.class);
+        penalizaciones.put(IncidentType.ACCIDENTE, 30.0);
+        penalizaciones.put(IncidentType.INCENDIO, 60.0);
+        penalizaciones.put(IncidentType.ROBO, 15.0);
+        penalizaciones.put(IncidentType.OTRO, 5.0);
+        System.out.printf("%12s %16s %16s%n", "incidentes", "montículo(ms)", "tabla(ms)");
+        for (int incidentes : INCIDENTES) {
+            IndiceUbicaciones ubicaciones = new IndiceUbicaciones();
+            for (int i = 0; i < incidentes; i++) {
+                ubicaciones.agregar(new Incidente("I" + i, IncidentType.values()[i % 4], "P" + random.nextInt(PUNTOS),
+                        new Date(i), "Prueba", "pendiente"));
+            }
+            double enOrden = Double.MAX_VALUE;
+            double recorrido = Double.MAX_VALUE;
+            for (int r = 0; r < REPETICIONES; r++) {
+                long t0 = System.nanoTime();
+                List<Ruta> porMonticulo = monticulo.menores(K, ruta -> {
+                    double total = ubicaciones.penalizacion(ruta.getPuntoInicio(), penalizaciones);
+                    if (!ruta.getPuntoFin().equalsIgnoreCase(ruta.getPuntoInicio())) {
+                        total += ubicaciones.penalizacion(ruta.getPuntoFin(), penalizaciones);
+                    }
+                    return total;
+                });
+                enOrden = Math.min(enOrden, (System.nanoTime() - t0) / 1e6);
+                t0 = System.nanoTime();
+                List<Ruta> porTabla = tabla.menores(K, punto -> ubicaciones.penalizacion(punto, penalizaciones));
+                recorrido = Math.min(recorrido, (System.nanoTime() - t0) / 1e6);
+                if (!porMonticulo.equals(porTabla)) {
+                    throw new IllegalStateException("Las mejores rutas no coinciden");
+                }
+            }
+            System.out.printf("%12d %16.3f %16.3f%n", incidentes, enOrden, recorrido);
+        }
+    }
+
+    private static EstadisticasRutas estadisticas(List<Ruta> rutas) {
+        double minima = Double.POSITIVE_INFINITY;
+        double maxima = Double.NEGATIVE_INFINITY;
+        double total = 0;
+        int tiempoMinimo = Integer.MAX_VALUE;
+        int tiempoMaximo = Integer.MIN_VALUE;
+        long tiempoTotal = 0;
+        for (Ruta ruta : rutas) {
+            minima = Math.min(minima, ruta.getDistancia());
+            maxima = Math.max(maxima, ruta.getDistancia());
+            total += ruta.getDistancia();
+            tiempoMinimo = Math.min(tiempoMinimo, ruta.getTiempoEstimado());
+            tiempoMaximo = Math.max(tiempoMaximo, ruta.getTiempoEstimado());
+            tiempoTotal += ruta.getTiempoEstimado();
+        }
+        return new EstadisticasRutas(rutas.size(), minima, maxima, total, tiempoMinimo, tiempoMaximo, tiempoTotal);
+    }
+}
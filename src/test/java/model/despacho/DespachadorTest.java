@@ -0,0 +1,114 @@
+package model.despacho;
+
+import model.Conductor;
+import model.IncidentType;
+import model.Incidente;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Date;
+import java.util.List;
+
+public class DespachadorTest {
+
+    private Despachador despachador;
+    private Conductor carlos;
+    private Conductor ana;
+    private Conductor ocupado;
+
+    @BeforeEach
+    public void setup() {
+        despachador = new Despachador();
+        carlos = new Conductor("C1", "Carlos", "300", "V1", "disponible");
+        ana = new Conductor("C2", "Ana", "301", "V2", "Disponible");
+        ocupado = new Conductor("C3", "Luis", "302", "V3", "en ruta");
+        despachador.registrarConductor(carlos);
+        despachador.registrarConductor(ana);
+        despachador.registrarConductor(ocupado);
+    }
+
+    private static Incidente incidente(String id, IncidentType tipo, long milisegundos, String estado) {
+        return new Incidente(id, tipo, "Centro", new Date(milisegundos), "Prueba", estado);
+    }
+
+    @Test
+    public void testAsignaPorGravedadYAntiguedad() {
+        Incidente robo = incidente("I1", IncidentType.ROBO, 1_000, "pendiente");
+        Incidente incendioNuevo = incidente("I2", IncidentType.INCENDIO, 5_000, "pendiente");
+        Incidente incendioViejo = incidente("I3", IncidentType.INCENDIO, 2_000, "pendiente");
+        Incidente resuelto = incidente("I4", IncidentType.INCENDIO, 0, "resuelto");
+        despachador.registrarIncidente(robo);
+        despachador.registrarIncidente(incendioNuevo);
+        despachador.registrarIncidente(incendioViejo);
+        despachador.registrarIncidente(resuelto);
+        assertEquals(2, despachador.conductoresDisponibles());
+        assertEquals(3, despachador.incidentesPendientes());
+
+        List<Asignacion> asignaciones = despachador.asignar(10);
+        assertEquals(2, asignaciones.size());
+        assertSame(incendioViejo, asignaciones.get(0).getIncidente());
+        assertSame(carlos, asignaciones.get(0).getConductor());
+        assertSame(incendioNuevo, asignaciones.get(1).getIncidente());
+        assertSame(ana, asignaciones.get(1).getConductor());
+        assertEquals("en ruta", carlos.getEstado());
+        assertEquals("en proceso", incendioViejo.getEstado());
+        assertEquals(0, despachador.conductoresDisponibles());
+        assertEquals(1, despachador.incidentesPendientes());
+        assertTrue(despachador.asignar(5).isEmpty());
+    }
+
+    @Test
+    public void testCambiosDeEstadoActualizanPoolYCola() {
+        Incidente accidente = incidente("I1", IncidentType.ACCIDENTE, 1_000, "pendiente");
+        Incidente robo = incidente("I2", IncidentType.ROBO, 2_000, "pendiente");
+        despachador.registrarIncidente(accidente);
+        despachador.registrarIncidente(robo);
+
+        despachador.cambiarEstadoIncidente(accidente, "resuelto");
+        despachador.cambiarEstadoConductor(carlos, "en ruta");
+        List<Asignacion> asignaciones = despachador.asignar(10);
+        assertEquals(1, asignaciones.size());
+        assertSame(robo, asignaciones.get(0).getIncidente());
+        assertSame(ana, asignaciones.get(0).getConductor());
+
+        despachador.cambiarEstadoIncidente(accidente, "pendiente");
+        despachador.cambiarEstadoIncidente(accidente, "pendiente");
+        despachador.cambiarEstadoConductor(ocupado, "disponible");
+        asignaciones = despachador.asignar(10);
+        assertEquals(1, asignaciones.size());
+        assertSame(accidente, asignaciones.get(0).getIncidente());
+        assertSame(ocupado, asignaciones.get(0).getConductor());
+        assertThrows(IllegalArgumentException.class, () -> despachador.asignar(-1));
+    }
+
+    @Test
+    public void testPrimerosSinAsignar() {
+        Incidente robo = incidente("I1", IncidentType.ROBO, 1_000, "pendiente");
+        Incidente incendio = incidente("I2", IncidentType.INCENDIO, 2_000, "pendiente");
+        Incidente accidente = incidente("I3", IncidentType.ACCIDENTE, 3_000, "pendiente");
+        despachador.registrarIncidente(robo);
+        despachador.registrarIncidente(incendio);
+        despachador.registrarIncidente(accidente);
+        despachador.cambiarEstadoIncidente(accidente, "resuelto");
+
+        List<Incidente> primeros = despachador.primerosPendientes(5);
+        assertEquals(2, primeros.size());
+        assertSame(incendio, primeros.get(0));
+        assertSame(robo, primeros.get(1));
+        assertSame(incendio, despachador.primerosPendientes(1).get(0));
+        assertEquals(2, despachador.incidentesPendientes());
+
+        List<Conductor> disponibles = despachador.primerosDisponibles(1);
+        assertEquals(1, disponibles.size());
+        assertSame(carlos, disponibles.get(0));
+        assertEquals(2, despachador.primerosDisponibles(5).size());
+        assertEquals("disponible", carlos.getEstado());
+
+        // Consultar no saca nada de la cola: el despacho sigue viendo los mismos incidentes
+        assertEquals(2, despachador.asignar(5).size());
+        assertTrue(despachador.primerosPendientes(5).isEmpty());
+        assertTrue(despachador.primerosDisponibles(5).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> despachador.primerosPendientes(-1));
+    }
+}
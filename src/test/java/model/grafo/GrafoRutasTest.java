@@ -0,0 +1,86 @@
+package model.grafo;
+
+import model.Ruta;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+public class GrafoRutasTest {
+
+    private GrafoRutas grafo;
+    private Ruta ab;
+    private Ruta bc;
+    private Ruta ac;
+    private Ruta cd;
+
+    @BeforeEach
+    public void setup() {
+        grafo = new GrafoRutas();
+        ab = new Ruta("AB", 4.0, 10, "A", "B");
+        bc = new Ruta("BC", 3.0, 10, "B", "C");
+        ac = new Ruta("AC", 9.0, 12, "A", "C");
+        cd = new Ruta("CD", 2.0, 5, "C", "D");
+        grafo.agregar(ab);
+        grafo.agregar(bc);
+        grafo.agregar(ac);
+        grafo.agregar(cd);
+    }
+
+    @Test
+    public void testCaminoMasCortoSegunCriterio() {
+        Trayecto porDistancia = grafo.caminoMasCorto("A", "D", CriterioCosto.DISTANCIA);
+        assertEquals(List.of(ab, bc, cd), porDistancia.getTramos());
+        assertEquals(9.0, porDistancia.getCosto(), 1e-9);
+        assertEquals(25, porDistancia.getTiempoTotal());
+
+        Trayecto porTiempo = grafo.caminoMasCorto("A", "D", CriterioCosto.TIEMPO);
+        assertEquals(List.of(ac, cd), porTiempo.getTramos());
+        assertEquals(17.0, porTiempo.getCosto(), 1e-9);
+    }
+
+    @Test
+    public void testPuntosInalcanzablesYMismoPunto() {
+        assertNull(grafo.caminoMasCorto("D", "A", CriterioCosto.DISTANCIA));
+        assertNull(grafo.caminoMasCorto("X", "A", CriterioCosto.DISTANCIA));
+        Trayecto vacio = grafo.caminoMasCorto("B", "B", CriterioCosto.COMBINADO);
+        assertTrue(vacio.getTramos().isEmpty());
+        assertEquals(0.0, vacio.getCosto(), 1e-9);
+    }
+
+    @Test
+    public void testCambiosEnRutasInvalidanLaCache() {
+        assertEquals(List.of(ab, bc, cd), grafo.caminoMasCorto("A", "D", CriterioCosto.DISTANCIA).getTramos());
+
+        Ruta atajo = new Ruta("AD", 1.0, 60, "A", "D");
+        grafo.agregar(atajo);
+        assertEquals(List.of(atajo), grafo.caminoMasCorto("A", "D", CriterioCosto.DISTANCIA).getTramos());
+
+        assertTrue(grafo.eliminar(atajo));
+        assertTrue(grafo.eliminar(bc));
+        assertFalse(grafo.eliminar(bc));
+        assertEquals(List.of(ac, cd), grafo.caminoMasCorto("A", "D", CriterioCosto.DISTANCIA).getTramos());
+        assertEquals(3, grafo.cantidadRutas());
+    }
+
+    @Test
+    public void testJerarquiaSeReconstruyeTrasCambios() throws InterruptedException {
+        grafo.activarJerarquia(CriterioCosto.DISTANCIA);
+        grafo.esperarJerarquias();
+        assertTrue(grafo.jerarquiaVigente(CriterioCosto.DISTANCIA));
+        assertFalse(grafo.jerarquiaVigente(CriterioCosto.TIEMPO));
+        assertEquals(List.of(ab, bc, cd), grafo.caminoMasCorto("A", "D", CriterioCosto.DISTANCIA).getTramos());
+
+        Ruta atajo = new Ruta("AD", 1.0, 60, "A", "D");
+        grafo.agregar(atajo);
+        // Mientras se reconstruye, la consulta se resuelve con Dijkstra sobre las rutas actuales
+        assertEquals(List.of(atajo), grafo.caminoMasCorto("A", "D", CriterioCosto.DISTANCIA).getTramos());
+        grafo.esperarJerarquias();
+        assertTrue(grafo.jerarquiaVigente(CriterioCosto.DISTANCIA));
+        assertEquals(List.of(atajo), grafo.caminoMasCorto("A", "D", CriterioCosto.DISTANCIA).getTramos());
+
+        grafo.desactivarJerarquia(CriterioCosto.DISTANCIA);
+        assertFalse(grafo.jerarquiaVigente(CriterioCosto.DISTANCIA));
+    }
+}
@@ -0,0 +1,66 @@
+package model.grafo;
+
+import model.Ruta;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class JerarquiaContraccionTest {
+
+    @Test
+    public void testTrayectoConRutasOriginales() {
+        Ruta ab = new Ruta("AB", 4.0, 10, "A", "B");
+        Ruta bc = new Ruta("BC", 3.0, 10, "B", "C");
+        Ruta ac = new Ruta("AC", 9.0, 12, "A", "C");
+        Ruta cd = new Ruta("CD", 2.0, 5, "C", "D");
+        JerarquiaContraccion jerarquia = new JerarquiaContraccion(List.of(ab, bc, ac, cd), CriterioCosto.DISTANCIA);
+
+        Trayecto trayecto = jerarquia.caminoMasCorto("A", "D");
+        assertEquals(List.of(ab, bc, cd), trayecto.getTramos());
+        assertEquals(9.0, trayecto.getCosto(), 1e-9);
+        assertNull(jerarquia.caminoMasCorto("D", "A"));
+        assertNull(jerarquia.caminoMasCorto("A", "X"));
+        assertTrue(jerarquia.caminoMasCorto("C", "C").getTramos().isEmpty());
+    }
+
+    @Test
+    public void testCoincideConDijkstraEnRedAleatoria() {
+        Random random = new Random(7);
+        List<Ruta> rutas = new ArrayList<>();
+        GrafoRutas grafo = new GrafoRutas();
+        for (int i = 0; i < 1_500; i++) {
+            Ruta ruta = new Ruta("R" + i, 1 + random.nextInt(50), 1 + random.nextInt(30),
+                    "P" + random.nextInt(300), "P" + random.nextInt(300));
+            rutas.add(ruta);
+            grafo.agregar(ruta);
+        }
+        for (CriterioCosto criterio : CriterioCosto.values()) {
+            JerarquiaContraccion jerarquia = new JerarquiaContraccion(rutas, criterio);
+            for (int q = 0; q < 200; q++) {
+                String origen = "P" + random.nextInt(300);
+                String destino = "P" + random.nextInt(300);
+                Trayecto esperado = grafo.caminoMasCorto(origen, destino, criterio);
+                Trayecto obtenido = jerarquia.caminoMasCorto(origen, destino);
+                if (esperado == null) {
+                    assertNull(obtenido);
+                    continue;
+                }
+                assertEquals(esperado.getCosto(), obtenido.getCosto(), 1e-9);
+
+                // El trayecto desempacado debe ser continuo y sumar el costo informado
+                String punto = origen;
+                double costo = 0;
+                for (Ruta tramo : obtenido.getTramos()) {
+                    assertEquals(punto, tramo.getPuntoInicio());
+                    punto = tramo.getPuntoFin();
+                    costo += criterio.costo(tramo);
+                }
+                assertEquals(destino, punto);
+                assertEquals(obtenido.getCosto(), costo, 1e-9);
+            }
+        }
+    }
+}
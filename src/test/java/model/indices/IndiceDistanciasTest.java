@@ -0,0 +1,51 @@
+package model.indices;
+
+import model.Ruta;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+public class IndiceDistanciasTest {
+
+    private IndiceDistancias indice;
+    private Ruta r1;
+    private Ruta r2;
+    private Ruta r3;
+    private Ruta r4;
+
+    @BeforeEach
+    public void setup() {
+        indice = new IndiceDistancias();
+        r1 = new Ruta("R1", 12.0, 20, "A", "B");
+        r2 = new Ruta("R2", 5.0, 10, "B", "C");
+        r3 = new Ruta("R3", 8.5, 15, "C", "D");
+        r4 = new Ruta("R0", 5.0, 30, "D", "E");
+        indice.agregar(r1);
+        indice.agregar(r2);
+        indice.agregar(r3);
+        indice.agregar(r4);
+    }
+
+    @Test
+    public void testOrdenadasConDesempatePorId() {
+        assertEquals(List.of(r4, r2, r3, r1), indice.ordenadas());
+        assertEquals(4, indice.size());
+    }
+
+    @Test
+    public void testRangoInclusivo() {
+        assertEquals(List.of(r4, r2, r3, r1), indice.entre(5.0, 12.0));
+        assertEquals(List.of(r3), indice.entre(6.0, 11.9));
+        assertTrue(indice.entre(13.0, 20.0).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> indice.entre(3.0, 2.0));
+    }
+
+    @Test
+    public void testEliminar() {
+        assertTrue(indice.eliminar(r2));
+        assertFalse(indice.eliminar(r2));
+        assertEquals(List.of(r4), indice.entre(5.0, 5.0));
+    }
+}
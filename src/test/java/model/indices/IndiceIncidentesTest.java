@@ -0,0 +1,50 @@
+package model.indices;
+
+import model.IncidentType;
+import model.Incidente;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Date;
+import java.util.List;
+
+public class IndiceIncidentesTest {
+
+    private IndiceIncidentes indice;
+    private Incidente robo1;
+    private Incidente robo2;
+    private Incidente accidente;
+
+    @BeforeEach
+    public void setup() {
+        indice = new IndiceIncidentes();
+        robo1 = new Incidente("I1", IncidentType.ROBO, "Centro", new Date(), "Robo 1", "pendiente");
+        robo2 = new Incidente("I2", IncidentType.ROBO, "Norte", new Date(), "Robo 2", "resuelto");
+        accidente = new Incidente("I3", IncidentType.ACCIDENTE, "Sur", new Date(), "Choque", "pendiente");
+        indice.agregar(robo1);
+        indice.agregar(robo2);
+        indice.agregar(accidente);
+    }
+
+    @Test
+    public void testConsultarPorTipoYEstado() {
+        assertEquals(List.of(robo1), indice.consultar(IncidentType.ROBO, "pendiente"));
+        assertEquals(List.of(robo1, robo2), indice.consultar(IncidentType.ROBO, null));
+        assertEquals(List.of(robo1, accidente), indice.consultar(null, "pendiente"));
+        assertEquals(3, indice.consultar(null, null).size());
+        assertTrue(indice.consultar(IncidentType.INCENDIO, null).isEmpty());
+        assertTrue(indice.consultar(IncidentType.ROBO, "en progreso").isEmpty());
+        assertEquals(2, indice.contar(null, "pendiente"));
+    }
+
+    @Test
+    public void testCambiarEstadoMueveElIncidente() {
+        indice.cambiarEstado(robo1, "resuelto");
+
+        assertEquals("resuelto", robo1.getEstado());
+        assertTrue(indice.consultar(IncidentType.ROBO, "pendiente").isEmpty());
+        assertEquals(List.of(robo1, robo2), indice.consultar(IncidentType.ROBO, "resuelto"));
+        assertEquals(List.of(accidente), indice.consultar(null, "pendiente"));
+    }
+}
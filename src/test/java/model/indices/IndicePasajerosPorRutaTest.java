@@ -0,0 +1,48 @@
+package model.indices;
+
+import model.Pasajero;
+import model.Ruta;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+
+public class IndicePasajerosPorRutaTest {
+
+    @Test
+    public void testConteosListadosYReasignacion() {
+        IndicePasajerosPorRuta indice = new IndicePasajerosPorRuta();
+        Ruta r1 = new Ruta("R1", 5.0, 10, "A", "B");
+        Ruta r2 = new Ruta("R2", 8.0, 12, "B", "C");
+        Pasajero ana = new Pasajero("P1", "Ana", "300");
+        Pasajero luis = new Pasajero("P2", "Luis", "301");
+        Pasajero sinRuta = new Pasajero("P3", "Sara", "302");
+        ana.setRutaAsignada(r1);
+        luis.setRutaAsignada(r1);
+        indice.agregar(ana);
+        indice.agregar(luis);
+        indice.agregar(sinRuta);
+
+        assertEquals(2, indice.cantidad("R1"));
+        assertEquals(List.of(ana, luis), indice.pasajeros("R1"));
+        assertEquals(0, indice.cantidad("R2"));
+        assertEquals(Map.of("R1", 2), indice.cargas());
+
+        indice.reasignar(luis, r2);
+        assertSame(r2, luis.getRutaAsignada());
+        assertEquals(List.of(ana), indice.pasajeros("R1"));
+        assertEquals(List.of(luis), indice.pasajeros("R2"));
+
+        assertTrue(indice.eliminar(ana));
+        assertFalse(indice.eliminar(ana));
+        assertFalse(indice.eliminar(sinRuta));
+        assertEquals(Map.of("R2", 1), indice.cargas());
+
+        assertEquals(List.of(luis), indice.desasignar("R2"));
+        assertNull(luis.getRutaAsignada());
+        assertEquals(0, indice.cantidad("R2"));
+        assertTrue(indice.desasignar("R2").isEmpty());
+        assertTrue(indice.cargas().isEmpty());
+    }
+}
@@ -0,0 +1,70 @@
+package model.indices;
+
+import model.IncidentType;
+import model.Incidente;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Date;
+import java.util.List;
+
+public class IndiceTemporalTest {
+
+    private IndiceTemporal indice;
+    private Incidente i1;
+    private Incidente i2;
+    private Incidente i3;
+    private Incidente i4;
+
+    private static Incidente incidente(String id, long milisegundos) {
+        return new Incidente(id, IncidentType.OTRO, "Centro", new Date(milisegundos), "Prueba", "pendiente");
+    }
+
+    @BeforeEach
+    public void setup() {
+        indice = new IndiceTemporal();
+        i1 = incidente("I1", 1_000);
+        i2 = incidente("I2", 2_000);
+        i3 = incidente("I3", 2_000);
+        i4 = incidente("I4", 3_000);
+        indice.agregar(i4);
+        indice.agregar(i1);
+        indice.agregar(i3);
+        indice.agregar(i2);
+    }
+
+    @Test
+    public void testOrdenadosDelMasRecienteAlMasAntiguo() {
+        assertEquals(List.of(i4, i3, i2, i1), indice.ordenados());
+        assertEquals(4, indice.size());
+    }
+
+    @Test
+    public void testConsultasPorRango() {
+        assertEquals(List.of(i3, i2), indice.entre(new Date(2_000), new Date(2_000)));
+        assertEquals(List.of(i3, i2, i1), indice.entre(new Date(0), new Date(2_500)));
+        assertTrue(indice.entre(new Date(4_000), new Date(5_000)).isEmpty());
+        assertEquals(List.of(i4, i3, i2), indice.desde(new Date(2_000)));
+        assertThrows(IllegalArgumentException.class, () -> indice.entre(new Date(2), new Date(1)));
+    }
+
+    @Test
+    public void testUltimosYEliminacion() {
+        assertEquals(List.of(i4, i3), indice.ultimos(2));
+        assertEquals(4, indice.ultimos(10).size());
+        assertTrue(indice.ultimos(0).isEmpty());
+
+        assertTrue(indice.eliminar(i3));
+        assertFalse(indice.eliminar(i3));
+        assertEquals(List.of(i4, i2), indice.ultimos(2));
+    }
+
+    @Test
+    public void testIncidentesSinFechaQuedanAlFinal() {
+        Incidente sinFecha = new Incidente("I0", IncidentType.OTRO, "Centro", null, "Prueba", "pendiente");
+        indice.agregar(sinFecha);
+        assertSame(sinFecha, indice.ordenados().get(4));
+        assertFalse(indice.desde(new Date(0)).contains(sinFecha));
+    }
+}
@@ -0,0 +1,52 @@
+package model.indices;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+
+public class IndiceTrigramasTest {
+
+    private IndiceTrigramas<String> indice;
+
+    @BeforeEach
+    public void setup() {
+        indice = new IndiceTrigramas<>();
+        indice.agregar("C1", "Carlos Pérez");
+        indice.agregar("C2", "Ana Carla Ruiz");
+        indice.agregar("C3", "Marcos Díaz");
+        indice.agregar("C4", "CARLOTA Gómez");
+    }
+
+    @Test
+    public void testBuscarSubcadenaSinDistinguirMayusculas() {
+        assertEquals(Arrays.asList("C1", "C2", "C4"), indice.buscar("carl"));
+        assertEquals(Arrays.asList("C1", "C4"), indice.buscar("CARLO"));
+        assertEquals(Arrays.asList("C3"), indice.buscar("rcos d"));
+        assertTrue(indice.buscar("xyz").isEmpty());
+    }
+
+    @Test
+    public void testConsultasCortasYVacias() {
+        assertEquals(Arrays.asList("C1", "C2", "C3", "C4"), indice.buscar(""));
+        assertEquals(Arrays.asList("C3"), indice.buscar("dí"));
+    }
+
+    @Test
+    public void testPaginacionYEliminacion() {
+        assertEquals(Arrays.asList("C2"), indice.buscar("carl", 1, 1));
+        assertEquals(Arrays.asList("C2", "C4"), indice.buscar("carl", 1, 10));
+        assertTrue(indice.eliminar("C2"));
+        assertFalse(indice.eliminar("C2"));
+        assertEquals(Arrays.asList("C1", "C4"), indice.buscar("carl"));
+        assertEquals(3, indice.size());
+    }
+
+    @Test
+    public void testLosTrigramasNoBastanSinLaSubcadena() {
+        // "abc bcd" contiene los trigramas de "abcd" (abc y bcd), pero no la subcadena
+        indice.agregar("X", "abc bcd");
+        assertTrue(indice.buscar("abcd").isEmpty());
+    }
+}
@@ -0,0 +1,41 @@
+package model.indices;
+
+import model.IncidentType;
+import model.Incidente;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+
+public class IndiceUbicacionesTest {
+
+    @Test
+    public void testPenalizacionSoloConIncidentesActivos() {
+        IndiceUbicaciones indice = new IndiceUbicaciones();
+        Map<IncidentType, Double> penalizaciones = new EnumMap<>(IncidentType.class);
+        penalizaciones.put(IncidentType.ACCIDENTE, 10.0);
+        penalizaciones.put(IncidentType.INCENDIO, 25.0);
+
+        Incidente choque = new Incidente("I1", IncidentType.ACCIDENTE, "Centro", new Date(), "Choque", "pendiente");
+        Incidente fuego = new Incidente("I2", IncidentType.INCENDIO, " centro ", new Date(), "Fuego", "en proceso");
+        Incidente viejo = new Incidente("I3", IncidentType.ACCIDENTE, "Centro", new Date(), "Choque", "resuelto");
+        indice.agregar(choque);
+        indice.agregar(fuego);
+        indice.agregar(viejo);
+
+        assertEquals(35.0, indice.penalizacion("CENTRO", penalizaciones), 1e-9);
+        assertEquals(0.0, indice.penalizacion("Norte", penalizaciones), 1e-9);
+        assertEquals(1, indice.activos("Centro", IncidentType.ACCIDENTE));
+
+        String anterior = fuego.getEstado();
+        fuego.setEstado("Resuelto");
+        indice.cambioDeEstado(fuego, anterior);
+        assertEquals(10.0, indice.penalizacion("Centro", penalizaciones), 1e-9);
+
+        viejo.setEstado("pendiente");
+        indice.cambioDeEstado(viejo, "resuelto");
+        assertEquals(2, indice.activos("Centro", IncidentType.ACCIDENTE));
+    }
+}
@@ -0,0 +1,81 @@
+package model.indices;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class MonticuloIndexadoTest {
+
+    private MonticuloIndexado<String> monticulo;
+
+    @BeforeEach
+    public void setup() {
+        monticulo = new MonticuloIndexado<>();
+        monticulo.agregar("A", "a", 5.0);
+        monticulo.agregar("B", "b", 2.0);
+        monticulo.agregar("C", "c", 8.0);
+        monticulo.agregar("D", "d", 2.0);
+        monticulo.agregar("E", "e", 1.0);
+    }
+
+    @Test
+    public void testMinimoYMenoresConDesempatePorLlegada() {
+        assertEquals("e", monticulo.minimo());
+        assertEquals(List.of("e", "b", "d"), monticulo.menores(3));
+        assertEquals(List.of("e", "b", "d", "a", "c"), monticulo.menores(10));
+        assertTrue(monticulo.menores(0).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> monticulo.menores(-1));
+        assertThrows(IllegalArgumentException.class, () -> monticulo.agregar("A", "otra", 0.0));
+    }
+
+    @Test
+    public void testEliminarYActualizar() {
+        assertEquals("e", monticulo.eliminar("E"));
+        assertNull(monticulo.eliminar("E"));
+        assertEquals("b", monticulo.minimo());
+
+        assertTrue(monticulo.actualizar("C", 0.5));
+        assertEquals("c", monticulo.minimo());
+        assertTrue(monticulo.actualizar("C", 9.0));
+        assertEquals(List.of("b", "d", "a", "c"), monticulo.menores(4));
+        assertFalse(monticulo.actualizar("X", 1.0));
+        assertEquals(4, monticulo.size());
+    }
+
+    @Test
+    public void testCoincideConOrdenamientoCompleto() {
+        MonticuloIndexado<Integer> grande = new MonticuloIndexado<>();
+        List<int[]> valores = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 2_000; i++) {
+            int prioridad = random.nextInt(500);
+            grande.agregar("K" + i, i, prioridad);
+            valores.add(new int[]{prioridad, i});
+        }
+        for (int i = 0; i < 2_000; i += 3) {
+            grande.eliminar("K" + i);
+        }
+        valores.removeIf(v -> v[1] % 3 == 0);
+        valores.sort((x, y) -> x[0] != y[0] ? Integer.compare(x[0], y[0]) : Integer.compare(x[1], y[1]));
+
+        List<Integer> esperados = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            esperados.add(valores.get(i)[1]);
+        }
+        assertEquals(esperados, grande.menores(50));
+        assertEquals(valores.size(), grande.size());
+    }
+
+    @Test
+    public void testMenoresConRecargo() {
+        // Base: e=1, b=2, d=2, a=5, c=8
+        assertEquals(List.of("b", "d", "a"), monticulo.menores(3, x -> x.equals("e") ? 10.0 : 0.0));
+        assertEquals(List.of("d", "a", "c", "e", "b"), monticulo.menores(5, x -> x.equals("b") ? 100.0 : x.equals("e") ? 8.0 : 0.0));
+        assertEquals(monticulo.menores(4), monticulo.menores(4, x -> 0.0));
+        assertTrue(monticulo.menores(0, x -> 0.0).isEmpty());
+    }
+}
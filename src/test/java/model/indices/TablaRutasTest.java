@@ -0,0 +1,104 @@
+package model.indices;
+
+import model.EstadisticasRutas;
+import model.Ruta;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class TablaRutasTest {
+
+    private TablaRutas tabla;
+    private Ruta r1;
+    private Ruta r2;
+    private Ruta r3;
+    private Ruta r4;
+
+    @BeforeEach
+    public void setup() {
+        tabla = new TablaRutas();
+        r1 = new Ruta("R1", 12.0, 20, "A", "B");
+        r2 = new Ruta("R2", 5.0, 10, "B", " c ");
+        r3 = new Ruta("R3", 8.5, 15, "C", "C");
+        r4 = new Ruta("R4", 5.0, 10, "D", "E");
+        tabla.agregar(r1);
+        tabla.agregar(r2);
+        tabla.agregar(r3);
+        tabla.agregar(r4);
+    }
+
+    @Test
+    public void testEstadisticas() {
+        EstadisticasRutas estadisticas = tabla.estadisticas();
+        assertEquals(4, estadisticas.getCantidad());
+        assertEquals(5.0, estadisticas.getDistanciaMinima());
+        assertEquals(12.0, estadisticas.getDistanciaMaxima());
+        assertEquals(30.5 / 4, estadisticas.getDistanciaPromedio());
+        assertEquals(10, estadisticas.getTiempoMinimo());
+        assertEquals(20, estadisticas.getTiempoMaximo());
+        assertEquals(3, tabla.contarEntreDistancias(5.0, 8.5));
+        assertEquals(1, tabla.contarEntreDistancias(6.0, 9.0));
+
+        assertTrue(tabla.eliminar("R1"));
+        assertFalse(tabla.eliminar("R1"));
+        assertEquals(8.5, tabla.estadisticas().getDistanciaMaxima());
+        tabla.limpiar();
+        assertEquals(0, tabla.estadisticas().getCantidad());
+        assertTrue(Double.isNaN(tabla.estadisticas().getDistanciaPromedio()));
+    }
+
+    @Test
+    public void testMenoresConRecargoPorPunto() {
+        // Sin recargo R2 y R4 empatan: gana la agregada primero
+        assertEquals(Arrays.asList(r2, r4, r3), tabla.menores(3, punto -> 0));
+
+        // El punto "c" penaliza a R2 (por su fin) y a R3 una sola vez aunque empiece y termine en él
+        List<Ruta> mejores = tabla.menores(4, punto -> punto.equals("c") ? 10 : 0);
+        assertEquals(Arrays.asList(r4, r2, r1, r3), mejores);
+        assertThrows(IllegalArgumentException.class, () -> tabla.menores(-1, punto -> 0));
+    }
+
+    @Test
+    public void testEliminarMueveLaUltimaFila() {
+        assertTrue(tabla.eliminar("R2"));
+        assertEquals(Arrays.asList(r4, r3, r1), tabla.menores(10, punto -> 0));
+        assertThrows(IllegalArgumentException.class, () -> tabla.agregar(new Ruta("R4", 1, 1, "A", "B")));
+        tabla.agregar(r2);
+        // R2 vuelve a agregarse después de R4, así que ahora pierde el empate
+        assertEquals(Arrays.asList(r4, r2), tabla.menores(2, punto -> 0));
+        assertEquals(4, tabla.size());
+    }
+
+    @Test
+    public void testLosPuntosDeRutasEliminadasNoSeRecorren() {
+        for (int i = 0; i < 1_000; i++) {
+            tabla.agregar(new Ruta("T" + i, 1, 1, "Origen " + i, "Destino " + i));
+            assertTrue(tabla.eliminar("T" + i));
+        }
+        // R2 sigue usando "c": eliminar R3 no libera el punto que comparten
+        assertTrue(tabla.eliminar("R3"));
+        List<String> consultados = new ArrayList<>();
+        List<Ruta> mejores = tabla.menores(10, punto -> {
+            consultados.add(punto);
+            return punto.equals("a") ? 100 : 0;
+        });
+        assertEquals(3, mejores.size());
+        assertEquals(r1, mejores.get(2));
+        consultados.sort(null);
+        assertEquals(Arrays.asList("a", "b", "c", "d", "e"), consultados);
+
+        // Un punto nuevo reutiliza un código libre y se consulta con su nombre
+        tabla.agregar(new Ruta("R5", 1, 1, "Nuevo", "a"));
+        consultados.clear();
+        assertEquals("R5", tabla.menores(1, punto -> {
+            consultados.add(punto);
+            return 0;
+        }).get(0).getId());
+        assertTrue(consultados.contains("nuevo"));
+        assertEquals(6, consultados.size());
+    }
+}
@@ -0,0 +1,220 @@
+package model.persistencia;
+
+import model.Conductor;
+import model.IncidentType;
+import model.Incidente;
+import model.Pasajero;
+import model.Ruta;
+import model.SGMMS;
+import model.SGMMSData;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+public class BitacoraTest {
+
+    @Test
+    public void testLeerDevuelveLasOperacionesEnOrden() throws IOException {
+        Path archivo = Files.createTempFile("bitacora", ".wal");
+        try {
+            Pasajero pasajero = new Pasajero("P1", "Ana", "300");
+            pasajero.setRutaAsignada(new Ruta("R1", 10, 20, "A", "B"));
+            try (Bitacora bitacora = Bitacora.abrir(archivo, true)) {
+                assertEquals(1, bitacora.agregar(Operacion.registrarRuta(new Ruta("R1", 10, 20, "A", "B"))));
+                bitacora.agregar(Operacion.registrarIncidente(new Incidente("I1", IncidentType.ROBO, "A",
+                        new Date(1_000), "Prueba", "pendiente")));
+                bitacora.agregar(Operacion.registrarPersona(pasajero));
+                bitacora.agregar(Operacion.registrarPersona(new Conductor("C1", "Luis", "301", "ABC123", "disponible")));
+                long ultimo = bitacora.agregar(Operacion.actualizarEstadoIncidente("I1", "resuelto"));
+                bitacora.confirmar(ultimo);
+                assertEquals(5, bitacora.getLsnDurable());
+            }
+
+            List<Operacion> operaciones = Bitacora.leer(archivo);
+            assertEquals(5, operaciones.size());
+            assertEquals(TipoOperacion.REGISTRAR_RUTA, operaciones.get(0).getTipo());
+            assertEquals(20, operaciones.get(0).getRuta().getTiempoEstimado());
+            assertEquals(new Date(1_000), operaciones.get(1).getIncidente().getFechaHora());
+            assertEquals(TipoOperacion.REGISTRAR_PASAJERO, operaciones.get(2).getTipo());
+            assertEquals("R1", operaciones.get(2).getIdRuta());
+            assertEquals("ABC123", operaciones.get(3).getPersona().getVehiculoAsignado());
+            assertEquals("resuelto", operaciones.get(4).getEstado());
+            for (int i = 0; i < operaciones.size(); i++) {
+                assertEquals(i + 1, operaciones.get(i).getLsn());
+            }
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+    }
+
+    @Test
+    public void testRechazaLasOperacionesQueNoCabenEnUnRegistro() throws IOException {
+        Path archivo = Files.createTempFile("bitacora", ".wal");
+        try {
+            Incidente grande = new Incidente("I1", IncidentType.ROBO, "A", new Date(1_000), "x".repeat(2_000), "pendiente");
+            SGMMS sgmms = new SGMMS();
+            try (Bitacora bitacora = Bitacora.abrir(archivo, true, 0, 1_024)) {
+                sgmms.setBitacora(bitacora);
+                sgmms.registrarRuta(new Ruta("R1", 10, 20, "A", "B"));
+                assertThrows(IllegalArgumentException.class, () -> bitacora.agregar(Operacion.registrarIncidente(grande)));
+                assertEquals(1, bitacora.getUltimoLsn());
+
+                SGMMSData datos = new SGMMSData();
+                datos.setIncidentes(new Incidente[]{grande});
+                assertThrows(IllegalArgumentException.class, () -> sgmms.importar(datos));
+                assertEquals(1, sgmms.rutasRegistradas().size());
+                assertTrue(sgmms.incidentesRegistrados().isEmpty());
+                sgmms.registrarRuta(new Ruta("R2", 10, 20, "A", "B"));
+                sgmms.setBitacora(null);
+            }
+
+            // Al volver a abrir no se trunca nada: las operaciones aceptadas siguen completas
+            try (Bitacora bitacora = Bitacora.abrir(archivo, true)) {
+                assertEquals(2, bitacora.getUltimoLsn());
+                assertEquals(3, bitacora.agregar(Operacion.eliminarRuta("R1")));
+            }
+            List<Operacion> operaciones = Bitacora.leer(archivo);
+            assertEquals(3, operaciones.size());
+            assertEquals("R2", operaciones.get(1).getRuta().getId());
+            assertEquals(TipoOperacion.ELIMINAR_RUTA, operaciones.get(2).getTipo());
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+    }
+
+    @Test
+    public void testAbrirDescartaElRegistroFinalIncompleto() throws IOException {
+        Path archivo = Files.createTempFile("bitacora", ".wal");
+        try {
+            try (Bitacora bitacora = Bitacora.abrir(archivo, false)) {
+                bitacora.agregar(Operacion.eliminarRuta("R1"));
+                bitacora.agregar(Operacion.eliminarRuta("R2"));
+                bitacora.sincronizar();
+            }
+            // Simula una caída a mitad de la escritura del segundo registro
+            try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.WRITE)) {
+                canal.truncate(canal.size() - 3);
+            }
+            assertEquals(1, Bitacora.leer(archivo).size());
+
+            try (Bitacora bitacora = Bitacora.abrir(archivo, true)) {
+                assertEquals(1, bitacora.getUltimoLsn());
+                bitacora.confirmar(bitacora.agregar(Operacion.eliminarRuta("R3")));
+            }
+            List<Operacion> operaciones = Bitacora.leer(archivo);
+            assertEquals(2, operaciones.size());
+            assertEquals("R3", operaciones.get(1).getId());
+            assertEquals(2, operaciones.get(1).getLsn());
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+    }
+
+    @Test
+    public void testLeerSeDetieneEnUnRegistroDanado() throws IOException {
+        Path archivo = Files.createTempFile("bitacora", ".wal");
+        try {
+            try (Bitacora bitacora = Bitacora.abrir(archivo, true)) {
+                bitacora.agregar(Operacion.eliminarPersona("P1"));
+                bitacora.agregar(Operacion.eliminarPersona("P2"));
+                bitacora.agregar(Operacion.eliminarPersona("P3"));
+            }
+            byte[] contenido = Files.readAllBytes(archivo);
+            // Cambia un byte del contenido del segundo registro: su CRC deja de coincidir
+            contenido[contenido.length / 2] ^= 0x01;
+            Files.write(archivo, contenido);
+            assertEquals(1, Bitacora.leer(archivo).size());
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+    }
+
+    @Test
+    public void testConfirmacionEnGrupoDesdeVariosHilos() throws Exception {
+        Path archivo = Files.createTempFile("bitacora", ".wal");
+        try {
+            int hilos = 8;
+            int porHilo = 200;
+            ConcurrentLinkedQueue<Throwable> errores = new ConcurrentLinkedQueue<>();
+            try (Bitacora bitacora = Bitacora.abrir(archivo, true)) {
+                Thread[] trabajadores = new Thread[hilos];
+                for (int h = 0; h < hilos; h++) {
+                    int hilo = h;
+                    trabajadores[h] = new Thread(() -> {
+                        try {
+                            for (int i = 0; i < porHilo; i++) {
+                                long lsn = bitacora.agregar(Operacion.actualizarEstadoConductor("C" + hilo, "en ruta " + i));
+                                bitacora.confirmar(lsn);
+                                if (bitacora.getLsnDurable() < lsn) {
+                                    throw new AssertionError("Operación " + lsn + " confirmada sin ser durable");
+                                }
+                            }
+                        } catch (Throwable e) {
+                            errores.add(e);
+                        }
+                    });
+                    trabajadores[h].start();
+                }
+                for (Thread trabajador : trabajadores) {
+                    trabajador.join();
+                }
+            }
+            assertTrue(errores.isEmpty(), String.valueOf(errores.peek()));
+            List<Operacion> operaciones = Bitacora.leer(archivo);
+            assertEquals(hilos * porHilo, operaciones.size());
+            assertEquals(hilos * porHilo, operaciones.get(operaciones.size() - 1).getLsn());
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+    }
+
+    @Test
+    public void testNoAceptaOperacionesDespuesDeCerrar() throws IOException {
+        Path archivo = Files.createTempFile("bitacora", ".wal");
+        try {
+            Bitacora bitacora = Bitacora.abrir(archivo, false);
+            bitacora.close();
+            assertThrows(IllegalStateException.class, () -> bitacora.agregar(Operacion.eliminarRuta("R1")));
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+    }
+
+    @Test
+    public void testDescartarHastaConservaLasOperacionesPosteriores() throws IOException {
+        Path archivo = Files.createTempFile("bitacora", ".wal");
+        try {
+            try (Bitacora bitacora = Bitacora.abrir(archivo, true)) {
+                for (int i = 1; i <= 10; i++) {
+                    bitacora.agregar(Operacion.eliminarRuta("R" + i));
+                }
+                bitacora.sincronizar();
+                bitacora.descartarHasta(7);
+                bitacora.confirmar(bitacora.agregar(Operacion.eliminarRuta("R11")));
+            }
+            List<Operacion> operaciones = Bitacora.leer(archivo);
+            assertEquals(4, operaciones.size());
+            assertEquals(8, operaciones.get(0).getLsn());
+            assertEquals("R11", operaciones.get(3).getId());
+            assertEquals(1, Bitacora.leer(archivo, 10).size());
+
+            // Si se descarta todo, la numeración continúa desde el LSN indicado al abrir
+            try (Bitacora bitacora = Bitacora.abrir(archivo, true)) {
+                bitacora.descartarHasta(11);
+            }
+            try (Bitacora bitacora = Bitacora.abrir(archivo, true, 11)) {
+                assertEquals(12, bitacora.agregar(Operacion.eliminarRuta("R12")));
+            }
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+    }
+}
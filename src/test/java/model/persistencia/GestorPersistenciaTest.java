@@ -0,0 +1,292 @@
+package model.persistencia;
+
+import model.Conductor;
+import model.IncidentType;
+import model.Incidente;
+import model.Instantanea;
+import model.Pasajero;
+import model.Ruta;
+import model.SGMMS;
+import model.SGMMSParticionado;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+public class GestorPersistenciaTest {
+
+    @Test
+    public void testRecuperaDesdeElPuntoDeControlYLaBitacora() throws Exception {
+        Path directorio = Files.createTempDirectory("persistencia");
+        try {
+            SGMMS original = new SGMMS();
+            GestorPersistencia gestor = GestorPersistencia.abrir(original, directorio, true);
+            registrarDatos(original, 0, 50);
+            long lsn = gestor.guardarPuntoControl();
+            assertTrue(lsn > 0);
+            assertEquals(0, Bitacora.leer(directorio.resolve(GestorPersistencia.ARCHIVO_BITACORA)).size());
+
+            registrarDatos(original, 50, 60);
+            original.actualizarEstadoIncidente("I3", "resuelto");
+            original.actualizarEstadoConductor("C4", "en ruta");
+            original.eliminarPersona("P7");
+            original.reasignarPasajero("P8", "R50");
+            original.eliminarRuta("R8");
+            original.reasignarPasajero("P9", "R55");
+            // Simula una caída: la bitácora se cierra sin guardar un punto de control final
+            gestor.getBitacora().close();
+
+            SGMMS recuperado = new SGMMS();
+            GestorPersistencia nuevo = GestorPersistencia.abrir(recuperado, directorio, true);
+            assertEquals(10 * 4 + 6, nuevo.getOperacionesReproducidas());
+            assertEquals(lsn, nuevo.getLsnPuntoControl());
+            assertEquals(json(original), json(recuperado));
+            assertEquals("R55", pasajero(recuperado, "P9").getRutaAsignada().getId());
+
+            // Las operaciones nuevas continúan la numeración y se recuperan en el siguiente arranque
+            recuperado.registrarRuta(new Ruta("R-nueva", 1, 1, "A", "B"));
+            nuevo.close();
+            SGMMS tercero = new SGMMS();
+            GestorPersistencia ultimo = GestorPersistencia.abrir(tercero, directorio, true);
+            assertEquals(0, ultimo.getOperacionesReproducidas());
+            assertEquals(json(recuperado), json(tercero));
+            ultimo.close();
+        } finally {
+            borrar(directorio);
+        }
+    }
+
+    @Test
+    public void testElPuntoDeControlEsUnCorteConsistente() throws Exception {
+        for (int cantidadParticiones : new int[]{1, 4}) {
+            Path directorio = Files.createTempDirectory("persistencia");
+            try {
+                SGMMS original = cantidadParticiones == 1 ? new SGMMS() : new SGMMSParticionado(cantidadParticiones);
+                GestorPersistencia gestor = GestorPersistencia.abrir(original, directorio, false);
+                registrarDatos(original, 0, 5);
+                AtomicBoolean terminar = new AtomicBoolean();
+                AtomicReference<Exception> error = new AtomicReference<>();
+                Thread puntosControl = new Thread(() -> {
+                    try {
+                        while (!terminar.get()) {
+                            gestor.guardarPuntoControl();
+                        }
+                    } catch (Exception e) {
+                        error.set(e);
+                    }
+                });
+                puntosControl.start();
+                for (int i = 0; i < 300; i++) {
+                    // Si un punto de control incluyera operaciones posteriores a su LSN, reproducir la eliminación
+                    // dejaría sin ruta al pasajero registrado después con la ruta nueva
+                    original.eliminarRuta("R1");
+                    original.eliminarPersona("P1");
+                    original.registrarRuta(new Ruta("R1", 1 + i % 7, 2, "A", "B"));
+                    Pasajero pasajero = new Pasajero("P1", "Pasajero 1", "301");
+                    pasajero.setRutaAsignada(original.buscarRuta("R1"));
+                    original.registrarPersona(pasajero);
+                }
+                terminar.set(true);
+                puntosControl.join();
+                assertNull(error.get());
+                gestor.getBitacora().close();
+
+                SGMMS recuperado = cantidadParticiones == 1 ? new SGMMS() : new SGMMSParticionado(cantidadParticiones);
+                GestorPersistencia.abrir(recuperado, directorio, false).close();
+                assertEquals(json(original), json(recuperado));
+                assertEquals("R1", pasajero(recuperado, "P1").getRutaAsignada().getId());
+            } finally {
+                borrar(directorio);
+            }
+        }
+    }
+
+    @Test
+    public void testElPuntoDeControlEsperaLasAnotacionesEnCurso() throws Exception {
+        Path directorio = Files.createTempDirectory("persistencia");
+        try {
+            SGMMS sgmms = new SGMMS();
+            GestorPersistencia gestor = GestorPersistencia.abrir(sgmms, directorio, false);
+            registrarDatos(sgmms, 0, 2);
+            // Simula una modificación publicada que todavía no se anotó
+            java.util.concurrent.locks.Lock anotacion = gestor.getBitacora().bloqueoAnotacion();
+            anotacion.lock();
+            Thread puntoControl = new Thread(() -> {
+                try {
+                    gestor.guardarPuntoControl();
+                } catch (IOException e) {
+                    throw new java.io.UncheckedIOException(e);
+                }
+            });
+            try {
+                puntoControl.start();
+                puntoControl.join(200);
+                assertTrue(puntoControl.isAlive());
+                assertFalse(Files.exists(directorio.resolve(GestorPersistencia.ARCHIVO_PUNTO_CONTROL)));
+            } finally {
+                anotacion.unlock();
+            }
+            puntoControl.join();
+            assertEquals(gestor.getBitacora().getUltimoLsn(), gestor.getLsnPuntoControl());
+            gestor.close();
+        } finally {
+            borrar(directorio);
+        }
+    }
+
+    @Test
+    public void testUnaOperacionQueNoSePuedeReproducirDetieneLaRecuperacion() throws Exception {
+        Path directorio = Files.createTempDirectory("persistencia");
+        try {
+            SGMMS original = new SGMMS();
+            GestorPersistencia gestor = GestorPersistencia.abrir(original, directorio, true);
+            registrarDatos(original, 0, 20);
+            original.actualizarEstadoIncidente("I1", "en proceso");
+            original.eliminarPersona("P2");
+            original.despacharIncidentes(3);
+            gestor.getBitacora().close();
+            // Un punto de control que ya contiene todas las operaciones pero declara un LSN anterior
+            new PuntoControl(0, original.exportar()).guardar(directorio.resolve(GestorPersistencia.ARCHIVO_PUNTO_CONTROL));
+
+            IOException error = assertThrows(IOException.class, () -> GestorPersistencia.abrir(new SGMMS(), directorio, true));
+            assertTrue(error.getMessage().contains("REGISTRAR_RUTA"));
+        } finally {
+            borrar(directorio);
+        }
+    }
+
+    @Test
+    public void testPuntosDeControlPeriodicosEnUnSistemaParticionado() throws Exception {
+        Path directorio = Files.createTempDirectory("persistencia");
+        try {
+            SGMMSParticionado original = new SGMMSParticionado(4);
+            GestorPersistencia gestor = GestorPersistencia.abrir(original, directorio, false);
+            gestor.programarPuntosControl(10, java.util.concurrent.TimeUnit.MILLISECONDS);
+            registrarDatos(original, 0, 30);
+            long limite = System.currentTimeMillis() + 5_000;
+            while (gestor.getLsnPuntoControl() < gestor.getBitacora().getUltimoLsn() && System.currentTimeMillis() < limite) {
+                Thread.sleep(10);
+            }
+            assertEquals(gestor.getBitacora().getUltimoLsn(), gestor.getLsnPuntoControl());
+            gestor.close();
+
+            SGMMSParticionado recuperado = new SGMMSParticionado(4);
+            GestorPersistencia.abrir(recuperado, directorio, false).close();
+            assertEquals(30, recuperado.rutasRegistradas().size());
+            assertEquals(60, recuperado.personasRegistradas().size());
+            assertEquals("R25", pasajero(recuperado, "P25").getRutaAsignada().getId());
+        } finally {
+            borrar(directorio);
+        }
+    }
+
+    @Test
+    public void testGuardaLaFallaDelPuntoDeControlPeriodico() throws Exception {
+        Path directorio = Files.createTempDirectory("persistencia");
+        try {
+            SGMMS sgmms = new SGMMS();
+            GestorPersistencia gestor = GestorPersistencia.abrir(sgmms, directorio, false);
+            assertNull(gestor.getUltimoError());
+            // Un directorio en lugar del archivo temporal impide escribir el punto de control
+            Path bloqueo = Files.createDirectory(directorio.resolve(GestorPersistencia.ARCHIVO_PUNTO_CONTROL + ".tmp"));
+            registrarDatos(sgmms, 0, 3);
+            gestor.programarPuntosControl(10, java.util.concurrent.TimeUnit.MILLISECONDS);
+            long limite = System.currentTimeMillis() + 5_000;
+            while (gestor.getUltimoError() == null && System.currentTimeMillis() < limite) {
+                Thread.sleep(10);
+            }
+            assertTrue(gestor.getUltimoError() instanceof IOException);
+            assertEquals(0, gestor.getLsnPuntoControl());
+
+            Files.delete(bloqueo);
+            limite = System.currentTimeMillis() + 5_000;
+            while (gestor.getUltimoError() != null && System.currentTimeMillis() < limite) {
+                Thread.sleep(10);
+            }
+            assertNull(gestor.getUltimoError());
+            assertEquals(gestor.getBitacora().getUltimoLsn(), gestor.getLsnPuntoControl());
+            gestor.close();
+        } finally {
+            borrar(directorio);
+        }
+    }
+
+    @Test
+    public void testUnaExcepcionInesperadaNoDetieneLosPuntosDeControl() throws Exception {
+        Path directorio = Files.createTempDirectory("persistencia");
+        try {
+            AtomicBoolean fallar = new AtomicBoolean(true);
+            SGMMS sgmms = new SGMMS() {
+                @Override
+                public Instantanea instantanea() {
+                    if (fallar.get()) {
+                        throw new UnsupportedOperationException("Falla simulada");
+                    }
+                    return super.instantanea();
+                }
+            };
+            GestorPersistencia gestor = GestorPersistencia.abrir(sgmms, directorio, false);
+            registrarDatos(sgmms, 0, 3);
+            gestor.programarPuntosControl(10, java.util.concurrent.TimeUnit.MILLISECONDS);
+            long limite = System.currentTimeMillis() + 5_000;
+            while (gestor.getUltimoError() == null && System.currentTimeMillis() < limite) {
+                Thread.sleep(10);
+            }
+            assertTrue(gestor.getUltimoError() instanceof UnsupportedOperationException);
+
+            // La programación sigue activa: el siguiente intervalo guarda el punto de control
+            fallar.set(false);
+            limite = System.currentTimeMillis() + 5_000;
+            while (gestor.getLsnPuntoControl() < gestor.getBitacora().getUltimoLsn() && System.currentTimeMillis() < limite) {
+                Thread.sleep(10);
+            }
+            assertEquals(gestor.getBitacora().getUltimoLsn(), gestor.getLsnPuntoControl());
+            gestor.close();
+        } finally {
+            borrar(directorio);
+        }
+    }
+
+    /**
+     * Registra, para cada i del rango, una ruta, un incidente, un conductor y un pasajero asignado a la ruta.
+     */
+    private static void registrarDatos(SGMMS sgmms, int desde, int hasta) throws Exception {
+        for (int i = desde; i < hasta; i++) {
+            sgmms.registrarRuta(new Ruta("R" + i, 1 + i % 7, 2 + i % 5, "P" + i % 9, "P" + (i + 1) % 9));
+            sgmms.registrarIncidente(new Incidente("I" + i, IncidentType.values()[i % 4], "P" + i % 9,
+                    new Date(1_000L * i), "Prueba", "pendiente"));
+            sgmms.registrarPersona(new Conductor("C" + i, "Conductor " + i, "300", "V" + i, "disponible"));
+            Pasajero pasajero = new Pasajero("P" + i, "Pasajero " + i, "301");
+            pasajero.setRutaAsignada(sgmms.buscarRuta("R" + i));
+            sgmms.registrarPersona(pasajero);
+        }
+    }
+
+    private static Pasajero pasajero(SGMMS sgmms, String id) {
+        for (Pasajero pasajero : sgmms.getListaPasajeros()) {
+            if (pasajero.getId().equals(id)) {
+                return pasajero;
+            }
+        }
+        return null;
+    }
+
+    private static String json(SGMMS sgmms) {
+        return Bitacora.GSON.toJson(sgmms.exportar());
+    }
+
+    private static void borrar(Path directorio) throws IOException {
+        try (Stream<Path> archivos = Files.walk(directorio)) {
+            for (Path archivo : (Iterable<Path>) archivos.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(archivo);
+            }
+        }
+    }
+}
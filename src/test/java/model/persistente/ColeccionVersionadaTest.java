@@ -0,0 +1,84 @@
+package model.persistente;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+public class ColeccionVersionadaTest {
+
+    @Test
+    public void testLasVistasNoCambianConLasModificaciones() {
+        ColeccionVersionada<String> coleccion = new ColeccionVersionada<>(s -> s);
+        coleccion.agregar("a");
+        coleccion.agregar("b");
+        Collection<String> antes = coleccion.vista();
+        assertSame(antes, coleccion.vista());
+
+        coleccion.agregar("c");
+        assertTrue(coleccion.eliminar("a"));
+        assertFalse(coleccion.eliminar("a"));
+        assertEquals(Arrays.asList("a", "b"), new ArrayList<>(antes));
+        assertEquals(Arrays.asList("b", "c"), new ArrayList<>(coleccion.vista()));
+        assertEquals(2, coleccion.vista().size());
+        assertThrows(IllegalArgumentException.class, () -> coleccion.agregar("b"));
+        assertThrows(UnsupportedOperationException.class, () -> coleccion.vista().add("d"));
+    }
+
+    @Test
+    public void testEliminarMuchosCompactaSinPerderElOrden() {
+        ColeccionVersionada<Integer> coleccion = new ColeccionVersionada<>(String::valueOf);
+        for (int i = 0; i < 1_000; i++) {
+            coleccion.agregar(i);
+        }
+        for (int i = 0; i < 1_000; i++) {
+            if (i % 3 != 0) {
+                assertTrue(coleccion.eliminar(String.valueOf(i)));
+            }
+        }
+        // Después de compactar, las posiciones recalculadas deben permitir seguir eliminando
+        assertTrue(coleccion.eliminar("999"));
+        coleccion.agregar(1_000);
+        List<Integer> esperados = new ArrayList<>();
+        for (int i = 0; i < 999; i += 3) {
+            esperados.add(i);
+        }
+        esperados.add(1_000);
+        assertEquals(esperados, new ArrayList<>(coleccion.vista()));
+        assertEquals(esperados.size(), coleccion.size());
+    }
+
+    @Test
+    public void testLasVistasGuardanCopiasDeLasEntidades() {
+        // Cada entidad es {identificador, valor} y cambia en el lugar
+        ColeccionVersionada<int[]> coleccion = new ColeccionVersionada<>(e -> String.valueOf(e[0]), int[]::clone);
+        int[] entidad = {1, 10};
+        coleccion.agregar(entidad);
+        coleccion.agregar(new int[]{2, 20});
+        Collection<int[]> antes = coleccion.vista();
+
+        entidad[1] = 11;
+        assertEquals(10, antes.iterator().next()[1]);
+        assertEquals(10, coleccion.vista().iterator().next()[1]);
+        assertTrue(coleccion.actualizar(entidad));
+        assertFalse(coleccion.actualizar(new int[]{3, 30}));
+        assertEquals(11, coleccion.vista().iterator().next()[1]);
+        assertEquals(10, antes.iterator().next()[1]);
+        assertEquals(2, coleccion.vista().size());
+    }
+
+    @Test
+    public void testReemplazarTodo() {
+        ColeccionVersionada<String> coleccion = new ColeccionVersionada<>(s -> s);
+        coleccion.agregar("x");
+        coleccion.reemplazarTodo(Arrays.asList("c", "a", "b"));
+        assertEquals(Arrays.asList("c", "a", "b"), new ArrayList<>(coleccion.vista()));
+        assertTrue(coleccion.eliminar("a"));
+        assertFalse(coleccion.eliminar("x"));
+        assertThrows(IllegalArgumentException.class, () -> coleccion.reemplazarTodo(Arrays.asList("a", "a")));
+        assertEquals(Arrays.asList("c", "b"), new ArrayList<>(coleccion.vista()));
+    }
+}
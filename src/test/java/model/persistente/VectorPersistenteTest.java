@@ -0,0 +1,72 @@
+package model.persistente;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+public class VectorPersistenteTest {
+
+    @Test
+    public void testAgregarConservaLasVersionesAnteriores() {
+        VectorPersistente<Integer> vector = VectorPersistente.vacio();
+        List<VectorPersistente<Integer>> versiones = new ArrayList<>();
+        for (int i = 0; i < 40_000; i++) {
+            versiones.add(vector);
+            vector = vector.agregar(i);
+        }
+        assertEquals(40_000, vector.longitud());
+        for (int i = 0; i < vector.longitud(); i += 7) {
+            assertEquals(i, (int) vector.get(i));
+        }
+        // Cada versión conserva su longitud y su contenido, incluso al cruzar niveles del árbol
+        for (int longitud : new int[]{0, 31, 32, 33, 1_056, 1_057, 32_800, 33_825}) {
+            VectorPersistente<Integer> version = versiones.get(longitud);
+            assertEquals(longitud, version.longitud());
+            int esperado = 0;
+            for (int valor : version) {
+                assertEquals(esperado++, valor);
+            }
+            assertEquals(longitud, esperado);
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> versiones.get(10).get(10));
+    }
+
+    @Test
+    public void testReemplazarNoModificaElOriginal() {
+        List<String> elementos = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            elementos.add("e" + i);
+        }
+        VectorPersistente<String> original = VectorPersistente.de(elementos);
+        VectorPersistente<String> cambiado = original.reemplazar(5, null).reemplazar(1_999, "ultimo");
+        assertEquals("e5", original.get(5));
+        assertEquals("e1999", original.get(1_999));
+        assertNull(cambiado.get(5));
+        assertEquals("ultimo", cambiado.get(1_999));
+        assertThrows(IndexOutOfBoundsException.class, () -> original.reemplazar(2_000, "x"));
+    }
+
+    @Test
+    public void testConstruccionEnBloqueEquivaleAAgregarUnoAUno() {
+        for (int n : new int[]{0, 1, 32, 64, 1_056, 1_057, 5_000}) {
+            List<Integer> elementos = new ArrayList<>();
+            VectorPersistente<Integer> incremental = VectorPersistente.vacio();
+            for (int i = 0; i < n; i++) {
+                elementos.add(i);
+                incremental = incremental.agregar(i);
+            }
+            VectorPersistente<Integer> enBloque = VectorPersistente.de(elementos);
+            // El vector construido en bloque debe seguir creciendo igual que el incremental
+            enBloque = enBloque.agregar(n);
+            incremental = incremental.agregar(n);
+            assertEquals(incremental.longitud(), enBloque.longitud());
+            Iterator<Integer> it = incremental.iterator();
+            for (int valor : enBloque) {
+                assertEquals((int) it.next(), valor);
+            }
+        }
+    }
+}